@@ -17,8 +17,10 @@ import java.util.TreeSet;
 import model.trader.DollarAverageStrategy;
 import model.trader.IModel;
 import model.trader.Model;
+import model.trader.MovingAverageSet;
 import model.trader.Strategy;
 import utils.CalendarUtil;
+import utils.PriceSeries;
 import view.trader.GraphView;
 import view.trader.IView;
 import view.trader.TextView;
@@ -782,12 +784,12 @@ public class Controller implements IController {
     /*
     Draw the picture
      */
-    Map<String, Map<Integer, Double>> toDraw = new TreeMap<>();
+    Map<String, PriceSeries> toDraw = new TreeMap<>();
     Iterator<String> it1 = stockSymbols.iterator();
     while (it1.hasNext()) {
       String stockSymbol = it1.next();
       try {
-        Map<Integer, Double> prices = model.getStockClosingPrices(stockSymbol, startDate, endDate);
+        PriceSeries prices = model.getStockClosingPriceSeries(stockSymbol, startDate, endDate);
         toDraw.put(stockSymbol + " prices", prices);
       } catch (Exception e) {
         graphical.show("invalid input");
@@ -799,7 +801,7 @@ public class Controller implements IController {
     while (it2.hasNext()) {
       String basketName = it2.next();
       try {
-        Map<Integer, Double> prices = model.getBasketValues(basketName, startDate, endDate);
+        PriceSeries prices = model.getBasketValueSeries(basketName, startDate, endDate);
         toDraw.put(basketName + " prices", prices);
       } catch (Exception e) {
         graphical.show("invalid input");
@@ -852,13 +854,13 @@ public class Controller implements IController {
     /*
     Draw the picture
      */
-    Map<String, Map<Integer, Double>> toDraw = new TreeMap<>();
+    Map<String, PriceSeries> toDraw = new TreeMap<>();
     Iterator<String> it1 = stockSymbols.iterator();
     while (it1.hasNext()) {
       String stockSymbol = it1.next();
       try {
-        Map<Integer, Double> movingAverage50 = model.fiftyDaysMovingAveragesOfStock(stockSymbol,
-                startDate, endDate);
+        PriceSeries movingAverage50 = model.getStockMovingAverageSeries(stockSymbol,
+                startDate, endDate, 50);
         toDraw.put(stockSymbol + " 50-day moving averages", movingAverage50);
       } catch (Exception e) {
         graphical.show("invalid input");
@@ -870,8 +872,8 @@ public class Controller implements IController {
     while (it2.hasNext()) {
       String basketName = it2.next();
       try {
-        Map<Integer, Double> movingAverage50 = model.fiftyDaysMovingAveragesOfBasket(basketName,
-                startDate, endDate);
+        PriceSeries movingAverage50 = model.getBasketMovingAverageSeries(basketName,
+                startDate, endDate, 50);
         toDraw.put(basketName + " 50-day moving averages", movingAverage50);
       } catch (Exception e) {
         graphical.show("invalid input");
@@ -924,13 +926,13 @@ public class Controller implements IController {
     /*
     Draw the picture
      */
-    Map<String, Map<Integer, Double>> toDraw = new TreeMap<>();
+    Map<String, PriceSeries> toDraw = new TreeMap<>();
     Iterator<String> it1 = stockSymbols.iterator();
     while (it1.hasNext()) {
       String stockSymbol = it1.next();
       try {
-        Map<Integer, Double> movingAverage200 = model.twoHundredsDaysMovingAveragesOfStock(
-                stockSymbol, startDate, endDate);
+        PriceSeries movingAverage200 = model.getStockMovingAverageSeries(
+                stockSymbol, startDate, endDate, 200);
         toDraw.put(stockSymbol + " 200-day moving averages", movingAverage200);
       } catch (Exception e) {
         graphical.show("invalid input");
@@ -942,8 +944,8 @@ public class Controller implements IController {
     while (it2.hasNext()) {
       String basketName = it2.next();
       try {
-        Map<Integer, Double> movingAverage200 = model.twoHundredsDaysMovingAveragesOfBasket(
-                basketName, startDate, endDate);
+        PriceSeries movingAverage200 = model.getBasketMovingAverageSeries(
+                basketName, startDate, endDate, 200);
         toDraw.put(basketName + " 200-day moving averages", movingAverage200);
       } catch (Exception e) {
         graphical.show("invalid input");
@@ -996,16 +998,15 @@ public class Controller implements IController {
     /*
     Draw the picture
      */
-    Map<String, Map<Integer, Double>> toDraw = new TreeMap<>();
+    Map<String, PriceSeries> toDraw = new TreeMap<>();
     Iterator<String> it1 = stockSymbols.iterator();
     while (it1.hasNext()) {
       String stockSymbol = it1.next();
       try {
-        Map<Integer, Double> prices = model.getStockClosingPrices(stockSymbol, startDate, endDate);
-        toDraw.put(stockSymbol + " prices", prices);
-        Map<Integer, Double> movingAverage50 = model.fiftyDaysMovingAveragesOfStock(stockSymbol,
-                startDate, endDate);
-        toDraw.put(stockSymbol + " 50-day moving averages", movingAverage50);
+        MovingAverageSet series = model.stockPricesAndMovingAverages(stockSymbol,
+                startDate, endDate, 50);
+        toDraw.put(stockSymbol + " prices", series.getPrices());
+        toDraw.put(stockSymbol + " 50-day moving averages", series.getAverages(50));
       } catch (Exception e) {
         graphical.show("invalid input");
         this.out.append("invalid input\n");
@@ -1016,11 +1017,10 @@ public class Controller implements IController {
     while (it2.hasNext()) {
       String basketName = it2.next();
       try {
-        Map<Integer, Double> prices = model.getBasketValues(basketName, startDate, endDate);
-        toDraw.put(basketName + " prices", prices);
-        Map<Integer, Double> movingAverage50 = model.fiftyDaysMovingAveragesOfBasket(basketName,
-                startDate, endDate);
-        toDraw.put(basketName + " 50-day moving averages", movingAverage50);
+        MovingAverageSet series = model.basketValuesAndMovingAverages(basketName,
+                startDate, endDate, 50);
+        toDraw.put(basketName + " prices", series.getPrices());
+        toDraw.put(basketName + " 50-day moving averages", series.getAverages(50));
       } catch (Exception e) {
         graphical.show("invalid input");
         this.out.append("invalid input\n");
@@ -1072,16 +1072,15 @@ public class Controller implements IController {
     /*
     Draw the picture
      */
-    Map<String, Map<Integer, Double>> toDraw = new TreeMap<>();
+    Map<String, PriceSeries> toDraw = new TreeMap<>();
     Iterator<String> it1 = stockSymbols.iterator();
     while (it1.hasNext()) {
       String stockSymbol = it1.next();
       try {
-        Map<Integer, Double> prices = model.getStockClosingPrices(stockSymbol, startDate, endDate);
-        toDraw.put(stockSymbol + " prices", prices);
-        Map<Integer, Double> movingAverage200 = model.twoHundredsDaysMovingAveragesOfStock(
-                stockSymbol, startDate, endDate);
-        toDraw.put(stockSymbol + " 200-day moving averages", movingAverage200);
+        MovingAverageSet series = model.stockPricesAndMovingAverages(stockSymbol,
+                startDate, endDate, 200);
+        toDraw.put(stockSymbol + " prices", series.getPrices());
+        toDraw.put(stockSymbol + " 200-day moving averages", series.getAverages(200));
       } catch (Exception e) {
         graphical.show("invalid input");
         this.out.append("invalid input\n");
@@ -1092,11 +1091,10 @@ public class Controller implements IController {
     while (it2.hasNext()) {
       String basketName = it2.next();
       try {
-        Map<Integer, Double> prices = model.getBasketValues(basketName, startDate, endDate);
-        toDraw.put(basketName + " prices", prices);
-        Map<Integer, Double> movingAverage200 = model.twoHundredsDaysMovingAveragesOfBasket(
-                basketName, startDate, endDate);
-        toDraw.put(basketName + " 200-day moving averages", movingAverage200);
+        MovingAverageSet series = model.basketValuesAndMovingAverages(basketName,
+                startDate, endDate, 200);
+        toDraw.put(basketName + " prices", series.getPrices());
+        toDraw.put(basketName + " 200-day moving averages", series.getAverages(200));
       } catch (Exception e) {
         graphical.show("invalid input");
         this.out.append("invalid input\n");
@@ -1148,17 +1146,15 @@ public class Controller implements IController {
     /*
     Draw the picture
      */
-    Map<String, Map<Integer, Double>> toDraw = new TreeMap<>();
+    Map<String, PriceSeries> toDraw = new TreeMap<>();
     Iterator<String> it1 = stockSymbols.iterator();
     while (it1.hasNext()) {
       String stockSymbol = it1.next();
       try {
-        Map<Integer, Double> movingAverage50 = model.fiftyDaysMovingAveragesOfStock(stockSymbol,
-                startDate, endDate);
-        toDraw.put(stockSymbol + " 50-day moving averages", movingAverage50);
-        Map<Integer, Double> movingAverage200 = model.twoHundredsDaysMovingAveragesOfStock(
-                stockSymbol, startDate, endDate);
-        toDraw.put(stockSymbol + " 200-day moving averages", movingAverage200);
+        MovingAverageSet series = model.stockPricesAndMovingAverages(stockSymbol,
+                startDate, endDate, 50, 200);
+        toDraw.put(stockSymbol + " 50-day moving averages", series.getAverages(50));
+        toDraw.put(stockSymbol + " 200-day moving averages", series.getAverages(200));
       } catch (Exception e) {
         graphical.show("invalid input");
         this.out.append("invalid input\n");
@@ -1169,12 +1165,10 @@ public class Controller implements IController {
     while (it2.hasNext()) {
       String basketName = it2.next();
       try {
-        Map<Integer, Double> movingAverage50 = model.fiftyDaysMovingAveragesOfBasket(basketName,
-                startDate, endDate);
-        toDraw.put(basketName + " 50-day moving averages", movingAverage50);
-        Map<Integer, Double> movingAverage200 = model.twoHundredsDaysMovingAveragesOfBasket(
-                basketName, startDate, endDate);
-        toDraw.put(basketName + " 200-day moving averages", movingAverage200);
+        MovingAverageSet series = model.basketValuesAndMovingAverages(basketName,
+                startDate, endDate, 50, 200);
+        toDraw.put(basketName + " 50-day moving averages", series.getAverages(50));
+        toDraw.put(basketName + " 200-day moving averages", series.getAverages(200));
       } catch (Exception e) {
         graphical.show("invalid input");
         this.out.append("invalid input\n");
@@ -1195,7 +1189,7 @@ public class Controller implements IController {
     // draw the picture
     stockSymbols.clear();
     basketNames.clear();
-    Map<String, Map<Integer, Double>> toDraw = new TreeMap<>();
+    Map<String, PriceSeries> toDraw = new TreeMap<>();
     sendDataToDraw(toDraw);
   }
 
@@ -1204,7 +1198,7 @@ public class Controller implements IController {
    *
    * @param toDraw data to be drawn by the graph view
    */
-  private void sendDataToDraw(Map<String, Map<Integer, Double>> toDraw) {
+  private void sendDataToDraw(Map<String, PriceSeries> toDraw) {
     if (toDraw == null) {
       graphical.show("invalid input");
     }
@@ -1215,12 +1209,13 @@ public class Controller implements IController {
     // extract values from map for drawing the actual line
     Map<String, List<Double>> data = new TreeMap<>();
 
-    for (Map.Entry<String, Map<Integer, Double>> entry : toDraw.entrySet()) {
-      dates = new ArrayList<>();
-      List<Double> values = new ArrayList<>();
-      for (Map.Entry<Integer, Double> stockEntry : entry.getValue().entrySet()) {
-        dates.add(stockEntry.getKey());
-        values.add(stockEntry.getValue());
+    for (Map.Entry<String, PriceSeries> entry : toDraw.entrySet()) {
+      PriceSeries series = entry.getValue();
+      dates = new ArrayList<>(series.size());
+      List<Double> values = new ArrayList<>(series.size());
+      for (int i = 0; i < series.size(); i++) {
+        dates.add(series.getDate(i));
+        values.add(series.getValue(i));
       }
       data.put(entry.getKey(), values);
     }
@@ -0,0 +1,323 @@
+package model.backtest;
+
+import java.util.List;
+
+import utils.AlignedPanel;
+
+/**
+ * This class represents the state of a backtest on the current trading day: the closing prices
+ * of every stock up to the day, the number of shares held of each stock, the cash, and the money
+ * deposited so far. Shares are whole, bought and sold at the closing price of the day moved by
+ * the transaction costs of the backtest, which also charge a commission on every trade. Cash may
+ * fall below zero when purchases cost more than was deposited.
+ */
+public class BacktestContext {
+  private final AlignedPanel panel;
+  private final int startDate;
+  private final int firstDay;
+  private final int lastDay;
+  private final int[] shares;
+  private final TransactionCosts costs;
+  private final TradeLedger trades;
+  private double cash;
+  private double invested;
+  private int day;
+
+  /**
+   * Constructs a context on the given first day of the given prices, with no shares and no cash,
+   * for a replay requested from the given date that trades at the given costs. The prices are
+   * shared, not copied.
+   */
+  BacktestContext(AlignedPanel panel, int startDate, int firstDay, int lastDay,
+                  TransactionCosts costs) {
+    this.panel = panel;
+    this.startDate = startDate;
+    this.firstDay = firstDay;
+    this.lastDay = lastDay;
+    this.shares = new int[panel.symbolCount()];
+    this.costs = costs;
+    this.trades = new TradeLedger();
+    this.cash = 0;
+    this.invested = 0;
+    this.day = firstDay;
+  }
+
+  /**
+   * Moves this context to the given day.
+   */
+  void moveTo(int day) {
+    this.day = day;
+  }
+
+  /**
+   * Return the index of the current day among the days of the prices. The days before the first
+   * replayed day, if any, are history that can be read but not traded on.
+   *
+   * @return the index of the current day
+   */
+  public int getDay() {
+    return day;
+  }
+
+  /**
+   * Return the first date of the replay as it was requested, which is the date of the first
+   * replayed day unless the replay was requested from a day without trading.
+   *
+   * @return the requested first date, as an 8-digit integer
+   */
+  public int getStartDate() {
+    return startDate;
+  }
+
+  /**
+   * Return the index of the first replayed day.
+   *
+   * @return the index of the first replayed day
+   */
+  public int getFirstDay() {
+    return firstDay;
+  }
+
+  /**
+   * Return the index of the last replayed day.
+   *
+   * @return the index of the last replayed day
+   */
+  public int getLastDay() {
+    return lastDay;
+  }
+
+  /**
+   * Return the date of the current day.
+   *
+   * @return the date of the current day, as an 8-digit integer
+   */
+  public int getDate() {
+    return panel.getDate(day);
+  }
+
+  /**
+   * Return the date of the given day, which cannot be after the current day. Days before the
+   * first replayed day can be read as history.
+   *
+   * @param day the index of the day
+   * @return the date of the day, as an 8-digit integer
+   * @throws IllegalArgumentException if the day is negative or after the current day
+   */
+  public int getDate(int day) throws IllegalArgumentException {
+    if (day < 0 || day > this.day) {
+      throw new IllegalArgumentException("dates are only known up to the current day");
+    }
+    return panel.getDate(day);
+  }
+
+  /**
+   * Return the symbols of the stocks, in the order of their indices.
+   *
+   * @return the symbols of the stocks
+   */
+  public List<String> getSymbols() {
+    return panel.getSymbols();
+  }
+
+  /**
+   * Return the number of stocks.
+   *
+   * @return the number of stocks
+   */
+  public int symbolCount() {
+    return panel.symbolCount();
+  }
+
+  /**
+   * Return the index of the stock of the given symbol.
+   *
+   * @param symbol the symbol of the stock
+   * @return the index of the stock
+   * @throws IllegalArgumentException if there is no such stock
+   */
+  public int indexOf(String symbol) throws IllegalArgumentException {
+    int index = panel.getSymbols().indexOf(symbol);
+    if (index < 0) {
+      throw new IllegalArgumentException("no such stock");
+    }
+    return index;
+  }
+
+  /**
+   * Return the closing price of the given stock on the current day.
+   *
+   * @param symbol the index of the stock
+   * @return the closing price
+   */
+  public double getClose(int symbol) {
+    return panel.getValue(symbol, day);
+  }
+
+  /**
+   * Return the closing price of the given stock on the given day, which cannot be after the
+   * current day. Days before the first replayed day can be read as history.
+   *
+   * @param symbol the index of the stock
+   * @param day    the index of the day
+   * @return the closing price
+   * @throws IllegalArgumentException if the day is negative or after the current day
+   */
+  public double getClose(int symbol, int day) throws IllegalArgumentException {
+    if (day < 0 || day > this.day) {
+      throw new IllegalArgumentException("prices are only known up to the current day");
+    }
+    return panel.getValue(symbol, day);
+  }
+
+  /**
+   * Return the costs of trading in this backtest.
+   *
+   * @return the transaction costs
+   */
+  public TransactionCosts getCosts() {
+    return costs;
+  }
+
+  /**
+   * Return the price paid per share when buying the given stock on the current day, before the
+   * commission.
+   *
+   * @param symbol the index of the stock
+   * @return the price paid per share
+   */
+  public double getBuyPrice(int symbol) {
+    return costs.buyPrice(getClose(symbol));
+  }
+
+  /**
+   * Return the price received per share when selling the given stock on the current day, before
+   * the commission.
+   *
+   * @param symbol the index of the stock
+   * @return the price received per share
+   */
+  public double getSellPrice(int symbol) {
+    return costs.sellPrice(getClose(symbol));
+  }
+
+  /**
+   * Return the number of shares held of the given stock.
+   *
+   * @param symbol the index of the stock
+   * @return the number of shares held
+   */
+  public int getShares(int symbol) {
+    return shares[symbol];
+  }
+
+  /**
+   * Return the cash, which may be negative.
+   *
+   * @return the cash
+   */
+  public double getCash() {
+    return cash;
+  }
+
+  /**
+   * Return the money deposited so far.
+   *
+   * @return the money deposited
+   */
+  public double getInvested() {
+    return invested;
+  }
+
+  /**
+   * Return the number of purchases and sales so far.
+   *
+   * @return the number of trades
+   */
+  public int getTradeCount() {
+    return trades.size();
+  }
+
+  /**
+   * Return the value of the shares held at the closing prices of the current day, plus the cash.
+   *
+   * @return the value of the positions and cash
+   */
+  public double getValue() {
+    double value = cash;
+    for (int k = 0; k < shares.length; k++) {
+      value += shares[k] * panel.getValue(k, day);
+    }
+    return value;
+  }
+
+  /**
+   * Adds the given money to the cash and to the money deposited.
+   *
+   * @param money the money to deposit
+   * @throws IllegalArgumentException if the money is negative
+   */
+  public void deposit(double money) throws IllegalArgumentException {
+    if (money < 0) {
+      throw new IllegalArgumentException("cannot deposit negative money");
+    }
+    cash += money;
+    invested += money;
+  }
+
+  /**
+   * Buys the given number of shares of the given stock at its buy price of the current day, and
+   * pays the commission.
+   *
+   * @param symbol the index of the stock
+   * @param count  the number of shares to buy
+   * @throws IllegalArgumentException if the number of shares is negative
+   */
+  public void buy(int symbol, int count) throws IllegalArgumentException {
+    if (count < 0) {
+      throw new IllegalArgumentException("cannot buy negative shares");
+    }
+    if (count == 0) {
+      return;
+    }
+    double price = getBuyPrice(symbol);
+    shares[symbol] += count;
+    cash -= count * price + costs.commission(count);
+    trades.record(getDate(), panel.getSymbols().get(symbol), count, price);
+  }
+
+  /**
+   * Sells the given number of shares of the given stock at its sell price of the current day, and
+   * pays the commission.
+   *
+   * @param symbol the index of the stock
+   * @param count  the number of shares to sell
+   * @throws IllegalArgumentException if the number of shares is negative or more than are held
+   */
+  public void sell(int symbol, int count) throws IllegalArgumentException {
+    if (count < 0 || count > shares[symbol]) {
+      throw new IllegalArgumentException("can only sell shares that are held");
+    }
+    if (count == 0) {
+      return;
+    }
+    double price = getSellPrice(symbol);
+    shares[symbol] -= count;
+    cash += count * price - costs.commission(-count);
+    trades.record(getDate(), panel.getSymbols().get(symbol), -count, price);
+  }
+
+  /**
+   * Return a copy of the number of shares held of each stock.
+   */
+  int[] copyShares() {
+    return shares.clone();
+  }
+
+  /**
+   * Return the trades made so far, in the order they were made. The ledger is not copied.
+   */
+  TradeLedger getTrades() {
+    return trades;
+  }
+}
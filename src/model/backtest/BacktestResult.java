@@ -0,0 +1,129 @@
+package model.backtest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import utils.PriceSeries;
+
+/**
+ * This class represents the outcome of a backtest: the value of the positions and cash, and the
+ * money deposited, at the close of every trading day, the trades made, and the positions and cash
+ * after the last day. Results are immutable.
+ */
+public class BacktestResult {
+  private final List<String> symbols;
+  private final int[] dates;
+  private final double[] equity;
+  private final double[] invested;
+  private final int[] shares;
+  private final double cash;
+  private final TradeLedger trades;
+
+  /**
+   * Constructs a result of the given arrays and ledger, which are not copied.
+   */
+  BacktestResult(List<String> symbols, int[] dates, double[] equity, double[] invested,
+                 int[] shares, double cash, TradeLedger trades) {
+    this.symbols = Collections.unmodifiableList(symbols);
+    this.dates = dates;
+    this.equity = equity;
+    this.invested = invested;
+    this.shares = shares;
+    this.cash = cash;
+    this.trades = trades;
+  }
+
+  /**
+   * Return the value of the positions and cash at the close of every trading day.
+   *
+   * @return the equity curve
+   */
+  public PriceSeries getEquityCurve() {
+    return new PriceSeries(dates, equity);
+  }
+
+  /**
+   * Return the money deposited up to the close of every trading day.
+   *
+   * @return the money deposited over time
+   */
+  public PriceSeries getInvestedCurve() {
+    return new PriceSeries(dates, invested);
+  }
+
+  /**
+   * Return the value of the positions and cash at the close of the last trading day, or 0 if
+   * there was no trading day.
+   *
+   * @return the final value
+   */
+  public double getFinalValue() {
+    return equity.length == 0 ? 0 : equity[equity.length - 1];
+  }
+
+  /**
+   * Return the total money deposited.
+   *
+   * @return the total money deposited
+   */
+  public double getTotalInvested() {
+    return invested.length == 0 ? 0 : invested[invested.length - 1];
+  }
+
+  /**
+   * Return the final value less the total money deposited.
+   *
+   * @return the profit
+   */
+  public double getProfit() {
+    return getFinalValue() - getTotalInvested();
+  }
+
+  /**
+   * Return the cash after the last trading day.
+   *
+   * @return the cash
+   */
+  public double getCash() {
+    return cash;
+  }
+
+  /**
+   * Return the number of shares held of each stock after the last trading day.
+   *
+   * @return a map whose keys are the symbols of the stocks and values are the shares held
+   */
+  public Map<String, Integer> getHoldings() {
+    Map<String, Integer> holdings = new TreeMap<>();
+    for (int k = 0; k < symbols.size(); k++) {
+      holdings.put(symbols.get(k), shares[k]);
+    }
+    return holdings;
+  }
+
+  /**
+   * Return the number of purchases and sales made.
+   *
+   * @return the number of trades
+   */
+  public int getTradeCount() {
+    return trades.size();
+  }
+
+  /**
+   * Return the trades made, in the order they were made.
+   *
+   * @return the ledger of the trades
+   */
+  public TradeLedger getTrades() {
+    return trades.copy();
+  }
+
+  @Override
+  public String toString() {
+    return "final value: " + getFinalValue() + ", invested: " + getTotalInvested()
+            + ", holdings: " + getHoldings() + ", cash: " + cash;
+  }
+}
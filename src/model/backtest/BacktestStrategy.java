@@ -0,0 +1,36 @@
+package model.backtest;
+
+/**
+ * This interface represents a strategy replayed by a {@link Backtester}. The backtester calls
+ * onStart before the first trading day, onDay on every trading day in order, and onEnd after the
+ * last one; the strategy trades through the given context, which only shows prices up to the
+ * current day.
+ *
+ * <p>A strategy may keep state between the calls of a run, and should reset it in onStart, so
+ * that it can be run again. It should not be run in two backtests at the same time.
+ */
+public interface BacktestStrategy {
+
+  /**
+   * Called once before the first trading day, when the context is on the first day.
+   *
+   * @param context the prices, positions and cash of the backtest
+   */
+  default void onStart(BacktestContext context) {
+  }
+
+  /**
+   * Called on every trading day, after the closing prices of the day are known.
+   *
+   * @param context the prices, positions and cash of the backtest on the day
+   */
+  void onDay(BacktestContext context);
+
+  /**
+   * Called once after the last trading day, when the context is still on the last day.
+   *
+   * @param context the prices, positions and cash of the backtest
+   */
+  default void onEnd(BacktestContext context) {
+  }
+}
@@ -0,0 +1,180 @@
+package model.backtest;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import utils.AlignedPanel;
+import utils.PriceRecord;
+import utils.PriceSeries;
+import utils.SeriesAligner;
+import utils.StockDataRetriever;
+import utils.StockDataRetrievers;
+
+/**
+ * This class replays trading days to a {@link BacktestStrategy}. The closing prices of every
+ * stock in the date range are retrieved once and aligned on common dates before the replay, so
+ * the strategy trades on prices in memory instead of retrieving each of them when it needs it.
+ */
+public class Backtester {
+  private final StockDataRetriever source;
+
+  /**
+   * Constructs a backtester that retrieves prices from the given retriever.
+   *
+   * @param source the retriever to get prices from
+   * @throws IllegalArgumentException if the retriever is @code null
+   */
+  public Backtester(StockDataRetriever source) throws IllegalArgumentException {
+    if (source == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    this.source = source;
+  }
+
+  /**
+   * Retrieves the closing prices of the given stocks in the given date range at once, and
+   * replays their trading days to the given strategy. A stock without a price on a day of the
+   * others takes its price of the day before, and the replay starts on the first day on which
+   * every stock has a price.
+   *
+   * @param stockSymbols the symbols of the stocks, case ignored
+   * @param fromDate     the first date of the range, as an 8-digit integer
+   * @param toDate       the last date of the range, as an 8-digit integer
+   * @param strategy     the strategy to replay the days to
+   * @return the result of the backtest, whose stocks are in alphabetical order
+   * @throws Exception if an argument is @code null or the range is empty, or if the data source
+   *                   is not read correctly
+   */
+  public BacktestResult run(Collection<String> stockSymbols, int fromDate, int toDate,
+                            BacktestStrategy strategy) throws Exception {
+    return run(retrieve(stockSymbols, fromDate, toDate), strategy);
+  }
+
+  /**
+   * Retrieves the closing prices of the given stocks in the given date range at once, aligned as
+   * {@link #run(Collection, int, int, BacktestStrategy)} aligns them, so that they can be
+   * replayed to several strategies.
+   *
+   * @param stockSymbols the symbols of the stocks, case ignored
+   * @param fromDate     the first date of the range, as an 8-digit integer
+   * @param toDate       the last date of the range, as an 8-digit integer
+   * @return the closing prices of the stocks on common dates, in alphabetical order of symbol
+   * @throws Exception if an argument is @code null or the range is empty, or if the data source
+   *                   is not read correctly
+   */
+  public AlignedPanel retrieve(Collection<String> stockSymbols, int fromDate, int toDate)
+          throws Exception {
+    if (stockSymbols == null || stockSymbols.isEmpty()) {
+      throw new IllegalArgumentException("no stock to backtest");
+    }
+    if (toDate < fromDate) {
+      throw new IllegalArgumentException("end date should not be prior to start date");
+    }
+    Set<String> symbols = new TreeSet<>();
+    for (String symbol : stockSymbols) {
+      symbols.add(symbol.toUpperCase());
+    }
+    Map<String, Map<Integer, PriceRecord>> prices =
+            StockDataRetrievers.getHistoricalPrices(source, symbols, fromDate, toDate);
+    Map<String, PriceSeries> closes = new TreeMap<>();
+    for (String symbol : symbols) {
+      Map<Integer, PriceRecord> records = prices.get(symbol);
+      closes.put(symbol, records == null ? PriceSeries.empty()
+              : PriceSeries.ofClosingPrices(records));
+    }
+    return SeriesAligner.align(closes, SeriesAligner.Policy.FORWARD_FILL);
+  }
+
+  /**
+   * Replays the trading days of the given prices to the given strategy, starting with no shares
+   * and no cash.
+   *
+   * @param panel    the closing prices of the stocks on every trading day, with no missing price
+   * @param strategy the strategy to replay the days to
+   * @return the result of the backtest
+   * @throws IllegalArgumentException if an argument is @code null
+   */
+  public static BacktestResult run(AlignedPanel panel, BacktestStrategy strategy)
+          throws IllegalArgumentException {
+    if (panel == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    return replay(panel, panel.isEmpty() ? 0 : panel.getDate(0), 0, panel.dateCount(),
+            TransactionCosts.NONE, strategy);
+  }
+
+  /**
+   * Replays the trading days of the given prices in the given date range to the given strategy,
+   * starting with no shares and no cash, and trading at the closing prices with no commission.
+   * The days before the range are not replayed, but the strategy can read their prices; it is
+   * also told the first date of the range, which may be a day without trading. Several backtests
+   * can replay the same prices at the same time, since none of them changes the prices.
+   *
+   * @param panel    the closing prices of the stocks on every trading day, with no missing price
+   * @param fromDate the first date of the range, as an 8-digit integer
+   * @param toDate   the last date of the range, as an 8-digit integer
+   * @param strategy the strategy to replay the days to
+   * @return the result of the backtest
+   * @throws IllegalArgumentException if an argument is @code null
+   */
+  public static BacktestResult run(AlignedPanel panel, int fromDate, int toDate,
+                                   BacktestStrategy strategy) throws IllegalArgumentException {
+    return run(panel, fromDate, toDate, TransactionCosts.NONE, strategy);
+  }
+
+  /**
+   * Replays the trading days of the given prices in the given date range to the given strategy,
+   * as {@link #run(AlignedPanel, int, int, BacktestStrategy)} does, but trading at the given
+   * costs.
+   *
+   * @param panel    the closing prices of the stocks on every trading day, with no missing price
+   * @param fromDate the first date of the range, as an 8-digit integer
+   * @param toDate   the last date of the range, as an 8-digit integer
+   * @param costs    the costs of each trade
+   * @param strategy the strategy to replay the days to
+   * @return the result of the backtest
+   * @throws IllegalArgumentException if an argument is @code null
+   */
+  public static BacktestResult run(AlignedPanel panel, int fromDate, int toDate,
+                                   TransactionCosts costs, BacktestStrategy strategy)
+          throws IllegalArgumentException {
+    if (panel == null || costs == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    return replay(panel, fromDate, panel.lowerBound(fromDate), panel.upperBound(toDate), costs,
+            strategy);
+  }
+
+  /**
+   * Replays the days in [first, end) of the given prices, requested from the given date, to the
+   * given strategy trading at the given costs.
+   */
+  private static BacktestResult replay(AlignedPanel panel, int startDate, int first, int end,
+                                       TransactionCosts costs, BacktestStrategy strategy)
+          throws IllegalArgumentException {
+    if (strategy == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    int days = Math.max(0, end - first);
+    int[] dates = new int[days];
+    double[] equity = new double[days];
+    double[] invested = new double[days];
+    BacktestContext context = new BacktestContext(panel, startDate, first, end - 1, costs);
+    if (days > 0) {
+      strategy.onStart(context);
+      for (int day = first; day < end; day++) {
+        context.moveTo(day);
+        strategy.onDay(context);
+        dates[day - first] = panel.getDate(day);
+        equity[day - first] = context.getValue();
+        invested[day - first] = context.getInvested();
+      }
+      strategy.onEnd(context);
+    }
+    return new BacktestResult(panel.getSymbols(), dates, equity, invested,
+            context.copyShares(), context.getCash(), context.getTrades());
+  }
+}
@@ -0,0 +1,79 @@
+package model.backtest;
+
+import java.util.SplittableRandom;
+
+import utils.AlignedPanel;
+import utils.Covariances;
+
+/**
+ * This class samples synthetic price paths from the daily returns of historical prices by a
+ * circular block bootstrap: each path strings together blocks of consecutive historical days,
+ * each block starting on a day drawn at random and wrapping around from the last day to the
+ * first. All the stocks take the returns of the same days, so a path keeps the correlation
+ * between them, and a block keeps the correlation of a stock with itself over a few days.
+ *
+ * <p>A path has the dates and the first prices of the history, and its later prices compound
+ * the sampled returns, so a strategy replays it as it would replay the history.
+ */
+public class BlockBootstrap {
+  private final AlignedPanel history;
+  // the daily returns of each stock, in symbol-major order
+  private final double[] returns;
+  private final int blockLength;
+
+  /**
+   * Constructs a bootstrap of the given historical prices.
+   *
+   * @param history     the closing prices of the stocks, with no missing price
+   * @param blockLength the number of consecutive days of each block
+   * @throws IllegalArgumentException if the prices are @code null or of less than 2 days, or if
+   *                                  the block length is not positive
+   */
+  public BlockBootstrap(AlignedPanel history, int blockLength) throws IllegalArgumentException {
+    if (history == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (history.dateCount() < 2) {
+      throw new IllegalArgumentException("at least 2 days of prices are needed");
+    }
+    if (blockLength <= 0) {
+      throw new IllegalArgumentException("block length should be positive");
+    }
+    this.history = history;
+    this.returns = Covariances.dailyReturns(history);
+    this.blockLength = blockLength;
+  }
+
+  /**
+   * Return a synthetic path of prices sampled with the given generator. The same generator state
+   * gives the same path.
+   *
+   * @param random the generator that draws the blocks
+   * @return the prices of the stocks on the dates of the history
+   */
+  public AlignedPanel samplePath(SplittableRandom random) {
+    int dates = history.dateCount();
+    int days = dates - 1;
+    int symbols = history.symbolCount();
+    double[] values = new double[dates * symbols];
+    for (int k = 0; k < symbols; k++) {
+      values[k * dates] = history.getValue(k, 0);
+    }
+
+    int day = 0;
+    while (day < days) {
+      int source = random.nextInt(days);
+      int length = Math.min(blockLength, days - day);
+      for (int i = 0; i < length; i++) {
+        for (int k = 0; k < symbols; k++) {
+          int at = k * dates + day + i;
+          values[at + 1] = values[at] * (1 + returns[k * days + source]);
+        }
+        source = source + 1 == days ? 0 : source + 1;
+      }
+      day += length;
+    }
+    // the path is new, so it needs no defensive copy
+    return history.withValues(values);
+  }
+}
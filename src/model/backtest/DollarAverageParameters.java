@@ -0,0 +1,79 @@
+package model.backtest;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * This class represents the parameters of the dollar-average strategy: the proportions of the
+ * money spent on each stock, the money of each investment and the number of days between
+ * investments. The proportions are scaled to add up to 1, so that each investment spends the
+ * money once. Parameters are immutable, and give a new strategy for each backtest.
+ */
+public class DollarAverageParameters {
+  private final Map<String, Double> proportions;
+  private final double money;
+  private final int period;
+
+  /**
+   * Constructs parameters of the dollar-average strategy.
+   *
+   * @param proportions a map whose keys are symbols and values are the proportions of the money
+   *                    spent on the corresponding stocks, which are scaled to add up to 1
+   * @param money       the money of each investment
+   * @param period      the number of calendar days between investments
+   * @throws IllegalArgumentException if the map is @code null, or if a proportion is negative or
+   *                                  all are 0, or if the money is negative, or if the period is
+   *                                  not positive
+   */
+  public DollarAverageParameters(Map<String, Double> proportions, double money, int period)
+          throws IllegalArgumentException {
+    if (!(money >= 0) || period <= 0) {
+      throw new IllegalArgumentException("invalid money or period");
+    }
+    this.proportions = Collections.unmodifiableMap(WeightUtil.normalizeWeights(proportions));
+    this.money = money;
+    this.period = period;
+  }
+
+  /**
+   * Return the proportions of the money spent on each stock, adding up to 1.
+   *
+   * @return a map whose keys are symbols, in upper case, and values are the proportions of the
+   *         corresponding stocks
+   */
+  public Map<String, Double> getProportions() {
+    return proportions;
+  }
+
+  /**
+   * Return the money of each investment.
+   *
+   * @return the money of each investment
+   */
+  public double getMoney() {
+    return money;
+  }
+
+  /**
+   * Return the number of calendar days between investments.
+   *
+   * @return the period
+   */
+  public int getPeriod() {
+    return period;
+  }
+
+  /**
+   * Return a new dollar-average strategy with these parameters.
+   *
+   * @return a dollar-average strategy
+   */
+  public DollarCostAveraging newStrategy() {
+    return new DollarCostAveraging(proportions, money, period);
+  }
+
+  @Override
+  public String toString() {
+    return "proportions: " + proportions + ", money: " + money + ", period: " + period;
+  }
+}
@@ -0,0 +1,127 @@
+package model.backtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import utils.AlignedPanel;
+import utils.ParallelUtil;
+
+/**
+ * This class runs the dollar-average strategy with every combination of a grid of parameters
+ * over one set of preloaded prices. The combinations are split among the threads of a
+ * work-stealing fork/join pool, and all of them read the same prices.
+ *
+ * <p>Each combination is the {@link DollarCostAveraging} backtest that DollarAverageStrategy
+ * replays, so its profit is the one DollarAverageStrategy gives with the same parameters. The
+ * money it invests is all the money deposited, though, and its value includes the cash left after
+ * buying whole shares, whereas DollarAverageStrategy leaves that cash out of both.
+ */
+public class DollarAverageSweep {
+  private final AlignedPanel panel;
+  private final Map<String, Double> proportions;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a sweep over the given prices.
+   *
+   * @param panel       the closing prices of the stocks, covering every start date to the
+   *                    valuation date
+   * @param proportions a map whose keys are symbols and values are the proportions of the money
+   *                    spent on the corresponding stocks
+   * @param pool        the pool to run the combinations in
+   * @throws IllegalArgumentException if an argument is @code null
+   */
+  public DollarAverageSweep(AlignedPanel panel, Map<String, Double> proportions,
+                            ForkJoinPool pool) throws IllegalArgumentException {
+    if (panel == null || proportions == null || pool == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    this.panel = panel;
+    this.proportions = proportions;
+    this.pool = pool;
+  }
+
+  /**
+   * Runs the dollar-average strategy with every combination of the given parameters, and values
+   * what each of them bought at the closing prices of the valuation date, or of the last trading
+   * day before it. Combinations whose start date is after their end date are left out.
+   *
+   * @param moneys        the amounts of money of each investment
+   * @param periods       the numbers of calendar days between investments
+   * @param startDates    the first dates of the investments, as 8-digit integers
+   * @param endDates      the last dates of the investments, as 8-digit integers
+   * @param valuationDate the date on which the shares bought are valued, as an 8-digit integer
+   * @return the result of every combination, the most profitable first
+   * @throws IllegalArgumentException if an array is @code null, or if an amount of money is
+   *                                  negative or a period is less than 7 days, or if an end date
+   *                                  is after the valuation date
+   */
+  public List<SweepResult> run(double[] moneys, int[] periods, int[] startDates, int[] endDates,
+                               int valuationDate) throws IllegalArgumentException {
+    if (moneys == null || periods == null || startDates == null || endDates == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    for (double money : moneys) {
+      if (money < 0) {
+        throw new IllegalArgumentException("money should not be negative");
+      }
+    }
+    for (int period : periods) {
+      if (period < 7) {
+        throw new IllegalArgumentException("period should be at least 7 days");
+      }
+    }
+    for (int endDate : endDates) {
+      if (endDate > valuationDate) {
+        throw new IllegalArgumentException("end date should not be after the valuation date");
+      }
+    }
+
+    // every combination, as the index of each parameter
+    List<int[]> combinations = new ArrayList<>();
+    for (int m = 0; m < moneys.length; m++) {
+      for (int p = 0; p < periods.length; p++) {
+        for (int s = 0; s < startDates.length; s++) {
+          for (int e = 0; e < endDates.length; e++) {
+            if (startDates[s] <= endDates[e]) {
+              combinations.add(new int[]{m, p, s, e});
+            }
+          }
+        }
+      }
+    }
+    SweepResult[] results = new SweepResult[combinations.size()];
+    int valuationDay = panel.upperBound(valuationDate) - 1;
+    ParallelUtil.forEach(pool, results.length, i -> {
+      int[] combination = combinations.get(i);
+      results[i] = run(moneys[combination[0]], periods[combination[1]],
+              startDates[combination[2]], endDates[combination[3]], valuationDay);
+    });
+
+    List<SweepResult> ranked = new ArrayList<>(Arrays.asList(results));
+    ranked.sort(Comparator.comparingDouble(SweepResult::getProfit).reversed());
+    return ranked;
+  }
+
+  /**
+   * Return the result of the dollar-average strategy with the given parameters.
+   */
+  private SweepResult run(double money, int period, int startDate, int endDate,
+                          int valuationDay) {
+    BacktestResult result = Backtester.run(panel, startDate, endDate,
+            new DollarCostAveraging(proportions, money, period));
+    double value = result.getCash();
+    if (valuationDay >= 0) {
+      List<String> symbols = panel.getSymbols();
+      Map<String, Integer> holdings = result.getHoldings();
+      for (int k = 0; k < symbols.size(); k++) {
+        value += holdings.get(symbols.get(k)) * panel.getValue(k, valuationDay);
+      }
+    }
+    return new SweepResult(money, period, startDate, endDate, result.getTotalInvested(), value);
+  }
+}
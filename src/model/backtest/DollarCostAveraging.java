@@ -0,0 +1,71 @@
+package model.backtest;
+
+import java.util.Map;
+
+import utils.CalendarUtil;
+
+/**
+ * This class represents the dollar-average strategy as a backtest strategy: it deposits a set
+ * amount of money every set number of calendar days, starting on the first date of the backtest,
+ * and spends it on whole shares of the stocks in set proportions. An investment due on a day
+ * without trading is made on the next trading day, and later investments stay on the original
+ * schedule, so that a backtest from a holiday invests on the schedule of that holiday. This is
+ * the implementation DollarAverageStrategy replays as well.
+ */
+public class DollarCostAveraging implements BacktestStrategy {
+  private final Map<String, Double> proportions;
+  private final double money;
+  private final int period;
+  // the proportion of each stock of the backtest, and the date of the next investment
+  private double[] weights;
+  private int nextDate;
+
+  /**
+   * Constructs a dollar-average strategy.
+   *
+   * @param proportions a map whose keys are symbols and values are the proportions of the money
+   *                    spent on the corresponding stocks, which are scaled to add up to 1; stocks
+   *                    of the backtest not in the map are not bought
+   * @param money       the money of each investment
+   * @param period      the number of calendar days between investments
+   * @throws IllegalArgumentException if the map is @code null, or if a proportion is negative or
+   *                                  all are 0, or if the money is negative, or if the period is
+   *                                  not positive
+   */
+  public DollarCostAveraging(Map<String, Double> proportions, double money, int period)
+          throws IllegalArgumentException {
+    if (!(money >= 0) || period <= 0) {
+      throw new IllegalArgumentException("invalid money or period");
+    }
+    this.proportions = WeightUtil.normalizeWeights(proportions);
+    this.money = money;
+    this.period = period;
+  }
+
+  @Override
+  public void onStart(BacktestContext context) {
+    weights = new double[context.symbolCount()];
+    for (Map.Entry<String, Double> entry : proportions.entrySet()) {
+      weights[context.indexOf(entry.getKey())] = entry.getValue();
+    }
+    nextDate = context.getStartDate();
+  }
+
+  @Override
+  public void onDay(BacktestContext context) {
+    int date = context.getDate();
+    if (date < nextDate) {
+      return;
+    }
+    context.deposit(money);
+    for (int k = 0; k < weights.length; k++) {
+      if (weights[k] > 0) {
+        // assuming only whole number of shares can be purchased
+        context.buy(k, (int) Math.round(weights[k] * money / context.getClose(k)));
+      }
+    }
+    while (nextDate <= date) {
+      nextDate = CalendarUtil.addDays(nextDate, period);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package model.backtest;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import utils.ParallelUtil;
+
+/**
+ * This class replays a strategy over many price paths sampled by a {@link BlockBootstrap}, and
+ * collects the profit of each. The paths are split among the threads of a fork/join pool. Each
+ * path draws from its own generator, split from a generator of the given seed in the order of
+ * the paths before any of them runs, so the profits depend on the seed only, however the paths
+ * are scheduled.
+ */
+public class MonteCarloSimulation {
+  private final BlockBootstrap bootstrap;
+  private final Supplier<? extends BacktestStrategy> strategies;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a simulation.
+   *
+   * @param bootstrap  the sampler of the price paths
+   * @param strategies the supplier of a new strategy for each path, since a strategy keeps state
+   *                   during a run
+   * @param pool       the pool to run the paths in
+   * @throws IllegalArgumentException if an argument is @code null
+   */
+  public MonteCarloSimulation(BlockBootstrap bootstrap,
+                              Supplier<? extends BacktestStrategy> strategies, ForkJoinPool pool)
+          throws IllegalArgumentException {
+    if (bootstrap == null || strategies == null || pool == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    this.bootstrap = bootstrap;
+    this.strategies = strategies;
+    this.pool = pool;
+  }
+
+  /**
+   * Replays the strategy over the given number of sampled paths.
+   *
+   * @param paths the number of paths
+   * @param seed  the seed of the generators
+   * @return the profits of the paths
+   * @throws IllegalArgumentException if the number of paths is not positive
+   */
+  public SimulationResult run(int paths, long seed) throws IllegalArgumentException {
+    if (paths <= 0) {
+      throw new IllegalArgumentException("at least 1 path is needed");
+    }
+    SplittableRandom root = new SplittableRandom(seed);
+    SplittableRandom[] randoms = new SplittableRandom[paths];
+    for (int i = 0; i < paths; i++) {
+      randoms[i] = root.split();
+    }
+    double[] profits = new double[paths];
+    ParallelUtil.forEach(pool, paths, i -> profits[i] =
+            Backtester.run(bootstrap.samplePath(randoms[i]), strategies.get()).getProfit());
+    return new SimulationResult(profits);
+  }
+}
@@ -0,0 +1,155 @@
+package model.backtest;
+
+import java.util.Map;
+
+import utils.CalendarUtil;
+
+/**
+ * This class represents a backtest strategy that keeps the stocks at target proportions of the
+ * value held. It deposits a set amount of money every set number of calendar days from the first
+ * date of the backtest, as {@link DollarCostAveraging} does, and spends it on the stocks in the
+ * target proportions. Every rebalancing period, and on any day when the proportion of a stock has
+ * drifted from its target by more than a threshold, it sells the stocks above their targets and
+ * buys the ones below, back to the target proportions of the whole value.
+ *
+ * <p>Every trade goes through the context, so it pays the transaction costs of the backtest. A
+ * sale that does not pay its own commission is not made, and purchases never spend more than the
+ * cash held, so some cash may be left.
+ */
+public class Rebalancing implements BacktestStrategy {
+  private final Map<String, Double> targets;
+  private final double money;
+  private final int period;
+  private final int rebalancePeriod;
+  private final double driftThreshold;
+  // the target of each stock of the backtest, the value aimed at for each, and the next dates
+  private double[] weights;
+  private double[] budgets;
+  private int nextDeposit;
+  private int nextRebalance;
+
+  /**
+   * Constructs a rebalancing strategy.
+   *
+   * @param targets         a map whose keys are symbols and values are the target proportions
+   *                        of the corresponding stocks, which are scaled to add up to 1; stocks
+   *                        of the backtest not in the map are sold at rebalancing
+   * @param money           the money of each deposit
+   * @param period          the number of calendar days between deposits
+   * @param rebalancePeriod the number of calendar days between rebalancings, or 0 to rebalance
+   *                        on drift only
+   * @param driftThreshold  the largest difference between the proportion of a stock and its
+   *                        target kept without rebalancing, or 0 to rebalance on schedule only
+   * @throws IllegalArgumentException if the map is @code null, or if a target is negative or all
+   *                                  are 0, or if the money, the rebalancing period or the
+   *                                  threshold is negative, or if the period is not positive
+   */
+  public Rebalancing(Map<String, Double> targets, double money, int period, int rebalancePeriod,
+                     double driftThreshold) throws IllegalArgumentException {
+    if (!(money >= 0) || period <= 0) {
+      throw new IllegalArgumentException("invalid money or period");
+    }
+    if (rebalancePeriod < 0 || !(driftThreshold >= 0)) {
+      throw new IllegalArgumentException("period and threshold should not be negative");
+    }
+    this.targets = WeightUtil.normalizeWeights(targets);
+    this.money = money;
+    this.period = period;
+    this.rebalancePeriod = rebalancePeriod;
+    this.driftThreshold = driftThreshold;
+  }
+
+  @Override
+  public void onStart(BacktestContext context) {
+    weights = new double[context.symbolCount()];
+    budgets = new double[context.symbolCount()];
+    for (Map.Entry<String, Double> entry : targets.entrySet()) {
+      weights[context.indexOf(entry.getKey())] = entry.getValue();
+    }
+    nextDeposit = context.getStartDate();
+    nextRebalance = rebalancePeriod > 0
+            ? CalendarUtil.addDays(nextDeposit, rebalancePeriod) : Integer.MAX_VALUE;
+  }
+
+  @Override
+  public void onDay(BacktestContext context) {
+    int date = context.getDate();
+    boolean deposit = date >= nextDeposit;
+    if (deposit) {
+      context.deposit(money);
+      while (nextDeposit <= date) {
+        nextDeposit = CalendarUtil.addDays(nextDeposit, period);
+      }
+    }
+
+    boolean rebalance = date >= nextRebalance;
+    while (nextRebalance <= date) {
+      nextRebalance = CalendarUtil.addDays(nextRebalance, rebalancePeriod);
+    }
+    if (!rebalance && driftThreshold > 0) {
+      rebalance = hasDrifted(context);
+    }
+
+    if (rebalance) {
+      // value the holdings at the close, and aim every stock at its share of the whole value
+      double value = context.getValue();
+      for (int k = 0; k < weights.length; k++) {
+        budgets[k] = weights[k] * value;
+      }
+      trade(context);
+    } else if (deposit) {
+      // the cash only tops the stocks up in the target proportions
+      for (int k = 0; k < weights.length; k++) {
+        budgets[k] = weights[k] * context.getCash()
+                + context.getShares(k) * context.getBuyPrice(k);
+      }
+      trade(context);
+    }
+  }
+
+  /**
+   * Return whether the proportion of the value of any stock held differs from its target by more
+   * than the drift threshold.
+   */
+  private boolean hasDrifted(BacktestContext context) {
+    double total = 0;
+    for (int k = 0; k < weights.length; k++) {
+      total += context.getShares(k) * context.getClose(k);
+    }
+    if (total == 0) {
+      return false;
+    }
+    for (int k = 0; k < weights.length; k++) {
+      double weight = context.getShares(k) * context.getClose(k) / total;
+      if (Math.abs(weight - weights[k]) > driftThreshold) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Trades every stock towards its budget: sells first, so the money received pays for the buys,
+   * then buys as many whole shares as the cash pays for.
+   */
+  private void trade(BacktestContext context) {
+    double perTrade = context.getCosts().getPerTrade();
+    double perShare = context.getCosts().getPerShare();
+    for (int k = 0; k < weights.length; k++) {
+      int excess = context.getShares(k) - (int) Math.floor(budgets[k] / context.getClose(k));
+      // a sale that does not pay its own commission is not worth making
+      if (excess > 0 && excess * context.getSellPrice(k)
+              > context.getCosts().commission(-excess)) {
+        context.sell(k, excess);
+      }
+    }
+    for (int k = 0; k < weights.length; k++) {
+      double ask = context.getBuyPrice(k);
+      double budget = Math.min(budgets[k] - context.getShares(k) * ask, context.getCash());
+      int count = (int) Math.floor((budget - perTrade) / (ask + perShare));
+      if (count > 0) {
+        context.buy(k, count);
+      }
+    }
+  }
+}
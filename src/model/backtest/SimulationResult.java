@@ -0,0 +1,95 @@
+package model.backtest;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the profits of a strategy over many simulated price paths, and the
+ * spread of them. Results are immutable.
+ */
+public class SimulationResult {
+  private final double[] profits;
+
+  /**
+   * Constructs a result of the given profits, one per path, which are copied.
+   *
+   * @param profits the profit of each path
+   * @throws IllegalArgumentException if the profits are @code null or empty
+   */
+  public SimulationResult(double[] profits) throws IllegalArgumentException {
+    if (profits == null || profits.length == 0) {
+      throw new IllegalArgumentException("at least 1 path is needed");
+    }
+    this.profits = profits.clone();
+    Arrays.sort(this.profits);
+  }
+
+  /**
+   * Return the number of paths simulated.
+   *
+   * @return the number of paths
+   */
+  public int getPathCount() {
+    return profits.length;
+  }
+
+  /**
+   * Return the given percentile of the profits, interpolated linearly between the two closest
+   * profits.
+   *
+   * @param percent the percentile, from 0 for the lowest profit to 100 for the highest one
+   * @return the profit at the percentile
+   * @throws IllegalArgumentException if the percentile is not within [0, 100]
+   */
+  public double percentile(double percent) throws IllegalArgumentException {
+    if (!(percent >= 0 && percent <= 100)) {
+      throw new IllegalArgumentException("percentile should be within [0, 100]");
+    }
+    double rank = percent / 100 * (profits.length - 1);
+    int below = (int) Math.floor(rank);
+    int above = Math.min(below + 1, profits.length - 1);
+    return profits[below] + (rank - below) * (profits[above] - profits[below]);
+  }
+
+  /**
+   * Return the average profit.
+   *
+   * @return the average profit
+   */
+  public double getMean() {
+    double sum = 0;
+    for (double profit : profits) {
+      sum += profit;
+    }
+    return sum / profits.length;
+  }
+
+  /**
+   * Return the fraction of the paths whose profit is negative.
+   *
+   * @return the probability of a loss
+   */
+  public double getLossProbability() {
+    int losses = 0;
+    while (losses < profits.length && profits[losses] < 0) {
+      losses++;
+    }
+    return (double) losses / profits.length;
+  }
+
+  /**
+   * Return a copy of the profits, in ascending order.
+   *
+   * @return the profit of each path, the lowest first
+   */
+  public double[] getProfits() {
+    return profits.clone();
+  }
+
+  @Override
+  public String toString() {
+    return "paths: " + profits.length + ", 5%: " + percentile(5) + ", 25%: " + percentile(25)
+            + ", median: " + percentile(50) + ", 75%: " + percentile(75) + ", 95%: "
+            + percentile(95) + ", mean: " + getMean() + ", loss probability: "
+            + getLossProbability();
+  }
+}
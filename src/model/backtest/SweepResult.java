@@ -0,0 +1,114 @@
+package model.backtest;
+
+/**
+ * This class represents the outcome of one combination of a parameter sweep of the
+ * dollar-average strategy: its parameters, the money it invested, and the value of what it
+ * bought on the valuation date. Results are immutable.
+ */
+public class SweepResult {
+  private final double money;
+  private final int period;
+  private final int startDate;
+  private final int endDate;
+  private final double invested;
+  private final double value;
+
+  /**
+   * Constructs a result.
+   *
+   * @param money     the money of each investment
+   * @param period    the number of calendar days between investments
+   * @param startDate the first date of the investments, as an 8-digit integer
+   * @param endDate   the last date of the investments, as an 8-digit integer
+   * @param invested  the total money deposited
+   * @param value     the value of the shares bought and the money left on the valuation date
+   */
+  public SweepResult(double money, int period, int startDate, int endDate, double invested,
+                     double value) {
+    this.money = money;
+    this.period = period;
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.invested = invested;
+    this.value = value;
+  }
+
+  /**
+   * Return the money of each investment.
+   *
+   * @return the money of each investment
+   */
+  public double getMoney() {
+    return money;
+  }
+
+  /**
+   * Return the number of calendar days between investments.
+   *
+   * @return the period
+   */
+  public int getPeriod() {
+    return period;
+  }
+
+  /**
+   * Return the first date of the investments.
+   *
+   * @return the start date, as an 8-digit integer
+   */
+  public int getStartDate() {
+    return startDate;
+  }
+
+  /**
+   * Return the last date of the investments.
+   *
+   * @return the end date, as an 8-digit integer
+   */
+  public int getEndDate() {
+    return endDate;
+  }
+
+  /**
+   * Return the total money invested, which is all the money deposited, the cash left after
+   * buying whole shares included.
+   *
+   * @return the total money invested
+   */
+  public double getInvested() {
+    return invested;
+  }
+
+  /**
+   * Return the value of the shares bought and the money left on the valuation date.
+   *
+   * @return the value on the valuation date
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Return the value on the valuation date less the money invested.
+   *
+   * @return the profit
+   */
+  public double getProfit() {
+    return value - invested;
+  }
+
+  /**
+   * Return the profit as a fraction of the money invested, or 0 if nothing was invested.
+   *
+   * @return the return on the money invested
+   */
+  public double getReturn() {
+    return invested == 0 ? 0 : (value - invested) / invested;
+  }
+
+  @Override
+  public String toString() {
+    return "money: " + money + ", period: " + period + ", from " + startDate + " to " + endDate
+            + ", invested: " + invested + ", profit: " + getProfit();
+  }
+}
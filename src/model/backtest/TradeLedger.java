@@ -0,0 +1,186 @@
+package model.backtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a ledger of the trades of an investment, in the order they were made.
+ * Each trade is a row of four primitive columns: its date, the id of its stock, its number of
+ * shares and its price per share. Ids are given to symbols in the order they first trade, so
+ * recording a trade allocates nothing once the columns have grown large enough.
+ */
+public class TradeLedger {
+  private final List<String> symbols;
+  private final Map<String, Integer> ids;
+  private int[] dates;
+  private int[] symbolIds;
+  private int[] shares;
+  private double[] prices;
+  private int size;
+
+  /**
+   * Constructs an empty ledger.
+   */
+  public TradeLedger() {
+    this.symbols = new ArrayList<>();
+    this.ids = new HashMap<>();
+    this.dates = new int[16];
+    this.symbolIds = new int[16];
+    this.shares = new int[16];
+    this.prices = new double[16];
+    this.size = 0;
+  }
+
+  /**
+   * Constructs a copy of the given ledger, with columns no longer than its trades.
+   */
+  private TradeLedger(TradeLedger other) {
+    this.symbols = new ArrayList<>(other.symbols);
+    this.ids = new HashMap<>(other.ids);
+    this.dates = Arrays.copyOf(other.dates, other.size);
+    this.symbolIds = Arrays.copyOf(other.symbolIds, other.size);
+    this.shares = Arrays.copyOf(other.shares, other.size);
+    this.prices = Arrays.copyOf(other.prices, other.size);
+    this.size = other.size;
+  }
+
+  /**
+   * Records a trade.
+   *
+   * @param date   the date of the trade, as an 8-digit integer
+   * @param symbol the symbol of the stock traded
+   * @param count  the number of shares bought, or sold if negative
+   * @param price  the price per share
+   * @throws IllegalArgumentException if the symbol is @code null
+   */
+  public void record(int date, String symbol, int count, double price)
+          throws IllegalArgumentException {
+    if (symbol == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    Integer id = ids.get(symbol);
+    if (id == null) {
+      id = symbols.size();
+      symbols.add(symbol);
+      ids.put(symbol, id);
+    }
+    if (size == dates.length) {
+      int capacity = size * 2;
+      dates = Arrays.copyOf(dates, capacity);
+      symbolIds = Arrays.copyOf(symbolIds, capacity);
+      shares = Arrays.copyOf(shares, capacity);
+      prices = Arrays.copyOf(prices, capacity);
+    }
+    dates[size] = date;
+    symbolIds[size] = id;
+    shares[size] = count;
+    prices[size] = price;
+    size++;
+  }
+
+  /**
+   * Return the number of trades.
+   *
+   * @return the number of trades
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Return the symbols that have traded, indexed by their ids.
+   *
+   * @return the symbols that have traded
+   */
+  public List<String> getSymbols() {
+    return Collections.unmodifiableList(symbols);
+  }
+
+  /**
+   * Return the date of the i-th trade.
+   *
+   * @param i the index of the trade
+   * @return the date, as an 8-digit integer
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int getDate(int i) throws IndexOutOfBoundsException {
+    checkIndex(i);
+    return dates[i];
+  }
+
+  /**
+   * Return the id of the stock of the i-th trade.
+   *
+   * @param i the index of the trade
+   * @return the id of the stock
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int getSymbolId(int i) throws IndexOutOfBoundsException {
+    checkIndex(i);
+    return symbolIds[i];
+  }
+
+  /**
+   * Return the symbol of the stock of the i-th trade.
+   *
+   * @param i the index of the trade
+   * @return the symbol of the stock
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public String getSymbol(int i) throws IndexOutOfBoundsException {
+    return symbols.get(getSymbolId(i));
+  }
+
+  /**
+   * Return the number of shares of the i-th trade.
+   *
+   * @param i the index of the trade
+   * @return the number of shares bought, or sold if negative
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int getShares(int i) throws IndexOutOfBoundsException {
+    checkIndex(i);
+    return shares[i];
+  }
+
+  /**
+   * Return the price per share of the i-th trade.
+   *
+   * @param i the index of the trade
+   * @return the price per share
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public double getPrice(int i) throws IndexOutOfBoundsException {
+    checkIndex(i);
+    return prices[i];
+  }
+
+  /**
+   * Return a copy of this ledger that later trades recorded in this one do not change.
+   *
+   * @return a copy of this ledger
+   */
+  public TradeLedger copy() {
+    return new TradeLedger(this);
+  }
+
+  private void checkIndex(int i) throws IndexOutOfBoundsException {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("index " + i + " out of " + size + " trades");
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      builder.append(dates[i]).append(' ').append(symbols.get(symbolIds[i])).append(' ')
+              .append(shares[i]).append(" @ ").append(prices[i]).append('\n');
+    }
+    return builder.toString();
+  }
+}
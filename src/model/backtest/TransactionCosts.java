@@ -0,0 +1,97 @@
+package model.backtest;
+
+/**
+ * This class represents the costs of trading stocks: a commission per trade and per share, and
+ * the prices paid and received away from the closing price, by half the bid-ask spread and by
+ * the slippage of the order. Costs are immutable.
+ */
+public class TransactionCosts {
+  /**
+   * Trading at the closing prices with no commission.
+   */
+  public static final TransactionCosts NONE = new TransactionCosts(0, 0, 0, 0);
+
+  private final double perTrade;
+  private final double perShare;
+  private final double spread;
+  private final double slippage;
+
+  /**
+   * Constructs costs of trading.
+   *
+   * @param perTrade the commission of each trade
+   * @param perShare the commission of each share traded
+   * @param spread   the bid-ask spread as a fraction of the closing price, half of which is paid
+   *                 on each trade
+   * @param slippage the move of the price against each trade, as a fraction of the closing price
+   * @throws IllegalArgumentException if a cost is negative, or if half the spread and the slippage
+   *                                  together are not less than the whole price
+   */
+  public TransactionCosts(double perTrade, double perShare, double spread, double slippage)
+          throws IllegalArgumentException {
+    if (!(perTrade >= 0 && perShare >= 0 && spread >= 0 && slippage >= 0)) {
+      throw new IllegalArgumentException("costs should not be negative");
+    }
+    if (spread / 2 + slippage >= 1) {
+      throw new IllegalArgumentException("spread and slippage should be less than the price");
+    }
+    this.perTrade = perTrade;
+    this.perShare = perShare;
+    this.spread = spread;
+    this.slippage = slippage;
+  }
+
+  /**
+   * Return the price paid per share when buying at the given closing price.
+   *
+   * @param close the closing price
+   * @return the closing price raised by half the spread and the slippage
+   */
+  public double buyPrice(double close) {
+    return close * (1 + spread / 2 + slippage);
+  }
+
+  /**
+   * Return the price received per share when selling at the given closing price.
+   *
+   * @param close the closing price
+   * @return the closing price lowered by half the spread and the slippage
+   */
+  public double sellPrice(double close) {
+    return close * (1 - spread / 2 - slippage);
+  }
+
+  /**
+   * Return the commission of a trade of the given number of shares.
+   *
+   * @param shares the number of shares bought, or sold if negative
+   * @return the commission, or 0 if no share is traded
+   */
+  public double commission(int shares) {
+    return shares == 0 ? 0 : perTrade + perShare * Math.abs(shares);
+  }
+
+  /**
+   * Return the commission of each trade.
+   *
+   * @return the commission per trade
+   */
+  public double getPerTrade() {
+    return perTrade;
+  }
+
+  /**
+   * Return the commission of each share traded.
+   *
+   * @return the commission per share
+   */
+  public double getPerShare() {
+    return perShare;
+  }
+
+  @Override
+  public String toString() {
+    return "per trade: " + perTrade + ", per share: " + perShare + ", spread: " + spread
+            + ", slippage: " + slippage;
+  }
+}
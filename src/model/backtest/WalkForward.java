@@ -0,0 +1,114 @@
+package model.backtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import utils.AlignedPanel;
+import utils.ParallelUtil;
+
+/**
+ * This class runs a walk-forward optimization of a strategy over one set of preloaded prices.
+ * The trading days are split into rolling windows of a number of training days followed by a
+ * number of test days, each window starting where the test days of the one before started. On
+ * the training days of a window every candidate set of parameters is backtested, and the one
+ * with the highest return on the money invested is backtested again on the test days, which it
+ * has not seen. The windows are split among the threads of a fork/join pool, and all of them
+ * read the same prices.
+ *
+ * @param <P> the type of the parameters of the strategy
+ */
+public class WalkForward<P> {
+  private final AlignedPanel panel;
+  private final List<P> candidates;
+  private final Function<? super P, ? extends BacktestStrategy> strategies;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a walk-forward optimization over the given prices.
+   *
+   * @param panel      the closing prices of the stocks on every trading day, with no missing
+   *                   price
+   * @param candidates the candidate sets of parameters; the first of equally good ones is chosen,
+   *                   and the first one if no training return is a number
+   * @param strategies the function that gives a new strategy with a set of parameters
+   * @param pool       the pool to run the windows in
+   * @throws IllegalArgumentException if an argument is @code null, or if there is no candidate
+   */
+  public WalkForward(AlignedPanel panel, List<P> candidates,
+                     Function<? super P, ? extends BacktestStrategy> strategies,
+                     ForkJoinPool pool) throws IllegalArgumentException {
+    if (panel == null || candidates == null || strategies == null || pool == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (candidates.isEmpty()) {
+      throw new IllegalArgumentException("no candidate parameters");
+    }
+    this.panel = panel;
+    this.candidates = candidates;
+    this.strategies = strategies;
+    this.pool = pool;
+  }
+
+  /**
+   * Runs the optimization in windows of the given numbers of trading days. Only windows whose
+   * test days are all within the prices are run, so trailing days too few for a whole test are
+   * left out.
+   *
+   * @param trainDays the number of trading days on which the parameters are chosen
+   * @param testDays  the number of trading days on which the chosen parameters are tested
+   * @return the windows and their statistics out of sample
+   * @throws IllegalArgumentException if a number of days is not positive
+   */
+  public WalkForwardResult<P> run(int trainDays, int testDays) throws IllegalArgumentException {
+    if (trainDays <= 0 || testDays <= 0) {
+      throw new IllegalArgumentException("days should be positive");
+    }
+    int count = Math.max(0, (panel.dateCount() - trainDays) / testDays);
+    List<WalkForwardWindow<P>> windows = new ArrayList<>(
+            Collections.<WalkForwardWindow<P>>nCopies(count, null));
+    ParallelUtil.forEach(pool, count,
+            i -> windows.set(i, window(i * testDays, trainDays, testDays)));
+    return new WalkForwardResult<>(windows);
+  }
+
+  /**
+   * Return the profit of the given backtest as a fraction of the money invested, or 0 if
+   * nothing was invested.
+   */
+  static double returnOf(BacktestResult result) {
+    double invested = result.getTotalInvested();
+    return invested == 0 ? 0 : result.getProfit() / invested;
+  }
+
+  /**
+   * Return the window whose training days start on the given day.
+   */
+  private WalkForwardWindow<P> window(int first, int trainDays, int testDays) {
+    int trainStart = panel.getDate(first);
+    int trainEnd = panel.getDate(first + trainDays - 1);
+    P best = null;
+    double bestReturn = Double.NEGATIVE_INFINITY;
+    for (P candidate : candidates) {
+      double trainReturn = returnOf(Backtester.run(panel, trainStart, trainEnd,
+              strategies.apply(candidate)));
+      if (trainReturn > bestReturn) {
+        best = candidate;
+        bestReturn = trainReturn;
+      }
+    }
+    if (best == null) {
+      // every training return is NaN, so none is better than the first
+      best = candidates.get(0);
+      bestReturn = Double.NaN;
+    }
+
+    int testStart = panel.getDate(first + trainDays);
+    int testEnd = panel.getDate(first + trainDays + testDays - 1);
+    BacktestResult test = Backtester.run(panel, testStart, testEnd, strategies.apply(best));
+    return new WalkForwardWindow<>(trainStart, trainEnd, testStart, testEnd, best, bestReturn,
+            test);
+  }
+}
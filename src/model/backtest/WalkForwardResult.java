@@ -0,0 +1,136 @@
+package model.backtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the windows of a walk-forward optimization, in date order, and the
+ * statistics of their test days taken together. Results are immutable.
+ *
+ * @param <P> the type of the parameters of the strategy
+ */
+public class WalkForwardResult<P> {
+  private final List<WalkForwardWindow<P>> windows;
+
+  /**
+   * Constructs a result of the given windows, which are copied.
+   *
+   * @param windows the windows, in date order
+   */
+  WalkForwardResult(List<WalkForwardWindow<P>> windows) {
+    this.windows = Collections.unmodifiableList(new ArrayList<>(windows));
+  }
+
+  /**
+   * Return the windows, in date order.
+   *
+   * @return the windows
+   */
+  public List<WalkForwardWindow<P>> getWindows() {
+    return windows;
+  }
+
+  /**
+   * Return the money invested on the test days of all the windows.
+   *
+   * @return the money invested out of sample
+   */
+  public double getTotalInvested() {
+    double invested = 0;
+    for (WalkForwardWindow<P> window : windows) {
+      invested += window.getTest().getTotalInvested();
+    }
+    return invested;
+  }
+
+  /**
+   * Return the profit made on the test days of all the windows.
+   *
+   * @return the profit made out of sample
+   */
+  public double getTotalProfit() {
+    double profit = 0;
+    for (WalkForwardWindow<P> window : windows) {
+      profit += window.getTest().getProfit();
+    }
+    return profit;
+  }
+
+  /**
+   * Return the profit made on the test days of all the windows as a fraction of the money
+   * invested on them.
+   *
+   * @return the return out of sample, or 0 if nothing was invested
+   */
+  public double getTotalReturn() {
+    double invested = getTotalInvested();
+    return invested == 0 ? 0 : getTotalProfit() / invested;
+  }
+
+  /**
+   * Return the average of the returns of the windows on their test days.
+   *
+   * @return the average return out of sample, or NaN if there is no window
+   */
+  public double getMeanTestReturn() {
+    double sum = 0;
+    for (WalkForwardWindow<P> window : windows) {
+      sum += window.getTestReturn();
+    }
+    return sum / windows.size();
+  }
+
+  /**
+   * Return the average of the returns of the windows on their training days.
+   *
+   * @return the average return in sample, or NaN if there is no window
+   */
+  public double getMeanTrainReturn() {
+    double sum = 0;
+    for (WalkForwardWindow<P> window : windows) {
+      sum += window.getTrainReturn();
+    }
+    return sum / windows.size();
+  }
+
+  /**
+   * Return the sample standard deviation of the returns of the windows on their test days.
+   *
+   * @return the standard deviation, or NaN if there are less than 2 windows
+   */
+  public double getTestReturnVolatility() {
+    if (windows.size() < 2) {
+      return Double.NaN;
+    }
+    double mean = getMeanTestReturn();
+    double sumOfSquares = 0;
+    for (WalkForwardWindow<P> window : windows) {
+      double deviation = window.getTestReturn() - mean;
+      sumOfSquares += deviation * deviation;
+    }
+    return Math.sqrt(sumOfSquares / (windows.size() - 1));
+  }
+
+  /**
+   * Return the fraction of the windows that made a profit on their test days.
+   *
+   * @return the fraction of profitable windows, or NaN if there is no window
+   */
+  public double getWinRate() {
+    int wins = 0;
+    for (WalkForwardWindow<P> window : windows) {
+      if (window.getTest().getProfit() > 0) {
+        wins++;
+      }
+    }
+    return (double) wins / windows.size();
+  }
+
+  @Override
+  public String toString() {
+    return "windows: " + windows.size() + ", invested: " + getTotalInvested() + ", profit: "
+            + getTotalProfit() + ", mean test return: " + getMeanTestReturn()
+            + ", mean train return: " + getMeanTrainReturn() + ", win rate: " + getWinRate();
+  }
+}
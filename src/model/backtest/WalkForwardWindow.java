@@ -0,0 +1,119 @@
+package model.backtest;
+
+/**
+ * This class represents one window of a walk-forward optimization: the parameters that did best
+ * on its training days, and how they did on the test days right after them. Windows are
+ * immutable.
+ *
+ * @param <P> the type of the parameters of the strategy
+ */
+public class WalkForwardWindow<P> {
+  private final int trainStart;
+  private final int trainEnd;
+  private final int testStart;
+  private final int testEnd;
+  private final P parameters;
+  private final double trainReturn;
+  private final BacktestResult test;
+
+  /**
+   * Constructs a window.
+   *
+   * @param trainStart  the first date of the training days, as an 8-digit integer
+   * @param trainEnd    the last date of the training days, as an 8-digit integer
+   * @param testStart   the first date of the test days, as an 8-digit integer
+   * @param testEnd     the last date of the test days, as an 8-digit integer
+   * @param parameters  the parameters chosen on the training days
+   * @param trainReturn the return of the chosen parameters on the training days
+   * @param test        the backtest of the chosen parameters on the test days
+   */
+  WalkForwardWindow(int trainStart, int trainEnd, int testStart, int testEnd, P parameters,
+                    double trainReturn, BacktestResult test) {
+    this.trainStart = trainStart;
+    this.trainEnd = trainEnd;
+    this.testStart = testStart;
+    this.testEnd = testEnd;
+    this.parameters = parameters;
+    this.trainReturn = trainReturn;
+    this.test = test;
+  }
+
+  /**
+   * Return the first date of the training days.
+   *
+   * @return the date, as an 8-digit integer
+   */
+  public int getTrainStart() {
+    return trainStart;
+  }
+
+  /**
+   * Return the last date of the training days.
+   *
+   * @return the date, as an 8-digit integer
+   */
+  public int getTrainEnd() {
+    return trainEnd;
+  }
+
+  /**
+   * Return the first date of the test days.
+   *
+   * @return the date, as an 8-digit integer
+   */
+  public int getTestStart() {
+    return testStart;
+  }
+
+  /**
+   * Return the last date of the test days.
+   *
+   * @return the date, as an 8-digit integer
+   */
+  public int getTestEnd() {
+    return testEnd;
+  }
+
+  /**
+   * Return the parameters chosen on the training days.
+   *
+   * @return the parameters
+   */
+  public P getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Return the return of the chosen parameters on the training days, in sample.
+   *
+   * @return the profit as a fraction of the money invested
+   */
+  public double getTrainReturn() {
+    return trainReturn;
+  }
+
+  /**
+   * Return the backtest of the chosen parameters on the test days, out of sample.
+   *
+   * @return the result of the backtest
+   */
+  public BacktestResult getTest() {
+    return test;
+  }
+
+  /**
+   * Return the return of the chosen parameters on the test days, out of sample.
+   *
+   * @return the profit as a fraction of the money invested, or 0 if nothing was invested
+   */
+  public double getTestReturn() {
+    return WalkForward.returnOf(test);
+  }
+
+  @Override
+  public String toString() {
+    return "train " + trainStart + " to " + trainEnd + ", test " + testStart + " to " + testEnd
+            + ", " + parameters + ", train return: " + trainReturn + ", test return: "
+            + getTestReturn();
+  }
+}
@@ -0,0 +1,42 @@
+package model.backtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Has the checks of the weights of the stocks that the backtest strategies invest in.
+ */
+class WeightUtil {
+
+  /**
+   * Return the given weights scaled to add up to 1, by symbol in upper case.
+   *
+   * @param weights a map whose keys are symbols and values are the weights of the corresponding
+   *                stocks
+   * @return a new map whose keys are the symbols in upper case and values are the weights scaled
+   *         to add up to 1
+   * @throws IllegalArgumentException if the map is @code null, or if a weight is negative or all
+   *                                  are 0
+   */
+  static Map<String, Double> normalizeWeights(Map<String, Double> weights)
+          throws IllegalArgumentException {
+    if (weights == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    double sum = 0;
+    for (Double weight : weights.values()) {
+      if (weight == null || !(weight >= 0)) {
+        throw new IllegalArgumentException("weights should not be negative");
+      }
+      sum += weight;
+    }
+    if (sum == 0) {
+      throw new IllegalArgumentException("no stock to invest in");
+    }
+    Map<String, Double> normalized = new TreeMap<>();
+    for (Map.Entry<String, Double> entry : weights.entrySet()) {
+      normalized.put(entry.getKey().toUpperCase(), entry.getValue() / sum);
+    }
+    return normalized;
+  }
+}
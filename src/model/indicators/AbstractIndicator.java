@@ -0,0 +1,69 @@
+package model.indicators;
+
+import utils.PriceRecord;
+
+/**
+ * This class represents an indicator over the last n days, where n is the window of the
+ * indicator. It checks the order of the days it is advanced by, counts them and leaves it to
+ * subclasses to keep whatever they need of the window.
+ */
+abstract class AbstractIndicator implements Indicator {
+  protected final int window;
+  protected long count;
+  private int date;
+
+  /**
+   * Constructs an indicator over the given number of days.
+   *
+   * @param window the number of days looked back, must be positive
+   * @throws IllegalArgumentException if the window is not positive
+   */
+  AbstractIndicator(int window) throws IllegalArgumentException {
+    if (window <= 0) {
+      throw new IllegalArgumentException("days should be positive");
+    }
+    this.window = window;
+    this.count = 0;
+    this.date = 0;
+  }
+
+  @Override
+  public void advance(int date, PriceRecord record) throws IllegalArgumentException {
+    if (record == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    advance(date, record.getClosePrice());
+  }
+
+  @Override
+  public void advance(int date, double value) throws IllegalArgumentException {
+    if (count > 0 && date <= this.date) {
+      throw new IllegalArgumentException("days should be advanced by in ascending order");
+    }
+    count++;
+    this.date = date;
+    accept(value);
+  }
+
+  /**
+   * Updates the value of this indicator after a day is added, once count includes the new day.
+   *
+   * @param value the value of the new day
+   */
+  protected abstract void accept(double value);
+
+  @Override
+  public boolean isReady() {
+    return count >= window;
+  }
+
+  @Override
+  public int getDate() {
+    return date;
+  }
+
+  @Override
+  public IndicatorSnapshot snapshot() {
+    return new IndicatorSnapshot(date, getValue(), isReady());
+  }
+}
@@ -0,0 +1,108 @@
+package model.indicators;
+
+/**
+ * This class represents a day on which the short moving average of a stock crossed its long
+ * moving average: a golden cross when the short average rose above the long one, and a death
+ * cross when it fell back to or below it. Events are immutable.
+ */
+public class CrossEvent {
+
+  /**
+   * The direction of a cross.
+   */
+  public enum Type {
+    GOLDEN, DEATH
+  }
+
+  private final String symbol;
+  private final int date;
+  private final Type type;
+  private final double shortAverage;
+  private final double longAverage;
+
+  /**
+   * Constructs an event.
+   *
+   * @param symbol       the symbol of the stock
+   * @param date         the date of the cross, as an 8-digit integer
+   * @param type         the direction of the cross
+   * @param shortAverage the short moving average on the date
+   * @param longAverage  the long moving average on the date
+   */
+  public CrossEvent(String symbol, int date, Type type, double shortAverage, double longAverage) {
+    this.symbol = symbol;
+    this.date = date;
+    this.type = type;
+    this.shortAverage = shortAverage;
+    this.longAverage = longAverage;
+  }
+
+  /**
+   * Return the symbol of the stock.
+   *
+   * @return the symbol of the stock
+   */
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * Return the date of the cross.
+   *
+   * @return the date of the cross, as an 8-digit integer
+   */
+  public int getDate() {
+    return date;
+  }
+
+  /**
+   * Return the direction of the cross.
+   *
+   * @return GOLDEN if the short average rose above the long one, DEATH otherwise
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Return the short moving average on the date of the cross.
+   *
+   * @return the short moving average
+   */
+  public double getShortAverage() {
+    return shortAverage;
+  }
+
+  /**
+   * Return the long moving average on the date of the cross.
+   *
+   * @return the long moving average
+   */
+  public double getLongAverage() {
+    return longAverage;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CrossEvent)) {
+      return false;
+    }
+    CrossEvent that = (CrossEvent) o;
+    return date == that.date && type == that.type && symbol.equals(that.symbol)
+            && Double.compare(shortAverage, that.shortAverage) == 0
+            && Double.compare(longAverage, that.longAverage) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return (symbol.hashCode() * 31 + date) * 31 + type.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return symbol + " " + date + " " + type + " cross: " + shortAverage + " / " + longAverage;
+  }
+}
@@ -0,0 +1,176 @@
+package model.indicators;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import utils.CalendarUtil;
+import utils.MovingAverages;
+import utils.ParallelUtil;
+import utils.PriceRecord;
+import utils.PriceSeries;
+import utils.StockDataRetriever;
+import utils.StockDataRetrievers;
+
+/**
+ * This class scans a universe of stocks for golden and death crosses of their short and long
+ * simple moving averages, 50 and 200 days by default. A stock is a buying opportunity on a day
+ * when its short average is above its long one, as IStock.isBuyingOpportunity decides; a cross
+ * is a day on which that changes.
+ *
+ * <p>The prices of each stock are retrieved once, as far back as the long average needs, and
+ * both averages come from them. All the stocks are retrieved in one batch first, and only then
+ * are they split among the threads of a fork/join pool to find their crosses, so that the
+ * threads of the pool never block on a retrieval.
+ */
+public class CrossScanner {
+  private final StockDataRetriever source;
+  private final int shortDays;
+  private final int longDays;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a scanner of the 50-day and 200-day moving averages, running in the common pool.
+   *
+   * @param source the retriever to get prices from
+   * @throws IllegalArgumentException if the retriever is @code null
+   */
+  public CrossScanner(StockDataRetriever source) throws IllegalArgumentException {
+    this(source, 50, 200, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a scanner of the moving averages over the given numbers of days.
+   *
+   * @param source    the retriever to get prices from
+   * @param shortDays the number of days of the short average
+   * @param longDays  the number of days of the long average
+   * @param pool      the pool to scan the stocks in
+   * @throws IllegalArgumentException if the retriever or the pool is @code null, or if a number
+   *                                  of days is not positive, or if the short average is not
+   *                                  shorter than the long one
+   */
+  public CrossScanner(StockDataRetriever source, int shortDays, int longDays, ForkJoinPool pool)
+          throws IllegalArgumentException {
+    if (source == null || pool == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (shortDays <= 0) {
+      throw new IllegalArgumentException("days should be positive");
+    }
+    if (shortDays >= longDays) {
+      throw new IllegalArgumentException("short average should be shorter than long average");
+    }
+    this.source = source;
+    this.shortDays = shortDays;
+    this.longDays = longDays;
+    this.pool = pool;
+  }
+
+  /**
+   * Return the crosses of each of the given stocks in the given date range. A cross on the first
+   * day of the range is found against the day before it; days without enough history for the
+   * long average have no cross. Stocks whose prices cannot be retrieved have no cross either.
+   *
+   * @param stockSymbols the symbols of the stocks, case ignored
+   * @param fromDate     the first date of the range, as an 8-digit integer
+   * @param toDate       the last date of the range, as an 8-digit integer
+   * @return a map whose keys are the symbols, in upper case and alphabetical order, and values
+   *         are the crosses of the corresponding stocks in date order
+   * @throws IllegalArgumentException if the symbols are @code null, or if the range is empty
+   */
+  public Map<String, List<CrossEvent>> scan(Collection<String> stockSymbols, int fromDate,
+                                            int toDate) throws IllegalArgumentException {
+    if (stockSymbols == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (toDate < fromDate) {
+      throw new IllegalArgumentException("end date should not be prior to start date");
+    }
+    Set<String> symbols = new TreeSet<>();
+    for (String symbol : stockSymbols) {
+      symbols.add(symbol.toUpperCase());
+    }
+    // the retrievals block, so they all happen before anything runs in the pool
+    int historyDate = CalendarUtil.addDays(fromDate, -2 * longDays);
+    Map<String, PriceSeries> prices = retrieve(symbols, historyDate, toDate);
+    List<String> scanned = new ArrayList<>(prices.keySet());
+    List<List<CrossEvent>> crosses = new ArrayList<>(
+            Collections.<List<CrossEvent>>nCopies(scanned.size(), null));
+    ParallelUtil.forEach(pool, scanned.size(), i -> crosses.set(i,
+            scan(scanned.get(i), prices.get(scanned.get(i)), fromDate)));
+
+    Map<String, List<CrossEvent>> result = new TreeMap<>();
+    for (String symbol : symbols) {
+      result.put(symbol, Collections.<CrossEvent>emptyList());
+    }
+    for (int i = 0; i < scanned.size(); i++) {
+      result.put(scanned.get(i), crosses.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Return the closing prices of the given stocks, retrieved in one batch. If the batch fails,
+   * the stocks are retrieved one at a time, and those whose prices cannot be retrieved are left
+   * out.
+   */
+  private Map<String, PriceSeries> retrieve(Set<String> symbols, int fromDate, int toDate) {
+    Map<String, PriceSeries> prices = new TreeMap<>();
+    if (symbols.isEmpty()) {
+      return prices;
+    }
+    try {
+      for (Map.Entry<String, Map<Integer, PriceRecord>> entry : StockDataRetrievers
+              .getHistoricalPrices(source, symbols, fromDate, toDate).entrySet()) {
+        prices.put(entry.getKey(), PriceSeries.ofClosingPrices(entry.getValue()));
+      }
+      return prices;
+    } catch (Exception e) {
+      // some stock failed, so find out which by retrieving them one at a time
+      prices.clear();
+    }
+    for (String symbol : symbols) {
+      try {
+        prices.put(symbol, PriceSeries.ofClosingPrices(
+                StockDataRetrievers.getHistoricalPrices(source, symbol, fromDate, toDate)));
+      } catch (Exception e) {
+        // historical prices are empty when exceptions occur in data retriever, as for a stock
+      }
+    }
+    return prices;
+  }
+
+  /**
+   * Return the crosses of the given stock from the given date on, found in its given prices.
+   */
+  private List<CrossEvent> scan(String symbol, PriceSeries prices, int fromDate) {
+    // the averages start on the day before the range, or on the first day they can
+    int first = Math.max(prices.lowerBound(fromDate) - 1, longDays - 1);
+    if (first >= prices.size() - 1) {
+      return Collections.emptyList();
+    }
+    PriceSeries shortAverages = MovingAverages.simple(prices, prices.getDate(first), shortDays);
+    PriceSeries longAverages = MovingAverages.simple(prices, prices.getDate(first), longDays);
+
+    List<CrossEvent> crosses = new ArrayList<>();
+    boolean above = shortAverages.getValue(0) > longAverages.getValue(0);
+    for (int i = 1; i < longAverages.size(); i++) {
+      double shortAverage = shortAverages.getValue(i);
+      double longAverage = longAverages.getValue(i);
+      if (shortAverage > longAverage != above) {
+        above = !above;
+        crosses.add(new CrossEvent(symbol, longAverages.getDate(i),
+                above ? CrossEvent.Type.GOLDEN : CrossEvent.Type.DEATH,
+                shortAverage, longAverage));
+      }
+    }
+    return crosses;
+  }
+}
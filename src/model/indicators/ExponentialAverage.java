@@ -0,0 +1,77 @@
+package model.indicators;
+
+import utils.PriceRecord;
+
+/**
+ * This class represents the exponential moving average of n days. Its first value is the simple
+ * average of the first n days, and every later day p moves it to a * p + (1 - a) * (the value
+ * before), where a = 2 / (n + 1). It keeps no history, so advancing it takes constant time and
+ * space.
+ */
+public class ExponentialAverage implements Indicator {
+  private final int window;
+  private final double alpha;
+  private double average;
+  private long count;
+  private int date;
+
+  /**
+   * Constructs an n-day exponential moving average.
+   *
+   * @param days the number of days averaged, must be positive
+   * @throws IllegalArgumentException if the number of days is not positive
+   */
+  public ExponentialAverage(int days) throws IllegalArgumentException {
+    if (days <= 0) {
+      throw new IllegalArgumentException("days should be positive");
+    }
+    this.window = days;
+    this.alpha = 2.0 / (days + 1);
+    this.average = 0;
+    this.count = 0;
+    this.date = 0;
+  }
+
+  @Override
+  public void advance(int date, PriceRecord record) throws IllegalArgumentException {
+    if (record == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    advance(date, record.getClosePrice());
+  }
+
+  @Override
+  public void advance(int date, double value) throws IllegalArgumentException {
+    if (count > 0 && date <= this.date) {
+      throw new IllegalArgumentException("days should be advanced by in ascending order");
+    }
+    count++;
+    this.date = date;
+    if (count <= window) {
+      // the simple average of the days so far
+      average += (value - average) / count;
+    } else {
+      average += alpha * (value - average);
+    }
+  }
+
+  @Override
+  public boolean isReady() {
+    return count >= window;
+  }
+
+  @Override
+  public double getValue() {
+    return isReady() ? average : Double.NaN;
+  }
+
+  @Override
+  public int getDate() {
+    return date;
+  }
+
+  @Override
+  public IndicatorSnapshot snapshot() {
+    return new IndicatorSnapshot(date, getValue(), isReady());
+  }
+}
@@ -0,0 +1,62 @@
+package model.indicators;
+
+import utils.PriceRecord;
+
+/**
+ * This interface represents an indicator of a stock or a basket that is kept up to date one day
+ * at a time. Advancing an indicator by a day takes constant time, whatever the number of days it
+ * looks back, so indicators can be refreshed at the end of each day instead of being computed
+ * again from the whole history.
+ */
+public interface Indicator {
+
+  /**
+   * Advances this indicator by the day of the given date, using the closing price of the given
+   * price record.
+   *
+   * @param date   the date of the day, as an 8-digit integer
+   * @param record the price record of the day
+   * @throws IllegalArgumentException if the record is @code null, or if the date is not after the
+   *                                  last date this indicator was advanced by
+   */
+  void advance(int date, PriceRecord record) throws IllegalArgumentException;
+
+  /**
+   * Advances this indicator by the day of the given date, using the given value of the day, such
+   * as the closing price of a basket.
+   *
+   * @param date  the date of the day, as an 8-digit integer
+   * @param value the value of the day
+   * @throws IllegalArgumentException if the date is not after the last date this indicator was
+   *                                  advanced by
+   */
+  void advance(int date, double value) throws IllegalArgumentException;
+
+  /**
+   * Return true if this indicator has been advanced by enough days to have a value.
+   *
+   * @return true if this indicator has a value, false otherwise
+   */
+  boolean isReady();
+
+  /**
+   * Return the current value of this indicator, or NaN if it is not ready.
+   *
+   * @return the current value of this indicator, or NaN if it is not ready
+   */
+  double getValue();
+
+  /**
+   * Return the last date this indicator was advanced by, or 0 if it has not been advanced.
+   *
+   * @return the last date this indicator was advanced by, as an 8-digit integer
+   */
+  int getDate();
+
+  /**
+   * Return an immutable copy of the current state of this indicator.
+   *
+   * @return a snapshot of this indicator
+   */
+  IndicatorSnapshot snapshot();
+}
@@ -0,0 +1,55 @@
+package model.indicators;
+
+/**
+ * This class represents the value of an indicator on a date. Snapshots are immutable.
+ */
+public class IndicatorSnapshot {
+  private final int date;
+  private final double value;
+  private final boolean ready;
+
+  /**
+   * Constructs a snapshot.
+   *
+   * @param date  the date of the snapshot, as an 8-digit integer
+   * @param value the value of the indicator on the date, or NaN if it is not ready
+   * @param ready true if the indicator has a value on the date
+   */
+  public IndicatorSnapshot(int date, double value, boolean ready) {
+    this.date = date;
+    this.value = value;
+    this.ready = ready;
+  }
+
+  /**
+   * Return the date of this snapshot.
+   *
+   * @return the date of this snapshot, as an 8-digit integer
+   */
+  public int getDate() {
+    return date;
+  }
+
+  /**
+   * Return the value of the indicator on the date of this snapshot, or NaN if it was not ready.
+   *
+   * @return the value of the indicator
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Return true if the indicator had a value on the date of this snapshot.
+   *
+   * @return true if the indicator had a value, false otherwise
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  @Override
+  public String toString() {
+    return date + ": " + (ready ? String.valueOf(value) : "N/A");
+  }
+}
@@ -0,0 +1,170 @@
+package model.indicators;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import utils.PriceRecord;
+import utils.StockDataRetriever;
+import utils.StockDataRetrievers;
+
+/**
+ * This class represents a watchlist of stocks, each with named indicators attached to it. The
+ * indicators of every stock are advanced together, one day at a time, so an end-of-day refresh
+ * retrieves only the new days of all the stocks at once instead of their whole history.
+ *
+ * <p>Indicators of a basket can be advanced directly with the closing prices of the basket; see
+ * {@link Indicator#advance(int, double)}.
+ */
+public class IndicatorWatchlist {
+  // symbol to name to indicator
+  private final Map<String, Map<String, Indicator>> indicators;
+
+  /**
+   * Constructs an empty watchlist.
+   */
+  public IndicatorWatchlist() {
+    this.indicators = new TreeMap<>();
+  }
+
+  /**
+   * Attaches the given indicator to the stock of the given symbol under the given name, replacing
+   * any indicator of the same name.
+   *
+   * @param stockSymbol the symbol of the stock, case ignored
+   * @param name        the name of the indicator, case sensitive
+   * @param indicator   the indicator
+   * @throws IllegalArgumentException if any argument is @code null
+   */
+  public void attach(String stockSymbol, String name, Indicator indicator)
+          throws IllegalArgumentException {
+    if (stockSymbol == null || name == null || indicator == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    indicators.computeIfAbsent(stockSymbol.toUpperCase(), key -> new TreeMap<>())
+            .put(name, indicator);
+  }
+
+  /**
+   * Removes the indicator of the given name from the stock of the given symbol, if any.
+   *
+   * @param stockSymbol the symbol of the stock, case ignored
+   * @param name        the name of the indicator, case sensitive
+   */
+  public void detach(String stockSymbol, String name) {
+    if (stockSymbol == null) {
+      return;
+    }
+    Map<String, Indicator> attached = indicators.get(stockSymbol.toUpperCase());
+    if (attached != null) {
+      attached.remove(name);
+      if (attached.isEmpty()) {
+        indicators.remove(stockSymbol.toUpperCase());
+      }
+    }
+  }
+
+  /**
+   * Return the indicator of the given name attached to the stock of the given symbol.
+   *
+   * @param stockSymbol the symbol of the stock, case ignored
+   * @param name        the name of the indicator, case sensitive
+   * @return the indicator
+   * @throws IllegalArgumentException if there is no such indicator
+   */
+  public Indicator get(String stockSymbol, String name) throws IllegalArgumentException {
+    Map<String, Indicator> attached = stockSymbol == null
+            ? null : indicators.get(stockSymbol.toUpperCase());
+    if (attached == null || !attached.containsKey(name)) {
+      throw new IllegalArgumentException("no such indicator");
+    }
+    return attached.get(name);
+  }
+
+  /**
+   * Return the symbols of the stocks in this watchlist, in alphabetical order.
+   *
+   * @return the symbols of the stocks in this watchlist
+   */
+  public Set<String> getSymbols() {
+    return new TreeSet<>(indicators.keySet());
+  }
+
+  /**
+   * Advances the indicators of every stock in the given map by the given day. Stocks of this
+   * watchlist that are not in the map, and indicators that have already been advanced by the day,
+   * are left as they are.
+   *
+   * @param date    the date of the day, as an 8-digit integer
+   * @param records a map whose keys are symbols and values are the price records of the
+   *                corresponding stocks on the day
+   */
+  public void advance(int date, Map<String, PriceRecord> records) {
+    for (Map.Entry<String, PriceRecord> entry : records.entrySet()) {
+      Map<String, Indicator> attached = indicators.get(entry.getKey().toUpperCase());
+      if (attached == null || entry.getValue() == null) {
+        continue;
+      }
+      for (Indicator indicator : attached.values()) {
+        if (date > indicator.getDate()) {
+          indicator.advance(date, entry.getValue());
+        }
+      }
+    }
+  }
+
+  /**
+   * Retrieves the prices of every stock in this watchlist in the given date range at once, and
+   * advances their indicators by each day of the range in order. This serves both to warm the
+   * indicators up with their history and to refresh them with the latest days.
+   *
+   * @param source   the retriever to get prices from
+   * @param fromDate the first date of the range, as an 8-digit integer
+   * @param toDate   the last date of the range, as an 8-digit integer
+   * @throws Exception if the data source is not read correctly
+   */
+  public void advanceThrough(StockDataRetriever source, int fromDate, int toDate)
+          throws Exception {
+    if (indicators.isEmpty() || fromDate > toDate) {
+      return;
+    }
+    Map<String, Map<Integer, PriceRecord>> prices =
+            StockDataRetrievers.getHistoricalPrices(source, indicators.keySet(), fromDate, toDate);
+
+    // the days of all the stocks, in order
+    Set<Integer> dates = new TreeSet<>();
+    for (Map<Integer, PriceRecord> records : prices.values()) {
+      dates.addAll(records.keySet());
+    }
+    Map<String, PriceRecord> day = new TreeMap<>();
+    for (int date : dates) {
+      day.clear();
+      for (Map.Entry<String, Map<Integer, PriceRecord>> entry : prices.entrySet()) {
+        PriceRecord record = entry.getValue().get(date);
+        if (record != null) {
+          day.put(entry.getKey(), record);
+        }
+      }
+      advance(date, day);
+    }
+  }
+
+  /**
+   * Return snapshots of every indicator in this watchlist.
+   *
+   * @return a map whose keys are symbols and values are maps from the names of the indicators of
+   *         the corresponding stocks to their snapshots
+   */
+  public Map<String, Map<String, IndicatorSnapshot>> snapshot() {
+    Map<String, Map<String, IndicatorSnapshot>> snapshots = new TreeMap<>();
+    for (Map.Entry<String, Map<String, Indicator>> entry : indicators.entrySet()) {
+      Map<String, IndicatorSnapshot> stockSnapshots = new TreeMap<>();
+      for (Map.Entry<String, Indicator> named : entry.getValue().entrySet()) {
+        stockSnapshots.put(named.getKey(), named.getValue().snapshot());
+      }
+      snapshots.put(entry.getKey(), stockSnapshots);
+    }
+    return snapshots;
+  }
+}
@@ -0,0 +1,331 @@
+package model.indicators;
+
+import utils.PriceRecord;
+
+/**
+ * Has technical indicators computed over whole series of daily prices in primitive arrays, the
+ * oldest day first. Every indicator writes its values into arrays supplied by the caller, one
+ * value per day, and allocates nothing, so the same arrays can be reused for every stock of a
+ * screen. Days before an indicator has enough history are set to NaN.
+ */
+public class Indicators {
+
+  /**
+   * Computes the relative strength index of the given closing prices over n days, with Wilder's
+   * smoothing of the average gain and loss. Its first value is on day n (0-based), after n
+   * changes; it is 100 when there has been no loss.
+   *
+   * @param close the closing prices
+   * @param n     the number of days, must be positive
+   * @param out   the array receiving the index of each day, at least as long as the prices
+   * @throws IllegalArgumentException if n is not positive, or if an array is @code null or too
+   *                                  short
+   */
+  public static void rsi(double[] close, int n, double[] out) throws IllegalArgumentException {
+    checkPeriod(n);
+    checkArrays(close, out);
+    double averageGain = 0;
+    double averageLoss = 0;
+    for (int i = 0; i < close.length; i++) {
+      if (i == 0) {
+        out[i] = Double.NaN;
+        continue;
+      }
+      double change = close[i] - close[i - 1];
+      double gain = change > 0 ? change : 0;
+      double loss = change < 0 ? -change : 0;
+      if (i <= n) {
+        averageGain += gain / n;
+        averageLoss += loss / n;
+      } else {
+        averageGain = (averageGain * (n - 1) + gain) / n;
+        averageLoss = (averageLoss * (n - 1) + loss) / n;
+      }
+      if (i < n) {
+        out[i] = Double.NaN;
+      } else if (averageLoss == 0) {
+        out[i] = 100;
+      } else {
+        out[i] = 100 - 100 / (1 + averageGain / averageLoss);
+      }
+    }
+  }
+
+  /**
+   * Computes the moving average convergence divergence of the given closing prices: the
+   * difference between their fast and slow exponential averages, its exponential average over
+   * the signal number of days, and the difference between the two. Each exponential average
+   * starts from the simple average of its first days, so the first difference is on day slow - 1
+   * and the first signal on day slow + signal - 2.
+   *
+   * @param close     the closing prices
+   * @param fast      the number of days of the fast average, usually 12
+   * @param slow      the number of days of the slow average, usually 26
+   * @param signal    the number of days of the signal average, usually 9
+   * @param macd      the array receiving the difference of each day
+   * @param signalOut the array receiving the signal of each day
+   * @param histogram the array receiving the difference minus the signal of each day
+   * @throws IllegalArgumentException if a number of days is not positive, or if fast is not less
+   *                                  than slow, or if an array is @code null or too short
+   */
+  public static void macd(double[] close, int fast, int slow, int signal,
+                          double[] macd, double[] signalOut, double[] histogram)
+          throws IllegalArgumentException {
+    checkPeriod(fast);
+    checkPeriod(slow);
+    checkPeriod(signal);
+    if (fast >= slow) {
+      throw new IllegalArgumentException("fast average should be shorter than slow average");
+    }
+    checkArrays(close, macd, signalOut, histogram);
+
+    double fastAlpha = 2.0 / (fast + 1);
+    double slowAlpha = 2.0 / (slow + 1);
+    double signalAlpha = 2.0 / (signal + 1);
+    double fastAverage = 0;
+    double slowAverage = 0;
+    double signalAverage = 0;
+    for (int i = 0; i < close.length; i++) {
+      fastAverage = i < fast
+              ? fastAverage + (close[i] - fastAverage) / (i + 1)
+              : fastAverage + fastAlpha * (close[i] - fastAverage);
+      slowAverage = i < slow
+              ? slowAverage + (close[i] - slowAverage) / (i + 1)
+              : slowAverage + slowAlpha * (close[i] - slowAverage);
+
+      int sinceSlow = i - (slow - 1);
+      if (sinceSlow < 0) {
+        macd[i] = Double.NaN;
+        signalOut[i] = Double.NaN;
+        histogram[i] = Double.NaN;
+        continue;
+      }
+      double difference = fastAverage - slowAverage;
+      macd[i] = difference;
+      signalAverage = sinceSlow < signal
+              ? signalAverage + (difference - signalAverage) / (sinceSlow + 1)
+              : signalAverage + signalAlpha * (difference - signalAverage);
+      if (sinceSlow < signal - 1) {
+        signalOut[i] = Double.NaN;
+        histogram[i] = Double.NaN;
+      } else {
+        signalOut[i] = signalAverage;
+        histogram[i] = difference - signalAverage;
+      }
+    }
+  }
+
+  /**
+   * Computes the Bollinger bands of the given closing prices: their simple average over n days,
+   * and that average plus and minus k times the (population) standard deviation of the same days.
+   * The first bands are on day n - 1.
+   *
+   * @param close  the closing prices
+   * @param n      the number of days, must be positive
+   * @param k      the number of standard deviations, usually 2
+   * @param middle the array receiving the average of each day
+   * @param upper  the array receiving the upper band of each day
+   * @param lower  the array receiving the lower band of each day
+   * @throws IllegalArgumentException if n is not positive, or if an array is @code null or too
+   *                                  short
+   */
+  public static void bollinger(double[] close, int n, double k,
+                               double[] middle, double[] upper, double[] lower)
+          throws IllegalArgumentException {
+    checkPeriod(n);
+    checkArrays(close, middle, upper, lower);
+    if (close.length == 0) {
+      return;
+    }
+    // sums of the prices less the first one, which keeps the variance from cancelling out
+    double shift = close[0];
+    double sum = 0;
+    double sumOfSquares = 0;
+    for (int i = 0; i < close.length; i++) {
+      double entering = close[i] - shift;
+      sum += entering;
+      sumOfSquares += entering * entering;
+      if (i >= n) {
+        double leaving = close[i - n] - shift;
+        sum -= leaving;
+        sumOfSquares -= leaving * leaving;
+      }
+      if (i < n - 1) {
+        middle[i] = Double.NaN;
+        upper[i] = Double.NaN;
+        lower[i] = Double.NaN;
+        continue;
+      }
+      double mean = sum / n;
+      double deviation = Math.sqrt(Math.max(0, sumOfSquares / n - mean * mean));
+      middle[i] = mean + shift;
+      upper[i] = middle[i] + k * deviation;
+      lower[i] = middle[i] - k * deviation;
+    }
+  }
+
+  /**
+   * Computes the average true range over n days, with Wilder's smoothing. The true range of a
+   * day is the largest of its high less its low, and the distances from the previous close to
+   * its high and its low; the first day has no previous close. The first average is on day n - 1.
+   *
+   * @param high  the highest prices
+   * @param low   the lowest prices
+   * @param close the closing prices
+   * @param n     the number of days, must be positive
+   * @param out   the array receiving the average true range of each day
+   * @throws IllegalArgumentException if n is not positive, or if an array is @code null or too
+   *                                  short
+   */
+  public static void atr(double[] high, double[] low, double[] close, int n, double[] out)
+          throws IllegalArgumentException {
+    checkPeriod(n);
+    checkArrays(close, high, low, out);
+    double average = 0;
+    for (int i = 0; i < close.length; i++) {
+      double range = trueRange(high[i], low[i], i == 0 ? Double.NaN : close[i - 1]);
+      average = averageTrueRange(average, range, i, n);
+      out[i] = i < n - 1 ? Double.NaN : average;
+    }
+  }
+
+  /**
+   * Computes the average true range over n days of the given price records, as
+   * {@link #atr(double[], double[], double[], int, double[])} does with their highest, lowest and
+   * closing prices.
+   *
+   * @param records the price records, the oldest day first
+   * @param n       the number of days, must be positive
+   * @param out     the array receiving the average true range of each day
+   * @throws IllegalArgumentException if n is not positive, or if an array is @code null or too
+   *                                  short
+   */
+  public static void atr(PriceRecord[] records, int n, double[] out)
+          throws IllegalArgumentException {
+    checkPeriod(n);
+    if (records == null || out == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (out.length < records.length) {
+      throw new IllegalArgumentException("output array is shorter than input");
+    }
+    double average = 0;
+    for (int i = 0; i < records.length; i++) {
+      double previousClose = i == 0 ? Double.NaN : records[i - 1].getClosePrice();
+      double range = trueRange(records[i].getHighestDayPrice(), records[i].getLowestDayPrice(),
+              previousClose);
+      average = averageTrueRange(average, range, i, n);
+      out[i] = i < n - 1 ? Double.NaN : average;
+    }
+  }
+
+  /**
+   * Computes the stochastic oscillator: %K, where the close of a day lies between the lowest low
+   * and the highest high of the last n days, from 0 to 100, and %D, the simple average of %K
+   * over the last d days. The first %K is on day n - 1 and the first %D on day n + d - 2. %K is 50
+   * on days whose highest high equals their lowest low.
+   *
+   * @param high  the highest prices
+   * @param low   the lowest prices
+   * @param close the closing prices
+   * @param n     the number of days of %K, usually 14
+   * @param d     the number of days of %D, usually 3
+   * @param k     the array receiving %K of each day
+   * @param dOut  the array receiving %D of each day
+   * @throws IllegalArgumentException if a number of days is not positive, or if an array is
+   *                                  @code null or too short
+   */
+  public static void stochastic(double[] high, double[] low, double[] close, int n, int d,
+                                double[] k, double[] dOut) throws IllegalArgumentException {
+    checkPeriod(n);
+    checkPeriod(d);
+    checkArrays(close, high, low, k, dOut);
+    double sum = 0;
+    for (int i = 0; i < close.length; i++) {
+      if (i < n - 1) {
+        k[i] = Double.NaN;
+        dOut[i] = Double.NaN;
+        continue;
+      }
+      // windows are short, so scanning them is cheaper than keeping a queue
+      double highest = high[i];
+      double lowest = low[i];
+      for (int j = i - n + 1; j < i; j++) {
+        highest = Math.max(highest, high[j]);
+        lowest = Math.min(lowest, low[j]);
+      }
+      k[i] = highest == lowest ? 50 : 100 * (close[i] - lowest) / (highest - lowest);
+
+      sum += k[i];
+      int sinceFirst = i - (n - 1);
+      if (sinceFirst >= d) {
+        sum -= k[i - d];
+      }
+      dOut[i] = sinceFirst < d - 1 ? Double.NaN : sum / d;
+    }
+  }
+
+  /**
+   * Computes the rate of change of the given closing prices over n days, in percent: 100 times
+   * the change since n days before, divided by the price n days before. The first rate is on
+   * day n.
+   *
+   * @param close the closing prices
+   * @param n     the number of days, must be positive
+   * @param out   the array receiving the rate of change of each day
+   * @throws IllegalArgumentException if n is not positive, or if an array is @code null or too
+   *                                  short
+   */
+  public static void rateOfChange(double[] close, int n, double[] out)
+          throws IllegalArgumentException {
+    checkPeriod(n);
+    checkArrays(close, out);
+    for (int i = 0; i < close.length; i++) {
+      out[i] = i < n ? Double.NaN : 100 * (close[i] - close[i - n]) / close[i - n];
+    }
+  }
+
+  private static double trueRange(double high, double low, double previousClose) {
+    double range = high - low;
+    if (!Double.isNaN(previousClose)) {
+      range = Math.max(range, Math.max(Math.abs(high - previousClose),
+              Math.abs(low - previousClose)));
+    }
+    return range;
+  }
+
+  /**
+   * Return the average true range after the i-th day: the simple average of the ranges so far
+   * until day n - 1, and Wilder's smoothing after it.
+   */
+  private static double averageTrueRange(double average, double range, int i, int n) {
+    if (i < n) {
+      return average + (range - average) / (i + 1);
+    }
+    return (average * (n - 1) + range) / n;
+  }
+
+  private static void checkPeriod(int n) throws IllegalArgumentException {
+    if (n <= 0) {
+      throw new IllegalArgumentException("days should be positive");
+    }
+  }
+
+  /**
+   * Checks that no array is null and that every array is at least as long as the first one.
+   */
+  private static void checkArrays(double[] input, double[]... others)
+          throws IllegalArgumentException {
+    if (input == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    for (double[] other : others) {
+      if (other == null) {
+        throw new IllegalArgumentException("null argument");
+      }
+      if (other.length < input.length) {
+        throw new IllegalArgumentException("array is shorter than the prices");
+      }
+    }
+  }
+}
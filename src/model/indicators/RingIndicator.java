@@ -0,0 +1,53 @@
+package model.indicators;
+
+/**
+ * This class represents an indicator that keeps the values of the last n days in a ring buffer,
+ * so that subclasses know the value of the day that leaves the window.
+ */
+abstract class RingIndicator extends AbstractIndicator {
+  // the values of the last days, the oldest at position head once the buffer is full
+  protected final double[] ring;
+  protected int head;
+
+  /**
+   * Constructs an indicator over the given number of days.
+   *
+   * @param window the number of days looked back, must be positive
+   * @throws IllegalArgumentException if the window is not positive
+   */
+  RingIndicator(int window) throws IllegalArgumentException {
+    super(window);
+    this.ring = new double[window];
+    this.head = 0;
+  }
+
+  @Override
+  protected void accept(double value) {
+    double oldest = ring[head];
+    boolean full = count > window;
+    ring[head] = value;
+    head = head + 1 == window ? 0 : head + 1;
+    update(value, oldest, full);
+  }
+
+  /**
+   * Updates the value of this indicator after a day is added to the ring buffer.
+   *
+   * @param value  the value of the new day
+   * @param oldest the value of the day that left the window, if the window was full
+   * @param full   true if the window was full before the new day, so that a day left it
+   */
+  protected abstract void update(double value, double oldest, boolean full);
+
+  /**
+   * Return the value of the i-th day in the window, the oldest first.
+   *
+   * @param i the index of the day in the window
+   * @return the value of the i-th day in the window
+   */
+  protected double valueInWindow(int i) {
+    int start = count >= window ? head : 0;
+    int index = start + i;
+    return ring[index >= window ? index - window : index];
+  }
+}
@@ -0,0 +1,38 @@
+package model.indicators;
+
+/**
+ * This class represents the simple moving average of the last n days, kept up to date with a
+ * running sum. The sum is added up again from the window each time the window has been replaced
+ * completely, so that rounding errors do not build up over the years.
+ */
+public class RollingAverage extends RingIndicator {
+  private double sum;
+
+  /**
+   * Constructs an n-day moving average.
+   *
+   * @param days the number of days averaged, must be positive
+   * @throws IllegalArgumentException if the number of days is not positive
+   */
+  public RollingAverage(int days) throws IllegalArgumentException {
+    super(days);
+    this.sum = 0;
+  }
+
+  @Override
+  protected void update(double value, double oldest, boolean full) {
+    if (full && head == 0) {
+      sum = 0;
+      for (double v : ring) {
+        sum += v;
+      }
+    } else {
+      sum += full ? value - oldest : value;
+    }
+  }
+
+  @Override
+  public double getValue() {
+    return isReady() ? sum / window : Double.NaN;
+  }
+}
@@ -0,0 +1,67 @@
+package model.indicators;
+
+/**
+ * This class represents the highest or lowest value of the last n days. It keeps a monotonic
+ * queue of the days that can still become the extreme: every day is added once and removed at
+ * most once, so advancing takes constant time on average.
+ */
+abstract class RollingExtreme extends AbstractIndicator {
+  // the queue, as a ring of day numbers and values, with the extreme at the front
+  private final long[] days;
+  private final double[] values;
+  private int front;
+  private int size;
+
+  /**
+   * Constructs the extreme of n days.
+   *
+   * @param window the number of days looked back, must be positive
+   * @throws IllegalArgumentException if the number of days is not positive
+   */
+  RollingExtreme(int window) throws IllegalArgumentException {
+    super(window);
+    this.days = new long[window];
+    this.values = new double[window];
+    this.front = 0;
+    this.size = 0;
+  }
+
+  /**
+   * Return true if the first value makes the second one useless as an extreme, i.e. it is at
+   * least as extreme and stays in the window longer.
+   *
+   * @param newer the value of the newer day
+   * @param older the value of the older day
+   * @return true if the newer value is at least as extreme as the older one
+   */
+  protected abstract boolean dominates(double newer, double older);
+
+  @Override
+  protected void accept(double value) {
+    long day = count - 1;
+    // drop the front if it left the window
+    if (size > 0 && days[front] <= day - window) {
+      front = front + 1 == window ? 0 : front + 1;
+      size--;
+    }
+    // drop the back while the new day dominates it
+    while (size > 0) {
+      int back = front + size - 1;
+      back = back >= window ? back - window : back;
+      if (!dominates(value, values[back])) {
+        break;
+      }
+      size--;
+    }
+    int tail = front + size;
+    tail = tail >= window ? tail - window : tail;
+    days[tail] = day;
+    values[tail] = value;
+    size++;
+  }
+
+  @Override
+  public double getValue() {
+    return isReady() ? values[front] : Double.NaN;
+  }
+}
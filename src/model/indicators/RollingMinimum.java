@@ -0,0 +1,22 @@
+package model.indicators;
+
+/**
+ * This class represents the lowest value of the last n days.
+ */
+public class RollingMinimum extends RollingExtreme {
+
+  /**
+   * Constructs the lowest value of n days.
+   *
+   * @param days the number of days looked back, must be positive
+   * @throws IllegalArgumentException if the number of days is not positive
+   */
+  public RollingMinimum(int days) throws IllegalArgumentException {
+    super(days);
+  }
+
+  @Override
+  protected boolean dominates(double newer, double older) {
+    return newer <= older;
+  }
+}
@@ -0,0 +1,61 @@
+package model.indicators;
+
+/**
+ * This class represents the slope of the least-squares line fitted to the values of the last n
+ * days, in value per day. A positive slope means the values trend up. The sums the slope is
+ * computed from are updated in constant time when a day enters and another leaves the window,
+ * and added up again from the window each time it has been replaced completely.
+ */
+public class RollingSlope extends RingIndicator {
+  // sum of the values, and sum of the values weighted by their position in the window (0 oldest)
+  private double sum;
+  private double weightedSum;
+
+  /**
+   * Constructs the slope of n days.
+   *
+   * @param days the number of days looked back, must be at least 2
+   * @throws IllegalArgumentException if the number of days is less than 2
+   */
+  public RollingSlope(int days) throws IllegalArgumentException {
+    super(days);
+    if (days < 2) {
+      throw new IllegalArgumentException("a slope needs at least 2 days");
+    }
+    this.sum = 0;
+    this.weightedSum = 0;
+  }
+
+  @Override
+  protected void update(double value, double oldest, boolean full) {
+    if (full && head == 0) {
+      sum = 0;
+      weightedSum = 0;
+      for (int i = 0; i < window; i++) {
+        double v = valueInWindow(i);
+        sum += v;
+        weightedSum += i * v;
+      }
+    } else if (full) {
+      // every day moves one position towards the oldest, and the oldest leaves
+      weightedSum -= sum - oldest;
+      sum -= oldest;
+      weightedSum += (window - 1) * value;
+      sum += value;
+    } else {
+      weightedSum += (count - 1) * value;
+      sum += value;
+    }
+  }
+
+  @Override
+  public double getValue() {
+    if (!isReady()) {
+      return Double.NaN;
+    }
+    double n = window;
+    double sumX = n * (n - 1) / 2;
+    double sumXX = (n - 1) * n * (2 * n - 1) / 6;
+    return (n * weightedSum - sumX * sum) / (n * sumXX - sumX * sumX);
+  }
+}
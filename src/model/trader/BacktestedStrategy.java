@@ -0,0 +1,126 @@
+package model.trader;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import model.backtest.BacktestResult;
+import model.backtest.BacktestStrategy;
+import model.backtest.Backtester;
+import model.backtest.TransactionCosts;
+import utils.AlignedPanel;
+import utils.CalendarUtil;
+import utils.StockDataRetrievers;
+
+/**
+ * This class represents an investment strategy that is replayed by a {@link Backtester}. It
+ * checks the arguments of invest, retrieves the prices of the stocks of the basket from the start
+ * date to the valuation date at once, replays the days from the start date to the end date to the
+ * backtest strategy of the basket, and turns the outcome into an investment result.
+ */
+abstract class BacktestedStrategy implements Strategy {
+
+  /**
+   * Return the backtest strategy that invests in the stocks of the given basket.
+   *
+   * @param basket the basket on which this investment strategy is imposed
+   * @param money  amount of money for each investment
+   * @param period the number of calendar days between investments
+   * @return the backtest strategy to replay
+   * @throws Exception if the data source is not read correctly, or if the basket does not suit
+   *                   this strategy
+   */
+  protected abstract BacktestStrategy backtestStrategy(IBasket basket, double money, int period)
+          throws Exception;
+
+  /**
+   * Return true if the cash left at the end is part of the result: counted in the value, with
+   * all the money deposited counted as invested. Otherwise the cash is left out of both, so that
+   * only the money spent on shares is counted as invested.
+   *
+   * @return true if the cash left is part of the result
+   */
+  protected abstract boolean countsCash();
+
+  /**
+   * Return the costs of each trade of the backtest. By default, trades are made at the closing
+   * prices with no commission.
+   *
+   * @return the transaction costs
+   */
+  protected TransactionCosts getCosts() {
+    return TransactionCosts.NONE;
+  }
+
+  @Override
+  public InvestmentResult invest(IBasket basket, Calendar startDate, Calendar endDate,
+                                 double money, int period, Calendar valuationDate)
+          throws Exception {
+    if (basket == null || startDate == null || endDate == null || valuationDate == null) {
+      throw new IllegalArgumentException("null date(s)");
+    }
+
+    // requires a non-empty basket
+    Map<IStock, Integer> stocks = basket.getStocks();
+    if (stocks.size() == 0) {
+      throw new IllegalArgumentException("empty basket");
+    }
+    // mandates the startDate is a past business day
+    if (!CalendarUtil.isBusinessDay(startDate)) {
+      throw new IllegalArgumentException("start date should be a past business day");
+    }
+
+    // mandates the endDate is a past day, but not necessarily a business day
+    if (CalendarUtil.isFutureDay(endDate)) {
+      throw new IllegalArgumentException("end date should be a past day");
+    }
+
+    // check other arguments
+    if (startDate.after(endDate) || money < 0 || period < 7) {
+      throw new IllegalArgumentException();
+    }
+    if (valuationDate.before(endDate)) {
+      throw new IllegalArgumentException("valuation date should not be prior to end date");
+    }
+
+    BacktestStrategy strategy = backtestStrategy(basket, money, period);
+
+    // retrieve the prices of all the stocks from the start date to the valuation date at once
+    Set<String> symbols = new TreeSet<>();
+    for (IStock stock : stocks.keySet()) {
+      symbols.add(stock.getSymbol());
+    }
+    int startInt = CalendarUtil.toDateInt(startDate);
+    int valuationInt = CalendarUtil.toDateInt(valuationDate);
+    AlignedPanel panel = new Backtester(StockDataRetrievers.getDefault())
+            .retrieve(symbols, startInt, valuationInt);
+    int valuationDay = panel.upperBound(valuationInt) - 1;
+    if (panel.lowerBound(startInt) > valuationDay) {
+      throw new IllegalArgumentException("data does not exist");
+    }
+
+    BacktestResult result = Backtester.run(panel, startInt, CalendarUtil.toDateInt(endDate),
+            getCosts(), strategy);
+
+    IBasket newBasket = new Basket();
+    List<String> panelSymbols = panel.getSymbols();
+    Map<String, Integer> holdings = result.getHoldings();
+    double value = 0;
+    for (int k = 0; k < panelSymbols.size(); k++) {
+      int shares = holdings.get(panelSymbols.get(k));
+      if (shares > 0) {
+        newBasket.put(panelSymbols.get(k), shares);
+        value += shares * panel.getValue(k, valuationDay);
+      }
+    }
+    double invested = result.getTotalInvested();
+    if (countsCash()) {
+      value += result.getCash();
+    } else {
+      invested -= result.getCash();
+    }
+    return new InvestmentResult(newBasket, invested, result.getTrades(), valuationInt, value);
+  }
+}
@@ -3,20 +3,32 @@ package model.trader;
  * This class represents a basket of stocks.
  */
 
-import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.GregorianCalendar;
-import java.util.Iterator;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
+import utils.AlignedPanel;
+import utils.BasketValuation;
 import utils.CalendarUtil;
+import utils.Covariances;
 import utils.FittingUtil;
+import utils.LinearFit;
+import utils.MovingAverages;
+import utils.PriceRecord;
+import utils.PriceSeries;
+import utils.SeriesAligner;
+import utils.StockDataRetrievers;
+import utils.SymmetricMatrix;
 
 public class Basket implements IBasket {
+  // a stock without a price on a date of the others is valued at its last price before it
+  private static final SeriesAligner.Policy ALIGNMENT = SeriesAligner.Policy.FORWARD_FILL;
+
   private Map<IStock, Integer> stocks;
   private Calendar creationTime;
 
@@ -68,7 +80,7 @@ public class Basket implements IBasket {
       throw new IllegalArgumentException("no such stock in this basket");
     }
 
-    IStock stock = new Stock(stockSymbol);
+    IStock stock = StockRegistry.get(stockSymbol);
     int newShare = this.stocks.get(stock) + share;
     this.stocks.put(stock, newShare);
   }
@@ -78,7 +90,7 @@ public class Basket implements IBasket {
     if (stockSymbol == null) {
       throw new IllegalArgumentException();
     }
-    return this.stocks.containsKey(new Stock(stockSymbol));
+    return this.stocks.containsKey(StockRegistry.get(stockSymbol));
   }
 
   @Override
@@ -87,13 +99,20 @@ public class Basket implements IBasket {
       throw new IllegalArgumentException();
     }
 
-    // use this tester stock to test whether the given date is a business day or not
-    IStock tester = new Stock("AAPL");
-    tester.getClosingPrice(date);
+    if (!CalendarUtil.isBusinessDay(date)) {
+      throw new IllegalArgumentException("data does not exist");
+    }
 
+    Map<String, Map<Integer, PriceRecord>> basketPrices =
+            retrieveAll(stocks.keySet(), date, date);
+    int dateInt = CalendarUtil.toDateInt(date);
     double sumClose = 0;
     for (Map.Entry<IStock, Integer> pair : stocks.entrySet()) {
-      sumClose += pair.getKey().getClosingPrice(date) * pair.getValue();
+      PriceRecord record = basketPrices.get(pair.getKey().getSymbol()).get(dateInt);
+      if (record == null) {
+        throw new IllegalArgumentException("data does not exist");
+      }
+      sumClose += record.getClosePrice() * pair.getValue();
     }
     return sumClose;
   }
@@ -103,15 +122,15 @@ public class Basket implements IBasket {
     if (share <= 0) {
       throw new IllegalArgumentException("at least 1 share");
     }
-    Stock toPut = new Stock(stockSymbol);
+    IStock toPut = StockRegistry.get(stockSymbol);
     stocks.put(toPut, share);
   }
 
   @Override
   public void remove(String stockSymbol) throws Exception {
-    Stock toRemove;
+    IStock toRemove;
     try {
-      toRemove = new Stock(stockSymbol);
+      toRemove = StockRegistry.get(stockSymbol);
       stocks.remove(toRemove);
     } catch (IllegalArgumentException e) {
       // do nothing.
@@ -123,7 +142,8 @@ public class Basket implements IBasket {
     Map<IStock, Integer> copy = new TreeMap<>();
 
     for (Map.Entry<IStock, Integer> entry : stocks.entrySet()) {
-      copy.put(new Stock(entry.getKey().getSymbol()), entry.getValue().intValue());
+      // stocks are immutable and shared, so only the map needs to be copied
+      copy.put(entry.getKey(), entry.getValue().intValue());
     }
     return copy;
   }
@@ -131,6 +151,12 @@ public class Basket implements IBasket {
   @Override
   public Map<Integer, Double> getClosingPrices(Calendar startDate, Calendar endDate)
           throws Exception {
+    return getClosingPriceSeries(startDate, endDate).toMap();
+  }
+
+  @Override
+  public PriceSeries getClosingPriceSeries(Calendar startDate, Calendar endDate)
+          throws Exception {
 
     if (stocks == null || stocks.size() == 0) {
       throw new IllegalArgumentException("cannot get the prices of an empty basket");
@@ -140,33 +166,96 @@ public class Basket implements IBasket {
       throw new IllegalArgumentException("end date should not be prior to start date");
     }
 
-    // retrieve historical closing prices for each stock and store in a map
-    Map<IStock, Map<Integer, Double>> basketPrices = new TreeMap<>();
-    Map<Integer, Double> prices = new TreeMap<>();
-    for (Map.Entry<IStock, Integer> aStock : stocks.entrySet()) {
-      prices = aStock.getKey().getClosingPrices(startDate, endDate);
-      basketPrices.put(aStock.getKey(), prices);
+    // value the aligned closing prices of every day at once
+    AlignedPanel panel = alignedClosingPrices(startDate, endDate, ALIGNMENT);
+    double[] shares = new double[stocks.size()];
+    int stock = 0;
+    for (int share : stocks.values()) {
+      shares[stock++] = share;
+    }
+    int days = panel.dateCount();
+    double[] closingPrices = new double[days];
+    BasketValuation.dailyValues(panel.getValues(), days, shares, closingPrices);
+
+    // round the doubles to 2 decimal places
+    for (int day = 0; day < days; day++) {
+      closingPrices[day] = Math.round(closingPrices[day] * 100) / 100.0;
     }
 
-    // initialize an array to store the total closing prices for the basket
-    Set<Integer> dates = prices.keySet();
-    Map<Integer, Double> closingPrices = new TreeMap<>();
+    return new PriceSeries(panel.getDates(), closingPrices);
+  }
 
-    // calculate total closing prices for the basket and put in the map
-    int i = 0;
-    Iterator<Integer> it = dates.iterator();
-    while (it.hasNext()) {
-      Integer date = it.next();
-      double sum = 0;
-      for (Map.Entry<IStock, Map<Integer, Double>> stockPrices : basketPrices.entrySet()) {
-        sum += stockPrices.getValue().get(date) * stocks.get(stockPrices.getKey());
-      }
-      // round the double to 2 decimal places
-      closingPrices.put(date, Math.round(sum * 100) / 100.0);
-      i++;
+  @Override
+  public SymmetricMatrix returnCovariance(Calendar startDate, Calendar endDate)
+          throws Exception {
+
+    if (stocks == null || stocks.size() == 0) {
+      throw new IllegalArgumentException("cannot get the returns of an empty basket");
     }
 
-    return closingPrices;
+    if (endDate.before(startDate)) {
+      throw new IllegalArgumentException("end date should not be prior to start date");
+    }
+
+    // returns are only taken between days on which every stock has a price
+    AlignedPanel panel = alignedClosingPrices(startDate, endDate, SeriesAligner.Policy.INNER);
+    if (panel.dateCount() < 3) {
+      throw new IllegalArgumentException("not enough closing price data within the date range");
+    }
+    return Covariances.covariance(Covariances.dailyReturns(panel), panel.dateCount() - 1,
+            panel.getSymbols());
+  }
+
+  @Override
+  public SymmetricMatrix returnCorrelation(Calendar startDate, Calendar endDate)
+          throws Exception {
+    return Covariances.correlation(returnCovariance(startDate, endDate));
+  }
+
+  /**
+   * Retrieves the closing prices of all the stocks of this basket in the given date range at
+   * once, and aligns them on common dates with the given policy, in the order of the stocks.
+   * The panel is empty when exceptions occur in the data retriever.
+   */
+  private AlignedPanel alignedClosingPrices(Calendar startDate, Calendar endDate,
+                                            SeriesAligner.Policy policy) {
+    Map<String, Map<Integer, PriceRecord>> basketPrices;
+    try {
+      basketPrices = retrieveAll(stocks.keySet(), startDate, endDate);
+    } catch (Exception e) {
+      // historical prices are empty when exceptions occur in data retriever, as for a stock
+      basketPrices = new TreeMap<>();
+    }
+
+    Map<String, PriceSeries> closes = new LinkedHashMap<>();
+    for (IStock stock : stocks.keySet()) {
+      Map<Integer, PriceRecord> records = basketPrices.get(stock.getSymbol());
+      closes.put(stock.getSymbol(),
+              records == null ? PriceSeries.empty() : PriceSeries.ofClosingPrices(records));
+    }
+    return SeriesAligner.align(closes, policy);
+  }
+
+  /**
+   * Retrieves the historical prices of all the given stocks in the given date range at once.
+   *
+   * @param stocks    the stocks whose prices are retrieved
+   * @param startDate the start date of the date range
+   * @param endDate   the end date of the date range
+   * @return a map whose keys are the symbols of the stocks and values are maps from dates to the
+   *         price records of the corresponding stocks
+   * @throws Exception if the data source is not read correctly
+   */
+  static Map<String, Map<Integer, PriceRecord>> retrieveAll(Collection<IStock> stocks,
+                                                            Calendar startDate,
+                                                            Calendar endDate)
+          throws Exception {
+    Set<String> symbols = new TreeSet<>();
+    for (IStock stock : stocks) {
+      symbols.add(stock.getSymbol());
+    }
+    return StockDataRetrievers.getHistoricalPrices(StockDataRetrievers.getDefault(), symbols,
+            CalendarUtil.toDateInt(startDate), CalendarUtil.toDateInt(endDate));
   }
 
 
@@ -177,17 +266,27 @@ public class Basket implements IBasket {
       throw new IllegalArgumentException("end date should not be prior to start date");
     }
 
-    Map<Integer, Double> closingPrices = getClosingPrices(startDate, endDate);
-    List<Double> values = new ArrayList<>();
-    for (Map.Entry<Integer, Double> entry : closingPrices.entrySet()) {
-      values.add(entry.getValue());
+    PriceSeries closingPrices = getClosingPriceSeries(startDate, endDate);
+    if (closingPrices.isEmpty()) {
+      throw new IllegalArgumentException("no closing price data within the date range");
+    }
+
+    return FittingUtil.twoEndFittingTrend(closingPrices);
+  }
+
+  @Override
+  public LinearFit trendFit(Calendar startDate, Calendar endDate) throws Exception {
+
+    if (endDate.before(startDate)) {
+      throw new IllegalArgumentException("end date should not be prior to start date");
     }
 
-    if (values.isEmpty()) {
+    PriceSeries closingPrices = getClosingPriceSeries(startDate, endDate);
+    if (closingPrices.isEmpty()) {
       throw new IllegalArgumentException("no closing price data within the date range");
     }
 
-    return FittingUtil.twoEndFittingTrend(values);
+    return FittingUtil.leastSquaresFit(closingPrices);
   }
 
   @Override
@@ -198,80 +297,38 @@ public class Basket implements IBasket {
     if (stocks == null || stocks.isEmpty()) {
       throw new IllegalArgumentException("basket is empty");
     }
-    Map<Integer, Double> map = getNDaysMovingAverages(startDate, startDate, k);
+    PriceSeries averages = getNDaysMovingAverageSeries(startDate, startDate, k);
     Calendar date = new GregorianCalendar(startDate.get(Calendar.YEAR),
             startDate.get(Calendar.MONTH), startDate.get(Calendar.DAY_OF_MONTH));
-    while (map.isEmpty()) {
+    while (averages.isEmpty()) {
       date.add(Calendar.DAY_OF_YEAR, -1);
-      map = getNDaysMovingAverages(date, date, k);
+      averages = getNDaysMovingAverageSeries(date, date, k);
     }
 
-    double result = 0;
-    for (Map.Entry<Integer, Double> entry : map.entrySet()) {
-      result = entry.getValue();
-    }
-    return result;
+    return averages.getValue(averages.size() - 1);
   }
 
   @Override
   public Map<Integer, Double> getNDaysMovingAverages(Calendar startDate,
                                                      Calendar endDate, int days) throws Exception {
+    return getNDaysMovingAverageSeries(startDate, endDate, days).toMap();
+  }
+
+  @Override
+  public PriceSeries getNDaysMovingAverageSeries(Calendar startDate,
+                                                 Calendar endDate, int days) throws Exception {
 
     if (days <= 0) {
       throw new IllegalArgumentException("days should be positive");
     }
-    Integer startDateInt = startDate.get(Calendar.YEAR) * 10000
-            + (startDate.get(Calendar.MONTH) + 1) * 100
-            + startDate.get(Calendar.DAY_OF_MONTH);
 
     // retrieve more than needed from the server
     Calendar retrieveStart = new GregorianCalendar(startDate.get(Calendar.YEAR),
             startDate.get(Calendar.MONTH), startDate.get(Calendar.DAY_OF_MONTH));
     retrieveStart.add(Calendar.DAY_OF_YEAR, -2 * days);
-    Map<Integer, Double> retrievedData = getClosingPrices(retrieveStart, endDate);
-    NavigableMap<Integer, Double> reveredDate =
-            ((TreeMap<Integer, Double>) retrievedData).descendingMap();
-
-    Map<Integer, Double> result = new TreeMap<>();
-    Integer currDateInt = startDateInt;
-    while (currDateInt >= startDateInt) {
-      currDateInt = reveredDate.firstKey();
-      if (currDateInt >= startDateInt) {
-        Double currAverage = firstNAverage(reveredDate, days);
-        result.put(currDateInt, currAverage);
-      }
-      Map.Entry<Integer, Double> removed = reveredDate.pollFirstEntry();
-    }
+    PriceSeries retrievedData = getClosingPriceSeries(retrieveStart, endDate);
 
-    return result;
-  }
-
-  /**
-   * Return the average of the first specified number of values in the given map.
-   *
-   * @param map the specified map
-   * @param n   the specified number of values to be averaged
-   * @return the average of the first specified number of values in the given map
-   * @throws IllegalArgumentException if the given number is greater than the size of the map, or if
-   *                                  the given number is not positive
-   */
-  private Double firstNAverage(Map<Integer, Double> map, int n) throws IllegalArgumentException {
-    if (n > map.size()) {
-      throw new IllegalArgumentException("n is greater than map size");
-    }
-    if (n <= 0) {
-      throw new IllegalArgumentException("n must be positive");
-    }
-    int i = 0;
-    double sum = 0;
-    for (Map.Entry<Integer, Double> entry : map.entrySet()) {
-      if (i >= n) {
-        break;
-      }
-      sum += entry.getValue();
-      i++;
-    }
-    return Math.round(sum * 100 / n) / 100.0;
+    return MovingAverages.simple(retrievedData, CalendarUtil.toDateInt(startDate), days);
   }
 
   @Override
@@ -1,77 +1,34 @@
 package model.trader;
 
-import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
+import model.backtest.BacktestStrategy;
+import model.backtest.DollarCostAveraging;
 import utils.CalendarUtil;
+import utils.PriceRecord;
 
 /**
  * This class represents the dollar-average strategy and contains a single method that
  * returns a basket by imposing this investment strategy on the given basket, whatever
- * strategies the given basket itself has.
+ * strategies the given basket itself has. The investments are replayed by a
+ * {@link DollarCostAveraging} backtest in the proportions of the values of the stocks of the
+ * basket on its creation date; an investment due on a day that is not a business day is made on
+ * the next business day, if it is not after the end date.
  */
-public class DollarAverageStrategy implements Strategy {
+public class DollarAverageStrategy extends BacktestedStrategy {
 
   @Override
-  public List<Object> invest(IBasket basket, Calendar startDate, Calendar endDate,
-                             double money, int period) throws Exception {
-    if (basket == null || startDate == null || endDate == null) {
-      throw new IllegalArgumentException("null date(s)");
-    }
-
-    // requires a non-empty basket
-    if (basket.getStocks().size() == 0) {
-      throw new IllegalArgumentException("empty basket");
-    }
-    // mandates the startDate is a past business day
-    if (!CalendarUtil.isBusinessDay(startDate)) {
-      throw new IllegalArgumentException("start date should be a past business day");
-    }
-
-    // mandates the endDate is a past day, but not necessarily a business day
-    if (CalendarUtil.isFutureDay(endDate)) {
-      throw new IllegalArgumentException("end date should be a past day");
-    }
-
-    // check other arguments
-    if (startDate.after(endDate) || money < 0 || period < 7) {
-      throw new IllegalArgumentException();
-    }
-
-    List<Object> result = new ArrayList<>();
-    double totalInvested = 0;
-
-    if (money == 0) {
-      result.add(new Basket());
-      result.add(totalInvested);
-    }
-
-
-    // calculates the proportion of each stock
-    Map<IStock, Double> stockProportionMap = getProportions(basket);
-
-    IBasket newBasket = new Basket();
-    Calendar currentDate = CalendarUtil.copyDate(startDate);
-    while (currentDate.before(endDate)) {
-      Calendar actualInvestDate = CalendarUtil.nextBusinessDayBefore(currentDate, endDate);
-      if (actualInvestDate != null) {
-        totalInvested += individualInvest(newBasket, stockProportionMap, money, actualInvestDate);
-      }
-      currentDate.add(Calendar.DAY_OF_MONTH, period);
-    }
-
-    if (!currentDate.after(endDate) && CalendarUtil.isBusinessDay(currentDate)) {
-      individualInvest(newBasket, stockProportionMap, money, currentDate);
-    }
-
-
-    result.add(newBasket);
-    result.add(totalInvested);
+  protected BacktestStrategy backtestStrategy(IBasket basket, double money, int period)
+          throws Exception {
+    return new DollarCostAveraging(getSymbolProportions(basket), money, period);
+  }
 
-    return result;
+  @Override
+  protected boolean countsCash() {
+    // the money left after buying whole shares is never spent, so it is not invested
+    return false;
   }
 
   /**
@@ -95,13 +52,26 @@ public class DollarAverageStrategy implements Strategy {
       throw new IllegalArgumentException();
     }
 
+    // retrieve the prices of all the stocks on the date at once
+    Map<String, Map<Integer, PriceRecord>> prices =
+            Basket.retrieveAll(proportions.keySet(), date, date);
+    int dateInt = CalendarUtil.toDateInt(date);
     double moneyInvested = 0;
 
-    Map<IStock, Integer> shares = calcShares(proportions, money, date);
-    for (Map.Entry<IStock, Integer> pair : shares.entrySet()) {
+    for (Map.Entry<IStock, Double> pair : proportions.entrySet()) {
       IStock stock = pair.getKey();
-      int share = pair.getValue();
-      moneyInvested += stock.getClosingPrice(date) * share;
+      Map<Integer, PriceRecord> series = prices.get(stock.getSymbol());
+      PriceRecord record = series == null ? null : series.get(dateInt);
+      if (record == null) {
+        throw new IllegalArgumentException("data does not exist");
+      }
+      double price = record.getClosePrice();
+      // assuming only whole number of shares can be purchased
+      int share = (int)Math.round(pair.getValue() * money / price);
+      if (share == 0) {
+        continue;
+      }
+      moneyInvested += price * share;
       if (basket.containsStock(stock.getSymbol())) {
         basket.incrementShareOf(stock.getSymbol(), share);
       } else {
@@ -111,40 +81,20 @@ public class DollarAverageStrategy implements Strategy {
     return moneyInvested;
   }
 
-
   /**
-   * Return a map whose values are the stocks, and values are the shares of the corresponding
-   * stock.
-   * @param stockProportionMap the map represents the proportion of each stock
-   * @param money amount of money that will be used to purchase the stock
-   * @param date purchase date
-   * @return a map whose values are the stock, and values are the shares of the corresponding
-   *         stock
-   * @throws Exception if the given money is less than 0, or if the given date is a non-business,
-   *         or if the source file is not read correctly
+   * Return the proportions of the values of the stocks of the given basket on its creation date,
+   * by symbol, as the backtest of this strategy takes them.
+   * @param basket the basket to be calculated
+   * @return a map whose keys are the symbols of the stocks, and values are the proportion of the
+   *         corresponding stocks
+   * @throws Exception if the source file is not read correctly
    */
-  private Map<IStock, Integer> calcShares(Map<IStock, Double> stockProportionMap,
-                                          double money, Calendar date) throws Exception {
-    if (stockProportionMap == null
-            || stockProportionMap.size() == 0
-            || money < 0
-            || date == null
-            || !CalendarUtil.isBusinessDay(date)) {
-      throw new IllegalArgumentException();
+  public Map<String, Double> getSymbolProportions(IBasket basket) throws Exception {
+    Map<String, Double> proportions = new TreeMap<>();
+    for (Map.Entry<IStock, Double> pair : getProportions(basket).entrySet()) {
+      proportions.put(pair.getKey().getSymbol(), pair.getValue());
     }
-
-    Map<IStock, Integer> stockShareMap = new TreeMap<>();
-
-    for (Map.Entry<IStock, Double> pair : stockProportionMap.entrySet()) {
-      IStock stock = pair.getKey();
-      Double proportion = pair.getValue();
-      Double price = stock.getClosingPrice(date);
-      // assuming only whole number of shares can be purchased
-      int share = (int)Math.round(proportion * money / price);
-      stockShareMap.put(stock, share);
-    }
-
-    return stockShareMap;
+    return proportions;
   }
 
   /**
@@ -159,10 +109,29 @@ public class DollarAverageStrategy implements Strategy {
     Calendar creation = basket.getCreationTime();
     Map<IStock, Double> proportions = new TreeMap<>();
 
-    double sum = basket.getClosingPrice(creation);
+    if (!CalendarUtil.isBusinessDay(creation)) {
+      throw new IllegalArgumentException("data does not exist");
+    }
+
+    // retrieve the prices of all the stocks on the creation date at once
+    Map<IStock, Integer> stocks = basket.getStocks();
+    Map<String, Map<Integer, PriceRecord>> basketPrices =
+            Basket.retrieveAll(stocks.keySet(), creation, creation);
+    int creationInt = CalendarUtil.toDateInt(creation);
+    Map<IStock, Double> prices = new TreeMap<>();
+    double sum = 0;
+    for (Map.Entry<IStock, Integer> pair : stocks.entrySet()) {
+      Map<Integer, PriceRecord> series = basketPrices.get(pair.getKey().getSymbol());
+      PriceRecord record = series == null ? null : series.get(creationInt);
+      if (record == null) {
+        throw new IllegalArgumentException("data does not exist");
+      }
+      prices.put(pair.getKey(), record.getClosePrice());
+      sum += record.getClosePrice() * pair.getValue();
+    }
 
-    for (Map.Entry<IStock, Integer> pair : basket.getStocks().entrySet()) {
-      double price = pair.getKey().getClosingPrice(creation);
+    for (Map.Entry<IStock, Integer> pair : stocks.entrySet()) {
+      double price = prices.get(pair.getKey());
       int share = pair.getValue();
       double proportion = share * price / sum;
       proportions.put(pair.getKey(), proportion);
@@ -7,6 +7,10 @@ package model.trader;
 import java.util.Calendar;
 import java.util.Map;
 
+import utils.LinearFit;
+import utils.PriceSeries;
+import utils.SymmetricMatrix;
+
 public interface IBasket {
 
   /**
@@ -111,6 +115,18 @@ public interface IBasket {
    */
   Map<Integer, Double> getClosingPrices(Calendar startDate, Calendar endDate) throws Exception;
 
+  /**
+   * Return the closing prices of this basket in the given date range as a series. It has the same
+   * dates and values as the map returned by getClosingPrices, without boxing them.
+   *
+   * @param startDate start date of the date range
+   * @param endDate   end date of the date range
+   * @return a series of the closing prices of the business days in the given date range
+   * @throws Exception if the given end date is prior to the start date, or if this basket is empty,
+   *                   or the data source file is not read correctly
+   */
+  PriceSeries getClosingPriceSeries(Calendar startDate, Calendar endDate) throws Exception;
+
   /**
    * Determine the trend of this stocks in the given date range by returning the slope of the
    * line fitted to the closing prices in these dates. A positive slope means this stock trends
@@ -124,6 +140,42 @@ public interface IBasket {
    */
   double trends(Calendar startDate, Calendar endDate) throws Exception;
 
+  /**
+   * Fit a line to the closing prices of this basket in the given date range by ordinary least
+   * squares, where the x of each price is the number of business days since the first one.
+   *
+   * @param startDate the start date of the desired date range
+   * @param endDate   the end date of the desired date range
+   * @return the least-squares line of the closing prices, with its slope, intercept and R squared
+   * @throws Exception if end date is prior to start date or if this basket is empty, or if there
+   *                   is no closing price within the date range
+   */
+  LinearFit trendFit(Calendar startDate, Calendar endDate) throws Exception;
+
+  /**
+   * Return the (sample) covariance matrix of the daily returns of the stocks of this basket in
+   * the given date range. Returns are taken between the days on which every stock has a price.
+   *
+   * @param startDate the start date of the desired date range
+   * @param endDate   the end date of the desired date range
+   * @return the covariances of the returns of every pair of stocks, labelled by their symbols
+   * @throws Exception if end date is prior to start date or if this basket is empty, or if there
+   *                   are less than 3 days with a price of every stock within the date range
+   */
+  SymmetricMatrix returnCovariance(Calendar startDate, Calendar endDate) throws Exception;
+
+  /**
+   * Return the correlation matrix of the daily returns of the stocks of this basket in the given
+   * date range, from the covariance matrix returned by returnCovariance.
+   *
+   * @param startDate the start date of the desired date range
+   * @param endDate   the end date of the desired date range
+   * @return the correlations of the returns of every pair of stocks, labelled by their symbols
+   * @throws Exception if end date is prior to start date or if this basket is empty, or if there
+   *                   are less than 3 days with a price of every stock within the date range
+   */
+  SymmetricMatrix returnCorrelation(Calendar startDate, Calendar endDate) throws Exception;
+
   /**
    * Return the moving average of closing prices of the last specified number of business days,
    * starting at the specified date.
@@ -152,6 +204,22 @@ public interface IBasket {
   Map<Integer, Double> getNDaysMovingAverages(Calendar startDate, Calendar endDate, int days)
           throws Exception;
 
+  /**
+   * Return the specified number of days moving averages of this basket in the specified date
+   * range as a series. It has the same dates and values as the map returned by
+   * getNDaysMovingAverages, without boxing them.
+   *
+   * @param startDate the start date of the date range
+   * @param endDate   the end date of the date range
+   * @param days      the specified number of days that need to be averaged
+   * @return a series of the moving averages of this basket in the specified date range
+   * @throws Exception if the source file is not read correctly, or if the specified number of days
+   *                   is less than 1, or if the given end date is prior to the start date, or if
+   *                   this basket is empty
+   */
+  PriceSeries getNDaysMovingAverageSeries(Calendar startDate, Calendar endDate, int days)
+          throws Exception;
+
   @Override
   String toString();
 
@@ -1,8 +1,18 @@
 package model.trader;
 
 import java.util.Calendar;
+import java.util.List;
 import java.util.Map;
 
+import model.backtest.DollarAverageParameters;
+import model.backtest.SimulationResult;
+import model.backtest.SweepResult;
+import model.backtest.WalkForwardResult;
+import utils.LinearFit;
+import utils.PriceSeries;
+import utils.SymmetricMatrix;
+import utils.ValueSummary;
+
 /**
  * This interface has all the operations a model should offer.
  */
@@ -16,6 +26,76 @@ public interface IModel {
                 Calendar start, Calendar end, double money, int period, Calendar date)
           throws Exception;
 
+  /**
+   * Runs the dollar-average strategy on the basket specified by its name with every combination
+   * of the given amounts of money, periods, start dates and end dates, and values each of them on
+   * the given date. The prices of the stocks are retrieved once for all the combinations, which
+   * run in parallel. Combinations whose start date is after their end date are left out.
+   *
+   * @param basketName the name of the basket
+   * @param moneys     the amounts of money of each investment
+   * @param periods    the numbers of days between investments, each at least 7
+   * @param startDates the dates of the first investments
+   * @param endDates   the last dates of the investments
+   * @param date       the date on which the shares bought are valued
+   * @return the result of every combination, the most profitable first
+   * @throws Exception if the basket does not exist or is empty, or if an amount of money is
+   *                   negative or a period is less than 7, or if an end date is after the
+   *                   valuation date, or if the data source is not read correctly
+   */
+  List<SweepResult> sweepDollarAverage(String basketName, double[] moneys, int[] periods,
+                                       Calendar[] startDates, Calendar[] endDates, Calendar date)
+          throws Exception;
+
+  /**
+   * Simulates the dollar-average strategy on the basket specified by its name over synthetic
+   * price paths, each resampled in blocks of consecutive days from the daily returns of its
+   * stocks between the given dates, and gives the spread of the profits on the last day. The
+   * paths run in parallel, and the same seed always gives the same profits.
+   *
+   * @param basketName  the name of the basket
+   * @param start       the first date of the historical prices, and of the investments
+   * @param end         the last date of the historical prices, on which the shares are valued
+   * @param money       the amount of money of each investment
+   * @param period      the number of days between investments, at least 7
+   * @param paths       the number of synthetic paths
+   * @param blockLength the number of consecutive days of each resampled block
+   * @param seed        the seed of the random generators
+   * @return the profits of the paths
+   * @throws Exception if the basket does not exist or is empty, or if there are less than 2 days
+   *                   of prices between the dates, or if an argument is invalid, or if the data
+   *                   source is not read correctly
+   */
+  SimulationResult simulateDollarAverage(String basketName, Calendar start, Calendar end,
+                                         double money, int period, int paths, int blockLength,
+                                         long seed) throws Exception;
+
+  /**
+   * Runs a walk-forward optimization of the dollar-average strategy on the basket specified by
+   * its name between the given dates. The trading days are split into rolling windows; on the
+   * training days of each window every combination of the given periods and proportions is
+   * tried, and the one with the highest return is then run on the test days that follow. The
+   * prices are retrieved once for all the windows, which run in parallel.
+   *
+   * @param basketName  the name of the basket
+   * @param start       the first date of the first window
+   * @param end         the last date of the last window
+   * @param money       the amount of money of each investment
+   * @param periods     the candidate numbers of days between investments, each at least 7
+   * @param proportions the candidate maps from symbols to proportions of the money, tried after
+   *                    the proportions of the basket on its creation date; may be empty. Each
+   *                    map is scaled to add up to 1, and may only name stocks of the basket
+   * @param trainDays   the number of trading days on which the parameters are chosen
+   * @param testDays    the number of trading days on which the chosen parameters are tested
+   * @return the windows and their statistics out of sample
+   * @throws Exception if the basket does not exist or is empty, or if a map names a stock not in
+   *                   the basket, or if an argument is invalid, or if the data source is not read
+   *                   correctly
+   */
+  WalkForwardResult<DollarAverageParameters> walkForwardDollarAverage(
+          String basketName, Calendar start, Calendar end, double money, int[] periods,
+          List<Map<String, Double>> proportions, int trainDays, int testDays) throws Exception;
+
   /*
   Operations on a single stock
    */
@@ -50,6 +130,55 @@ public interface IModel {
   Map<Integer, Double> getStockClosingPrices(String stockSymbol, Calendar startDate,
                                              Calendar endDate) throws Exception;
 
+  /**
+   * Returns the closing prices of the stock, specified by its ticker symbol, in the specified
+   * date range as a series. It has the same dates and values as the map returned by
+   * getStockClosingPrices, without boxing them.
+   *
+   * @param stockSymbol the ticker symbol of the stock
+   * @param startDate   the date of the first day of the date range
+   * @param endDate     the date of the last day of the date range
+   * @return a series of the closing prices of the specified stock in the specified date range
+   * @throws Exception if end date is prior to start date, or if the symbol is invalid, or if if
+   *                   the data source is not read correctly
+   */
+  PriceSeries getStockClosingPriceSeries(String stockSymbol, Calendar startDate,
+                                         Calendar endDate) throws Exception;
+
+  /**
+   * Returns the n-day moving averages of the stock, specified by its ticker symbol, in the
+   * specified date range as a series. Non-business days are skipped.
+   *
+   * @param stockSymbol the ticker symbol of the stock
+   * @param startDate   the date of the first day of the date range
+   * @param endDate     the date of the last day of the date range
+   * @param days        the number of days to be averaged
+   * @return a series of the n-day moving averages of the specified stock in the specified date
+   *         range
+   * @throws Exception if end date is prior to start date, or if the symbol is invalid, or if the
+   *                   number of days is less than 1, or if the data source is not read correctly
+   */
+  PriceSeries getStockMovingAverageSeries(String stockSymbol, Calendar startDate,
+                                          Calendar endDate, int days) throws Exception;
+
+  /**
+   * Returns the closing prices of the stock, specified by its ticker symbol, in the specified
+   * date range, together with its moving averages over each of the given numbers of days. The
+   * prices are retrieved once, as far back as the longest average needs, and everything is
+   * computed from them.
+   *
+   * @param stockSymbol the ticker symbol of the stock
+   * @param startDate   the date of the first day of the date range
+   * @param endDate     the date of the last day of the date range
+   * @param windows     the numbers of days to be averaged
+   * @return the closing prices and moving averages of the stock in the specified date range
+   * @throws Exception if end date is prior to start date, or if the symbol is invalid, or if a
+   *                   number of days is less than 1, or if the data source is not read correctly
+   */
+  MovingAverageSet stockPricesAndMovingAverages(String stockSymbol, Calendar startDate,
+                                                Calendar endDate, int... windows)
+          throws Exception;
+
   /**
    * Calculates the 50-day moving average of the stock specified by its ticker symbol on
    * the specified date.
@@ -119,6 +248,20 @@ public interface IModel {
    */
   double stockTrend(String stockSymbol, Calendar startDate, Calendar endDate) throws Exception;
 
+  /**
+   * Fits a line to the closing prices of the stock specified by its ticker symbol from the
+   * startDate to the endDate by ordinary least squares.
+   *
+   * @param stockSymbol the ticker symbol of the stock
+   * @param startDate   the date of the first day of the date range
+   * @param endDate     the date of the last day of the date range
+   * @return the least-squares line of the closing prices, with its slope, intercept and R squared
+   * @throws Exception if end date is prior to start date, or if the symbol is invalid, or if if the
+   *                   data source is not read correctly
+   */
+  LinearFit stockTrendFit(String stockSymbol, Calendar startDate, Calendar endDate)
+          throws Exception;
+
   /*
   Operations on a basket
    */
@@ -168,6 +311,48 @@ public interface IModel {
    */
   double basketTrends(String basketName, Calendar startDate, Calendar endDate) throws Exception;
 
+  /**
+   * Fits a line to the values of the basket specified by the basket name from the startDate to
+   * the endDate by ordinary least squares.
+   *
+   * @param basketName the name of the basket
+   * @param startDate  the date of the first day of the specific date range
+   * @param endDate    the date of the last day of the specific date range
+   * @return the least-squares line of the values, with its slope, intercept and R squared
+   * @throws Exception if end date is prior to start date, or if the basket does not exist, or if if
+   *                   the data source is not read correctly
+   */
+  LinearFit basketTrendFit(String basketName, Calendar startDate, Calendar endDate)
+          throws Exception;
+
+  /**
+   * Returns the covariance matrix of the daily returns of the stocks of the basket specified by
+   * the basket name from the startDate to the endDate.
+   *
+   * @param basketName the name of the basket
+   * @param startDate  the date of the first day of the specific date range
+   * @param endDate    the date of the last day of the specific date range
+   * @return the covariances of the returns of every pair of stocks, labelled by their symbols
+   * @throws Exception if end date is prior to start date, or if the basket does not exist or is
+   *                   empty, or if there is not enough data within the date range
+   */
+  SymmetricMatrix basketReturnCovariance(String basketName, Calendar startDate, Calendar endDate)
+          throws Exception;
+
+  /**
+   * Returns the correlation matrix of the daily returns of the stocks of the basket specified by
+   * the basket name from the startDate to the endDate.
+   *
+   * @param basketName the name of the basket
+   * @param startDate  the date of the first day of the specific date range
+   * @param endDate    the date of the last day of the specific date range
+   * @return the correlations of the returns of every pair of stocks, labelled by their symbols
+   * @throws Exception if end date is prior to start date, or if the basket does not exist or is
+   *                   empty, or if there is not enough data within the date range
+   */
+  SymmetricMatrix basketReturnCorrelation(String basketName, Calendar startDate,
+                                          Calendar endDate) throws Exception;
+
   /**
    * Returns the value (i.e. the closing price) of the basket specified by the basket name on
    * the specified day. If the specified date is not a business day, null is returned.
@@ -195,6 +380,67 @@ public interface IModel {
   Map<Integer, Double> getBasketValues(String basketName, Calendar startDate, Calendar endDate)
           throws Exception;
 
+  /**
+   * Returns the values of the basket specified by its name in the specified date range as a
+   * series. It has the same dates and values as the map returned by getBasketValues, without
+   * boxing them.
+   *
+   * @param basketName the name of the basket
+   * @param startDate  the date of the first day of the date range
+   * @param endDate    the date of the last day of the date range
+   * @return a series of the values of the basket in the specified date range
+   * @throws Exception if the basket does not exist, or the data source file is not read correctly
+   */
+  PriceSeries getBasketValueSeries(String basketName, Calendar startDate, Calendar endDate)
+          throws Exception;
+
+  /**
+   * Returns summary statistics of the values of the basket specified by its name in the specified
+   * date range: their range and average, the total return, the volatility of the daily returns
+   * and the maximum drawdown.
+   *
+   * @param basketName the name of the basket
+   * @param startDate  the date of the first day of the date range
+   * @param endDate    the date of the last day of the date range
+   * @return the summary statistics of the values of the basket in the specified date range
+   * @throws Exception if the basket does not exist, or if it has no value in the date range, or
+   *                   the data source file is not read correctly
+   */
+  ValueSummary getBasketSummary(String basketName, Calendar startDate, Calendar endDate)
+          throws Exception;
+
+  /**
+   * Returns the n-day moving averages of the basket specified by its name in the specified date
+   * range as a series. Non-business days are skipped.
+   *
+   * @param basketName the name of the basket
+   * @param startDate  the date of the first day of the date range
+   * @param endDate    the date of the last day of the date range
+   * @param days       the number of days to be averaged
+   * @return a series of the n-day moving averages of the basket in the specified date range
+   * @throws Exception if the basket does not exist, or the data source file is not read correctly
+   */
+  PriceSeries getBasketMovingAverageSeries(String basketName, Calendar startDate,
+                                           Calendar endDate, int days) throws Exception;
+
+  /**
+   * Returns the values of the basket specified by its name in the specified date range,
+   * together with its moving averages over each of the given numbers of days. The prices are
+   * retrieved once, as far back as the longest average needs, and everything is computed from
+   * them. Values or averages that cannot be computed, e.g. of an empty basket, are empty.
+   *
+   * @param basketName the name of the basket
+   * @param startDate  the date of the first day of the date range
+   * @param endDate    the date of the last day of the date range
+   * @param windows    the numbers of days to be averaged
+   * @return the values and moving averages of the basket in the specified date range
+   * @throws Exception if the basket does not exist, or if a number of days is less than 1, or the
+   *                   data source file is not read correctly
+   */
+  MovingAverageSet basketValuesAndMovingAverages(String basketName, Calendar startDate,
+                                                 Calendar endDate, int... windows)
+          throws Exception;
+
   /**
    * Calculates the 50-day moving average of the basket specified by its ticker symbol
    * on the specified date.
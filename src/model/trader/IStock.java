@@ -6,6 +6,9 @@ package model.trader;
 import java.util.Calendar;
 import java.util.Map;
 
+import utils.LinearFit;
+import utils.PriceSeries;
+
 public interface IStock extends Comparable<IStock> {
 
   /**
@@ -31,6 +34,20 @@ public interface IStock extends Comparable<IStock> {
   Map<Integer, Double> getNDaysMovingAverages(Calendar startDate, Calendar endDate, int days)
           throws Exception;
 
+  /**
+   * Return the n-day moving averages of this stock in the given date range as a series. It has
+   * the same dates and values as the map returned by getNDaysMovingAverages, without boxing them.
+   *
+   * @param startDate the start date of the date range
+   * @param endDate   the end date of the date range
+   * @param days      the specified number of days to be averaged
+   * @return a series of the n-day moving averages of this stock in the given date range
+   * @throws Exception if the source file is not read correctly, or if the end date is prior to the
+   *                   start date, of if the given number of days is less than 1.
+   */
+  PriceSeries getNDaysMovingAverageSeries(Calendar startDate, Calendar endDate, int days)
+          throws Exception;
+
   /**
    * Gets the name of this stock. Case sensitive
    *
@@ -83,6 +100,18 @@ public interface IStock extends Comparable<IStock> {
    */
   Map<Integer, Double> getClosingPrices(Calendar startDate, Calendar endDate) throws Exception;
 
+  /**
+   * Get historical closing prices for this stock for the given date range as a series. It has
+   * the same dates and values as the map returned by getClosingPrices, without boxing them.
+   *
+   * @param startDate the start date of the desired date range
+   * @param endDate   the end date of the desired date range
+   * @return a series of the closing prices of the business days within the given date range
+   * @throws Exception if end date is prior to start date, or if if the data source
+   *         is not read correctly
+   */
+  PriceSeries getClosingPriceSeries(Calendar startDate, Calendar endDate) throws Exception;
+
   /**
    * Determine the trend of this stock in the given date range by returning the slope of the
    * line fitted to the closing prices in these dates. A positive slope means this stock trends
@@ -96,6 +125,18 @@ public interface IStock extends Comparable<IStock> {
    */
   double trends(Calendar startDate, Calendar endDate);
 
+  /**
+   * Fit a line to the closing prices of this stock in the given date range by ordinary least
+   * squares, where the x of each price is the number of business days since the first one.
+   *
+   * @param startDate the start date of the desired date range
+   * @param endDate   the end date of the desired date range
+   * @return the least-squares line of the closing prices, with its slope, intercept and R squared
+   * @throws IllegalArgumentException if end date is prior to start date or if no stock data can be
+   *                                  retrieved from the server given the specified date range
+   */
+  LinearFit trendFit(Calendar startDate, Calendar endDate);
+
   /**
    * Determines whether this is equal to obj. Equal if obj is also a stock and the ticker symbol
    * of this stock is equal to that of obj. Case is ignored.
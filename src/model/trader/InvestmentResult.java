@@ -0,0 +1,115 @@
+package model.trader;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import model.backtest.TradeLedger;
+
+/**
+ * This class represents the outcome of imposing an investment strategy on a basket: the basket
+ * of the shares bought, the money invested, the ledger of the trades made, and the value of the
+ * shares bought on a valuation date.
+ */
+public class InvestmentResult {
+  private final IBasket basket;
+  private final double invested;
+  private final TradeLedger trades;
+  private final int valuationDate;
+  private final double value;
+
+  /**
+   * Constructs a result.
+   *
+   * @param basket        the basket of the shares bought
+   * @param invested      the total money invested
+   * @param trades        the trades made, which are copied
+   * @param valuationDate the date on which the shares bought are valued, as an 8-digit integer
+   * @param value         the value of the shares bought on the valuation date
+   * @throws IllegalArgumentException if the basket or the ledger is @code null
+   */
+  public InvestmentResult(IBasket basket, double invested, TradeLedger trades, int valuationDate,
+                          double value) throws IllegalArgumentException {
+    if (basket == null || trades == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    this.basket = basket;
+    this.invested = invested;
+    this.trades = trades.copy();
+    this.valuationDate = valuationDate;
+    this.value = value;
+  }
+
+  /**
+   * Return the basket of the shares bought.
+   *
+   * @return the resulting basket
+   */
+  public IBasket getBasket() {
+    return basket;
+  }
+
+  /**
+   * Return the number of shares held of each stock.
+   *
+   * @return a map whose keys are the symbols of the stocks and values are the shares held
+   * @throws Exception when the stocks of the basket are not copied correctly
+   */
+  public Map<String, Integer> getHoldings() throws Exception {
+    Map<String, Integer> holdings = new TreeMap<>();
+    for (Map.Entry<IStock, Integer> pair : basket.getStocks().entrySet()) {
+      holdings.put(pair.getKey().getSymbol(), pair.getValue());
+    }
+    return holdings;
+  }
+
+  /**
+   * Return the total money invested.
+   *
+   * @return the total money invested
+   */
+  public double getInvested() {
+    return invested;
+  }
+
+  /**
+   * Return the trades made, in the order they were made.
+   *
+   * @return the ledger of the trades
+   */
+  public TradeLedger getTrades() {
+    return trades.copy();
+  }
+
+  /**
+   * Return the date on which the shares bought are valued.
+   *
+   * @return the valuation date, as an 8-digit integer
+   */
+  public int getValuationDate() {
+    return valuationDate;
+  }
+
+  /**
+   * Return the value of the shares bought on the valuation date.
+   *
+   * @return the value on the valuation date
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Return the value on the valuation date less the money invested.
+   *
+   * @return the profit
+   */
+  public double getProfit() {
+    return value - invested;
+  }
+
+  @Override
+  public String toString() {
+    return "basket: " + basket + ", invested: " + invested + ", value on " + valuationDate + ": "
+            + value;
+  }
+}
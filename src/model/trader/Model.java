@@ -1,11 +1,36 @@
 package model.trader;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
-
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import model.backtest.Backtester;
+import model.backtest.BlockBootstrap;
+import model.backtest.DollarAverageParameters;
+import model.backtest.DollarAverageSweep;
+import model.backtest.DollarCostAveraging;
+import model.backtest.MonteCarloSimulation;
+import model.backtest.SimulationResult;
+import model.backtest.SweepResult;
+import model.backtest.WalkForward;
+import model.backtest.WalkForwardResult;
 import model.trader.IBasket;
 import model.trader.IModel;
+import utils.AlignedPanel;
+import utils.BasketValuation;
+import utils.CalendarUtil;
+import utils.LinearFit;
+import utils.MovingAverages;
+import utils.PriceSeries;
+import utils.StockDataRetrievers;
+import utils.SymmetricMatrix;
+import utils.ValueSummary;
 
 /**
  * This class represents a model. The model only cares about processing the given data,
@@ -46,17 +71,148 @@ public class Model implements IModel {
     return strategized.calcProfits(start, end, money, period, date);
   }
 
+  @Override
+  public List<SweepResult> sweepDollarAverage(String basketName, double[] moneys, int[] periods,
+                                              Calendar[] startDates, Calendar[] endDates,
+                                              Calendar date) throws Exception {
+    if (moneys == null || periods == null || startDates == null || endDates == null
+            || date == null) {
+      throw new IllegalArgumentException();
+    }
+    IBasket calledBasket = this.basketsMap.get(basketName);
+    if (calledBasket == null) {
+      throw new IllegalArgumentException("no such basket");
+    }
+    if (calledBasket.getStocks().isEmpty()) {
+      throw new IllegalArgumentException("empty basket");
+    }
+
+    int[] starts = toDateInts(startDates);
+    int[] ends = toDateInts(endDates);
+    int valuationDate = CalendarUtil.toDateInt(date);
+    int firstDate = valuationDate;
+    for (int start : starts) {
+      firstDate = Math.min(firstDate, start);
+    }
+
+    // retrieve the prices of every stock once, from the earliest start to the valuation date
+    AlignedPanel panel = retrieveClosingPrices(calledBasket, firstDate, valuationDate);
+    Map<String, Double> proportions =
+            new DollarAverageStrategy().getSymbolProportions(calledBasket);
+    return new DollarAverageSweep(panel, proportions, ForkJoinPool.commonPool())
+            .run(moneys, periods, starts, ends, valuationDate);
+  }
+
+  @Override
+  public SimulationResult simulateDollarAverage(String basketName, Calendar start, Calendar end,
+                                                double money, int period, int paths,
+                                                int blockLength, long seed) throws Exception {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException();
+    }
+    if (end.before(start)) {
+      throw new IllegalArgumentException("end date should not be prior to start date");
+    }
+    if (money < 0 || period < 7) {
+      throw new IllegalArgumentException("invalid money or period");
+    }
+    IBasket calledBasket = this.basketsMap.get(basketName);
+    if (calledBasket == null) {
+      throw new IllegalArgumentException("no such basket");
+    }
+    if (calledBasket.getStocks().isEmpty()) {
+      throw new IllegalArgumentException("empty basket");
+    }
+
+    AlignedPanel history = retrieveClosingPrices(calledBasket, CalendarUtil.toDateInt(start),
+            CalendarUtil.toDateInt(end));
+    // each path replays a new strategy, since a strategy keeps its positions during a run
+    Map<String, Double> proportions =
+            new DollarAverageStrategy().getSymbolProportions(calledBasket);
+    return new MonteCarloSimulation(new BlockBootstrap(history, blockLength),
+            () -> new DollarCostAveraging(proportions, money, period), ForkJoinPool.commonPool())
+            .run(paths, seed);
+  }
+
+  @Override
+  public WalkForwardResult<DollarAverageParameters> walkForwardDollarAverage(
+          String basketName, Calendar start, Calendar end, double money, int[] periods,
+          List<Map<String, Double>> proportions, int trainDays, int testDays) throws Exception {
+    if (start == null || end == null || periods == null || proportions == null) {
+      throw new IllegalArgumentException();
+    }
+    if (end.before(start)) {
+      throw new IllegalArgumentException("end date should not be prior to start date");
+    }
+    IBasket calledBasket = this.basketsMap.get(basketName);
+    if (calledBasket == null) {
+      throw new IllegalArgumentException("no such basket");
+    }
+    if (calledBasket.getStocks().isEmpty()) {
+      throw new IllegalArgumentException("empty basket");
+    }
+
+    // every weighting is checked against the basket before any price is retrieved
+    for (Map<String, Double> weighting : proportions) {
+      if (weighting == null) {
+        throw new IllegalArgumentException("null weighting");
+      }
+      for (String symbol : weighting.keySet()) {
+        if (!calledBasket.containsStock(symbol.toUpperCase())) {
+          throw new IllegalArgumentException("no such stock in this basket");
+        }
+      }
+    }
+    List<Map<String, Double>> weightings = new ArrayList<>();
+    weightings.add(new DollarAverageStrategy().getSymbolProportions(calledBasket));
+    weightings.addAll(proportions);
+    List<DollarAverageParameters> candidates = new ArrayList<>();
+    for (Map<String, Double> weighting : weightings) {
+      for (int period : periods) {
+        if (period < 7) {
+          throw new IllegalArgumentException("period should be at least 7 days");
+        }
+        candidates.add(new DollarAverageParameters(weighting, money, period));
+      }
+    }
+    if (candidates.isEmpty()) {
+      throw new IllegalArgumentException("no period to try");
+    }
+
+    // retrieve the prices of every stock once for all the windows
+    AlignedPanel panel = retrieveClosingPrices(calledBasket, CalendarUtil.toDateInt(start),
+            CalendarUtil.toDateInt(end));
+    return new WalkForward<>(panel, candidates, DollarAverageParameters::newStrategy,
+            ForkJoinPool.commonPool()).run(trainDays, testDays);
+  }
+
+  /**
+   * Retrieves the closing prices of the stocks of the given basket in the given date range at
+   * once from the shared retriever, aligned on common dates for a backtest.
+   */
+  private static AlignedPanel retrieveClosingPrices(IBasket basket, int fromDate, int toDate)
+          throws Exception {
+    Set<String> symbols = new TreeSet<>();
+    for (IStock stock : basket.getStocks().keySet()) {
+      symbols.add(stock.getSymbol());
+    }
+    return new Backtester(StockDataRetrievers.getDefault()).retrieve(symbols, fromDate, toDate);
+  }
+
+  private static int[] toDateInts(Calendar[] dates) throws IllegalArgumentException {
+    int[] dateInts = new int[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      dateInts[i] = CalendarUtil.toDateInt(dates[i]);
+    }
+    return dateInts;
+  }
+
   /*
   Operations on a single stock
    */
   @Override
   public boolean isValidStockSymbol(String symbol) throws Exception {
-    try {
-      new Stock(symbol);
-      return true;
-    } catch (IllegalArgumentException e) {
-      return false;
-    }
+    return StockRegistry.isValid(symbol);
   }
 
   @Override
@@ -65,7 +221,7 @@ public class Model implements IModel {
       throw new IllegalArgumentException();
     }
 
-    IStock stock = new Stock(stockSymbol);
+    IStock stock = StockRegistry.get(stockSymbol);
     return stock.getClosingPrice(date);
   }
 
@@ -75,16 +231,56 @@ public class Model implements IModel {
     if (startDate == null || endDate == null) {
       throw new IllegalArgumentException();
     }
-    IStock stock = new Stock(stockSymbol);
+    IStock stock = StockRegistry.get(stockSymbol);
     return stock.getClosingPrices(startDate, endDate);
   }
 
+  @Override
+  public PriceSeries getStockClosingPriceSeries(String stockSymbol, Calendar startDate,
+                                                Calendar endDate) throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException();
+    }
+    IStock stock = StockRegistry.get(stockSymbol);
+    return stock.getClosingPriceSeries(startDate, endDate);
+  }
+
+  @Override
+  public PriceSeries getStockMovingAverageSeries(String stockSymbol, Calendar startDate,
+                                                 Calendar endDate, int days) throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException();
+    }
+    IStock stock = StockRegistry.get(stockSymbol);
+    return stock.getNDaysMovingAverageSeries(startDate, endDate, days);
+  }
+
+  @Override
+  public MovingAverageSet stockPricesAndMovingAverages(String stockSymbol, Calendar startDate,
+                                                       Calendar endDate, int... windows)
+          throws Exception {
+    checkRangeAndWindows(startDate, endDate, windows);
+    IStock stock = StockRegistry.get(stockSymbol);
+
+    // retrieve once, as far back as the longest average needs
+    PriceSeries closingPrices = stock.getClosingPriceSeries(
+            lookbackStart(startDate, windows), endDate);
+
+    int start = CalendarUtil.toDateInt(startDate);
+    Map<Integer, PriceSeries> averages = new TreeMap<>();
+    for (int days : windows) {
+      averages.put(days, MovingAverages.simple(closingPrices, start, days));
+    }
+    return new MovingAverageSet(
+            closingPrices.slice(start, CalendarUtil.toDateInt(endDate)), averages);
+  }
+
   @Override
   public double fiftyDaysMovingAverageOfStock(String stockSymbol, Calendar date) throws Exception {
     if (date == null) {
       throw new IllegalArgumentException();
     }
-    IStock stock = new Stock(stockSymbol);
+    IStock stock = StockRegistry.get(stockSymbol);
     return stock.movingAverage(50, date);
   }
 
@@ -95,7 +291,7 @@ public class Model implements IModel {
       throw new IllegalArgumentException();
     }
 
-    IStock stock = new Stock(stockSymbol);
+    IStock stock = StockRegistry.get(stockSymbol);
     return stock.movingAverage(200, date);
   }
 
@@ -105,7 +301,7 @@ public class Model implements IModel {
     if (startDate == null || endDate == null) {
       throw new IllegalArgumentException();
     }
-    IStock stock = new Stock(stockSymbol);
+    IStock stock = StockRegistry.get(stockSymbol);
     return stock.getNDaysMovingAverages(startDate, endDate, 50);
   }
 
@@ -115,7 +311,7 @@ public class Model implements IModel {
     if (startDate == null || endDate == null) {
       throw new IllegalArgumentException();
     }
-    IStock stock = new Stock(stockSymbol);
+    IStock stock = StockRegistry.get(stockSymbol);
     return stock.getNDaysMovingAverages(startDate, endDate, 200);
   }
 
@@ -125,10 +321,20 @@ public class Model implements IModel {
     if (startDate == null || endDate == null) {
       throw new IllegalArgumentException();
     }
-    IStock stock = new Stock(stockSymbol);
+    IStock stock = StockRegistry.get(stockSymbol);
     return stock.trends(startDate, endDate);
   }
 
+  @Override
+  public LinearFit stockTrendFit(String stockSymbol, Calendar startDate, Calendar endDate)
+          throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException();
+    }
+    IStock stock = StockRegistry.get(stockSymbol);
+    return stock.trendFit(startDate, endDate);
+  }
+
   /*
   Operations on baskets
    */
@@ -185,6 +391,54 @@ public class Model implements IModel {
     }
   }
 
+  @Override
+  public LinearFit basketTrendFit(String basketName, Calendar startDate, Calendar endDate)
+          throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException();
+    }
+
+    IBasket calledBasket = this.basketsMap.get(basketName);
+
+    if (calledBasket != null) {
+      return calledBasket.trendFit(startDate, endDate);
+    } else {
+      throw new IllegalArgumentException("no such basket");
+    }
+  }
+
+  @Override
+  public SymmetricMatrix basketReturnCovariance(String basketName, Calendar startDate,
+                                                Calendar endDate) throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException();
+    }
+
+    IBasket calledBasket = this.basketsMap.get(basketName);
+
+    if (calledBasket != null) {
+      return calledBasket.returnCovariance(startDate, endDate);
+    } else {
+      throw new IllegalArgumentException("no such basket");
+    }
+  }
+
+  @Override
+  public SymmetricMatrix basketReturnCorrelation(String basketName, Calendar startDate,
+                                                 Calendar endDate) throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException();
+    }
+
+    IBasket calledBasket = this.basketsMap.get(basketName);
+
+    if (calledBasket != null) {
+      return calledBasket.returnCorrelation(startDate, endDate);
+    } else {
+      throw new IllegalArgumentException("no such basket");
+    }
+  }
+
   @Override
   public Double getBasketValue(String basketName, Calendar date) throws Exception {
     IBasket calledBasket = this.basketsMap.get(basketName);
@@ -228,6 +482,132 @@ public class Model implements IModel {
 
   }
 
+  @Override
+  public PriceSeries getBasketValueSeries(String basketName, Calendar startDate,
+                                          Calendar endDate) throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException();
+    }
+
+    IBasket calledBasket = this.basketsMap.get(basketName);
+
+    if (calledBasket != null) {
+      try {
+        return calledBasket.getClosingPriceSeries(startDate, endDate);
+      } catch (IllegalArgumentException e) {
+        return PriceSeries.empty();
+      }
+    } else {
+      throw new IllegalArgumentException("no such basket");
+    }
+  }
+
+  @Override
+  public ValueSummary getBasketSummary(String basketName, Calendar startDate, Calendar endDate)
+          throws Exception {
+    PriceSeries values = getBasketValueSeries(basketName, startDate, endDate);
+    if (values.isEmpty()) {
+      throw new IllegalArgumentException("no value within the date range");
+    }
+    return BasketValuation.summarize(values);
+  }
+
+  @Override
+  public PriceSeries getBasketMovingAverageSeries(String basketName, Calendar startDate,
+                                                  Calendar endDate, int days) throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException();
+    }
+
+    IBasket calledBasket = this.basketsMap.get(basketName);
+
+    if (calledBasket != null) {
+      try {
+        return calledBasket.getNDaysMovingAverageSeries(startDate, endDate, days);
+      } catch (IllegalArgumentException e) {
+        return PriceSeries.empty();
+      }
+    } else {
+      throw new IllegalArgumentException("no such basket");
+    }
+  }
+
+  @Override
+  public MovingAverageSet basketValuesAndMovingAverages(String basketName, Calendar startDate,
+                                                        Calendar endDate, int... windows)
+          throws Exception {
+    checkRangeAndWindows(startDate, endDate, windows);
+    IBasket calledBasket = this.basketsMap.get(basketName);
+    if (calledBasket == null) {
+      throw new IllegalArgumentException("no such basket");
+    }
+
+    // retrieve once, as far back as the longest average needs
+    PriceSeries closingPrices;
+    try {
+      closingPrices = calledBasket.getClosingPriceSeries(
+              lookbackStart(startDate, windows), endDate);
+    } catch (IllegalArgumentException e) {
+      closingPrices = PriceSeries.empty();
+    }
+
+    int start = CalendarUtil.toDateInt(startDate);
+    Map<Integer, PriceSeries> averages = new TreeMap<>();
+    for (int days : windows) {
+      try {
+        averages.put(days, MovingAverages.simple(closingPrices, start, days));
+      } catch (IllegalArgumentException e) {
+        averages.put(days, PriceSeries.empty());
+      }
+    }
+    return new MovingAverageSet(
+            closingPrices.slice(start, CalendarUtil.toDateInt(endDate)), averages);
+  }
+
+  /**
+   * Checks that the given date range and numbers of days can be used to compute moving averages.
+   *
+   * @param startDate the date of the first day of the date range
+   * @param endDate   the date of the last day of the date range
+   * @param windows   the numbers of days to be averaged
+   * @throws IllegalArgumentException if an argument is @code null, or if end date is prior to
+   *                                  start date, or if a number of days is less than 1
+   */
+  private static void checkRangeAndWindows(Calendar startDate, Calendar endDate, int[] windows)
+          throws IllegalArgumentException {
+    if (startDate == null || endDate == null || windows == null) {
+      throw new IllegalArgumentException();
+    }
+    if (endDate.before(startDate)) {
+      throw new IllegalArgumentException("end date should not be prior to start date");
+    }
+    for (int days : windows) {
+      if (days <= 0) {
+        throw new IllegalArgumentException("days should be positive");
+      }
+    }
+  }
+
+  /**
+   * Return the date from which prices are retrieved to compute the moving averages over each of
+   * the given numbers of days from the given date on, which is as far back as a single moving
+   * average over the largest number of days retrieves.
+   *
+   * @param startDate the first date whose moving averages are computed
+   * @param windows   the numbers of days to be averaged
+   * @return the date from which prices are retrieved
+   */
+  private static Calendar lookbackStart(Calendar startDate, int[] windows) {
+    int longest = 0;
+    for (int days : windows) {
+      longest = Math.max(longest, days);
+    }
+    Calendar retrieveStart = new GregorianCalendar(startDate.get(Calendar.YEAR),
+            startDate.get(Calendar.MONTH), startDate.get(Calendar.DAY_OF_MONTH));
+    retrieveStart.add(Calendar.DAY_OF_YEAR, -2 * longest);
+    return retrieveStart;
+  }
+
   @Override
   public double fiftyDaysMovingAverageOfBasket(String basketName, Calendar date) throws Exception {
     IBasket calledBasket = this.basketsMap.get(basketName);
@@ -0,0 +1,69 @@
+package model.trader;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import utils.PriceSeries;
+
+/**
+ * This class represents the closing prices of a stock or a basket in a date range, together
+ * with its moving averages over several numbers of days in the same date range. All of them are
+ * computed from prices retrieved once. Moving average sets are immutable.
+ */
+public class MovingAverageSet {
+  private final PriceSeries prices;
+  private final Map<Integer, PriceSeries> averages;
+
+  /**
+   * Constructs a set of the given prices and moving averages.
+   *
+   * @param prices   the closing prices in the date range
+   * @param averages a map whose keys are numbers of days and values are the moving averages over
+   *                 the corresponding numbers of days in the date range
+   */
+  MovingAverageSet(PriceSeries prices, Map<Integer, PriceSeries> averages) {
+    this.prices = prices;
+    this.averages = Collections.unmodifiableMap(new TreeMap<>(averages));
+  }
+
+  /**
+   * Return the closing prices in the date range.
+   *
+   * @return the closing prices in the date range
+   */
+  public PriceSeries getPrices() {
+    return prices;
+  }
+
+  /**
+   * Return the moving averages over the given number of days in the date range.
+   *
+   * @param days the number of days averaged
+   * @return the moving averages over the given number of days in the date range
+   * @throws IllegalArgumentException if the averages over the given number of days are not in
+   *                                  this set
+   */
+  public PriceSeries getAverages(int days) throws IllegalArgumentException {
+    PriceSeries series = averages.get(days);
+    if (series == null) {
+      throw new IllegalArgumentException("no " + days + "-day moving averages in this set");
+    }
+    return series;
+  }
+
+  /**
+   * Return the numbers of days whose moving averages are in this set, in ascending order.
+   *
+   * @return the numbers of days whose moving averages are in this set
+   */
+  public Set<Integer> getWindows() {
+    return averages.keySet();
+  }
+
+  @Override
+  public String toString() {
+    return "prices: " + prices + ", moving averages: " + averages;
+  }
+}
@@ -0,0 +1,97 @@
+package model.trader;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import model.backtest.BacktestStrategy;
+import model.backtest.Rebalancing;
+import model.backtest.TransactionCosts;
+
+/**
+ * This class represents a strategy that keeps the stocks of a basket at target proportions of
+ * its value. It deposits a set amount of money every set number of days, as the dollar-average
+ * strategy does, and spends it on the stocks in the target proportions. Every rebalancing period,
+ * and on any day when the proportion of a stock has drifted from its target by more than a
+ * threshold, it sells the stocks above their targets and buys the ones below, back to the target
+ * proportions of the whole value. Every trade pays the given transaction costs.
+ *
+ * <p>The days are replayed by a {@link Rebalancing} backtest, which checks the targets, the
+ * period and the threshold when the strategy is imposed on a basket. Only whole shares are
+ * traded, and never more than the cash held can pay for, so some cash may be left; it is counted
+ * in the value of the result, and all the money deposited is counted as invested.
+ */
+public class RebalancingStrategy extends BacktestedStrategy {
+  private final Map<String, Double> targets;
+  private final int rebalancePeriod;
+  private final double driftThreshold;
+  private final TransactionCosts costs;
+
+  /**
+   * Constructs a rebalancing strategy whose targets are the proportions of the values of the
+   * stocks of the basket on its creation date.
+   *
+   * @param rebalancePeriod the number of calendar days between rebalancings, or 0 to rebalance
+   *                        on drift only
+   * @param driftThreshold  the largest difference between the proportion of a stock and its
+   *                        target kept without rebalancing, or 0 to rebalance on schedule only
+   * @param costs           the costs of each trade
+   * @throws IllegalArgumentException if the costs are @code null
+   */
+  public RebalancingStrategy(int rebalancePeriod, double driftThreshold, TransactionCosts costs)
+          throws IllegalArgumentException {
+    this(null, rebalancePeriod, driftThreshold, costs);
+  }
+
+  /**
+   * Constructs a rebalancing strategy with the given targets.
+   *
+   * @param targets         a map whose keys are symbols and values are the target proportions
+   *                        of the corresponding stocks, which are scaled to add up to 1; stocks
+   *                        of the basket not in the map are sold at rebalancing. If it is
+   *                        @code null, the targets are the proportions of the values of the
+   *                        stocks of the basket on its creation date
+   * @param rebalancePeriod the number of calendar days between rebalancings, or 0 to rebalance
+   *                        on drift only
+   * @param driftThreshold  the largest difference between the proportion of a stock and its
+   *                        target kept without rebalancing, or 0 to rebalance on schedule only
+   * @param costs           the costs of each trade
+   * @throws IllegalArgumentException if the costs are @code null
+   */
+  public RebalancingStrategy(Map<String, Double> targets, int rebalancePeriod,
+                             double driftThreshold, TransactionCosts costs)
+          throws IllegalArgumentException {
+    if (costs == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    this.targets = targets == null ? null : new TreeMap<>(targets);
+    this.rebalancePeriod = rebalancePeriod;
+    this.driftThreshold = driftThreshold;
+    this.costs = costs;
+  }
+
+  @Override
+  protected BacktestStrategy backtestStrategy(IBasket basket, double money, int period)
+          throws Exception {
+    if (targets == null) {
+      return new Rebalancing(new DollarAverageStrategy().getSymbolProportions(basket), money,
+              period, rebalancePeriod, driftThreshold);
+    }
+    for (String symbol : targets.keySet()) {
+      if (!basket.containsStock(symbol.toUpperCase())) {
+        throw new IllegalArgumentException("no such stock in this basket");
+      }
+    }
+    return new Rebalancing(targets, money, period, rebalancePeriod, driftThreshold);
+  }
+
+  @Override
+  protected boolean countsCash() {
+    // the cash comes from sales as well as deposits, so it is part of the value
+    return true;
+  }
+
+  @Override
+  protected TransactionCosts getCosts() {
+    return costs;
+  }
+}
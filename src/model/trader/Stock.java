@@ -1,21 +1,24 @@
 package model.trader;
 
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
-import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
 import java.util.Scanner;
 import java.util.TreeMap;
 
+import utils.CalendarUtil;
 import utils.FittingUtil;
+import utils.LinearFit;
+import utils.MovingAverages;
 import utils.PriceRecord;
+import utils.PriceSeries;
 import utils.StockDataRetriever;
-import utils.WebStockDataRetriever;
+import utils.StockDataRetrievers;
 
 /**
- * This class represents a stock. It has a stock symbol and a stock name.
+ * This class represents a stock. It has a stock symbol and a stock name. Stocks are immutable;
+ * use {@link StockRegistry#get(String)} to get the shared stock of a symbol instead of
+ * constructing a new one, since the constructor looks the symbol up in the data source.
  */
 public class Stock implements IStock {
   private final String stockSymbol;
@@ -37,7 +40,7 @@ public class Stock implements IStock {
       throw new IllegalArgumentException("cannot be made up of only whitespaces");
     }
 
-    StockDataRetriever retriever = new WebStockDataRetriever();
+    StockDataRetriever retriever = StockDataRetrievers.getDefault();
     String name = retriever.getName(stockSymbol);
 
     if (name.equals("N/A")) {
@@ -56,6 +59,12 @@ public class Stock implements IStock {
   @Override
   public Map<Integer, Double> getClosingPrices(Calendar startDate, Calendar endDate)
           throws IllegalArgumentException {
+    return getClosingPriceSeries(startDate, endDate).toMap();
+  }
+
+  @Override
+  public PriceSeries getClosingPriceSeries(Calendar startDate, Calendar endDate)
+          throws IllegalArgumentException {
 
     if (endDate.before(startDate)) {
       throw new IllegalArgumentException("end date should not be prior to start date");
@@ -68,7 +77,7 @@ public class Stock implements IStock {
     int toMonth = endDate.get(Calendar.MONTH) + 1; // 0-based to 1-based
     int toYear = endDate.get(Calendar.YEAR);
 
-    WebStockDataRetriever retriever = new WebStockDataRetriever();
+    StockDataRetriever retriever = StockDataRetrievers.getDefault();
 
     Map<Integer, PriceRecord> allPrices;
     try {
@@ -77,17 +86,10 @@ public class Stock implements IStock {
               toDate, toMonth, toYear);
     } catch (Exception e) {
       // historical prices record is empty when exceptions occur in data retriever
-      allPrices = new TreeMap<>();
+      return PriceSeries.empty();
     }
 
-    Map<Integer, Double> closingPrices = new TreeMap<>();
-    for (Map.Entry<Integer, PriceRecord> entry : allPrices.entrySet()) {
-      int date = entry.getKey();
-      double closingPrice = entry.getValue().getClosePrice();
-      closingPrices.put(date, closingPrice);
-    }
-
-    return closingPrices;
+    return PriceSeries.ofClosingPrices(allPrices);
   }
 
   @Override
@@ -95,19 +97,15 @@ public class Stock implements IStock {
     if (k < 1) {
       throw new IllegalArgumentException("must be at least 1 day");
     }
-    Map<Integer, Double> map = getNDaysMovingAverages(startDate, startDate, k);
+    PriceSeries averages = getNDaysMovingAverageSeries(startDate, startDate, k);
     Calendar date = new GregorianCalendar(startDate.get(Calendar.YEAR),
             startDate.get(Calendar.MONTH), startDate.get(Calendar.DAY_OF_MONTH));
-    while (map.isEmpty()) {
+    while (averages.isEmpty()) {
       date.add(Calendar.DAY_OF_YEAR, -1);
-      map = getNDaysMovingAverages(date, date, k);
+      averages = getNDaysMovingAverageSeries(date, date, k);
     }
 
-    double result = 0;
-    for (Map.Entry<Integer, Double> entry : map.entrySet()) {
-      result = entry.getValue();
-    }
-    return result;
+    return averages.getValue(averages.size() - 1);
   }
 
   @Override
@@ -122,28 +120,41 @@ public class Stock implements IStock {
       throw new IllegalArgumentException("end date should not be prior to start date");
     }
 
-    Map<Integer, Double> closingPrices = getClosingPrices(startDate, endDate);
-    List<Double> values = new ArrayList<>();
-    for (Map.Entry<Integer, Double> entry : closingPrices.entrySet()) {
-      values.add(entry.getValue());
+    PriceSeries closingPrices = getClosingPriceSeries(startDate, endDate);
+    if (closingPrices.isEmpty()) {
+      throw new IllegalArgumentException("no closing price data within the date range");
     }
 
-    if (values.isEmpty()) {
+    return FittingUtil.twoEndFittingTrend(closingPrices);
+  }
+
+  @Override
+  public LinearFit trendFit(Calendar startDate, Calendar endDate) throws IllegalArgumentException {
+
+    if (endDate.before(startDate)) {
+      throw new IllegalArgumentException("end date should not be prior to start date");
+    }
+
+    PriceSeries closingPrices = getClosingPriceSeries(startDate, endDate);
+    if (closingPrices.isEmpty()) {
       throw new IllegalArgumentException("no closing price data within the date range");
     }
 
-    return FittingUtil.twoEndFittingTrend(values);
+    return FittingUtil.leastSquaresFit(closingPrices);
   }
 
   @Override
   public Map<Integer, Double> getNDaysMovingAverages(
           Calendar startDate, Calendar endDate, int days) throws Exception {
+    return getNDaysMovingAverageSeries(startDate, endDate, days).toMap();
+  }
+
+  @Override
+  public PriceSeries getNDaysMovingAverageSeries(
+          Calendar startDate, Calendar endDate, int days) throws Exception {
     if (days <= 0) {
       throw new IllegalArgumentException("days should be positive");
     }
-    Integer startDateInt = startDate.get(Calendar.YEAR) * 10000
-            + (startDate.get(Calendar.MONTH) + 1) * 100
-            + startDate.get(Calendar.DAY_OF_MONTH);
 
     // retrieve more than needed from the server
     Calendar retrieveStart = new GregorianCalendar(
@@ -151,39 +162,9 @@ public class Stock implements IStock {
             startDate.get(Calendar.MONTH),
             startDate.get(Calendar.DAY_OF_MONTH));
     retrieveStart.add(Calendar.DAY_OF_YEAR, -2 * days);
-    Map<Integer, Double> retrievedData = getClosingPrices(retrieveStart, endDate);
-    NavigableMap<Integer, Double> reveredDate =
-            ((TreeMap<Integer, Double>) retrievedData).descendingMap();
-
-
-    Map<Integer, Double> result = new TreeMap<>();
-    Integer currDateInt = startDateInt + 1;
-    while (currDateInt > startDateInt) {
-      currDateInt = reveredDate.firstKey();
-      if (currDateInt >= startDateInt) {
-        Double currAverage = firstNAverage(reveredDate, days);
-        result.put(currDateInt, currAverage);
-      }
-      Map.Entry<Integer, Double> removed = reveredDate.pollFirstEntry();
-    }
-
-    return result;
-  }
+    PriceSeries retrievedData = getClosingPriceSeries(retrieveStart, endDate);
 
-  private Double firstNAverage(Map<Integer, Double> map, int n) {
-    if (n > map.size()) {
-      throw new IllegalArgumentException("n is greater than map size");
-    }
-    int i = 0;
-    double sum = 0;
-    for (Map.Entry<Integer, Double> entry : map.entrySet()) {
-      if (i >= n) {
-        break;
-      }
-      sum += entry.getValue();
-      i++;
-    }
-    return Math.round(sum * 100 / n) / 100.0;
+    return MovingAverages.simple(retrievedData, CalendarUtil.toDateInt(startDate), days);
   }
 
   @Override
@@ -243,7 +224,7 @@ public class Stock implements IStock {
    */
   private PriceRecord getPriceRecord(Calendar date) throws Exception {
     PriceRecord price = null;
-    StockDataRetriever retriever = new WebStockDataRetriever();
+    StockDataRetriever retriever = StockDataRetrievers.getDefault();
     Map<Integer, PriceRecord> recordsMap;
     int dayOfMonth = date.get(Calendar.DAY_OF_MONTH);
     int month = date.get(Calendar.MONTH) + 1;
@@ -0,0 +1,81 @@
+package model.trader;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class represents the process-wide registry of stocks. A symbol is resolved against the
+ * stock data source only the first time it is looked up; after that, every lookup of the same
+ * symbol (case is ignored) returns the same shared, immutable stock object, or fails right away
+ * if the symbol turned out to be invalid. Lookups of resolved symbols never lock.
+ */
+public class StockRegistry {
+  // values are either the shared stock of the symbol, or INVALID
+  private static final ConcurrentMap<String, Object> stocks = new ConcurrentHashMap<>();
+  private static final Object INVALID = new Object();
+
+  /**
+   * Return the shared stock with the specified symbol.
+   *
+   * @param stockSymbol the symbol of the stock, not case sensitive
+   * @return the shared stock with the specified symbol
+   * @throws Exception if the data source is not read correctly. Throws IllegalArgumentException
+   *                   if the symbol is @code null, is made up of only whitespaces, or there is no
+   *                   such stock
+   */
+  public static IStock get(String stockSymbol) throws Exception {
+    if (stockSymbol == null) {
+      throw new IllegalArgumentException("null symbol");
+    }
+    String key = stockSymbol.toUpperCase();
+
+    Object cached = stocks.get(key);
+    if (cached == null) {
+      cached = resolve(stockSymbol, key);
+    }
+    if (cached == INVALID) {
+      throw new IllegalArgumentException("invalid stock symbol");
+    }
+    return (IStock) cached;
+  }
+
+  /**
+   * Return true if the specified symbol is the symbol of a stock, false otherwise.
+   *
+   * @param stockSymbol the symbol of the stock, not case sensitive
+   * @return true if the specified symbol is the symbol of a stock, false otherwise
+   * @throws Exception if the data source is not read correctly
+   */
+  public static boolean isValid(String stockSymbol) throws Exception {
+    try {
+      get(stockSymbol);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Resolves the specified symbol against the data source and registers the result. If another
+   * thread registers the same symbol first, its result is kept.
+   *
+   * @param stockSymbol the symbol as given by the caller
+   * @param key         the upper case symbol
+   * @return the registered stock, or INVALID if the symbol is invalid
+   * @throws Exception if the data source is not read correctly
+   */
+  private static Object resolve(String stockSymbol, String key) throws Exception {
+    Object resolved;
+    try {
+      resolved = new Stock(stockSymbol);
+    } catch (IllegalArgumentException e) {
+      // blank symbols are rejected without asking the data source, so they are not remembered
+      if (key.trim().isEmpty()) {
+        throw e;
+      }
+      resolved = INVALID;
+    }
+    Object previous = stocks.putIfAbsent(key, resolved);
+    return previous == null ? resolved : previous;
+  }
+}
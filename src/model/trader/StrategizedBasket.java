@@ -1,10 +1,12 @@
 package model.trader;
 
 import java.util.Calendar;
-import java.util.List;
 import java.util.Map;
 
 import utils.CalendarUtil;
+import utils.LinearFit;
+import utils.PriceSeries;
+import utils.SymmetricMatrix;
 
 /**
  * This class represents a strategized basket, i.e., a basket with an investment strategy.
@@ -62,14 +64,10 @@ public class StrategizedBasket implements IBasket {
       throw new IllegalArgumentException();
     }
 
-    List<Object> result = strategy.invest(this.basket, startDate, endDate,
-            money, period);
-    IBasket resultBasket; // to make the compiler happy
-    double investedMoney; // to make the compiler happy
-    resultBasket = (IBasket)result.get(0);
-    investedMoney = (Double)result.get(1);
-
-    return resultBasket.getClosingPrice(date) - investedMoney;
+    // the strategy values the resulting basket on the date with the prices it has retrieved
+    InvestmentResult result = strategy.invest(this.basket, startDate, endDate,
+            money, period, date);
+    return result.getProfit();
   }
 
   @Override
@@ -113,11 +111,34 @@ public class StrategizedBasket implements IBasket {
     return this.basket.getClosingPrices(startDate, endDate);
   }
 
+  @Override
+  public PriceSeries getClosingPriceSeries(Calendar startDate, Calendar endDate)
+          throws Exception {
+    return this.basket.getClosingPriceSeries(startDate, endDate);
+  }
+
   @Override
   public double trends(Calendar startDate, Calendar endDate) throws Exception {
     return this.basket.trends(startDate, endDate);
   }
 
+  @Override
+  public LinearFit trendFit(Calendar startDate, Calendar endDate) throws Exception {
+    return this.basket.trendFit(startDate, endDate);
+  }
+
+  @Override
+  public SymmetricMatrix returnCovariance(Calendar startDate, Calendar endDate)
+          throws Exception {
+    return this.basket.returnCovariance(startDate, endDate);
+  }
+
+  @Override
+  public SymmetricMatrix returnCorrelation(Calendar startDate, Calendar endDate)
+          throws Exception {
+    return this.basket.returnCorrelation(startDate, endDate);
+  }
+
   @Override
   public double movingAverage(int k, Calendar startDate) throws Exception {
     return this.basket.movingAverage(k, startDate);
@@ -129,6 +150,12 @@ public class StrategizedBasket implements IBasket {
     return this.basket.getNDaysMovingAverages(startDate, endDate, days);
   }
 
+  @Override
+  public PriceSeries getNDaysMovingAverageSeries(Calendar startDate, Calendar endDate, int days)
+          throws Exception {
+    return this.basket.getNDaysMovingAverageSeries(startDate, endDate, days);
+  }
+
   @Override
   public String toString() {
     return this.basket.toString();
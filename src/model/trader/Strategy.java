@@ -1,7 +1,6 @@
 package model.trader;
 
 import java.util.Calendar;
-import java.util.List;
 
 /**
  * This interface represents a certain investment strategy an investor can take.
@@ -10,7 +9,8 @@ public interface Strategy {
 
   /**
    * Buys/sells stocks in the given basket using this investment strategy from start date
-   * to end date every set period of time with a set amount of money.
+   * to end date every set period of time with a set amount of money, and values the resulting
+   * basket on the given valuation date.
    *
    * @param basket the basket, no matter a plain basket or a strategized basket,
    *               on which this investment strategy is imposed
@@ -24,17 +24,39 @@ public interface Strategy {
    *               the third would be on June 15, etc. If the assigned day is not a business day,
    *               the investment would be postponed to the next business day if applicable.
    *               must be >= 7
-   * @return a list of objects, whose first element is the resulting basket on the last day
-   *         of the date range, and second element is the total money invested
+   * @param valuationDate the day on which the resulting basket is valued, at the closing prices
+   *                      of that day or of the last business day before it. must not be prior
+   *                      to endDate
+   * @return the resulting basket on the last day of the date range, the total money invested,
+   *         the trades made and the value of the basket on the valuation date
    *@throws Exception if data source cannot be read correctly,
    *                  or, specifically, throws IllegalArgumentException under these conditions:
-   *                  1. at least one of basket, startDate or endDate is @code null
+   *                  1. at least one of basket, startDate, endDate or valuationDate is @code null
    *                  2. the basket is empty (thus cannot calculate the proportion of stocks
    *                  3. startDate is after endDate (thus duration of investment is 0)
    *                  4. money is less than 0
    *                  5. period is less than 7
+   *                  6. valuationDate is prior to endDate
    *
    */
-  List<Object> invest(IBasket basket, Calendar startDate, Calendar endDate, double money,
-                      int period) throws Exception;
+  InvestmentResult invest(IBasket basket, Calendar startDate, Calendar endDate, double money,
+                          int period, Calendar valuationDate) throws Exception;
+
+  /**
+   * Buys/sells stocks in the given basket using this investment strategy, as invest does, and
+   * values the resulting basket on the end date.
+   *
+   * @param basket the basket on which this investment strategy is imposed
+   * @param startDate the first day of the date range
+   * @param endDate the last day of the date range
+   * @param money amount of money for each investment
+   * @param period every "period" day
+   * @return the resulting basket on the last day of the date range, the total money invested,
+   *         the trades made and the value of the basket on the end date
+   * @throws Exception if data source cannot be read correctly, or if an argument is invalid
+   */
+  default InvestmentResult invest(IBasket basket, Calendar startDate, Calendar endDate,
+                                  double money, int period) throws Exception {
+    return invest(basket, startDate, endDate, money, period, endDate);
+  }
 }
@@ -0,0 +1,222 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the values of several series on a common set of dates, as produced by
+ * {@link SeriesAligner}. The values are kept in one primitive array in symbol-major order: all
+ * the dates of the first series, then all the dates of the second one, and so on, which is the
+ * layout {@link BasketValuation#dailyValues(double[], int, double[], double[])} takes. A value
+ * missing from its series, as on the dates an {@link SeriesAligner.Policy#OUTER} alignment keeps
+ * for other series only, is NaN. Panels are immutable.
+ */
+public class AlignedPanel {
+  private final List<String> symbols;
+  private final int[] dates;
+  private final double[] values;
+
+  /**
+   * Constructs a panel of the given arrays, which are not copied.
+   */
+  AlignedPanel(List<String> symbols, int[] dates, double[] values) {
+    this.symbols = Collections.unmodifiableList(symbols);
+    this.dates = dates;
+    this.values = values;
+  }
+
+  /**
+   * Return a panel of the given values. The arrays are copied.
+   *
+   * @param symbols the symbols of the series
+   * @param dates   the common dates in strictly ascending order, as 8-digit integers
+   * @param values  the values of each series on every date, in symbol-major order
+   * @return a panel of the given values
+   * @throws IllegalArgumentException if an argument is @code null, or if the dates are not
+   *                                  strictly ascending, or if the values do not match the dates
+   *                                  and symbols
+   */
+  public static AlignedPanel of(List<String> symbols, int[] dates, double[] values)
+          throws IllegalArgumentException {
+    if (symbols == null || dates == null || values == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (values.length != (long) dates.length * symbols.size()) {
+      throw new IllegalArgumentException("values do not match the dates and symbols");
+    }
+    for (int i = 1; i < dates.length; i++) {
+      if (dates[i - 1] >= dates[i]) {
+        throw new IllegalArgumentException("dates should be in strictly ascending order");
+      }
+    }
+    return new AlignedPanel(new ArrayList<>(symbols), dates.clone(), values.clone());
+  }
+
+  /**
+   * Return a panel of the symbols and dates of this panel with the given values, such as a
+   * synthetic path of its prices. The symbols and dates are shared, and the values are not
+   * copied, so the caller must not modify them afterwards.
+   *
+   * @param values the values of each series on every date, in symbol-major order
+   * @return a panel of the given values on the dates of this panel
+   * @throws IllegalArgumentException if the values are @code null, or if they do not match the
+   *                                  dates and symbols
+   */
+  public AlignedPanel withValues(double[] values) throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (values.length != (long) dates.length * symbols.size()) {
+      throw new IllegalArgumentException("values do not match the dates and symbols");
+    }
+    return new AlignedPanel(symbols, dates, values);
+  }
+
+  /**
+   * Return the symbols of the series, in the order of their values.
+   *
+   * @return the symbols of the series
+   */
+  public List<String> getSymbols() {
+    return symbols;
+  }
+
+  /**
+   * Return the number of series.
+   *
+   * @return the number of series
+   */
+  public int symbolCount() {
+    return symbols.size();
+  }
+
+  /**
+   * Return the number of common dates.
+   *
+   * @return the number of common dates
+   */
+  public int dateCount() {
+    return dates.length;
+  }
+
+  /**
+   * Return true if this panel has no date.
+   *
+   * @return true if this panel has no date, false otherwise
+   */
+  public boolean isEmpty() {
+    return dates.length == 0;
+  }
+
+  /**
+   * Return the i-th common date.
+   *
+   * @param i the index of the date
+   * @return the i-th date, as an 8-digit integer
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int getDate(int i) throws IndexOutOfBoundsException {
+    if (i < 0 || i >= dates.length) {
+      throw new IndexOutOfBoundsException("index " + i + " out of " + dates.length + " dates");
+    }
+    return dates[i];
+  }
+
+  /**
+   * Return the index of the first common date that is not before the given date, or the number
+   * of dates if there is none.
+   *
+   * @param date the date, as an 8-digit integer
+   * @return the index of the first date not before the given date
+   */
+  public int lowerBound(int date) {
+    int low = 0;
+    int high = dates.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (dates[middle] < date) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Return the index of the first common date that is after the given date, or the number of
+   * dates if there is none.
+   *
+   * @param date the date, as an 8-digit integer
+   * @return the index of the first date after the given date
+   */
+  public int upperBound(int date) {
+    int low = 0;
+    int high = dates.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (dates[middle] <= date) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Return a copy of the common dates.
+   *
+   * @return the common dates in ascending order, as 8-digit integers
+   */
+  public int[] getDates() {
+    return dates.clone();
+  }
+
+  /**
+   * Return the value of the given series on the given date.
+   *
+   * @param symbol the index of the series
+   * @param date   the index of the date
+   * @return the value, or NaN if it is missing from the series
+   * @throws IndexOutOfBoundsException if an index is out of range
+   */
+  public double getValue(int symbol, int date) throws IndexOutOfBoundsException {
+    if (symbol < 0 || symbol >= symbols.size() || date < 0 || date >= dates.length) {
+      throw new IndexOutOfBoundsException("no value at (" + symbol + ", " + date + ")");
+    }
+    return values[symbol * dates.length + date];
+  }
+
+  /**
+   * Return a copy of all the values, in symbol-major order.
+   *
+   * @return the values of every series on every common date
+   */
+  public double[] getValues() {
+    return values.clone();
+  }
+
+  /**
+   * Return the values of the series of the given symbol as a series of the common dates.
+   *
+   * @param symbol the symbol of the series
+   * @return the values of the series on the common dates
+   * @throws IllegalArgumentException if no series has the given symbol
+   */
+  public PriceSeries getSeries(String symbol) throws IllegalArgumentException {
+    int index = symbols.indexOf(symbol);
+    if (index < 0) {
+      throw new IllegalArgumentException("no such series");
+    }
+    int from = index * dates.length;
+    return PriceSeries.wrap(dates, Arrays.copyOfRange(values, from, from + dates.length));
+  }
+
+  @Override
+  public String toString() {
+    return symbols + " on " + dates.length + " dates";
+  }
+}
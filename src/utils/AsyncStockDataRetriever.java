@@ -0,0 +1,47 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This interface represents the operations offered by a component that gets stock data without
+ * blocking the caller. Every operation starts the retrieval and returns at once; the result, or
+ * the exception that occurred, is delivered through the returned future. Callers can therefore
+ * start retrievals of many stocks before waiting for any of them.
+ */
+public interface AsyncStockDataRetriever {
+  /**
+   * Starts retrieving the current price of the specified stock.
+   * @param stockSymbol the symbol of the specified stock
+   * @return a future of the current price of the specified stock
+   */
+  CompletableFuture<Double> getCurrentPriceAsync(String stockSymbol);
+
+  /**
+   * Starts retrieving the name of the specified stock.
+   * @param stockSymbol the symbol of the specified stock
+   * @return a future of a string representation of the name of the stock
+   */
+  CompletableFuture<String> getNameAsync(String stockSymbol);
+
+  /**
+   * Starts retrieving the historical prices for the specified stock and date range.
+   * @param stockSymbol the symbol of the specified stock
+   * @param fromDate date of the desired start date
+   * @param fromMonth month of the desired start date
+   * @param fromYear year of the desired start date
+   * @param toDate date of the desired end date
+   * @param toMonth month of the desired end date
+   * @param toYear year of the desired end date
+   * @return a future of a tree whose keys are the dates and values are the price records of the
+   *         corresponding dates
+   */
+  CompletableFuture<Map<Integer, PriceRecord>> getHistoricalPricesAsync(
+          String stockSymbol,
+          int fromDate,
+          int fromMonth,
+          int fromYear,
+          int toDate,
+          int toMonth,
+          int toYear);
+}
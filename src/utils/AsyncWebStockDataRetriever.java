@@ -0,0 +1,235 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class represents a stock data retriever that gets data from the same web services as
+ * {@link WebStockDataRetriever}, but without blocking its callers. Requests run on a bounded pool
+ * of its own threads, every connection has a connect timeout and a read timeout, and every
+ * response is read to the end and closed so that the underlying connection is kept alive and
+ * reused by later requests to the same host.
+ *
+ * <p>The blocking operations of {@link StockDataRetriever} are also supported; they start the
+ * request and wait for it.
+ */
+public class AsyncWebStockDataRetriever implements StockDataRetriever, AsyncStockDataRetriever {
+  private static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+  private static final int DEFAULT_READ_TIMEOUT = 15000;
+  private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+  private final int connectTimeout;
+  private final int readTimeout;
+  private final ExecutorService executor;
+
+  /**
+   * Constructs a retriever with a 5-second connect timeout, a 15-second read timeout, and at
+   * most 8 requests in flight at a time.
+   */
+  public AsyncWebStockDataRetriever() {
+    this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_MAX_CONCURRENT_REQUESTS);
+  }
+
+  /**
+   * Constructs a retriever with the given timeouts and maximum number of concurrent requests.
+   *
+   * @param connectTimeout        the connect timeout in milliseconds, must be positive
+   * @param readTimeout           the read timeout in milliseconds, must be positive
+   * @param maxConcurrentRequests the maximum number of requests in flight at a time, must be
+   *                              positive
+   * @throws IllegalArgumentException if any argument is not positive
+   */
+  public AsyncWebStockDataRetriever(int connectTimeout, int readTimeout,
+                                    int maxConcurrentRequests) throws IllegalArgumentException {
+    if (connectTimeout <= 0 || readTimeout <= 0 || maxConcurrentRequests <= 0) {
+      throw new IllegalArgumentException("timeouts and number of requests must be positive");
+    }
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.executor = Executors.newFixedThreadPool(maxConcurrentRequests, runnable -> {
+      Thread thread = new Thread(runnable, "async-web-stock-data-retriever");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public CompletableFuture<Double> getCurrentPriceAsync(String stockSymbol) {
+    return submit(() -> request(WebStockDataRetriever.currentPriceUrl(stockSymbol),
+            WebStockDataRetriever::parseCurrentPrice));
+  }
+
+  @Override
+  public CompletableFuture<String> getNameAsync(String stockSymbol) {
+    return submit(() -> request(WebStockDataRetriever.nameUrl(stockSymbol),
+            WebStockDataRetriever::parseName));
+  }
+
+  @Override
+  public CompletableFuture<Map<Integer, PriceRecord>> getHistoricalPricesAsync(
+          String stockSymbol,
+          int fromDate,
+          int fromMonth,
+          int fromYear,
+          int toDate,
+          int toMonth,
+          int toYear) {
+    return submit(() -> request(WebStockDataRetriever.historicalPricesUrl(stockSymbol,
+            fromDate, fromMonth, fromYear, toDate, toMonth, toYear),
+            WebStockDataRetriever::parseHistoricalPrices));
+  }
+
+  @Override
+  public double getCurrentPrice(String stockSymbol) throws Exception {
+    return await(getCurrentPriceAsync(stockSymbol));
+  }
+
+  @Override
+  public String getName(String stockSymbol) throws Exception {
+    return await(getNameAsync(stockSymbol));
+  }
+
+  @Override
+  public Map<Integer, PriceRecord> getHistoricalPrices(
+          String stockSymbol,
+          int fromDate,
+          int fromMonth,
+          int fromYear,
+          int toDate,
+          int toMonth,
+          int toYear) throws Exception {
+    return await(getHistoricalPricesAsync(stockSymbol,
+            fromDate, fromMonth, fromYear, toDate, toMonth, toYear));
+  }
+
+  @Override
+  public Map<String, Map<Integer, PriceRecord>> getHistoricalPrices(
+          Set<String> stockSymbols,
+          int fromDate,
+          int fromMonth,
+          int fromYear,
+          int toDate,
+          int toMonth,
+          int toYear) throws Exception {
+    // start every request before waiting for any of them
+    List<String> symbols = new ArrayList<>(stockSymbols);
+    List<CompletableFuture<Map<Integer, PriceRecord>>> futures = new ArrayList<>();
+    for (String symbol : symbols) {
+      futures.add(getHistoricalPricesAsync(symbol,
+              fromDate, fromMonth, fromYear, toDate, toMonth, toYear));
+    }
+
+    Map<String, Map<Integer, PriceRecord>> result = new TreeMap<>();
+    for (int i = 0; i < symbols.size(); i++) {
+      result.put(symbols.get(i), await(futures.get(i)));
+    }
+    return result;
+  }
+
+  /**
+   * Runs the given request on the pool of this retriever.
+   *
+   * @param request the request
+   * @param <T>     the type of the result of the request
+   * @return a future of the result of the request
+   */
+  private <T> CompletableFuture<T> submit(Request<T> request) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    executor.execute(() -> {
+      try {
+        future.complete(request.run());
+      } catch (Exception e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Sends a GET request to the given URL and parses the response with the given parser. The
+   * response is read to the end and closed whether or not parsing succeeds, so that the
+   * connection can be reused.
+   *
+   * @param url    the URL
+   * @param parser the parser of the response
+   * @param <T>    the type of the parsed response
+   * @return the parsed response
+   * @throws Exception if the request fails, times out, or the response cannot be parsed
+   */
+  private <T> T request(URL url, Parser<T> parser) throws Exception {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setConnectTimeout(connectTimeout);
+    connection.setReadTimeout(readTimeout);
+
+    int status = connection.getResponseCode();
+    if (status >= 400) {
+      InputStream error = connection.getErrorStream();
+      if (error != null) {
+        drainAndClose(error);
+      }
+      throw new IOException("server returned HTTP " + status + " for " + url);
+    }
+
+    InputStream in = connection.getInputStream();
+    try {
+      return parser.parse(in);
+    } finally {
+      drainAndClose(in);
+    }
+  }
+
+  private static void drainAndClose(InputStream in) throws IOException {
+    try {
+      byte[] buffer = new byte[4096];
+      while (in.read(buffer) != -1) {
+        // discard the rest of the response
+      }
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Waits for the given future, and rethrows the exception it completed with, if any.
+   *
+   * @param future the future
+   * @param <T>    the type of the result of the future
+   * @return the result of the future
+   * @throws Exception the exception the future completed with
+   */
+  private static <T> T await(CompletableFuture<T> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * A request that produces a result or throws an exception.
+   */
+  private interface Request<T> {
+    T run() throws Exception;
+  }
+
+  /**
+   * A parser of a response.
+   */
+  private interface Parser<T> {
+    T parse(InputStream in) throws Exception;
+  }
+}
@@ -0,0 +1,108 @@
+package utils;
+
+/**
+ * Has kernels to value a basket of stocks over many days from dense arrays. The closing prices
+ * of the stocks are one array in symbol-major order: all the days of the first stock, then all
+ * the days of the second one, and so on; the shares are one array with an entry per stock.
+ *
+ * <p>The value of every day is accumulated one stock at a time across all the days, so the
+ * inner loop is a plain multiply-add over contiguous arrays that the JIT compiler turns into
+ * SIMD instructions where the processor has them, while every day still adds up its stocks in
+ * the same order as a day-by-day loop would, giving exactly the same values.
+ */
+public class BasketValuation {
+
+  /**
+   * Computes the value of the basket on every day: the sum of the closing price of each stock
+   * times its number of shares.
+   *
+   * @param closes the closing prices, in symbol-major order
+   * @param days   the number of days
+   * @param shares the number of shares of each stock
+   * @param out    the array receiving the value of each day, at least days long
+   * @throws IllegalArgumentException if an array is @code null, or if the number of days is
+   *                                  negative, or if the arrays do not match in size
+   */
+  public static void dailyValues(double[] closes, int days, double[] shares, double[] out)
+          throws IllegalArgumentException {
+    if (closes == null || shares == null || out == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (days < 0 || closes.length != (long) days * shares.length || out.length < days) {
+      throw new IllegalArgumentException("arrays do not match the days and stocks");
+    }
+
+    for (int day = 0; day < days; day++) {
+      out[day] = 0;
+    }
+    for (int stock = 0; stock < shares.length; stock++) {
+      double share = shares[stock];
+      int base = stock * days;
+      for (int day = 0; day < days; day++) {
+        out[day] += closes[base + day] * share;
+      }
+    }
+  }
+
+  /**
+   * Return summary statistics of the given daily values in one pass.
+   *
+   * @param values the values of each day, the oldest first
+   * @param from   the index of the first day
+   * @param to     the index after the last day
+   * @return the summary statistics of the values
+   * @throws IllegalArgumentException if the array is @code null, or if the range is empty or out
+   *                                  of the array
+   */
+  public static ValueSummary summarize(double[] values, int from, int to)
+          throws IllegalArgumentException {
+    if (values == null || from < 0 || to > values.length || from >= to) {
+      throw new IllegalArgumentException("input data must be a non empty range of an array");
+    }
+    double minimum = values[from];
+    double maximum = values[from];
+    double sum = 0;
+    double peak = values[from];
+    double maxDrawdown = 0;
+    // mean and sum of squared deviations of the daily returns
+    long returns = 0;
+    double meanReturn = 0;
+    double squares = 0;
+
+    for (int i = from; i < to; i++) {
+      double value = values[i];
+      minimum = Math.min(minimum, value);
+      maximum = Math.max(maximum, value);
+      sum += value;
+      if (value > peak) {
+        peak = value;
+      } else if (peak > 0) {
+        maxDrawdown = Math.max(maxDrawdown, (peak - value) / peak);
+      }
+      if (i > from && values[i - 1] != 0) {
+        double dailyReturn = value / values[i - 1] - 1;
+        returns++;
+        double delta = dailyReturn - meanReturn;
+        meanReturn += delta / returns;
+        squares += delta * (dailyReturn - meanReturn);
+      }
+    }
+    double volatility = returns > 1 ? Math.sqrt(squares / (returns - 1)) : 0;
+    return new ValueSummary(to - from, values[from], values[to - 1], minimum, maximum,
+            sum / (to - from), volatility, maxDrawdown);
+  }
+
+  /**
+   * Return summary statistics of the values of the given series.
+   *
+   * @param series the daily values
+   * @return the summary statistics of the values
+   * @throws IllegalArgumentException if the series is @code null or empty
+   */
+  public static ValueSummary summarize(PriceSeries series) throws IllegalArgumentException {
+    if (series == null || series.isEmpty()) {
+      throw new IllegalArgumentException("input data must be a non empty series");
+    }
+    return summarize(series.getValues(), 0, series.size());
+  }
+}
@@ -0,0 +1,145 @@
+package utils;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class represents an in-memory cache of historical prices. For every symbol it remembers
+ * which date ranges have already been loaded, so that a query only sends the sub-ranges that are
+ * not loaded yet to the upstream retriever, and the loaded prices are merged into one sorted
+ * series. Overlapping queries, such as the padded windows of moving averages, therefore cost one
+ * upstream request per gap rather than one per query.
+ *
+ * <p>Like the local price store, only dates before today are cached. The cache holds the prices
+ * of a bounded number of symbols; once it is full, the symbol used least recently is dropped.
+ * Each symbol holds at most one record per trading day of its history, a few megabytes for
+ * decades of prices.
+ */
+public class CachingStockDataRetriever implements StockDataRetriever {
+  /**
+   * The number of symbols a cache holds unless told otherwise.
+   */
+  public static final int DEFAULT_MAX_SYMBOLS = 512;
+
+  private final StockDataRetriever upstream;
+  // the cached series by symbol, the one used least recently first
+  private final LinkedHashMap<String, CachedSeries> cache;
+
+  /**
+   * Constructs an empty cache of at most {@link #DEFAULT_MAX_SYMBOLS} symbols in front of the
+   * given upstream retriever.
+   *
+   * @param upstream the retriever that missing date ranges are requested from
+   * @throws IllegalArgumentException if the given retriever is @code null
+   */
+  public CachingStockDataRetriever(StockDataRetriever upstream) throws IllegalArgumentException {
+    this(upstream, DEFAULT_MAX_SYMBOLS);
+  }
+
+  /**
+   * Constructs an empty cache of at most the given number of symbols in front of the given
+   * upstream retriever.
+   *
+   * @param upstream   the retriever that missing date ranges are requested from
+   * @param maxSymbols the largest number of symbols whose prices are kept
+   * @throws IllegalArgumentException if the given retriever is @code null, or if the number of
+   *                                  symbols is not positive
+   */
+  public CachingStockDataRetriever(StockDataRetriever upstream, int maxSymbols)
+          throws IllegalArgumentException {
+    if (upstream == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (maxSymbols <= 0) {
+      throw new IllegalArgumentException("at least 1 symbol should be cached");
+    }
+    this.upstream = upstream;
+    this.cache = new LinkedHashMap<String, CachedSeries>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedSeries> eldest) {
+        return size() > maxSymbols;
+      }
+    };
+  }
+
+  @Override
+  public double getCurrentPrice(String stockSymbol) throws Exception {
+    return upstream.getCurrentPrice(stockSymbol);
+  }
+
+  @Override
+  public String getName(String stockSymbol) throws Exception {
+    return upstream.getName(stockSymbol);
+  }
+
+  @Override
+  public Map<Integer, PriceRecord> getHistoricalPrices(
+          String stockSymbol,
+          int fromDate,
+          int fromMonth,
+          int fromYear,
+          int toDate,
+          int toMonth,
+          int toYear) throws Exception {
+    String symbol = stockSymbol.toUpperCase();
+    int from = (fromYear * 100 + fromMonth) * 100 + fromDate;
+    int to = (toYear * 100 + toMonth) * 100 + toDate;
+    Map<Integer, PriceRecord> result = new TreeMap<>();
+    if (from > to) {
+      return result;
+    }
+
+    int lastCacheable = DateRangeSet.toDateInt(LocalDate.now().minusDays(1));
+
+    CachedSeries series;
+    synchronized (cache) {
+      series = cache.computeIfAbsent(symbol, key -> new CachedSeries());
+    }
+    synchronized (series) {
+      List<int[]> gaps = series.loaded.missing(from, Math.min(to, lastCacheable));
+      for (int[] gap : gaps) {
+        series.prices.putAll(StockDataRetrievers.getHistoricalPrices(upstream, symbol,
+                gap[0], gap[1]));
+        series.loaded.add(gap[0], gap[1]);
+      }
+      result.putAll(series.prices.subMap(from, true, to, true));
+    }
+
+    if (to > lastCacheable) {
+      result.putAll(StockDataRetrievers.getHistoricalPrices(upstream, symbol,
+              Math.max(from, DateRangeSet.nextDay(lastCacheable)), to));
+    }
+    return result;
+  }
+
+  /**
+   * Removes every cached price from this cache.
+   */
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Return the number of symbols whose prices are cached.
+   *
+   * @return the number of symbols cached
+   */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * The loaded prices of a single symbol and the date ranges they cover.
+   */
+  private static class CachedSeries {
+    private final TreeMap<Integer, PriceRecord> prices = new TreeMap<>();
+    private final DateRangeSet loaded = new DateRangeSet();
+  }
+}
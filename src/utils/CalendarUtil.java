@@ -4,7 +4,7 @@ import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.Map;
 
-import model.trader.Stock;
+import model.trader.StockRegistry;
 
 /**
  * This class represents a calendar utility class.
@@ -84,6 +84,16 @@ public class CalendarUtil {
       return copyDate;
     }
 
+    TradingCalendar calendar = TradingCalendar.getInstance();
+    int endInt = toDateInt(end);
+    if (calendar.contains(toDateInt(copyDate)) && calendar.contains(endInt)) {
+      int next = calendar.nextTradingDay(toDateInt(copyDate));
+      if (next == -1 || next > endInt) {
+        return null;
+      }
+      return new GregorianCalendar(next / 10000, next / 100 % 100 - 1, next % 100);
+    }
+
     while (!isBusinessDay(copyDate) && copyDate.compareTo(end) < 0) {
       copyDate.add(Calendar.DAY_OF_MONTH, 1);
     }
@@ -153,12 +163,105 @@ public class CalendarUtil {
     now the specified date is a past date
      */
 
-    Map<Integer, Double> prices = new Stock("AAPL").getClosingPrices(date, date);
+    TradingCalendar calendar = TradingCalendar.getInstance();
+    int dateInt = toDateInt(date);
+    if (calendar.contains(dateInt)) {
+      return calendar.isTradingDay(dateInt);
+    }
+
+    // dates the trading calendar does not cover are checked against the stock data source
+    Map<Integer, Double> prices = StockRegistry.get("AAPL").getClosingPrices(date, date);
     return prices.size() != 0;
     // if == 0, the specified date is a past, non-business day
     // if != 0, the specified date is a past, business day
   }
 
+  /**
+   * Calculates the number of past business days from startDate to endDate. Both dates are
+   * counted if they are business days.
+   *
+   * @param startDate the first day of the date range
+   * @param endDate   the last day of the date range
+   * @return the number of past business days in the date range
+   * @throws Exception if the data source cannot be read correctly, or throws
+   *                   IllegalArgumentException if either one of the dates is @code null, or the
+   *                   startDate is after endDate
+   */
+  public static int countBusinessDays(Calendar startDate, Calendar endDate) throws Exception {
+    if (startDate == null || endDate == null) {
+      throw new IllegalArgumentException("null date(s)");
+    }
+    if (startDate.after(endDate)) {
+      throw new IllegalArgumentException("start date is after end date");
+    }
+
+    // future days are never business days
+    Calendar lastPastDay = Calendar.getInstance();
+    lastPastDay.add(Calendar.DAY_OF_MONTH, -1);
+    Calendar end = isFutureDay(endDate) ? copyDate(lastPastDay) : endDate;
+    if (startDate.after(end)) {
+      return 0;
+    }
+
+    TradingCalendar calendar = TradingCalendar.getInstance();
+    int from = toDateInt(startDate);
+    int to = toDateInt(end);
+    if (calendar.contains(from) && calendar.contains(to)) {
+      return calendar.countTradingDays(from, to);
+    }
+
+    int count = 0;
+    Calendar currentDate = copyDate(startDate);
+    while (!currentDate.after(end)) {
+      if (isBusinessDay(currentDate)) {
+        count++;
+      }
+      currentDate.add(Calendar.DAY_OF_MONTH, 1);
+    }
+    return count;
+  }
+
+  /**
+   * Converts the specified date to an 8-digit integer (yyyymmdd).
+   * For example, given June 1, 2017, return 20170601.
+   *
+   * @param date the specified date
+   * @return the 8-digit integer representing the date
+   * @throws IllegalArgumentException if the specified date is @code null
+   */
+  public static int toDateInt(Calendar date) throws IllegalArgumentException {
+    if (date == null) {
+      throw new IllegalArgumentException("null date");
+    }
+    return (date.get(Calendar.YEAR) * 100 + date.get(Calendar.MONTH) + 1) * 100
+            + date.get(Calendar.DAY_OF_MONTH);
+  }
+
+  /**
+   * Converts the specified 8-digit integer (yyyymmdd) to a date.
+   * For example, given 20170601, return June 1, 2017.
+   *
+   * @param date the 8-digit integer representing the date
+   * @return the date
+   */
+  public static Calendar fromDateInt(int date) {
+    return new GregorianCalendar(date / 10000, date / 100 % 100 - 1, date % 100);
+  }
+
+  /**
+   * Adds the specified number of calendar days to the specified 8-digit integer date.
+   * For example, given 20170629 and 7, return 20170706.
+   *
+   * @param date the 8-digit integer representing the date
+   * @param days the number of days to add, may be negative
+   * @return the 8-digit integer representing the resulting date
+   */
+  public static int addDays(int date, int days) {
+    Calendar result = fromDateInt(date);
+    result.add(Calendar.DAY_OF_MONTH, days);
+    return toDateInt(result);
+  }
+
   /**
    * Calculates the duration from startDate to endDate.
    * For example, given June 1, 2017 and June 5, 2017, return 5.
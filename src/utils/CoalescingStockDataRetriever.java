@@ -0,0 +1,197 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * This class represents a stock data retriever that merges concurrent requests for the same data
+ * into a single upstream request. A historical price query waits for the requests already in
+ * flight that overlap its date range, and only sends the parts of its range that no request in
+ * flight covers to the upstream retriever; those parts can in turn be joined by later queries.
+ * Concurrent requests for the name or current price of the same stock share one upstream
+ * request as well. Nothing is kept once a request completes; caching is left to other
+ * retrievers.
+ */
+public class CoalescingStockDataRetriever implements StockDataRetriever {
+  private final StockDataRetriever upstream;
+  // historical price requests in flight, by symbol
+  private final ConcurrentMap<String, List<Flight>> flights;
+  // name and current price requests in flight, by kind and symbol
+  private final ConcurrentMap<String, CompletableFuture<Object>> lookups;
+
+  /**
+   * Constructs a coalescing retriever in front of the given upstream retriever.
+   *
+   * @param upstream the retriever that requests are sent to
+   * @throws IllegalArgumentException if the given retriever is @code null
+   */
+  public CoalescingStockDataRetriever(StockDataRetriever upstream)
+          throws IllegalArgumentException {
+    if (upstream == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    this.upstream = upstream;
+    this.flights = new ConcurrentHashMap<>();
+    this.lookups = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public double getCurrentPrice(String stockSymbol) throws Exception {
+    return (Double) lookup("price:" + stockSymbol.toUpperCase(),
+            () -> upstream.getCurrentPrice(stockSymbol));
+  }
+
+  @Override
+  public String getName(String stockSymbol) throws Exception {
+    return (String) lookup("name:" + stockSymbol.toUpperCase(),
+            () -> upstream.getName(stockSymbol));
+  }
+
+  @Override
+  public Map<Integer, PriceRecord> getHistoricalPrices(
+          String stockSymbol,
+          int fromDate,
+          int fromMonth,
+          int fromYear,
+          int toDate,
+          int toMonth,
+          int toYear) throws Exception {
+    String symbol = stockSymbol.toUpperCase();
+    int from = (fromYear * 100 + fromMonth) * 100 + fromDate;
+    int to = (toYear * 100 + toMonth) * 100 + toDate;
+    Map<Integer, PriceRecord> result = new TreeMap<>();
+    if (from > to) {
+      return result;
+    }
+
+    List<Flight> joined = new ArrayList<>();
+    List<Flight> started = new ArrayList<>();
+    List<Flight> inFlight;
+    while (true) {
+      inFlight = flights.computeIfAbsent(symbol, key -> new ArrayList<>());
+      synchronized (inFlight) {
+        // the list may have been removed once empty, after it was looked up
+        if (flights.get(symbol) != inFlight) {
+          continue;
+        }
+        DateRangeSet covered = new DateRangeSet();
+        for (Flight flight : inFlight) {
+          if (flight.from <= to && flight.to >= from) {
+            joined.add(flight);
+            covered.add(Math.max(flight.from, from), Math.min(flight.to, to));
+          }
+        }
+        for (int[] gap : covered.missing(from, to)) {
+          Flight flight = new Flight(gap[0], gap[1]);
+          inFlight.add(flight);
+          started.add(flight);
+        }
+        break;
+      }
+    }
+
+    // send the parts that nobody else is retrieving
+    for (Flight flight : started) {
+      try {
+        flight.prices.complete(new TreeMap<>(StockDataRetrievers.getHistoricalPrices(upstream,
+                symbol, flight.from, flight.to)));
+      } catch (Exception e) {
+        flight.prices.completeExceptionally(e);
+      } finally {
+        synchronized (inFlight) {
+          inFlight.remove(flight);
+          if (inFlight.isEmpty()) {
+            flights.remove(symbol, inFlight);
+          }
+        }
+      }
+    }
+
+    joined.addAll(started);
+    for (Flight flight : joined) {
+      result.putAll(await(flight.prices).subMap(from, true, to, true));
+    }
+    return result;
+  }
+
+  /**
+   * Return the number of symbols that have historical price requests in flight.
+   *
+   * @return the number of symbols with requests in flight
+   */
+  int symbolsInFlight() {
+    return flights.size();
+  }
+
+  /**
+   * Return the result of the given lookup, sharing it with every concurrent lookup of the same
+   * key.
+   *
+   * @param key    the key of the lookup
+   * @param lookup the lookup
+   * @return the result of the lookup
+   * @throws Exception if the lookup fails
+   */
+  private Object lookup(String key, Lookup lookup) throws Exception {
+    CompletableFuture<Object> mine = new CompletableFuture<>();
+    CompletableFuture<Object> existing = lookups.putIfAbsent(key, mine);
+    if (existing != null) {
+      return await(existing);
+    }
+    try {
+      mine.complete(lookup.run());
+    } catch (Exception e) {
+      mine.completeExceptionally(e);
+    } finally {
+      lookups.remove(key, mine);
+    }
+    return await(mine);
+  }
+
+  /**
+   * Waits for the given future, and rethrows the exception it completed with, if any.
+   *
+   * @param future the future
+   * @param <T>    the type of the result of the future
+   * @return the result of the future
+   * @throws Exception the exception the future completed with
+   */
+  private static <T> T await(CompletableFuture<T> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * A historical price request in flight.
+   */
+  private static class Flight {
+    private final int from;
+    private final int to;
+    private final CompletableFuture<TreeMap<Integer, PriceRecord>> prices;
+
+    private Flight(int from, int to) {
+      this.from = from;
+      this.to = to;
+      this.prices = new CompletableFuture<>();
+    }
+  }
+
+  /**
+   * A name or current price lookup.
+   */
+  private interface Lookup {
+    Object run() throws Exception;
+  }
+}
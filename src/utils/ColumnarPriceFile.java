@@ -0,0 +1,245 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * This class represents a read-only, memory-mapped price file of a single stock. The file is
+ * columnar: a sorted column of dates (8-digit integers) followed by one column each for the
+ * open, highest, lowest and closing prices. Prices are read straight from the mapped file, so
+ * opening a file costs no heap no matter how many days it holds, and a date range is located by
+ * binary search over the date column.
+ *
+ * <p>Layout, all values big-endian:
+ * <pre>
+ *   int magic, int version, int number of covered ranges (r), int number of days (n)
+ *   r * (int first date, int last date)     covered date ranges
+ *   n * int                                 dates, ascending
+ *   n * double                              open prices
+ *   n * double                              highest prices
+ *   n * double                              lowest prices
+ *   n * double                              closing prices
+ * </pre>
+ */
+public class ColumnarPriceFile {
+  private static final int MAGIC = 0x54525043; // "TRPC"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 16;
+
+  private final MappedByteBuffer buffer;
+  private final int size;
+  private final DateRangeSet covered;
+  private final int datesOffset;
+  private final int openOffset;
+  private final int highOffset;
+  private final int lowOffset;
+  private final int closeOffset;
+
+  /**
+   * Maps the given file into memory.
+   *
+   * @param file the price file
+   * @throws IOException if the file cannot be read or is not a price file
+   */
+  public ColumnarPriceFile(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.capacity() < HEADER_BYTES
+            || buffer.getInt(0) != MAGIC
+            || buffer.getInt(4) != VERSION) {
+      throw new IOException("not a price file: " + file);
+    }
+    int rangeCount = buffer.getInt(8);
+    this.size = buffer.getInt(12);
+
+    this.covered = new DateRangeSet();
+    for (int i = 0; i < rangeCount; i++) {
+      int offset = HEADER_BYTES + i * 8;
+      covered.add(buffer.getInt(offset), buffer.getInt(offset + 4));
+    }
+
+    this.datesOffset = HEADER_BYTES + rangeCount * 8;
+    this.openOffset = datesOffset + size * 4;
+    this.highOffset = openOffset + size * 8;
+    this.lowOffset = highOffset + size * 8;
+    this.closeOffset = lowOffset + size * 8;
+    if (buffer.capacity() < closeOffset + size * 8) {
+      throw new IOException("truncated price file: " + file);
+    }
+  }
+
+  /**
+   * Return the number of days in this file.
+   *
+   * @return the number of days in this file
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Return the date ranges that this file covers. Business days in these ranges that are absent
+   * from this file have no prices.
+   *
+   * @return the date ranges that this file covers
+   */
+  public DateRangeSet getCoveredRanges() {
+    DateRangeSet copy = new DateRangeSet();
+    for (int[] range : covered.getRanges()) {
+      copy.add(range[0], range[1]);
+    }
+    return copy;
+  }
+
+  /**
+   * Return the date of the i-th day of this file.
+   *
+   * @param i the index of the day
+   * @return the date of the i-th day, as an 8-digit integer
+   */
+  public int getDate(int i) {
+    return buffer.getInt(datesOffset + i * 4);
+  }
+
+  /**
+   * Return the open price of the i-th day of this file.
+   *
+   * @param i the index of the day
+   * @return the open price of the i-th day
+   */
+  public double getOpenPrice(int i) {
+    return buffer.getDouble(openOffset + i * 8);
+  }
+
+  /**
+   * Return the highest price of the i-th day of this file.
+   *
+   * @param i the index of the day
+   * @return the highest price of the i-th day
+   */
+  public double getHighestDayPrice(int i) {
+    return buffer.getDouble(highOffset + i * 8);
+  }
+
+  /**
+   * Return the lowest price of the i-th day of this file.
+   *
+   * @param i the index of the day
+   * @return the lowest price of the i-th day
+   */
+  public double getLowestDayPrice(int i) {
+    return buffer.getDouble(lowOffset + i * 8);
+  }
+
+  /**
+   * Return the closing price of the i-th day of this file.
+   *
+   * @param i the index of the day
+   * @return the closing price of the i-th day
+   */
+  public double getClosePrice(int i) {
+    return buffer.getDouble(closeOffset + i * 8);
+  }
+
+  /**
+   * Return the price record of the i-th day of this file.
+   *
+   * @param i the index of the day
+   * @return the price record of the i-th day
+   */
+  public PriceRecord getRecord(int i) {
+    return new PriceRecord(getOpenPrice(i), getClosePrice(i),
+            getLowestDayPrice(i), getHighestDayPrice(i));
+  }
+
+  /**
+   * Return the index of the first day that is not before the given date, or the number of days
+   * in this file if there is no such day.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return the index of the first day that is not before the given date
+   */
+  public int lowerBound(int date) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (getDate(mid) < date) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Return the index of the first day that is after the given date, or the number of days in
+   * this file if there is no such day.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return the index of the first day that is after the given date
+   */
+  public int upperBound(int date) {
+    return lowerBound(date + 1);
+  }
+
+  /**
+   * Writes a price file. The columns must be sorted by date, and only their first count elements
+   * are written. The file is written to a temporary file first and then moved into place, so
+   * that readers never see a partially written file. The file must not be mapped, since some
+   * systems do not allow replacing a mapped file; new versions of a file should be written to a
+   * new name instead.
+   *
+   * @param file    the price file
+   * @param dates   the dates, as 8-digit integers in ascending order
+   * @param open    the open prices
+   * @param highest the highest prices
+   * @param lowest  the lowest prices
+   * @param close   the closing prices
+   * @param count   the number of days to write
+   * @param covered the date ranges that the file covers
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(File file, int[] dates, double[] open, double[] highest,
+                           double[] lowest, double[] close, int count, DateRangeSet covered)
+          throws IOException {
+    List<int[]> ranges = covered.getRanges();
+    int bytes = HEADER_BYTES + ranges.size() * 8 + count * 4 + count * 8 * 4;
+
+    Path directory = file.getAbsoluteFile().getParentFile().toPath();
+    Path temp = Files.createTempFile(directory, file.getName(), ".tmp");
+    try (RandomAccessFile raf = new RandomAccessFile(temp.toFile(), "rw");
+         FileChannel channel = raf.getChannel()) {
+      ByteBuffer out = ByteBuffer.allocate(bytes);
+      out.putInt(MAGIC).putInt(VERSION).putInt(ranges.size()).putInt(count);
+      for (int[] range : ranges) {
+        out.putInt(range[0]).putInt(range[1]);
+      }
+      for (int i = 0; i < count; i++) {
+        out.putInt(dates[i]);
+      }
+      for (double[] column : new double[][]{open, highest, lowest, close}) {
+        for (int i = 0; i < count; i++) {
+          out.putDouble(column[i]);
+        }
+      }
+      out.flip();
+      while (out.hasRemaining()) {
+        channel.write(out);
+      }
+    }
+    Files.move(temp, file.toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
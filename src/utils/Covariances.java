@@ -0,0 +1,163 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Has utility methods to compute the covariances and correlations of the daily returns of
+ * several series aligned on common dates, such as the stocks of a basket.
+ *
+ * <p>The returns are kept in one primitive array in symbol-major order, centred on their means.
+ * The matrix is cut into square tiles of symbols, and the tiles on and below the diagonal are
+ * computed in parallel. Within a tile the days are taken in chunks, so that the returns of the
+ * symbols of both sides of the tile stay in the cache while every pair of them is multiplied.
+ */
+public class Covariances {
+  // the number of symbols on each side of a tile
+  private static final int TILE = 32;
+  // the number of days multiplied at a time within a tile
+  private static final int CHUNK = 512;
+
+  /**
+   * Return the daily returns of each series of the given panel: the value of each date divided
+   * by the value of the date before, less 1.
+   *
+   * @param panel the series aligned on common dates, with no missing value
+   * @return the returns in symbol-major order, the number of dates less 1 for each series
+   * @throws IllegalArgumentException if the panel is @code null
+   */
+  public static double[] dailyReturns(AlignedPanel panel) throws IllegalArgumentException {
+    if (panel == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    int dates = panel.dateCount();
+    if (dates < 2) {
+      return new double[0];
+    }
+    double[] values = panel.getValues();
+    int days = dates - 1;
+    double[] returns = new double[days * panel.symbolCount()];
+    for (int k = 0; k < panel.symbolCount(); k++) {
+      int from = k * dates;
+      int to = k * days;
+      for (int day = 0; day < days; day++) {
+        returns[to + day] = values[from + day + 1] / values[from + day] - 1;
+      }
+    }
+    return returns;
+  }
+
+  /**
+   * Return the (sample) covariance matrix of the given returns.
+   *
+   * @param returns the returns of each series in symbol-major order, as many days for each
+   * @param days    the number of days of each series
+   * @param symbols the symbols of the series
+   * @return the covariances of every pair of series
+   * @throws IllegalArgumentException if an argument is @code null, or if there are less than 2
+   *                                  days, or if the returns do not match the days and symbols
+   */
+  public static SymmetricMatrix covariance(double[] returns, int days, List<String> symbols)
+          throws IllegalArgumentException {
+    if (returns == null || symbols == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (days < 2) {
+      throw new IllegalArgumentException("at least 2 days of returns are needed");
+    }
+    int n = symbols.size();
+    if (returns.length != (long) days * n) {
+      throw new IllegalArgumentException("returns do not match the days and symbols");
+    }
+
+    // centre the returns of each series on their mean, so that covariances are dot products
+    double[] centred = new double[returns.length];
+    for (int k = 0; k < n; k++) {
+      int from = k * days;
+      double sum = 0;
+      for (int day = 0; day < days; day++) {
+        sum += returns[from + day];
+      }
+      double mean = sum / days;
+      for (int day = 0; day < days; day++) {
+        centred[from + day] = returns[from + day] - mean;
+      }
+    }
+
+    double[] packed = new double[n * (n + 1) / 2];
+    int tiles = (n + TILE - 1) / TILE;
+    // each tile on or below the diagonal writes its own entries, so the tiles need no locking
+    IntStream.range(0, tiles * (tiles + 1) / 2).parallel().forEach(tile -> {
+      int row = (int) ((Math.sqrt(8.0 * tile + 1) - 1) / 2);
+      while (row * (row + 1) / 2 > tile) {
+        row--;
+      }
+      while ((row + 1) * (row + 2) / 2 <= tile) {
+        row++;
+      }
+      int column = tile - row * (row + 1) / 2;
+      multiplyTile(centred, days, n, row * TILE, column * TILE, packed);
+    });
+    for (int i = 0; i < packed.length; i++) {
+      packed[i] /= days - 1;
+    }
+    return new SymmetricMatrix(new ArrayList<>(symbols), packed);
+  }
+
+  /**
+   * Return the correlation matrix of the given covariance matrix: each covariance divided by the
+   * standard deviations of both its series. A series that does not vary has correlation NaN with
+   * every series, itself included.
+   *
+   * @param covariance the covariance matrix
+   * @return the correlations of every pair of series
+   * @throws IllegalArgumentException if the matrix is @code null
+   */
+  public static SymmetricMatrix correlation(SymmetricMatrix covariance)
+          throws IllegalArgumentException {
+    if (covariance == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    int n = covariance.size();
+    double[] deviations = new double[n];
+    for (int i = 0; i < n; i++) {
+      deviations[i] = Math.sqrt(covariance.get(i, i));
+    }
+    double[] packed = covariance.getPacked();
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j <= i; j++) {
+        double correlation = packed[SymmetricMatrix.index(i, j)] / (deviations[i] * deviations[j]);
+        // rounding can take a correlation just out of [-1, 1]
+        packed[SymmetricMatrix.index(i, j)] = i == j && deviations[i] > 0
+                ? 1 : Math.max(-1, Math.min(1, correlation));
+      }
+    }
+    return new SymmetricMatrix(covariance.getSymbols(), packed);
+  }
+
+  /**
+   * Adds the dot products of the series of the tile whose rows start at the given row and whose
+   * columns start at the given column into the packed lower triangle.
+   */
+  private static void multiplyTile(double[] centred, int days, int n, int rowStart,
+                                   int columnStart, double[] packed) {
+    int rowEnd = Math.min(rowStart + TILE, n);
+    int columnEnd = Math.min(columnStart + TILE, n);
+    for (int from = 0; from < days; from += CHUNK) {
+      int to = Math.min(from + CHUNK, days);
+      for (int i = rowStart; i < rowEnd; i++) {
+        int iBase = i * days;
+        int last = Math.min(columnEnd, i + 1);
+        for (int j = columnStart; j < last; j++) {
+          int jBase = j * days;
+          double sum = 0;
+          for (int day = from; day < to; day++) {
+            sum += centred[iBase + day] * centred[jBase + day];
+          }
+          packed[SymmetricMatrix.index(i, j)] += sum;
+        }
+      }
+    }
+  }
+}
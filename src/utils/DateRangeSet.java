@@ -0,0 +1,179 @@
+package utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class represents a set of closed date ranges. Dates are represented by 8-digit integers
+ * (yyyymmdd). Overlapping or adjacent ranges are merged, so the set always holds the fewest
+ * disjoint ranges that cover the same dates.
+ */
+public class DateRangeSet {
+  // keys are the first dates of the ranges, and values are the last dates of the ranges
+  private final TreeMap<Integer, Integer> ranges;
+
+  /**
+   * Constructs an empty date range set.
+   */
+  public DateRangeSet() {
+    this.ranges = new TreeMap<>();
+  }
+
+  /**
+   * Adds the date range [from, to] to this set.
+   *
+   * @param from the first date of the range (inclusive)
+   * @param to   the last date of the range (inclusive)
+   * @throws IllegalArgumentException if from is after to
+   */
+  public void add(int from, int to) throws IllegalArgumentException {
+    if (from > to) {
+      throw new IllegalArgumentException("start date is after end date");
+    }
+    int newFrom = from;
+    int newTo = to;
+
+    // merge with a range that starts before and touches the new one
+    Map.Entry<Integer, Integer> before = ranges.floorEntry(from);
+    if (before != null && before.getValue() >= previousDay(from)) {
+      newFrom = before.getKey();
+      newTo = Math.max(newTo, before.getValue());
+      ranges.remove(before.getKey());
+    }
+
+    // merge with every range that starts inside or right after the new one
+    Map.Entry<Integer, Integer> after = ranges.ceilingEntry(newFrom);
+    while (after != null && after.getKey() <= nextDay(newTo)) {
+      newTo = Math.max(newTo, after.getValue());
+      ranges.remove(after.getKey());
+      after = ranges.ceilingEntry(newFrom);
+    }
+
+    ranges.put(newFrom, newTo);
+  }
+
+  /**
+   * Return true if every date of [from, to] is in this set, false otherwise.
+   *
+   * @param from the first date of the range (inclusive)
+   * @param to   the last date of the range (inclusive)
+   * @return true if every date of [from, to] is in this set, false otherwise
+   */
+  public boolean covers(int from, int to) {
+    Map.Entry<Integer, Integer> entry = ranges.floorEntry(from);
+    return entry != null && entry.getValue() >= to;
+  }
+
+  /**
+   * Return the sub-ranges of [from, to] that are not in this set, in ascending order. Each
+   * sub-range is an array whose first element is its first date and second element is its
+   * last date.
+   *
+   * @param from the first date of the range (inclusive)
+   * @param to   the last date of the range (inclusive)
+   * @return the sub-ranges of [from, to] that are not in this set
+   */
+  public List<int[]> missing(int from, int to) {
+    List<int[]> gaps = new ArrayList<>();
+    if (from > to) {
+      return gaps;
+    }
+
+    int cursor = from;
+    Map.Entry<Integer, Integer> entry = ranges.floorEntry(from);
+    if (entry != null && entry.getValue() >= from) {
+      cursor = nextDay(entry.getValue());
+    }
+
+    while (cursor <= to) {
+      entry = ranges.ceilingEntry(cursor);
+      if (entry == null || entry.getKey() > to) {
+        gaps.add(new int[]{cursor, to});
+        break;
+      }
+      if (entry.getKey() > cursor) {
+        gaps.add(new int[]{cursor, previousDay(entry.getKey())});
+      }
+      cursor = nextDay(entry.getValue());
+    }
+    return gaps;
+  }
+
+  /**
+   * Return the ranges of this set in ascending order. Each range is an array whose first
+   * element is its first date and second element is its last date.
+   *
+   * @return the ranges of this set in ascending order
+   */
+  public List<int[]> getRanges() {
+    List<int[]> result = new ArrayList<>();
+    for (Map.Entry<Integer, Integer> entry : ranges.entrySet()) {
+      result.add(new int[]{entry.getKey(), entry.getValue()});
+    }
+    return result;
+  }
+
+  /**
+   * Return true if this set holds no dates, false otherwise.
+   *
+   * @return true if this set holds no dates, false otherwise
+   */
+  public boolean isEmpty() {
+    return ranges.isEmpty();
+  }
+
+  /**
+   * Return the date after the given date.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return the date after the given date
+   */
+  public static int nextDay(int date) {
+    return toDateInt(toLocalDate(date).plusDays(1));
+  }
+
+  /**
+   * Return the date before the given date.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return the date before the given date
+   */
+  public static int previousDay(int date) {
+    return toDateInt(toLocalDate(date).minusDays(1));
+  }
+
+  /**
+   * Converts a date represented by an 8-digit integer to a LocalDate.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return the corresponding LocalDate
+   */
+  public static LocalDate toLocalDate(int date) {
+    return LocalDate.of(date / 10000, date / 100 % 100, date % 100);
+  }
+
+  /**
+   * Converts a LocalDate to a date represented by an 8-digit integer.
+   *
+   * @param date a LocalDate
+   * @return the corresponding 8-digit integer
+   */
+  public static int toDateInt(LocalDate date) {
+    return (date.getYear() * 100 + date.getMonthValue()) * 100 + date.getDayOfMonth();
+  }
+
+  @Override
+  public String toString() {
+    String str = "";
+    for (Map.Entry<Integer, Integer> entry : ranges.entrySet()) {
+      str += entry.getKey() + "-" + entry.getValue() + ", ";
+    }
+    if (str.length() < 2) {
+      return str;
+    }
+    return str.substring(0, str.length() - 2);
+  }
+}
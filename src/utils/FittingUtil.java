@@ -1,6 +1,8 @@
 package utils;
 
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
 
 /**
  * Has utility methods to fit and calculate the trend of discrete data provided in an array.
@@ -29,4 +31,124 @@ public class FittingUtil {
 
     return (end - start) / (double) (values.size() - 1);
   }
-}
\ No newline at end of file
+
+  /**
+   * Calculate and return the slope of the fitting line that joins the first value of the given
+   * series to the last value.
+   *
+   * @param series the series that stores the data
+   * @return the slope of the fitting line that joints the first data point to the last date point
+   * @throws IllegalArgumentException if the series is @code null or empty
+   */
+  public static double twoEndFittingTrend(PriceSeries series) throws IllegalArgumentException {
+    if (series == null || series.isEmpty()) {
+      throw new IllegalArgumentException("input data must be a non empty series");
+    }
+
+    if (series.size() == 1) {
+      return 0;
+    }
+
+    return (series.getValue(series.size() - 1) - series.getValue(0))
+            / (double) (series.size() - 1);
+  }
+
+  /**
+   * Fit a line to the given values by ordinary least squares, where the x of each value is its
+   * index in the array. The values are read in one pass and nothing is copied.
+   *
+   * @param values the array that stores the data
+   * @return the least-squares line of the values
+   * @throws IllegalArgumentException if the array is @code null or empty
+   */
+  public static LinearFit leastSquaresFit(double[] values) throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("input data must be a non empty array");
+    }
+    return leastSquaresFit(values, 0, values.length);
+  }
+
+  /**
+   * Fit a line to the values of the given array from index from (inclusive) to index to
+   * (exclusive) by ordinary least squares, where the x of each value is its index from the first
+   * one.
+   *
+   * @param values the array that stores the data
+   * @param from   the index of the first value
+   * @param to     the index after the last value
+   * @return the least-squares line of the values
+   * @throws IllegalArgumentException if the array is @code null, or if the range is empty or out
+   *                                  of the array
+   */
+  public static LinearFit leastSquaresFit(double[] values, int from, int to)
+          throws IllegalArgumentException {
+    if (values == null || from < 0 || to > values.length || from >= to) {
+      throw new IllegalArgumentException("input data must be a non empty range of an array");
+    }
+    TrendAccumulator accumulator = new TrendAccumulator();
+    for (int i = from; i < to; i++) {
+      accumulator.add(i - from, values[i]);
+    }
+    return accumulator.fit();
+  }
+
+  /**
+   * Fit a line to the values of the given series by ordinary least squares, where the x of each
+   * value is its index in the series, i.e. the number of business days since the first date.
+   *
+   * @param series the series that stores the data
+   * @return the least-squares line of the values
+   * @throws IllegalArgumentException if the series is @code null or empty
+   */
+  public static LinearFit leastSquaresFit(PriceSeries series) throws IllegalArgumentException {
+    if (series == null || series.isEmpty()) {
+      throw new IllegalArgumentException("input data must be a non empty series");
+    }
+    TrendAccumulator accumulator = new TrendAccumulator();
+    for (int i = 0; i < series.size(); i++) {
+      accumulator.add(i, series.getValue(i));
+    }
+    return accumulator.fit();
+  }
+
+  /**
+   * Fit a line to the values of the given iterator by ordinary least squares, where the x of each
+   * value is its position in the iteration. The iterator is consumed.
+   *
+   * @param values the iterator of the data
+   * @return the least-squares line of the values
+   * @throws IllegalArgumentException if the iterator is @code null or has no value
+   */
+  public static LinearFit leastSquaresFit(PrimitiveIterator.OfDouble values)
+          throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("input data must be non empty");
+    }
+    TrendAccumulator accumulator = new TrendAccumulator();
+    long x = 0;
+    while (values.hasNext()) {
+      accumulator.add(x++, values.nextDouble());
+    }
+    return accumulator.fit();
+  }
+
+  /**
+   * Fit a line to the given values by ordinary least squares, as leastSquaresFit does, but split
+   * the array into parts that are accumulated in parallel and then combined. Worth it only for
+   * very long series.
+   *
+   * @param values the array that stores the data
+   * @return the least-squares line of the values
+   * @throws IllegalArgumentException if the array is @code null or empty
+   */
+  public static LinearFit parallelLeastSquaresFit(double[] values)
+          throws IllegalArgumentException {
+    if (values == null || values.length == 0) {
+      throw new IllegalArgumentException("input data must be a non empty array");
+    }
+    return IntStream.range(0, values.length).parallel()
+            .collect(TrendAccumulator::new, (accumulator, i) -> accumulator.add(i, values[i]),
+                    TrendAccumulator::combine)
+            .fit();
+  }
+}
@@ -0,0 +1,79 @@
+package utils;
+
+/**
+ * This class represents a straight line fitted to data points by ordinary least squares,
+ * together with how well it fits them. Linear fits are immutable.
+ */
+public class LinearFit {
+  private final long count;
+  private final double slope;
+  private final double intercept;
+  private final double rSquared;
+
+  /**
+   * Constructs a linear fit.
+   *
+   * @param count     the number of data points fitted
+   * @param slope     the slope of the line
+   * @param intercept the value of the line at x = 0
+   * @param rSquared  the coefficient of determination of the line, from 0 to 1
+   */
+  public LinearFit(long count, double slope, double intercept, double rSquared) {
+    this.count = count;
+    this.slope = slope;
+    this.intercept = intercept;
+    this.rSquared = rSquared;
+  }
+
+  /**
+   * Return the number of data points fitted.
+   *
+   * @return the number of data points fitted
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Return the slope of the line. A positive slope means the data trend up.
+   *
+   * @return the slope of the line
+   */
+  public double getSlope() {
+    return slope;
+  }
+
+  /**
+   * Return the value of the line at x = 0.
+   *
+   * @return the intercept of the line
+   */
+  public double getIntercept() {
+    return intercept;
+  }
+
+  /**
+   * Return the coefficient of determination: the share of the variance of the data explained by
+   * the line, from 0 (none) to 1 (all the data points are on the line).
+   *
+   * @return the coefficient of determination of the line
+   */
+  public double getRSquared() {
+    return rSquared;
+  }
+
+  /**
+   * Return the value of the line at the given x.
+   *
+   * @param x the x
+   * @return the value of the line at x
+   */
+  public double valueAt(double x) {
+    return intercept + slope * x;
+  }
+
+  @Override
+  public String toString() {
+    return "slope: " + slope + ", intercept: " + intercept + ", R squared: " + rSquared;
+  }
+}
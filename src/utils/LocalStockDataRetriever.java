@@ -0,0 +1,336 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class represents a write-through local price store. Every historical price query is
+ * answered from memory-mapped columnar price files (see {@link ColumnarPriceFile}) kept in a
+ * local directory, one file per stock symbol. Only the
+ * dates that have never been retrieved before are requested from the upstream retriever, and
+ * whatever the upstream retriever returns is written to disk before it is returned, so the
+ * store survives restarts.
+ *
+ * <p>Dates before today are remembered as covered once they have been retrieved, whether or not
+ * they are business days. Today and future dates are always passed to the upstream retriever
+ * and are never stored, since their prices are not final yet.
+ *
+ * <p>A file is never written over while it is mapped, since some systems do not allow replacing
+ * a mapped file. Each update of a stock is written to a file of the next generation instead,
+ * and older generations are deleted once they can be.
+ */
+public class LocalStockDataRetriever implements StockDataRetriever {
+  // separates the symbol from the generation in a file name; never part of a safe symbol
+  private static final String GENERATION_SEPARATOR = "~";
+
+  private final StockDataRetriever upstream;
+  private final File directory;
+  // one lock per symbol, so that different symbols can be read and written concurrently
+  private final ConcurrentMap<String, Object> locks;
+  // price files that are currently mapped, keyed by symbol
+  private final ConcurrentMap<String, ColumnarPriceFile> files;
+  // generations of the price files that are currently mapped, keyed by symbol
+  private final ConcurrentMap<String, Integer> generations;
+
+  /**
+   * Constructs a local price store that keeps its files in the given directory and retrieves
+   * missing dates from the given upstream retriever.
+   *
+   * @param upstream  the retriever that missing dates are requested from
+   * @param directory the directory the price files are kept in. Created if it does not exist
+   * @throws IllegalArgumentException if either argument is @code null
+   */
+  public LocalStockDataRetriever(StockDataRetriever upstream, File directory)
+          throws IllegalArgumentException {
+    if (upstream == null || directory == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    this.upstream = upstream;
+    this.directory = directory;
+    this.locks = new ConcurrentHashMap<>();
+    this.files = new ConcurrentHashMap<>();
+    this.generations = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public double getCurrentPrice(String stockSymbol) throws Exception {
+    return upstream.getCurrentPrice(stockSymbol);
+  }
+
+  @Override
+  public String getName(String stockSymbol) throws Exception {
+    return upstream.getName(stockSymbol);
+  }
+
+  @Override
+  public Map<Integer, PriceRecord> getHistoricalPrices(
+          String stockSymbol,
+          int fromDate,
+          int fromMonth,
+          int fromYear,
+          int toDate,
+          int toMonth,
+          int toYear) throws Exception {
+    String symbol = stockSymbol.toUpperCase();
+    int from = (fromYear * 100 + fromMonth) * 100 + fromDate;
+    int to = (toYear * 100 + toMonth) * 100 + toDate;
+    Map<Integer, PriceRecord> result = new TreeMap<>();
+    if (from > to) {
+      return result;
+    }
+
+    // only past dates are stored, because prices of today are not final yet
+    int lastStorable = DateRangeSet.toDateInt(LocalDate.now().minusDays(1));
+
+    synchronized (lockOf(symbol)) {
+      ColumnarPriceFile stored = open(symbol);
+      DateRangeSet covered = stored == null ? new DateRangeSet() : stored.getCoveredRanges();
+
+      List<int[]> gaps = covered.missing(from, Math.min(to, lastStorable));
+      if (!gaps.isEmpty()) {
+        TreeMap<Integer, PriceRecord> fetched = new TreeMap<>();
+        for (int[] gap : gaps) {
+          fetched.putAll(StockDataRetrievers.getHistoricalPrices(upstream, symbol,
+                  gap[0], gap[1]));
+          covered.add(gap[0], gap[1]);
+        }
+        stored = merge(symbol, stored, new PriceColumns(fetched), covered);
+      }
+
+      if (stored != null) {
+        int last = stored.upperBound(Math.min(to, lastStorable));
+        for (int i = stored.lowerBound(from); i < last; i++) {
+          result.put(stored.getDate(i), stored.getRecord(i));
+        }
+      }
+    }
+
+    if (to > lastStorable) {
+      result.putAll(StockDataRetrievers.getHistoricalPrices(upstream, symbol,
+              Math.max(from, DateRangeSet.nextDay(lastStorable)), to));
+    }
+    return result;
+  }
+
+  /**
+   * Imports the historical prices of the given stock in the date range [from, to] from a CSV
+   * response (see {@link PriceCsvParser}) into this store, and marks the date range as covered.
+   * Days of the response outside the date range are ignored. The prices are parsed straight
+   * into columns, without creating a price record per day.
+   *
+   * @param stockSymbol the symbol of the stock
+   * @param csv         the CSV response, which is read to its end but not closed
+   * @param from        the first date of the range, as an 8-digit integer
+   * @param to          the last date of the range, as an 8-digit integer
+   * @return the number of days imported
+   * @throws IOException              if the response cannot be read or the store cannot be
+   *                                  written
+   * @throws IllegalArgumentException if from is after to, or if the response is malformed
+   */
+  public int importPrices(String stockSymbol, InputStream csv, int from, int to)
+          throws IOException, IllegalArgumentException {
+    if (from > to) {
+      throw new IllegalArgumentException("start date is after end date");
+    }
+    String symbol = stockSymbol.toUpperCase();
+
+    PriceColumns parsed = new PriceColumns();
+    new PriceCsvParser().parse(csv, parsed);
+    parsed.sortByDate();
+    PriceColumns imported = new PriceColumns();
+    for (int i = 0; i < parsed.size(); i++) {
+      int date = parsed.getDate(i);
+      if (date >= from && date <= to) {
+        imported.accept(date, parsed.getOpenPrice(i), parsed.getHighestDayPrice(i),
+                parsed.getLowestDayPrice(i), parsed.getClosePrice(i));
+      }
+    }
+
+    synchronized (lockOf(symbol)) {
+      ColumnarPriceFile stored = open(symbol);
+      DateRangeSet covered = stored == null ? new DateRangeSet() : stored.getCoveredRanges();
+      covered.add(from, to);
+      merge(symbol, stored, imported, covered);
+    }
+    return imported.size();
+  }
+
+  /**
+   * Return the latest price file of the given symbol, or @code null if it does not exist or
+   * cannot be read. Opened files are kept mapped until a newer generation replaces them, and
+   * older generations left on disk are deleted.
+   *
+   * @param symbol the symbol of the stock
+   * @return the price file of the given symbol, or @code null if there is none
+   */
+  private ColumnarPriceFile open(String symbol) {
+    ColumnarPriceFile stored = files.get(symbol);
+    if (stored == null) {
+      int latest = latestGeneration(symbol);
+      if (latest >= 0) {
+        deleteBefore(symbol, latest);
+        try {
+          stored = new ColumnarPriceFile(fileOf(symbol, latest));
+          files.put(symbol, stored);
+        } catch (IOException e) {
+          // an unreadable file is treated as absent, and will be replaced on the next write
+          stored = null;
+        }
+        generations.put(symbol, latest);
+      }
+    }
+    return stored;
+  }
+
+  /**
+   * Merges the stored prices of the given symbol with the newly fetched prices, writes the
+   * result to disk, and returns the new price file. A fetched price replaces the stored price of
+   * the same date.
+   *
+   * @param symbol  the symbol of the stock
+   * @param stored  the stored price file, or @code null if there is none
+   * @param fetched the newly fetched prices, sorted by date
+   * @param covered all the covered date ranges of the stock, including the fetched ones
+   * @return the new price file
+   * @throws IOException if the file cannot be written
+   */
+  private ColumnarPriceFile merge(String symbol, ColumnarPriceFile stored,
+                                  PriceColumns fetched, DateRangeSet covered)
+          throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("cannot create directory " + directory);
+    }
+
+    int storedSize = stored == null ? 0 : stored.size();
+    int capacity = storedSize + fetched.size();
+    int[] dates = new int[capacity];
+    double[] open = new double[capacity];
+    double[] highest = new double[capacity];
+    double[] lowest = new double[capacity];
+    double[] close = new double[capacity];
+
+    int count = 0;
+    int i = 0;
+    for (int j = 0; j < fetched.size(); j++) {
+      int date = fetched.getDate(j);
+      // copy the stored days before this fetched day
+      while (i < storedSize && stored.getDate(i) < date) {
+        dates[count] = stored.getDate(i);
+        open[count] = stored.getOpenPrice(i);
+        highest[count] = stored.getHighestDayPrice(i);
+        lowest[count] = stored.getLowestDayPrice(i);
+        close[count] = stored.getClosePrice(i);
+        count++;
+        i++;
+      }
+      if (i < storedSize && stored.getDate(i) == date) {
+        i++;
+      }
+      dates[count] = date;
+      open[count] = fetched.getOpenPrice(j);
+      highest[count] = fetched.getHighestDayPrice(j);
+      lowest[count] = fetched.getLowestDayPrice(j);
+      close[count] = fetched.getClosePrice(j);
+      count++;
+    }
+    while (i < storedSize) {
+      dates[count] = stored.getDate(i);
+      open[count] = stored.getOpenPrice(i);
+      highest[count] = stored.getHighestDayPrice(i);
+      lowest[count] = stored.getLowestDayPrice(i);
+      close[count] = stored.getClosePrice(i);
+      count++;
+      i++;
+    }
+
+    // the file of the current generation may still be mapped, so a new one is written
+    Integer current = generations.get(symbol);
+    int generation = current == null ? latestGeneration(symbol) + 1 : current + 1;
+    File file = fileOf(symbol, generation);
+    ColumnarPriceFile.write(file, dates, open, highest, lowest, close, count, covered);
+    ColumnarPriceFile merged = new ColumnarPriceFile(file);
+    files.put(symbol, merged);
+    generations.put(symbol, generation);
+    deleteBefore(symbol, generation);
+    return merged;
+  }
+
+  /**
+   * Return the price file of the given generation of the given symbol. Characters that are not
+   * safe in file names are replaced by underscores. The first generation has no number, as
+   * files written before generations were kept.
+   *
+   * @param symbol     the symbol of the stock
+   * @param generation the generation of the file
+   * @return the price file of the given symbol
+   */
+  private File fileOf(String symbol, int generation) {
+    return new File(directory, baseNameOf(symbol)
+            + (generation == 0 ? "" : GENERATION_SEPARATOR + generation) + ".columns");
+  }
+
+  private static String baseNameOf(String symbol) {
+    return symbol.replaceAll("[^A-Z0-9._-]", "_");
+  }
+
+  /**
+   * Return the latest generation of the price files of the given symbol on disk, or -1 if there
+   * is none.
+   */
+  private int latestGeneration(String symbol) {
+    int latest = -1;
+    for (int generation : generationsOnDisk(symbol)) {
+      latest = Math.max(latest, generation);
+    }
+    return latest;
+  }
+
+  /**
+   * Deletes the price files of the given symbol older than the given generation. A file that
+   * cannot be deleted yet, because it is still mapped, is left for a later call.
+   */
+  private void deleteBefore(String symbol, int generation) {
+    for (int older : generationsOnDisk(symbol)) {
+      if (older < generation) {
+        fileOf(symbol, older).delete();
+      }
+    }
+  }
+
+  /**
+   * Return the generations of the price files of the given symbol on disk.
+   */
+  private List<Integer> generationsOnDisk(String symbol) {
+    List<Integer> found = new ArrayList<>();
+    String base = baseNameOf(symbol);
+    String[] names = directory.list();
+    if (names == null) {
+      return found;
+    }
+    for (String name : names) {
+      if (name.equals(base + ".columns")) {
+        found.add(0);
+      } else if (name.startsWith(base + GENERATION_SEPARATOR) && name.endsWith(".columns")) {
+        try {
+          found.add(Integer.parseInt(name.substring(base.length() + 1,
+                  name.length() - ".columns".length())));
+        } catch (NumberFormatException e) {
+          // not a price file of this store
+        }
+      }
+    }
+    return found;
+  }
+
+  private Object lockOf(String symbol) {
+    return locks.computeIfAbsent(symbol, key -> new Object());
+  }
+}
@@ -0,0 +1,262 @@
+package utils;
+
+/**
+ * Has utility methods to compute moving averages of a price series in a single pass.
+ *
+ * <p>Every average is rounded to 2 decimal places as Math.round(average * 100) / 100.0. The
+ * simple and weighted averages of a date are taken over its price and the prices of the n - 1
+ * dates before it; the exponential average starts from the simple average of the first n prices
+ * and weighs each later price by 2 / (n + 1).
+ *
+ * <p>Simple and weighted averages keep a running sum instead of adding up every window again.
+ * When the prices are decimals of a few places, as quoted prices are, the running sums are kept
+ * exactly as integers, so each average is rounded from its exact value. Where the exact value
+ * lies at or next to halfway between two cents, and for prices that are not such decimals, the
+ * simple average of a window is added up from its latest price backwards, which is how the
+ * averages have always been computed, so that it rounds the same way.
+ */
+public class MovingAverages {
+  // the scales at which prices are tried as exact integers, finest last
+  private static final long[] SCALES = {100, 10000, 1000000};
+
+  /**
+   * Return the simple n-day moving averages of the given prices on each of their dates from the
+   * given date on.
+   *
+   * @param prices   the prices to be averaged
+   * @param fromDate the first date whose average is returned, as an 8-digit integer
+   * @param days     the number of days to be averaged
+   * @return a series of the averages of the dates of the given prices from the given date on
+   * @throws IllegalArgumentException if the number of days is not positive, or if there is no
+   *                                  price at all, or if a date from the given date on has less
+   *                                  than n - 1 dates before it
+   */
+  public static PriceSeries simple(PriceSeries prices, int fromDate, int days)
+          throws IllegalArgumentException {
+    int first = firstIndex(prices, fromDate, days);
+    if (first == prices.size()) {
+      return PriceSeries.empty();
+    }
+    double[] values = prices.getValues();
+    int[] dates = new int[values.length - first];
+    double[] averages = new double[values.length - first];
+
+    long scale = exactScale(values, (long) days * 2 * 100);
+    if (scale > 0) {
+      long sum = 0;
+      for (int i = first - days + 1; i < first; i++) {
+        sum += Math.round(values[i] * scale);
+      }
+      long denominator = scale * days;
+      for (int i = first; i < values.length; i++) {
+        sum += Math.round(values[i] * scale);
+        if (i > first) {
+          sum -= Math.round(values[i - days] * scale);
+        }
+        dates[i - first] = prices.getDate(i);
+        averages[i - first] = roundExact(sum, denominator, values, i, days, false);
+      }
+    } else {
+      for (int i = first; i < values.length; i++) {
+        dates[i - first] = prices.getDate(i);
+        averages[i - first] = naive(values, i, days, false);
+      }
+    }
+    return PriceSeries.wrap(dates, averages);
+  }
+
+  /**
+   * Return the linearly weighted n-day moving averages of the given prices on each of their dates
+   * from the given date on. The price of the date itself has weight n, the price of the date
+   * before it n - 1, and so on.
+   *
+   * @param prices   the prices to be averaged
+   * @param fromDate the first date whose average is returned, as an 8-digit integer
+   * @param days     the number of days to be averaged
+   * @return a series of the averages of the dates of the given prices from the given date on
+   * @throws IllegalArgumentException if the number of days is not positive, or if there is no
+   *                                  price at all, or if a date from the given date on has less
+   *                                  than n - 1 dates before it
+   */
+  public static PriceSeries weighted(PriceSeries prices, int fromDate, int days)
+          throws IllegalArgumentException {
+    int first = firstIndex(prices, fromDate, days);
+    if (first == prices.size()) {
+      return PriceSeries.empty();
+    }
+    double[] values = prices.getValues();
+    int[] dates = new int[values.length - first];
+    double[] averages = new double[values.length - first];
+    long weights = (long) days * (days + 1) / 2;
+
+    long scale = exactScale(values, weights * 2 * 100);
+    if (scale > 0) {
+      // the weighted sum of a window is that of the window before it, plus n times the new price,
+      // minus the plain sum of the window before it
+      long sum = 0;
+      long weightedSum = 0;
+      for (int i = first - days + 1; i < first; i++) {
+        long units = Math.round(values[i] * scale);
+        weightedSum += units * (i - (first - days));
+        sum += units;
+      }
+      for (int i = first; i < values.length; i++) {
+        long units = Math.round(values[i] * scale);
+        if (i > first) {
+          weightedSum -= sum;
+          sum -= Math.round(values[i - days] * scale);
+        }
+        weightedSum += units * days;
+        sum += units;
+        dates[i - first] = prices.getDate(i);
+        averages[i - first] = roundExact(weightedSum, scale * weights, values, i, days, true);
+      }
+    } else {
+      double sum = 0;
+      double weightedSum = 0;
+      for (int i = first - days + 1; i < first; i++) {
+        weightedSum += values[i] * (i - (first - days));
+        sum += values[i];
+      }
+      for (int i = first; i < values.length; i++) {
+        if (i > first) {
+          weightedSum -= sum;
+          sum -= values[i - days];
+        }
+        weightedSum += values[i] * days;
+        sum += values[i];
+        dates[i - first] = prices.getDate(i);
+        averages[i - first] = round(weightedSum / weights);
+      }
+    }
+    return PriceSeries.wrap(dates, averages);
+  }
+
+  /**
+   * Return the exponential n-day moving averages of the given prices on each of their dates from
+   * the given date on. The average of the n-th price is the simple average of the first n
+   * prices, and the average of every later price p is a * p + (1 - a) * (average of the price
+   * before), where a = 2 / (n + 1). Averages are carried unrounded from date to date and only
+   * rounded when returned.
+   *
+   * @param prices   the prices to be averaged
+   * @param fromDate the first date whose average is returned, as an 8-digit integer
+   * @param days     the number of days to be averaged
+   * @return a series of the averages of the dates of the given prices from the given date on
+   * @throws IllegalArgumentException if the number of days is not positive, or if there is no
+   *                                  price at all, or if a date from the given date on has less
+   *                                  than n - 1 dates before it
+   */
+  public static PriceSeries exponential(PriceSeries prices, int fromDate, int days)
+          throws IllegalArgumentException {
+    int first = firstIndex(prices, fromDate, days);
+    if (first == prices.size()) {
+      return PriceSeries.empty();
+    }
+    double[] values = prices.getValues();
+    int[] dates = new int[values.length - first];
+    double[] averages = new double[values.length - first];
+    double alpha = 2.0 / (days + 1);
+
+    double average = 0;
+    for (int i = 0; i < days; i++) {
+      average += values[i];
+    }
+    average /= days;
+    for (int i = days; i <= first; i++) {
+      average += alpha * (values[i] - average);
+    }
+    for (int i = first; i < values.length; i++) {
+      if (i > first) {
+        average += alpha * (values[i] - average);
+      }
+      dates[i - first] = prices.getDate(i);
+      averages[i - first] = round(average);
+    }
+    return PriceSeries.wrap(dates, averages);
+  }
+
+  /**
+   * Return the index of the first date whose average is returned, after checking that every date
+   * from it on has enough dates before it.
+   */
+  private static int firstIndex(PriceSeries prices, int fromDate, int days)
+          throws IllegalArgumentException {
+    if (days <= 0) {
+      throw new IllegalArgumentException("days should be positive");
+    }
+    if (prices == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (prices.isEmpty()) {
+      throw new IllegalArgumentException("n is greater than map size");
+    }
+    int first = prices.lowerBound(fromDate);
+    if (first < prices.size() && first + 1 < days) {
+      throw new IllegalArgumentException("n is greater than map size");
+    }
+    return first;
+  }
+
+  /**
+   * Return the smallest of the scales at which every given value is an exact integer, and at
+   * which the running sums cannot overflow once multiplied by the given factor, or 0 if there is
+   * none.
+   */
+  private static long exactScale(double[] values, long factor) {
+    double largest = 0;
+    for (double value : values) {
+      largest = Math.max(largest, Math.abs(value));
+    }
+    for (long scale : SCALES) {
+      if (largest * scale * factor >= Long.MAX_VALUE / 4) {
+        return 0;
+      }
+      boolean exact = true;
+      for (int i = 0; i < values.length && exact; i++) {
+        exact = Math.round(values[i] * scale) / (double) scale == values[i];
+      }
+      if (exact) {
+        return scale;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Return numerator / denominator dollars, where the numerator is in units of 1 / scale,
+   * rounded to 2 decimal places, half up. If the exact value lies within a millionth of a cent of
+   * halfway between two cents, the window of the i-th value is added up from its latest value
+   * backwards instead, and that sum is rounded.
+   */
+  private static double roundExact(long numerator, long denominator, double[] values, int i,
+                                   int days, boolean weighted) {
+    // cents = numerator * 100 / denominator, rounded half up
+    long halfUp = numerator * 200 + denominator;
+    long remainder = Math.floorMod(halfUp, 2 * denominator);
+    long distance = Math.min(remainder, 2 * denominator - remainder);
+    if (distance < 2 * denominator / 1000000 + 1) {
+      return naive(values, i, days, weighted);
+    }
+    return Math.floorDiv(halfUp, 2 * denominator) / 100.0;
+  }
+
+  /**
+   * Return the average of the window of the i-th value, added up from its latest value
+   * backwards, rounded to 2 decimal places.
+   */
+  private static double naive(double[] values, int i, int days, boolean weighted) {
+    double sum = 0;
+    long weights = 0;
+    for (int j = i; j > i - days; j--) {
+      int weight = weighted ? days - (i - j) : 1;
+      sum += values[j] * weight;
+      weights += weight;
+    }
+    return Math.round(sum * 100 / weights) / 100.0;
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 100) / 100.0;
+  }
+}
@@ -0,0 +1,49 @@
+package utils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Has utility methods to run independent pieces of work in parallel in a given fork/join pool.
+ */
+public class ParallelUtil {
+
+  /**
+   * Runs the given action for every index in [0, count) in parallel in the given pool, and
+   * returns once all of them are done. The action should be CPU-bound: it runs in the threads
+   * of the pool, which it should not block.
+   *
+   * @param pool   the pool to run the action in
+   * @param count  the number of indices
+   * @param action the action to run for each index
+   * @throws IllegalArgumentException if the pool or the action is @code null, or if the count is
+   *                                  negative
+   * @throws IllegalStateException    if the calling thread is interrupted while waiting
+   */
+  public static void forEach(ForkJoinPool pool, int count, IntConsumer action)
+          throws IllegalArgumentException, IllegalStateException {
+    if (pool == null || action == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (count < 0) {
+      throw new IllegalArgumentException("count should not be negative");
+    }
+    try {
+      pool.submit(() -> IntStream.range(0, count).parallel().forEach(action)).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted while waiting", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class represents a growable, columnar collection of daily prices: one primitive array of
+ * dates and one each of open, highest, lowest and closing prices. It is filled as a
+ * {@link PriceSink}, so parsers can write into it without creating a price record per day.
+ */
+public class PriceColumns implements PriceSink {
+  private static final int INITIAL_CAPACITY = 256;
+
+  private int[] dates;
+  private double[] open;
+  private double[] highest;
+  private double[] lowest;
+  private double[] close;
+  private int size;
+
+  /**
+   * Constructs an empty collection.
+   */
+  public PriceColumns() {
+    this.dates = new int[INITIAL_CAPACITY];
+    this.open = new double[INITIAL_CAPACITY];
+    this.highest = new double[INITIAL_CAPACITY];
+    this.lowest = new double[INITIAL_CAPACITY];
+    this.close = new double[INITIAL_CAPACITY];
+    this.size = 0;
+  }
+
+  /**
+   * Constructs a collection that holds the given price records.
+   *
+   * @param records a map whose keys are dates and values are the price records of the
+   *                corresponding dates
+   */
+  public PriceColumns(Map<Integer, PriceRecord> records) {
+    this();
+    for (Map.Entry<Integer, PriceRecord> entry : records.entrySet()) {
+      PriceRecord record = entry.getValue();
+      accept(entry.getKey(), record.getOpenPrice(), record.getHighestDayPrice(),
+              record.getLowestDayPrice(), record.getClosePrice());
+    }
+  }
+
+  @Override
+  public void accept(int date, double open, double highest, double lowest, double close) {
+    if (size == dates.length) {
+      int capacity = dates.length * 2;
+      this.dates = Arrays.copyOf(this.dates, capacity);
+      this.open = Arrays.copyOf(this.open, capacity);
+      this.highest = Arrays.copyOf(this.highest, capacity);
+      this.lowest = Arrays.copyOf(this.lowest, capacity);
+      this.close = Arrays.copyOf(this.close, capacity);
+    }
+    this.dates[size] = date;
+    this.open[size] = open;
+    this.highest[size] = highest;
+    this.lowest[size] = lowest;
+    this.close[size] = close;
+    size++;
+  }
+
+  /**
+   * Sorts the days of this collection by date, in ascending order. Data sources usually list
+   * days in either ascending or descending order, so both cases take linear time.
+   */
+  public void sortByDate() {
+    boolean ascending = true;
+    boolean descending = true;
+    for (int i = 1; i < size; i++) {
+      ascending &= dates[i - 1] <= dates[i];
+      descending &= dates[i - 1] >= dates[i];
+    }
+    if (ascending) {
+      return;
+    }
+    if (descending) {
+      for (int i = 0, j = size - 1; i < j; i++, j--) {
+        swap(i, j);
+      }
+      return;
+    }
+
+    // insertion sort on what is left, since out-of-order days are rare
+    for (int i = 1; i < size; i++) {
+      for (int j = i; j > 0 && dates[j - 1] > dates[j]; j--) {
+        swap(j - 1, j);
+      }
+    }
+  }
+
+  /**
+   * Return the number of days in this collection.
+   *
+   * @return the number of days in this collection
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Return the date of the i-th day of this collection.
+   *
+   * @param i the index of the day
+   * @return the date of the i-th day, as an 8-digit integer
+   */
+  public int getDate(int i) {
+    return dates[i];
+  }
+
+  /**
+   * Return the open price of the i-th day of this collection.
+   *
+   * @param i the index of the day
+   * @return the open price of the i-th day
+   */
+  public double getOpenPrice(int i) {
+    return open[i];
+  }
+
+  /**
+   * Return the highest price of the i-th day of this collection.
+   *
+   * @param i the index of the day
+   * @return the highest price of the i-th day
+   */
+  public double getHighestDayPrice(int i) {
+    return highest[i];
+  }
+
+  /**
+   * Return the lowest price of the i-th day of this collection.
+   *
+   * @param i the index of the day
+   * @return the lowest price of the i-th day
+   */
+  public double getLowestDayPrice(int i) {
+    return lowest[i];
+  }
+
+  /**
+   * Return the closing price of the i-th day of this collection.
+   *
+   * @param i the index of the day
+   * @return the closing price of the i-th day
+   */
+  public double getClosePrice(int i) {
+    return close[i];
+  }
+
+  /**
+   * Return a tree whose keys are the dates and values are the price records of the
+   * corresponding dates. If a date appears more than once, its last day is kept.
+   *
+   * @return a tree whose keys are the dates and values are the price records of the
+   *         corresponding dates
+   */
+  public Map<Integer, PriceRecord> toMap() {
+    Map<Integer, PriceRecord> prices = new TreeMap<>();
+    for (int i = 0; i < size; i++) {
+      prices.put(dates[i], new PriceRecord(open[i], close[i], lowest[i], highest[i]));
+    }
+    return prices;
+  }
+
+  private void swap(int i, int j) {
+    int date = dates[i];
+    dates[i] = dates[j];
+    dates[j] = date;
+    swap(open, i, j);
+    swap(highest, i, j);
+    swap(lowest, i, j);
+    swap(close, i, j);
+  }
+
+  private static void swap(double[] column, int i, int j) {
+    double value = column[i];
+    column[i] = column[j];
+    column[j] = value;
+  }
+}
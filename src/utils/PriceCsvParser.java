@@ -0,0 +1,262 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+/**
+ * This class represents a streaming parser of historical price responses in CSV format: a line
+ * of labels, followed by one line per day of the form "date,open,high,low,close[,...]". Dates are
+ * either "d-Mmm-yy" (e.g. 7-Jun-17) or "yyyy-mm-dd".
+ *
+ * <p>The parser works on the raw bytes of the stream and decodes dates and prices directly into
+ * primitive values that it hands to a {@link PriceSink}; it creates no strings or other objects
+ * per line. A parser reuses its buffers between calls, so it must not be shared between threads.
+ */
+public class PriceCsvParser {
+  private static final int BUFFER_SIZE = 8192;
+  private static final int MAX_FIELD_LENGTH = 64;
+  // the largest mantissa that a double represents exactly
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private final byte[] buffer;
+  // the characters of the current price field, kept for the rare fields that need a full parse
+  private final char[] field;
+  private final int currentYear;
+  private InputStream in;
+  private int position;
+  private int limit;
+
+  /**
+   * Constructs a parser.
+   */
+  public PriceCsvParser() {
+    this.buffer = new byte[BUFFER_SIZE];
+    this.field = new char[MAX_FIELD_LENGTH];
+    this.currentYear = LocalDate.now().getYear();
+  }
+
+  /**
+   * Parses the given stream to its end, handing every day to the given sink in the order it
+   * appears in the stream. The stream is not closed.
+   *
+   * @param in   the stream of a historical price response
+   * @param sink the receiver of the parsed days
+   * @return the number of days parsed
+   * @throws IOException           if the stream cannot be read
+   * @throws NumberFormatException if a line is malformed
+   */
+  public int parse(InputStream in, PriceSink sink) throws IOException, NumberFormatException {
+    this.in = in;
+    this.position = 0;
+    this.limit = 0;
+
+    int days = 0;
+    try {
+      skipLine(); // the line of labels
+      while (skipBlankLines()) {
+        int date = parseDate();
+        expect(',');
+        double open = parsePrice();
+        expect(',');
+        double highest = parsePrice();
+        expect(',');
+        double lowest = parsePrice();
+        expect(',');
+        double close = parsePrice();
+        skipLine(); // volume and whatever else follows
+        sink.accept(date, open, highest, lowest, close);
+        days++;
+      }
+    } finally {
+      this.in = null;
+    }
+    return days;
+  }
+
+  /**
+   * Return the next byte of the stream without consuming it, or -1 at the end of the stream.
+   */
+  private int peek() throws IOException {
+    if (position == limit) {
+      limit = in.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[position];
+  }
+
+  /**
+   * Consumes and return the next byte of the stream, or -1 at the end of the stream.
+   */
+  private int next() throws IOException {
+    int b = peek();
+    if (b != -1) {
+      position++;
+    }
+    return b;
+  }
+
+  private void skipLine() throws IOException {
+    int b = next();
+    while (b != -1 && b != '\n') {
+      b = next();
+    }
+  }
+
+  /**
+   * Skips line breaks and whitespaces, and return true if there is anything left to parse.
+   */
+  private boolean skipBlankLines() throws IOException {
+    int b = peek();
+    while (b == '\n' || b == '\r' || b == ' ' || b == '\t') {
+      position++;
+      b = peek();
+    }
+    return b != -1;
+  }
+
+  private void expect(char c) throws IOException {
+    if (next() != c) {
+      throw new NumberFormatException("expected '" + c + "'");
+    }
+  }
+
+  /**
+   * Parses a date in "d-Mmm-yy" or "yyyy-mm-dd" form into an 8-digit integer.
+   */
+  private int parseDate() throws IOException {
+    int digits = 0;
+    int first = 0;
+    while (isDigit(peek())) {
+      first = first * 10 + (next() - '0');
+      digits++;
+    }
+    if (digits == 0) {
+      throw new NumberFormatException("malformed date");
+    }
+    expect('-');
+
+    if (digits == 4) {
+      // yyyy-mm-dd
+      int month = parseNumber();
+      expect('-');
+      int day = parseNumber();
+      return (first * 100 + month) * 100 + day;
+    }
+
+    // d-Mmm-yy
+    int month = toMonth(next(), next(), next());
+    expect('-');
+    digits = 0;
+    int year = 0;
+    while (isDigit(peek())) {
+      year = year * 10 + (next() - '0');
+      digits++;
+    }
+    if (digits == 0) {
+      throw new NumberFormatException("malformed date");
+    }
+    if (digits <= 2) {
+      if (year <= currentYear % 100) {
+        year = currentYear / 100 * 100 + year;
+      } else {
+        year = (currentYear / 100 - 1) * 100 + year;
+      }
+    }
+    return (year * 100 + month) * 100 + first;
+  }
+
+  private int parseNumber() throws IOException {
+    if (!isDigit(peek())) {
+      throw new NumberFormatException("malformed date");
+    }
+    int value = 0;
+    while (isDigit(peek())) {
+      value = value * 10 + (next() - '0');
+    }
+    return value;
+  }
+
+  /**
+   * Parses a price field. Plain decimals whose digits fit in a double's mantissa are decoded
+   * directly, which gives exactly the value Double.parseDouble would; anything else (exponents,
+   * very long fields) falls back to Double.parseDouble.
+   */
+  private double parsePrice() throws IOException {
+    int length = 0;
+    boolean negative = false;
+    boolean exact = true;
+    long mantissa = 0;
+    int scale = 0;
+    int digits = 0;
+    boolean fraction = false;
+
+    int b = peek();
+    while (b != ',' && b != '\n' && b != '\r' && b != -1) {
+      position++;
+      if (length == MAX_FIELD_LENGTH) {
+        throw new NumberFormatException("price field is too long");
+      }
+      field[length++] = (char) b;
+
+      if (isDigit(b)) {
+        digits++;
+        if (mantissa < MAX_EXACT_MANTISSA / 10) {
+          mantissa = mantissa * 10 + (b - '0');
+          if (fraction) {
+            scale++;
+          }
+        } else {
+          exact = false;
+        }
+      } else if (b == '.' && !fraction) {
+        fraction = true;
+      } else if (b == '-' && length == 1) {
+        negative = true;
+      } else {
+        exact = false;
+      }
+      b = peek();
+    }
+
+    if (exact && digits > 0 && scale < POWERS_OF_TEN.length) {
+      double value = mantissa / POWERS_OF_TEN[scale];
+      return negative ? -value : value;
+    }
+    return Double.parseDouble(new String(field, 0, length));
+  }
+
+  private static boolean isDigit(int b) {
+    return b >= '0' && b <= '9';
+  }
+
+  /**
+   * Return the month (1 to 12) of a three-letter English abbreviation, case ignored.
+   */
+  private static int toMonth(int a, int b, int c) {
+    int key = ((a | 0x20) << 16) | ((b | 0x20) << 8) | (c | 0x20);
+    switch (key) {
+      case ('j' << 16) | ('a' << 8) | 'n': return 1;
+      case ('f' << 16) | ('e' << 8) | 'b': return 2;
+      case ('m' << 16) | ('a' << 8) | 'r': return 3;
+      case ('a' << 16) | ('p' << 8) | 'r': return 4;
+      case ('m' << 16) | ('a' << 8) | 'y': return 5;
+      case ('j' << 16) | ('u' << 8) | 'n': return 6;
+      case ('j' << 16) | ('u' << 8) | 'l': return 7;
+      case ('a' << 16) | ('u' << 8) | 'g': return 8;
+      case ('s' << 16) | ('e' << 8) | 'p': return 9;
+      case ('o' << 16) | ('c' << 8) | 't': return 10;
+      case ('n' << 16) | ('o' << 8) | 'v': return 11;
+      case ('d' << 16) | ('e' << 8) | 'c': return 12;
+      default: throw new NumberFormatException("malformed month");
+    }
+  }
+}
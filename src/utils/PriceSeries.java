@@ -0,0 +1,375 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * This class represents an immutable series of daily values, such as closing prices or moving
+ * averages, kept in two primitive arrays: the dates in ascending order, as 8-digit integers, and
+ * the value of each date. Looking up a date is a binary search, and a slice of a series shares the
+ * arrays of the series it is cut from, so neither boxes anything or copies the values.
+ */
+public class PriceSeries {
+  private static final PriceSeries EMPTY = new PriceSeries(new int[0], new double[0], 0, 0);
+
+  private final int[] dates;
+  private final double[] values;
+  private final int offset;
+  private final int size;
+
+  /**
+   * Constructs a series of the given dates and values. The arrays are copied.
+   *
+   * @param dates  the dates in strictly ascending order, as 8-digit integers
+   * @param values the value of each date
+   * @throws IllegalArgumentException if either array is @code null, or if the arrays are of
+   *                                  different lengths, or if the dates are not strictly ascending
+   */
+  public PriceSeries(int[] dates, double[] values) throws IllegalArgumentException {
+    if (dates == null || values == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (dates.length != values.length) {
+      throw new IllegalArgumentException("every date should have exactly one value");
+    }
+    for (int i = 1; i < dates.length; i++) {
+      if (dates[i - 1] >= dates[i]) {
+        throw new IllegalArgumentException("dates should be in strictly ascending order");
+      }
+    }
+    this.dates = dates.clone();
+    this.values = values.clone();
+    this.offset = 0;
+    this.size = dates.length;
+  }
+
+  private PriceSeries(int[] dates, double[] values, int offset, int size) {
+    this.dates = dates;
+    this.values = values;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  /**
+   * Return an empty series.
+   *
+   * @return an empty series
+   */
+  public static PriceSeries empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Return a series of the entries of the given map.
+   *
+   * @param map a map whose keys are dates represented by 8-digit integers, and values are the
+   *            values of the corresponding dates
+   * @return a series of the entries of the given map, in ascending order of date
+   * @throws IllegalArgumentException if the given map is @code null
+   */
+  public static PriceSeries of(Map<Integer, Double> map) throws IllegalArgumentException {
+    if (map == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    Map<Integer, Double> sorted = isAscending(map) ? map : new TreeMap<>(map);
+    int[] dates = new int[sorted.size()];
+    double[] values = new double[sorted.size()];
+    int i = 0;
+    for (Map.Entry<Integer, Double> entry : sorted.entrySet()) {
+      dates[i] = entry.getKey();
+      values[i] = entry.getValue();
+      i++;
+    }
+    return new PriceSeries(dates, values, 0, i);
+  }
+
+  /**
+   * Return a series of the closing prices of the given price records.
+   *
+   * @param records a map whose keys are dates represented by 8-digit integers, and values are the
+   *                price records of the corresponding dates
+   * @return a series of the closing prices of the given price records, in ascending order of date
+   * @throws IllegalArgumentException if the given map is @code null
+   */
+  public static PriceSeries ofClosingPrices(Map<Integer, PriceRecord> records)
+          throws IllegalArgumentException {
+    if (records == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    Map<Integer, PriceRecord> sorted = isAscending(records) ? records : new TreeMap<>(records);
+    int[] dates = new int[sorted.size()];
+    double[] values = new double[sorted.size()];
+    int i = 0;
+    for (Map.Entry<Integer, PriceRecord> entry : sorted.entrySet()) {
+      dates[i] = entry.getKey();
+      values[i] = entry.getValue().getClosePrice();
+      i++;
+    }
+    return new PriceSeries(dates, values, 0, i);
+  }
+
+  /**
+   * Return a series of the given arrays without copying them. The caller must not modify the
+   * arrays afterwards.
+   *
+   * @param dates  the dates in strictly ascending order, as 8-digit integers
+   * @param values the value of each date
+   * @return a series of the given arrays
+   */
+  static PriceSeries wrap(int[] dates, double[] values) {
+    return new PriceSeries(dates, values, 0, dates.length);
+  }
+
+  /**
+   * Return the number of dates in this series.
+   *
+   * @return the number of dates in this series
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Return true if this series has no date.
+   *
+   * @return true if this series has no date, false otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Return the i-th date of this series.
+   *
+   * @param i the index of the date
+   * @return the i-th date, as an 8-digit integer
+   * @throws IndexOutOfBoundsException if the index is negative or not less than the size
+   */
+  public int getDate(int i) throws IndexOutOfBoundsException {
+    checkIndex(i);
+    return dates[offset + i];
+  }
+
+  /**
+   * Return the value of the i-th date of this series.
+   *
+   * @param i the index of the date
+   * @return the value of the i-th date
+   * @throws IndexOutOfBoundsException if the index is negative or not less than the size
+   */
+  public double getValue(int i) throws IndexOutOfBoundsException {
+    checkIndex(i);
+    return values[offset + i];
+  }
+
+  /**
+   * Return the index of the given date in this series, or, if the date is not in this series,
+   * {@code -(insertion point) - 1}, as {@link Arrays#binarySearch(int[], int)} does.
+   *
+   * @param date the date, as an 8-digit integer
+   * @return the index of the given date, or {@code -(insertion point) - 1} if it is absent
+   */
+  public int indexOf(int date) {
+    int index = Arrays.binarySearch(dates, offset, offset + size, date);
+    return index >= 0 ? index - offset : index + offset;
+  }
+
+  /**
+   * Return true if this series has a value on the given date.
+   *
+   * @param date the date, as an 8-digit integer
+   * @return true if this series has a value on the given date, false otherwise
+   */
+  public boolean contains(int date) {
+    return indexOf(date) >= 0;
+  }
+
+  /**
+   * Return the value of the given date.
+   *
+   * @param date the date, as an 8-digit integer
+   * @return the value of the given date
+   * @throws IllegalArgumentException if this series has no value on the given date
+   */
+  public double valueOn(int date) throws IllegalArgumentException {
+    int index = indexOf(date);
+    if (index < 0) {
+      throw new IllegalArgumentException("data does not exist");
+    }
+    return values[offset + index];
+  }
+
+  /**
+   * Return the index of the first date of this series that is not before the given date, or the
+   * size of this series if there is none.
+   *
+   * @param date the date, as an 8-digit integer
+   * @return the index of the first date not before the given date
+   */
+  public int lowerBound(int date) {
+    int low = offset;
+    int high = offset + size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (dates[middle] < date) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low - offset;
+  }
+
+  /**
+   * Return the index of the first date of this series that is after the given date, or the size
+   * of this series if there is none.
+   *
+   * @param date the date, as an 8-digit integer
+   * @return the index of the first date after the given date
+   */
+  public int upperBound(int date) {
+    int low = offset;
+    int high = offset + size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (dates[middle] <= date) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low - offset;
+  }
+
+  /**
+   * Return the part of this series between the given dates, both inclusive. The part shares the
+   * arrays of this series, so nothing is copied.
+   *
+   * @param fromDate the first date of the part, as an 8-digit integer
+   * @param toDate   the last date of the part, as an 8-digit integer
+   * @return the part of this series between the given dates, which is empty if the last date is
+   *         before the first one
+   */
+  public PriceSeries slice(int fromDate, int toDate) {
+    int from = lowerBound(fromDate);
+    int to = upperBound(toDate);
+    if (to <= from) {
+      return EMPTY;
+    }
+    return subSeries(from, to);
+  }
+
+  /**
+   * Return the part of this series from index from (inclusive) to index to (exclusive). The part
+   * shares the arrays of this series, so nothing is copied.
+   *
+   * @param from the index of the first date of the part
+   * @param to   the index after the last date of the part
+   * @return the part of this series between the given indices
+   * @throws IndexOutOfBoundsException if the indices are out of range or to is less than from
+   */
+  public PriceSeries subSeries(int from, int to) throws IndexOutOfBoundsException {
+    if (from < 0 || to > size || from > to) {
+      throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", size " + size);
+    }
+    if (from == 0 && to == size) {
+      return this;
+    }
+    return new PriceSeries(dates, values, offset + from, to - from);
+  }
+
+  /**
+   * Return a copy of the dates of this series.
+   *
+   * @return a copy of the dates of this series, in ascending order
+   */
+  public int[] getDates() {
+    return Arrays.copyOfRange(dates, offset, offset + size);
+  }
+
+  /**
+   * Return a copy of the values of this series.
+   *
+   * @return a copy of the values of this series, in ascending order of date
+   */
+  public double[] getValues() {
+    return Arrays.copyOfRange(values, offset, offset + size);
+  }
+
+  /**
+   * Copies the values of this series into the given array.
+   *
+   * @param destination the array to copy into
+   * @param position    the index in the array of the first copied value
+   * @throws IndexOutOfBoundsException if the array is too short
+   */
+  public void copyValues(double[] destination, int position) throws IndexOutOfBoundsException {
+    System.arraycopy(values, offset, destination, position, size);
+  }
+
+  /**
+   * Return a tree whose keys are the dates and values are the values of this series.
+   *
+   * @return a tree whose keys are the dates and values are the values of this series
+   */
+  public Map<Integer, Double> toMap() {
+    Map<Integer, Double> map = new TreeMap<>();
+    for (int i = offset; i < offset + size; i++) {
+      map.put(dates[i], values[i]);
+    }
+    return map;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof PriceSeries)) {
+      return false;
+    }
+    PriceSeries other = (PriceSeries) obj;
+    if (this.size != other.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (this.dates[this.offset + i] != other.dates[other.offset + i]
+              || Double.compare(this.values[this.offset + i],
+              other.values[other.offset + i]) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = offset; i < offset + size; i++) {
+      long bits = Double.doubleToLongBits(values[i]);
+      hash = 31 * hash + dates[i];
+      hash = 31 * hash + (int) (bits ^ (bits >>> 32));
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return toMap().toString();
+  }
+
+  /**
+   * Return true if the keys of the given map are iterated in ascending order.
+   */
+  private static boolean isAscending(Map<Integer, ?> map) {
+    return map instanceof SortedMap && ((SortedMap<Integer, ?>) map).comparator() == null;
+  }
+
+  private void checkIndex(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("index " + i + ", size " + size);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package utils;
+
+/**
+ * This interface represents a receiver of daily prices, one day at a time. It lets parsers hand
+ * over prices as primitive values, without creating a price record per day.
+ */
+public interface PriceSink {
+  /**
+   * Receives the prices of a single day.
+   * @param date the date, represented by an 8-digit integer (yyyymmdd)
+   * @param open the open price
+   * @param highest the highest price
+   * @param lowest the lowest price
+   * @param close the closing price
+   */
+  void accept(int date, double open, double highest, double lowest, double close);
+}
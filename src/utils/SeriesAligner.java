@@ -0,0 +1,142 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Has a utility method to align several series on common dates, such as the closing prices of
+ * the stocks of a basket. The series are merge-joined: one cursor walks each series, and each
+ * step takes the earliest date under any cursor, so the alignment is a single pass over all the
+ * values and does not look any date up.
+ */
+public class SeriesAligner {
+
+  /**
+   * How dates that some of the series do not have are handled.
+   */
+  public enum Policy {
+    /**
+     * Only the dates that every series has are kept.
+     */
+    INNER,
+    /**
+     * Every date of any series is kept from the first date on which every series has begun; a
+     * series missing a date takes its value of the date before.
+     */
+    FORWARD_FILL,
+    /**
+     * Every date of any series is kept, and a series missing a date has NaN on it.
+     */
+    OUTER
+  }
+
+  /**
+   * Return a panel of the given series on common dates, as the given policy decides.
+   *
+   * @param series a map whose keys are symbols and values are the corresponding series; the
+   *               panel keeps the order in which the map iterates them
+   * @param policy how dates that some of the series do not have are handled
+   * @return a panel of the values of the series on the common dates
+   * @throws IllegalArgumentException if an argument or a series is @code null
+   */
+  public static AlignedPanel align(Map<String, PriceSeries> series, Policy policy)
+          throws IllegalArgumentException {
+    if (series == null || policy == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    List<String> symbols = new ArrayList<>(series.keySet());
+    PriceSeries[] columns = new PriceSeries[symbols.size()];
+    int i = 0;
+    for (PriceSeries column : series.values()) {
+      if (column == null) {
+        throw new IllegalArgumentException("null argument");
+      }
+      columns[i++] = column;
+    }
+    if (columns.length == 0) {
+      return new AlignedPanel(symbols, new int[0], new double[0]);
+    }
+
+    int start = Integer.MIN_VALUE;
+    if (policy == Policy.FORWARD_FILL) {
+      // the first date on which every series has begun
+      for (PriceSeries column : columns) {
+        if (column.isEmpty()) {
+          return new AlignedPanel(symbols, new int[0], new double[0]);
+        }
+        start = Math.max(start, column.getDate(0));
+      }
+    }
+
+    // count the dates first, so that the values can be laid out in one array
+    int count = merge(columns, policy, start, null, null);
+    int[] dates = new int[count];
+    double[] values = new double[count * columns.length];
+    merge(columns, policy, start, dates, values);
+    return new AlignedPanel(symbols, dates, values);
+  }
+
+  /**
+   * Merge-joins the given series from the given date on, and return the number of dates kept. If
+   * the arrays are not null, the dates kept and the values of each series on them are written
+   * into them.
+   */
+  private static int merge(PriceSeries[] columns, Policy policy, int start, int[] dates,
+                           double[] values) {
+    int[] cursors = new int[columns.length];
+    double[] last = new double[columns.length];
+    Arrays.fill(last, Double.NaN);
+    int days = dates == null ? 0 : dates.length;
+    int count = 0;
+    while (true) {
+      // the earliest date under any cursor, and how many series have it
+      int date = Integer.MAX_VALUE;
+      boolean any = false;
+      for (int k = 0; k < columns.length; k++) {
+        if (cursors[k] < columns[k].size()) {
+          date = Math.min(date, columns[k].getDate(cursors[k]));
+          any = true;
+        }
+      }
+      if (!any) {
+        return count;
+      }
+      int having = 0;
+      for (int k = 0; k < columns.length; k++) {
+        if (cursors[k] < columns[k].size() && columns[k].getDate(cursors[k]) == date) {
+          having++;
+        }
+      }
+      boolean kept = date >= start && (policy != Policy.INNER || having == columns.length);
+      if (policy == Policy.INNER && having < columns.length) {
+        // a series that has ended ends the intersection as well
+        boolean ended = false;
+        for (int k = 0; k < columns.length; k++) {
+          ended |= cursors[k] >= columns[k].size();
+        }
+        if (ended) {
+          return count;
+        }
+      }
+
+      for (int k = 0; k < columns.length; k++) {
+        boolean has = cursors[k] < columns[k].size() && columns[k].getDate(cursors[k]) == date;
+        if (has) {
+          last[k] = columns[k].getValue(cursors[k]);
+          cursors[k]++;
+        }
+        if (kept && values != null) {
+          values[k * days + count] = has || policy == Policy.FORWARD_FILL ? last[k] : Double.NaN;
+        }
+      }
+      if (kept) {
+        if (dates != null) {
+          dates[count] = date;
+        }
+        count++;
+      }
+    }
+  }
+}
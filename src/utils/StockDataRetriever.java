@@ -1,6 +1,7 @@
 package utils;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This interface represents all the operations offered by a component that
@@ -45,4 +46,33 @@ public interface StockDataRetriever {
           int toDate,
           int toMonth,
           int toYear) throws Exception;
-}
\ No newline at end of file
+
+  /**
+   * Get the historical prices for each of the specified stocks for the same date range, and
+   * return them in a map whose keys are the symbols and values are the trees described in
+   * {@link #getHistoricalPrices(String, int, int, int, int, int, int)}. By default, the stocks
+   * are retrieved concurrently, with a bounded number of retrievals in flight at a time.
+   * @param stockSymbols the symbols of the specified stocks
+   * @param fromDate date of the desired start date
+   * @param fromMonth month of the desired start date
+   * @param fromYear year of the desired start date
+   * @param toDate date of the desired end date
+   * @param toMonth month of the desired end date
+   * @param toYear year of the desired end date
+   * @return a map whose keys are the specified symbols and values are the historical prices of
+   *         the corresponding stocks
+   * @throws Exception if exception occurs when retrieving data of any of the stocks
+   */
+  default Map<String, Map<Integer, PriceRecord>> getHistoricalPrices(
+          Set<String> stockSymbols,
+          int fromDate,
+          int fromMonth,
+          int fromYear,
+          int toDate,
+          int toMonth,
+          int toYear) throws Exception {
+    return StockDataRetrievers.getConcurrently(this, stockSymbols,
+            (fromYear * 100 + fromMonth) * 100 + fromDate,
+            (toYear * 100 + toMonth) * 100 + toDate);
+  }
+}
@@ -0,0 +1,178 @@
+package utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class holds the stock data retriever shared by the whole program. Stocks, baskets and
+ * calendar utilities get their data through it instead of creating their own retrievers, so
+ * that data retrieved once can be reused by all of them.
+ */
+public class StockDataRetrievers {
+  // the maximum number of stocks retrieved at the same time by a batch retrieval
+  private static final int MAX_CONCURRENT_RETRIEVALS = 8;
+
+  private static StockDataRetriever retriever = null;
+  private static ExecutorService executor = null;
+
+  /**
+   * Return the shared stock data retriever. By default, it is the layers of
+   * {@link #layered(StockDataRetriever, File)} over a web retriever, with the local price store
+   * kept in the directory given by the system property "trader.data.dir" (".trader/prices" under
+   * the user home directory if absent).
+   *
+   * @return the shared stock data retriever
+   */
+  public static synchronized StockDataRetriever getDefault() {
+    if (retriever == null) {
+      File directory = new File(System.getProperty("trader.data.dir",
+              System.getProperty("user.home") + File.separator + ".trader"
+                      + File.separator + "prices"));
+      retriever = layered(new AsyncWebStockDataRetriever(), directory);
+    }
+    return retriever;
+  }
+
+  /**
+   * Return the given source behind a local price store kept in the given directory, an
+   * in-memory cache, and on top of them a retriever that merges concurrent requests for the same
+   * data. The cache and the store each let one request per symbol at a time reach the source, so
+   * concurrent requests are merged before they wait for one another there.
+   *
+   * @param source    the retriever that the data missing locally are requested from
+   * @param directory the directory of the local price store
+   * @return the layered retriever
+   */
+  static StockDataRetriever layered(StockDataRetriever source, File directory) {
+    return new CoalescingStockDataRetriever(
+            new CachingStockDataRetriever(new LocalStockDataRetriever(source, directory)));
+  }
+
+  /**
+   * Replaces the shared stock data retriever.
+   *
+   * @param newRetriever the new shared stock data retriever
+   * @throws IllegalArgumentException if the given retriever is @code null
+   */
+  public static synchronized void setDefault(StockDataRetriever newRetriever)
+          throws IllegalArgumentException {
+    if (newRetriever == null) {
+      throw new IllegalArgumentException("null retriever");
+    }
+    retriever = newRetriever;
+  }
+
+  /**
+   * Get the historical prices of the specified stock in the date range [from, to] from the given
+   * retriever, where dates are represented by 8-digit integers.
+   *
+   * @param source      the retriever to get the prices from
+   * @param stockSymbol the symbol of the specified stock
+   * @param from        the first date of the range, as an 8-digit integer
+   * @param to          the last date of the range, as an 8-digit integer
+   * @return a tree whose keys are the dates and values are the price records of the
+   *         corresponding dates
+   * @throws Exception if exception occurs when retrieving data
+   */
+  public static Map<Integer, PriceRecord> getHistoricalPrices(StockDataRetriever source,
+                                                              String stockSymbol,
+                                                              int from, int to) throws Exception {
+    return source.getHistoricalPrices(stockSymbol,
+            from % 100, from / 100 % 100, from / 10000,
+            to % 100, to / 100 % 100, to / 10000);
+  }
+
+  /**
+   * Get the historical prices of each of the specified stocks in the date range [from, to] from
+   * the given retriever, where dates are represented by 8-digit integers.
+   *
+   * @param source       the retriever to get the prices from
+   * @param stockSymbols the symbols of the specified stocks
+   * @param from         the first date of the range, as an 8-digit integer
+   * @param to           the last date of the range, as an 8-digit integer
+   * @return a map whose keys are the specified symbols and values are the historical prices of
+   *         the corresponding stocks
+   * @throws Exception if exception occurs when retrieving data of any of the stocks
+   */
+  public static Map<String, Map<Integer, PriceRecord>> getHistoricalPrices(
+          StockDataRetriever source, Set<String> stockSymbols, int from, int to)
+          throws Exception {
+    return source.getHistoricalPrices(stockSymbols,
+            from % 100, from / 100 % 100, from / 10000,
+            to % 100, to / 100 % 100, to / 10000);
+  }
+
+  /**
+   * Retrieves the historical prices of each of the specified stocks from the given retriever one
+   * symbol at a time, running at most a fixed number of retrievals concurrently.
+   *
+   * @param source       the retriever to get the prices from
+   * @param stockSymbols the symbols of the specified stocks
+   * @param from         the first date of the range, as an 8-digit integer
+   * @param to           the last date of the range, as an 8-digit integer
+   * @return a map whose keys are the specified symbols and values are the historical prices of
+   *         the corresponding stocks
+   * @throws Exception the first exception thrown by a retrieval, if any
+   */
+  static Map<String, Map<Integer, PriceRecord>> getConcurrently(
+          StockDataRetriever source, Set<String> stockSymbols, int from, int to)
+          throws Exception {
+    if (stockSymbols == null) {
+      throw new IllegalArgumentException("null symbols");
+    }
+    Map<String, Map<Integer, PriceRecord>> result = new TreeMap<>();
+    if (stockSymbols.size() == 1) {
+      // no need to leave the calling thread for a single stock
+      String symbol = stockSymbols.iterator().next();
+      result.put(symbol, getHistoricalPrices(source, symbol, from, to));
+      return result;
+    }
+
+    List<String> symbols = new ArrayList<>(stockSymbols);
+    List<Future<Map<Integer, PriceRecord>>> futures = new ArrayList<>();
+    ExecutorService pool = executor();
+    for (String symbol : symbols) {
+      futures.add(pool.submit(() -> getHistoricalPrices(source, symbol, from, to)));
+    }
+
+    Exception failure = null;
+    for (int i = 0; i < symbols.size(); i++) {
+      try {
+        result.put(symbols.get(i), futures.get(i).get());
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return result;
+  }
+
+  /**
+   * Return the thread pool of batch retrievals. Its threads are daemon threads, so that they
+   * never keep the program running.
+   *
+   * @return the thread pool of batch retrievals
+   */
+  private static synchronized ExecutorService executor() {
+    if (executor == null) {
+      executor = Executors.newFixedThreadPool(MAX_CONCURRENT_RETRIEVALS, runnable -> {
+        Thread thread = new Thread(runnable, "stock-data-retriever");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return executor;
+  }
+}
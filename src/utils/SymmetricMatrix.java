@@ -0,0 +1,103 @@
+package utils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents a symmetric matrix whose rows and columns are labelled by symbols, such
+ * as the covariances of the returns of the stocks of a basket. Only the lower triangle is kept,
+ * row by row in one primitive array, so an n by n matrix takes n * (n + 1) / 2 values. Matrices
+ * are immutable.
+ */
+public class SymmetricMatrix {
+  private final List<String> symbols;
+  private final double[] packed;
+
+  /**
+   * Constructs a matrix of the given lower triangle, which is not copied.
+   */
+  SymmetricMatrix(List<String> symbols, double[] packed) {
+    this.symbols = Collections.unmodifiableList(symbols);
+    this.packed = packed;
+  }
+
+  /**
+   * Return the index in the packed lower triangle of row i and column j.
+   */
+  static int index(int i, int j) {
+    return i >= j ? i * (i + 1) / 2 + j : j * (j + 1) / 2 + i;
+  }
+
+  /**
+   * Return the symbols labelling the rows and columns, in order.
+   *
+   * @return the symbols of the rows and columns
+   */
+  public List<String> getSymbols() {
+    return symbols;
+  }
+
+  /**
+   * Return the number of rows, which is also the number of columns.
+   *
+   * @return the number of rows
+   */
+  public int size() {
+    return symbols.size();
+  }
+
+  /**
+   * Return the entry of row i and column j, which is also the entry of row j and column i.
+   *
+   * @param i the index of the row
+   * @param j the index of the column
+   * @return the entry
+   * @throws IndexOutOfBoundsException if an index is out of range
+   */
+  public double get(int i, int j) throws IndexOutOfBoundsException {
+    if (i < 0 || j < 0 || i >= symbols.size() || j >= symbols.size()) {
+      throw new IndexOutOfBoundsException("no entry at (" + i + ", " + j + ")");
+    }
+    return packed[index(i, j)];
+  }
+
+  /**
+   * Return the entry of the rows and columns of the given symbols.
+   *
+   * @param first  the symbol of the row
+   * @param second the symbol of the column
+   * @return the entry
+   * @throws IllegalArgumentException if a symbol does not label a row
+   */
+  public double get(String first, String second) throws IllegalArgumentException {
+    int i = symbols.indexOf(first);
+    int j = symbols.indexOf(second);
+    if (i < 0 || j < 0) {
+      throw new IllegalArgumentException("no such symbol");
+    }
+    return packed[index(i, j)];
+  }
+
+  /**
+   * Return a copy of the lower triangle, row by row: the entry of row i and column j, j &lt;= i,
+   * is at index i * (i + 1) / 2 + j.
+   *
+   * @return the packed lower triangle
+   */
+  public double[] getPacked() {
+    return packed.clone();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < symbols.size(); i++) {
+      builder.append(symbols.get(i)).append(':');
+      for (int j = 0; j < symbols.size(); j++) {
+        builder.append(' ').append(packed[index(i, j)]);
+      }
+      builder.append('\n');
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,258 @@
+package utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * This class represents the trading calendar of the New York Stock Exchange. It is built once
+ * from the exchange's holiday rules into a bit set of trading days, together with a running count
+ * of trading days and a table of next trading days, so that every query is answered in constant
+ * time without retrieving any price.
+ *
+ * <p>The calendar covers every date from January 1, 1971 (the first year of the current Monday
+ * holiday rules) to the end of next year. Dates are represented by 8-digit integers (yyyymmdd).
+ */
+public class TradingCalendar {
+  private static final int FIRST_YEAR = 1971;
+  private static TradingCalendar instance = null;
+
+  /*
+  Closures that do not follow from the holiday rules: funerals of presidents, national days of
+  mourning, the 1977 blackout and extreme weather.
+   */
+  private static final int[] SPECIAL_CLOSURES = {
+      19721228, 19730125, 19770714, 19850927, 19940427,
+      20010911, 20010912, 20010913, 20010914, 20040611, 20070102,
+      20121029, 20121030, 20181205, 20250109
+  };
+
+  private final long firstEpochDay;
+  private final int days;
+  // one bit per day, set if the day is a trading day
+  private final long[] tradingDays;
+  // number of trading days before each day
+  private final int[] tradingDaysBefore;
+  // index of the first trading day on or after each day, or days if there is none
+  private final int[] nextTradingDay;
+
+  /**
+   * Constructs the trading calendar from January 1 of the first year to December 31 of the last
+   * year.
+   *
+   * @param lastYear the last year of the calendar
+   */
+  private TradingCalendar(int lastYear) {
+    LocalDate first = LocalDate.of(FIRST_YEAR, 1, 1);
+    LocalDate last = LocalDate.of(lastYear, 12, 31);
+    this.firstEpochDay = first.toEpochDay();
+    this.days = (int) (last.toEpochDay() - firstEpochDay) + 1;
+    this.tradingDays = new long[(days + 63) / 64];
+    this.tradingDaysBefore = new int[days + 1];
+    this.nextTradingDay = new int[days + 1];
+
+    // weekdays are trading days unless they are holidays
+    LocalDate date = first;
+    for (int i = 0; i < days; i++) {
+      DayOfWeek dayOfWeek = date.getDayOfWeek();
+      if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
+        tradingDays[i >> 6] |= 1L << i;
+      }
+      date = date.plusDays(1);
+    }
+    for (int year = FIRST_YEAR; year <= lastYear; year++) {
+      closeHolidaysOf(year);
+    }
+    for (int closure : SPECIAL_CLOSURES) {
+      close(DateRangeSet.toLocalDate(closure));
+    }
+
+    for (int i = 0; i < days; i++) {
+      tradingDaysBefore[i + 1] = tradingDaysBefore[i] + (isSet(i) ? 1 : 0);
+    }
+    nextTradingDay[days] = days;
+    for (int i = days - 1; i >= 0; i--) {
+      nextTradingDay[i] = isSet(i) ? i : nextTradingDay[i + 1];
+    }
+  }
+
+  /**
+   * Return the trading calendar of the New York Stock Exchange.
+   *
+   * @return the trading calendar of the New York Stock Exchange
+   */
+  public static synchronized TradingCalendar getInstance() {
+    if (instance == null) {
+      instance = new TradingCalendar(LocalDate.now().getYear() + 1);
+    }
+    return instance;
+  }
+
+  /**
+   * Return true if the given date is covered by this calendar, false otherwise.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return true if the given date is covered by this calendar, false otherwise
+   */
+  public boolean contains(int date) {
+    long index = DateRangeSet.toLocalDate(date).toEpochDay() - firstEpochDay;
+    return index >= 0 && index < days;
+  }
+
+  /**
+   * Return true if the given date is a trading day, false otherwise.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return true if the given date is a trading day, false otherwise
+   * @throws IllegalArgumentException if the date is not covered by this calendar
+   */
+  public boolean isTradingDay(int date) throws IllegalArgumentException {
+    return isSet(indexOf(date));
+  }
+
+  /**
+   * Return the first trading day on or after the given date.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return the first trading day on or after the given date, or -1 if it is after the last date
+   *         of this calendar
+   * @throws IllegalArgumentException if the date is not covered by this calendar
+   */
+  public int nextTradingDay(int date) throws IllegalArgumentException {
+    int next = nextTradingDay[indexOf(date)];
+    if (next == days) {
+      return -1;
+    }
+    return DateRangeSet.toDateInt(LocalDate.ofEpochDay(firstEpochDay + next));
+  }
+
+  /**
+   * Return the number of trading days in the date range [from, to].
+   *
+   * @param from the first date of the range (inclusive)
+   * @param to   the last date of the range (inclusive)
+   * @return the number of trading days in the date range
+   * @throws IllegalArgumentException if either date is not covered by this calendar, or if from
+   *                                  is after to
+   */
+  public int countTradingDays(int from, int to) throws IllegalArgumentException {
+    if (from > to) {
+      throw new IllegalArgumentException("start date is after end date");
+    }
+    return tradingDaysBefore[indexOf(to) + 1] - tradingDaysBefore[indexOf(from)];
+  }
+
+  /**
+   * Return the index of the given date in this calendar.
+   *
+   * @param date a date represented by an 8-digit integer
+   * @return the index of the given date
+   * @throws IllegalArgumentException if the date is not covered by this calendar
+   */
+  private int indexOf(int date) throws IllegalArgumentException {
+    long index = DateRangeSet.toLocalDate(date).toEpochDay() - firstEpochDay;
+    if (index < 0 || index >= days) {
+      throw new IllegalArgumentException("date is not covered by the trading calendar");
+    }
+    return (int) index;
+  }
+
+  private boolean isSet(int index) {
+    return (tradingDays[index >> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Marks the given date as a non-trading day, if it is covered by this calendar.
+   *
+   * @param date the date to be closed
+   */
+  private void close(LocalDate date) {
+    long index = date.toEpochDay() - firstEpochDay;
+    if (index >= 0 && index < days) {
+      tradingDays[(int) index >> 6] &= ~(1L << index);
+    }
+  }
+
+  /**
+   * Marks the holidays of the given year as non-trading days.
+   *
+   * @param year the year
+   */
+  private void closeHolidaysOf(int year) {
+    // New Year's Day is moved to Monday when it falls on a Sunday, but not to the previous
+    // Friday when it falls on a Saturday
+    LocalDate newYear = LocalDate.of(year, 1, 1);
+    if (newYear.getDayOfWeek() == DayOfWeek.SUNDAY) {
+      close(newYear.plusDays(1));
+    } else {
+      close(newYear);
+    }
+
+    if (year >= 1998) {
+      close(nthDayOfWeek(year, Month.JANUARY, DayOfWeek.MONDAY, 3)); // Martin Luther King Day
+    }
+    close(nthDayOfWeek(year, Month.FEBRUARY, DayOfWeek.MONDAY, 3)); // Washington's Birthday
+    close(easterSunday(year).minusDays(2)); // Good Friday
+    close(LocalDate.of(year, 5, 31)
+            .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))); // Memorial Day
+    if (year >= 2022) {
+      close(observed(LocalDate.of(year, 6, 19))); // Juneteenth
+    }
+    close(observed(LocalDate.of(year, 7, 4))); // Independence Day
+    close(nthDayOfWeek(year, Month.SEPTEMBER, DayOfWeek.MONDAY, 1)); // Labor Day
+    close(nthDayOfWeek(year, Month.NOVEMBER, DayOfWeek.THURSDAY, 4)); // Thanksgiving Day
+    close(observed(LocalDate.of(year, 12, 25))); // Christmas Day
+
+    // Election Day of presidential election years, until 1980
+    if (year <= 1980 && year % 4 == 0) {
+      close(nthDayOfWeek(year, Month.NOVEMBER, DayOfWeek.MONDAY, 1).plusDays(1));
+    }
+  }
+
+  /**
+   * Return the day a holiday is observed: the previous Friday if it falls on a Saturday, the
+   * next Monday if it falls on a Sunday, or the holiday itself otherwise.
+   *
+   * @param holiday the date of the holiday
+   * @return the day the holiday is observed
+   */
+  private static LocalDate observed(LocalDate holiday) {
+    switch (holiday.getDayOfWeek()) {
+      case SATURDAY:
+        return holiday.minusDays(1);
+      case SUNDAY:
+        return holiday.plusDays(1);
+      default:
+        return holiday;
+    }
+  }
+
+  private static LocalDate nthDayOfWeek(int year, Month month, DayOfWeek dayOfWeek, int n) {
+    return LocalDate.of(year, month, 1).with(TemporalAdjusters.dayOfWeekInMonth(n, dayOfWeek));
+  }
+
+  /**
+   * Return the date of Easter Sunday of the given year (anonymous Gregorian algorithm).
+   *
+   * @param year the year
+   * @return the date of Easter Sunday
+   */
+  private static LocalDate easterSunday(int year) {
+    int a = year % 19;
+    int b = year / 100;
+    int c = year % 100;
+    int d = b / 4;
+    int e = b % 4;
+    int f = (b + 8) / 25;
+    int g = (b - f + 1) / 3;
+    int h = (19 * a + b - d - g + 15) % 30;
+    int i = c / 4;
+    int k = c % 4;
+    int l = (32 + 2 * e + 2 * i - h - k) % 7;
+    int m = (a + 11 * h + 22 * l) / 451;
+    int month = (h + l - 7 * m + 114) / 31;
+    int day = (h + l - 7 * m + 114) % 31 + 1;
+    return LocalDate.of(year, month, day);
+  }
+}
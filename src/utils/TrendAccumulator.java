@@ -0,0 +1,109 @@
+package utils;
+
+/**
+ * This class represents the running state of a least-squares line fit. Data points are added one
+ * at a time in a single pass, keeping only their means and the sums of squared deviations from
+ * them, which stay accurate over long series where plain sums of squares would cancel out.
+ * Accumulators of separate parts of a series can be combined, so that long series can be fitted
+ * in parallel; see {@link FittingUtil#parallelLeastSquaresFit(double[])}.
+ */
+public class TrendAccumulator {
+  private long count;
+  private double meanX;
+  private double meanY;
+  // sums of squared deviations of x and of y, and of the products of their deviations
+  private double squaresX;
+  private double squaresY;
+  private double products;
+
+  /**
+   * Constructs an accumulator with no data point.
+   */
+  public TrendAccumulator() {
+    this.count = 0;
+  }
+
+  /**
+   * Adds the given data point.
+   *
+   * @param x the x of the data point
+   * @param y the y of the data point
+   */
+  public void add(double x, double y) {
+    count++;
+    double dx = x - meanX;
+    double dy = y - meanY;
+    meanX += dx / count;
+    meanY += dy / count;
+    squaresX += dx * (x - meanX);
+    squaresY += dy * (y - meanY);
+    products += dx * (y - meanY);
+  }
+
+  /**
+   * Adds the data points of the given accumulator to this one. The given accumulator is not
+   * changed.
+   *
+   * @param other the other accumulator
+   * @throws IllegalArgumentException if the other accumulator is @code null
+   */
+  public void combine(TrendAccumulator other) throws IllegalArgumentException {
+    if (other == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    if (other.count == 0) {
+      return;
+    }
+    if (count == 0) {
+      this.count = other.count;
+      this.meanX = other.meanX;
+      this.meanY = other.meanY;
+      this.squaresX = other.squaresX;
+      this.squaresY = other.squaresY;
+      this.products = other.products;
+      return;
+    }
+    long total = count + other.count;
+    double dx = other.meanX - meanX;
+    double dy = other.meanY - meanY;
+    double weight = (double) count * other.count / total;
+    squaresX += other.squaresX + dx * dx * weight;
+    squaresY += other.squaresY + dy * dy * weight;
+    products += other.products + dx * dy * weight;
+    meanX += dx * other.count / total;
+    meanY += dy * other.count / total;
+    count = total;
+  }
+
+  /**
+   * Return the number of data points added.
+   *
+   * @return the number of data points added
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Return the least-squares line of the data points added. With one data point, or with data
+   * points of the same x, the line is flat; when all the data points are on the line, its R
+   * squared is 1.
+   *
+   * @return the least-squares line of the data points added
+   * @throws IllegalArgumentException if no data point has been added
+   */
+  public LinearFit fit() throws IllegalArgumentException {
+    if (count == 0) {
+      throw new IllegalArgumentException("input data must be non empty");
+    }
+    double slope = squaresX == 0 ? 0 : products / squaresX;
+    double intercept = meanY - slope * meanX;
+    double rSquared;
+    if (squaresY == 0 || squaresX == 0) {
+      rSquared = squaresY == 0 ? 1 : 0;
+    } else {
+      rSquared = Math.min(1, products * products / (squaresX * squaresY));
+    }
+    return new LinearFit(count, slope, intercept, rSquared);
+  }
+}
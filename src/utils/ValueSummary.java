@@ -0,0 +1,131 @@
+package utils;
+
+/**
+ * This class represents summary statistics of a series of daily values, such as the values of a
+ * basket: their range and average, the total return from the first day to the last, the
+ * volatility of the daily returns and the largest drawdown. Summaries are immutable.
+ */
+public class ValueSummary {
+  private final int count;
+  private final double first;
+  private final double last;
+  private final double minimum;
+  private final double maximum;
+  private final double mean;
+  private final double volatility;
+  private final double maxDrawdown;
+
+  /**
+   * Constructs a summary.
+   *
+   * @param count       the number of days
+   * @param first       the value of the first day
+   * @param last        the value of the last day
+   * @param minimum     the lowest value
+   * @param maximum     the highest value
+   * @param mean        the average value
+   * @param volatility  the standard deviation of the daily returns
+   * @param maxDrawdown the largest fall from a peak to a later value, as a fraction of the peak
+   */
+  public ValueSummary(int count, double first, double last, double minimum, double maximum,
+                      double mean, double volatility, double maxDrawdown) {
+    this.count = count;
+    this.first = first;
+    this.last = last;
+    this.minimum = minimum;
+    this.maximum = maximum;
+    this.mean = mean;
+    this.volatility = volatility;
+    this.maxDrawdown = maxDrawdown;
+  }
+
+  /**
+   * Return the number of days summarized.
+   *
+   * @return the number of days
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Return the value of the first day.
+   *
+   * @return the value of the first day
+   */
+  public double getFirst() {
+    return first;
+  }
+
+  /**
+   * Return the value of the last day.
+   *
+   * @return the value of the last day
+   */
+  public double getLast() {
+    return last;
+  }
+
+  /**
+   * Return the lowest value.
+   *
+   * @return the lowest value
+   */
+  public double getMinimum() {
+    return minimum;
+  }
+
+  /**
+   * Return the highest value.
+   *
+   * @return the highest value
+   */
+  public double getMaximum() {
+    return maximum;
+  }
+
+  /**
+   * Return the average value.
+   *
+   * @return the average value
+   */
+  public double getMean() {
+    return mean;
+  }
+
+  /**
+   * Return the return from the first day to the last, as a fraction of the first value.
+   *
+   * @return the total return
+   */
+  public double getTotalReturn() {
+    return (last - first) / first;
+  }
+
+  /**
+   * Return the (sample) standard deviation of the daily returns, or 0 if there are less than 3
+   * days.
+   *
+   * @return the volatility of the daily returns
+   */
+  public double getVolatility() {
+    return volatility;
+  }
+
+  /**
+   * Return the largest fall from a peak to a later value, as a fraction of the peak, or 0 if the
+   * values never fell.
+   *
+   * @return the maximum drawdown
+   */
+  public double getMaxDrawdown() {
+    return maxDrawdown;
+  }
+
+  @Override
+  public String toString() {
+    return "days: " + count + ", first: " + first + ", last: " + last + ", min: " + minimum
+            + ", max: " + maximum + ", mean: " + mean + ", volatility: " + volatility
+            + ", max drawdown: " + maxDrawdown;
+  }
+}
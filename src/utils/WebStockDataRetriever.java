@@ -1,10 +1,11 @@
 package utils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.time.LocalDate;
 import java.util.Map;
 import java.util.Scanner;
-import java.util.TreeMap;
 
 /**
  * This class represents a stock retriever module. It is a singleton, and so to
@@ -21,25 +22,16 @@ public class WebStockDataRetriever implements StockDataRetriever {
 
   @Override
   public double getCurrentPrice(String stockSymbol) throws Exception {
-    URL url = new URL("https://download.finance.yahoo.com/d/quotes.csv?"
-            + "s=" + stockSymbol
-            + "&f=l1&e=.csv");
-
-    String output = new Scanner(url.openStream()).next();
-
-
-    return Double.parseDouble(output);
+    try (InputStream in = currentPriceUrl(stockSymbol).openStream()) {
+      return parseCurrentPrice(in);
+    }
   }
 
   @Override
   public String getName(String stockSymbol) throws Exception {
-    URL url = new URL("https://download.finance.yahoo.com/d/quotes.csv?"
-            + "s=" + stockSymbol + "&f=n&e=.csv");
-
-    String output = new Scanner(url.openStream()).next();
-
-
-    return output;
+    try (InputStream in = nameUrl(stockSymbol).openStream()) {
+      return parseName(in);
+    }
   }
 
   @Override
@@ -53,69 +45,93 @@ public class WebStockDataRetriever implements StockDataRetriever {
           int toYear)
           throws
           Exception {
+    URL url = historicalPricesUrl(stockSymbol, fromDate, fromMonth, fromYear,
+            toDate, toMonth, toYear);
+    try (InputStream in = url.openStream()) {
+      return parseHistoricalPrices(in);
+    }
+  }
 
+  /**
+   * Return the URL of the current price of the specified stock.
+   *
+   * @param stockSymbol the symbol of the specified stock
+   * @return the URL of the current price of the specified stock
+   * @throws MalformedURLException if the URL cannot be formed
+   */
+  static URL currentPriceUrl(String stockSymbol) throws MalformedURLException {
+    return new URL("https://download.finance.yahoo.com/d/quotes.csv?"
+            + "s=" + stockSymbol
+            + "&f=l1&e=.csv");
+  }
+
+  /**
+   * Return the URL of the name of the specified stock.
+   *
+   * @param stockSymbol the symbol of the specified stock
+   * @return the URL of the name of the specified stock
+   * @throws MalformedURLException if the URL cannot be formed
+   */
+  static URL nameUrl(String stockSymbol) throws MalformedURLException {
+    return new URL("https://download.finance.yahoo.com/d/quotes.csv?"
+            + "s=" + stockSymbol + "&f=n&e=.csv");
+  }
 
-    URL url = new URL("https://www.google"
+  /**
+   * Return the URL of the historical prices of the specified stock in the specified date range.
+   *
+   * @param stockSymbol the symbol of the specified stock
+   * @param fromDate    date of the desired start date
+   * @param fromMonth   month of the desired start date
+   * @param fromYear    year of the desired start date
+   * @param toDate      date of the desired end date
+   * @param toMonth     month of the desired end date
+   * @param toYear      year of the desired end date
+   * @return the URL of the historical prices
+   * @throws MalformedURLException if the URL cannot be formed
+   */
+  static URL historicalPricesUrl(String stockSymbol, int fromDate, int fromMonth, int fromYear,
+                                 int toDate, int toMonth, int toYear)
+          throws MalformedURLException {
+    return new URL("https://www.google"
             + ".com/finance/historical?output=csv&q=" + stockSymbol + "&startdate="
             + fromMonth + "+" + fromDate + "+" + fromYear + "&enddate="
             + toMonth + "+" + toDate + "+" + toYear);
-
-    String output = "";
-    Map<Integer, PriceRecord> prices = new TreeMap<Integer,PriceRecord>();
-    Scanner sc = new Scanner(url.openStream());
-    //get first line of labels
-    output = sc.next();
-
-    while (sc.hasNext()) {
-      output = sc.next();
-      String []data = output.split(",");
-
-      PriceRecord record = new PriceRecord(
-              Double.parseDouble(data[1]),
-              Double.parseDouble(data[4]),
-              Double.parseDouble(data[3]),
-              Double.parseDouble(data[2])
-      );
-      //date is index 0
-      Integer date = getDate(data[0]);
-      prices.put(date,record);
-    }
-    return prices;
-
   }
 
-
-  private int toMonth(String month) {
-    switch (month) {
-      case "Jan": return 1;
-      case "Feb": return 2;
-      case "Mar": return 3;
-      case "Apr": return 4;
-      case "May": return 5;
-      case "Jun": return 6;
-      case "Jul": return 7;
-      case "Aug": return 8;
-      case "Sep": return 9;
-      case "Oct": return 10;
-      case "Nov": return 11;
-      case "Dec": return 12;
-      default: return -1;
-    }
+  /**
+   * Parses a current price response.
+   *
+   * @param in the response
+   * @return the current price
+   */
+  static double parseCurrentPrice(InputStream in) {
+    String output = new Scanner(in).next();
+    return Double.parseDouble(output);
   }
 
-  private Integer getDate(String date) {
-    String []splitdate = date.split("-");
-    int actualDate = Integer.parseInt(splitdate[0]);
-    int actualYear = Integer.parseInt(splitdate[2]);
-    int actualMonth = toMonth(splitdate[1]);
-    if (actualYear <= LocalDate.now().getYear() % 100) {
-      actualYear = LocalDate.now().getYear() / 100 * 100 + actualYear;
-    }
-    else {
-      actualYear = (LocalDate.now().getYear() / 100 - 1) * 100 + actualYear;
-    }
-    return (actualYear * 100 + actualMonth) * 100 + actualDate;
+  /**
+   * Parses a name response.
+   *
+   * @param in the response
+   * @return the name, as it appears in the response
+   */
+  static String parseName(InputStream in) {
+    return new Scanner(in).next();
   }
 
-
-}
\ No newline at end of file
+  /**
+   * Parses a historical prices response, a CSV file with a line of labels followed by one line
+   * per day.
+   *
+   * @param in the response
+   * @return a tree whose keys are the dates and values are the price records of the
+   *         corresponding dates
+   * @throws IOException if the response cannot be read
+   */
+  static Map<Integer, PriceRecord> parseHistoricalPrices(InputStream in) throws IOException {
+    PriceColumns prices = new PriceColumns();
+    new PriceCsvParser().parse(in, prices);
+    return prices.toMap();
+  }
+}
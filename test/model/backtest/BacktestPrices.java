@@ -0,0 +1,41 @@
+package model.backtest;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+import utils.AlignedPanel;
+import utils.CalendarUtil;
+import utils.TradingCalendar;
+
+/**
+ * Made-up prices of two stocks, "A" and "B", for backtest tests. The prices are on the trading
+ * days of the New York Stock Exchange only, so that weekends and holidays such as New Year's Day
+ * and Good Friday fall between them and investments due on them are postponed.
+ */
+public class BacktestPrices {
+
+  /**
+   * Return the prices of "A" and "B" on the given number of trading days from the given date on,
+   * each the given function of the index of the trading day.
+   *
+   * @param fromDate the first date, which need not be a trading day, as an 8-digit integer
+   * @param days     the number of trading days
+   * @param a        the price of "A" on each trading day, by index
+   * @param b        the price of "B" on each trading day, by index
+   * @return the prices of "A" and "B"
+   */
+  public static AlignedPanel of(int fromDate, int days, IntToDoubleFunction a,
+                                IntToDoubleFunction b) {
+    TradingCalendar calendar = TradingCalendar.getInstance();
+    int[] dates = new int[days];
+    double[] values = new double[days * 2];
+    int date = calendar.nextTradingDay(fromDate);
+    for (int day = 0; day < days; day++) {
+      dates[day] = date;
+      values[day] = a.applyAsDouble(day);
+      values[days + day] = b.applyAsDouble(day);
+      date = calendar.nextTradingDay(CalendarUtil.addDays(date, 1));
+    }
+    return AlignedPanel.of(Arrays.asList("A", "B"), dates, values);
+  }
+}
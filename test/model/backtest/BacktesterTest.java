@@ -0,0 +1,141 @@
+package model.backtest;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import utils.AlignedPanel;
+import utils.PriceSeries;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for model.backtest.Backtester class.
+ */
+public class BacktesterTest {
+
+  /**
+   * Return the prices of "A" and "B" on the business days of June 1 to 16, 2017.
+   */
+  private static AlignedPanel june() {
+    int[] dates = {20170601, 20170602, 20170605, 20170606, 20170607, 20170608, 20170609,
+        20170612, 20170613, 20170614, 20170615, 20170616};
+    double[] values = new double[dates.length * 2];
+    for (int day = 0; day < dates.length; day++) {
+      values[day] = 10 + day;
+      values[dates.length + day] = 50 - day;
+    }
+    return AlignedPanel.of(Arrays.asList("A", "B"), dates, values);
+  }
+
+  /**
+   * Tests whether dollar averaging invests on schedule, postponing to the next trading day, and
+   * whether the equity curve values the shares and cash at every close.
+   */
+  @Test
+  public void testDollarCostAveraging() {
+    Map<String, Double> proportions = new TreeMap<>();
+    proportions.put("a", 0.5);
+    proportions.put("B", 0.5);
+    BacktestResult result = Backtester.run(june(),
+            new DollarCostAveraging(proportions, 1000, 7));
+
+    // on June 1 at 10 and 50, on June 8 at 15 and 45, and on June 15 at 20 and 40
+    Map<String, Integer> holdings = result.getHoldings();
+    assertEquals(50 + 33 + 25, (int) holdings.get("A"));
+    assertEquals(10 + 11 + 13, (int) holdings.get("B"));
+    assertEquals(3000, result.getTotalInvested(), 0);
+    assertEquals(6, result.getTradeCount());
+    double cash = 3000 - (50 * 10 + 10 * 50) - (33 * 15 + 11 * 45) - (25 * 20 + 13 * 40);
+    assertEquals(cash, result.getCash(), 1e-9);
+    assertEquals(108 * 21 + 34 * 39 + cash, result.getFinalValue(), 1e-9);
+    assertEquals(result.getFinalValue() - 3000, result.getProfit(), 1e-9);
+
+    PriceSeries equity = result.getEquityCurve();
+    assertEquals(12, equity.size());
+    // June 2, before the second investment: 50 shares at 11 and 10 at 49, and no cash left
+    assertEquals(50 * 11 + 10 * 49, equity.getValue(1), 1e-9);
+    assertEquals(2000, result.getInvestedCurve().valueOn(20170608), 0);
+    assertEquals(2000, result.getInvestedCurve().valueOn(20170614), 0);
+  }
+
+  /**
+   * Tests whether an investment due on a day without trading is made on the next trading day,
+   * and the schedule is kept after it.
+   */
+  @Test
+  public void testPostponedInvestment() {
+    Map<String, Double> proportions = new TreeMap<>();
+    proportions.put("A", 1.0);
+    // due June 1, 4 (Sunday, so June 5), 7, 10 (Saturday, so June 12), 13 and 16
+    BacktestResult result = Backtester.run(june(), new DollarCostAveraging(proportions, 100, 3));
+    assertEquals(600, result.getTotalInvested(), 0);
+    assertEquals(100, result.getInvestedCurve().valueOn(20170602), 0);
+    assertEquals(200, result.getInvestedCurve().valueOn(20170605), 0);
+    assertEquals(300, result.getInvestedCurve().valueOn(20170609), 0);
+    assertEquals(400, result.getInvestedCurve().valueOn(20170612), 0);
+    assertEquals(0, (int) result.getHoldings().get("B"));
+  }
+
+  /**
+   * Tests whether the schedule starts on the requested first date rather than on the first
+   * trading day after it.
+   */
+  @Test
+  public void testScheduleFromRequestedStart() {
+    Map<String, Double> proportions = new TreeMap<>();
+    proportions.put("A", 1.0);
+    // due June 3 (Saturday, so June 5), 6, 9, 12 and 15, not June 5, 8, 11 and 14
+    BacktestResult result = Backtester.run(june(), 20170603, 20170616,
+            new DollarCostAveraging(proportions, 100, 3));
+    assertEquals(500, result.getTotalInvested(), 0);
+    assertEquals(200, result.getInvestedCurve().valueOn(20170606), 0);
+    assertEquals(200, result.getInvestedCurve().valueOn(20170608), 0);
+    assertEquals(300, result.getInvestedCurve().valueOn(20170609), 0);
+    assertEquals(20170615, result.getTrades().getDate(4));
+  }
+
+  /**
+   * Tests whether a strategy can trade on its own rules, and cannot see prices after the day.
+   */
+  @Test
+  public void testCustomStrategy() {
+    BacktestResult result = Backtester.run(june(), new BacktestStrategy() {
+      @Override
+      public void onStart(BacktestContext context) {
+        context.deposit(500);
+      }
+
+      @Override
+      public void onDay(BacktestContext context) {
+        // buy 10 shares of B on the first day, and sell them once it has fallen by 5
+        int b = context.indexOf("B");
+        if (context.getDay() == 0) {
+          context.buy(b, 10);
+        } else if (context.getShares(b) > 0 && context.getClose(b) <= context.getClose(b, 0) - 5) {
+          context.sell(b, 10);
+        }
+      }
+    });
+    assertEquals(500 - 500 + 450, result.getFinalValue(), 1e-9);
+    assertEquals(2, result.getTradeCount());
+  }
+
+  /**
+   * Tests whether the prices after the current day cannot be read.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoLookAhead() {
+    Backtester.run(june(), context -> context.getClose(0, context.getDay() + 1));
+  }
+
+  /**
+   * Tests whether selling shares that are not held is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSellNotHeld() {
+    Backtester.run(june(), context -> context.sell(0, 1));
+  }
+}
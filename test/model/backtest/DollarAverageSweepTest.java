@@ -0,0 +1,125 @@
+package model.backtest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import model.trader.DollarAverageStrategy;
+import model.trader.IBasket;
+import model.trader.StrategizedBasket;
+import utils.AlignedPanel;
+import utils.FakeStockDataRetriever;
+import utils.StockDataRetriever;
+import utils.StockDataRetrievers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for model.backtest.DollarAverageSweep class.
+ */
+public class DollarAverageSweepTest {
+
+  private StockDataRetriever original;
+
+  @Before
+  public void setUp() {
+    original = StockDataRetrievers.getDefault();
+  }
+
+  @After
+  public void tearDown() {
+    StockDataRetrievers.setDefault(original);
+  }
+
+  /**
+   * Return the prices of "A", rising, and "B", falling, on the trading days of January to April
+   * 2017.
+   */
+  private static AlignedPanel prices() {
+    return BacktestPrices.of(20170101, 81, day -> 20 + day * 0.25, day -> 80 - day * 0.25);
+  }
+
+  /**
+   * Tests whether every combination is run as a backtest of its own and valued on the valuation
+   * date, and the results are ranked by profit.
+   */
+  @Test
+  public void testSweep() {
+    Map<String, Double> proportions = new TreeMap<>();
+    proportions.put("A", 0.6);
+    proportions.put("B", 0.4);
+    AlignedPanel panel = prices();
+    double[] moneys = {1000, 2500};
+    int[] periods = {7, 10, 30};
+    int[] starts = {20170101, 20170115, 20170301};
+    int[] ends = {20170131, 20170331};
+    List<SweepResult> results = new DollarAverageSweep(panel, proportions, new ForkJoinPool(4))
+            .run(moneys, periods, starts, ends, 20170430);
+
+    // the start of March is after the end of January
+    assertEquals(2 * 3 * (3 * 2 - 1), results.size());
+    for (int i = 1; i < results.size(); i++) {
+      assertTrue(results.get(i - 1).getProfit() >= results.get(i).getProfit());
+    }
+    // valued on Friday, April 28
+    int last = panel.upperBound(20170430) - 1;
+    assertEquals(20170428, panel.getDate(last));
+    for (SweepResult result : results) {
+      BacktestResult expected = Backtester.run(panel, result.getStartDate(), result.getEndDate(),
+              new DollarCostAveraging(proportions, result.getMoney(), result.getPeriod()));
+      assertEquals(expected.getTotalInvested(), result.getInvested(), 0);
+      double value = expected.getCash() + expected.getHoldings().get("A") * panel.getValue(0, last)
+              + expected.getHoldings().get("B") * panel.getValue(1, last);
+      assertEquals(value, result.getValue(), 1e-9);
+    }
+  }
+
+  /**
+   * Tests whether a combination makes the profit DollarAverageStrategy makes with the same
+   * parameters, including investments postponed from weekends and one on the end date.
+   */
+  @Test
+  public void testAgreesWithDollarAverageStrategy() throws Exception {
+    FakeStockDataRetriever source = new FakeStockDataRetriever();
+    StockDataRetrievers.setDefault(source);
+    IBasket basket = new StrategizedBasket(new GregorianCalendar(2017, 1 - 1, 3));
+    basket.put("SWEEPA", 10);
+    basket.put("SWEEPB", 3);
+
+    // due every 10 days from January 3, February 12 and March 4 falling on weekends, until
+    // March 24, the end date
+    AlignedPanel panel = new Backtester(source).retrieve(Arrays.asList("SWEEPA", "SWEEPB"),
+            20170103, 20170428);
+    List<SweepResult> results = new DollarAverageSweep(panel,
+            new DollarAverageStrategy().getSymbolProportions(basket), ForkJoinPool.commonPool())
+            .run(new double[]{1000}, new int[]{10}, new int[]{20170103}, new int[]{20170324},
+                    20170428);
+    assertEquals(1, results.size());
+    assertEquals(9000, results.get(0).getInvested(), 0);
+
+    double profit = basket.calcProfits(new GregorianCalendar(2017, 1 - 1, 3),
+            new GregorianCalendar(2017, 3 - 1, 24), 1000, 10,
+            new GregorianCalendar(2017, 4 - 1, 28));
+    assertEquals(profit, results.get(0).getProfit(), 1e-6);
+  }
+
+  /**
+   * Tests whether a period of less than 7 days is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testShortPeriod() {
+    Map<String, Double> proportions = new TreeMap<>();
+    proportions.put("A", 1.0);
+    new DollarAverageSweep(prices(), proportions, ForkJoinPool.commonPool())
+            .run(new double[]{1000}, new int[]{5}, new int[]{20170101}, new int[]{20170131},
+                    20170131);
+  }
+}
@@ -0,0 +1,102 @@
+package model.backtest;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import utils.AlignedPanel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for model.backtest.MonteCarloSimulation, BlockBootstrap and
+ * SimulationResult classes.
+ */
+public class MonteCarloSimulationTest {
+
+  /**
+   * Return the prices of "A" and "B", which move by turns, on the trading days of January to
+   * April 2017.
+   */
+  private static AlignedPanel prices() {
+    return BacktestPrices.of(20170101, 81, day -> 20 + day * 0.1 + (day % 3) * 0.5,
+            day -> 80 - day * 0.2 + (day % 5) * 1.5);
+  }
+
+  private static Supplier<BacktestStrategy> dollarAverage() {
+    Map<String, Double> proportions = new TreeMap<>();
+    proportions.put("A", 0.5);
+    proportions.put("B", 0.5);
+    return () -> new DollarCostAveraging(proportions, 1000, 7);
+  }
+
+  /**
+   * Tests whether a path keeps the dates and the first prices of the history, and compounds
+   * historical returns.
+   */
+  @Test
+  public void testSamplePath() {
+    AlignedPanel history = prices();
+    AlignedPanel path = new BlockBootstrap(history, 5).samplePath(new SplittableRandom(1));
+    assertEquals(history.getSymbols(), path.getSymbols());
+    assertArrayEquals(history.getDates(), path.getDates());
+    assertEquals(history.getValue(0, 0), path.getValue(0, 0), 0);
+    assertEquals(history.getValue(1, 0), path.getValue(1, 0), 0);
+
+    // a path of 2 days has a single return, taken from the only historical one
+    AlignedPanel twoDays = AlignedPanel.of(Arrays.asList("A"), new int[]{20170103, 20170104},
+            new double[]{10, 11});
+    AlignedPanel single = new BlockBootstrap(twoDays, 3).samplePath(new SplittableRandom(7));
+    assertEquals(11, single.getValue(0, 1), 1e-9);
+  }
+
+  /**
+   * Tests whether the same seed gives the same profits whatever the number of threads, and a
+   * different seed gives different profits.
+   */
+  @Test
+  public void testDeterministic() {
+    BlockBootstrap bootstrap = new BlockBootstrap(prices(), 10);
+    SimulationResult single = new MonteCarloSimulation(bootstrap, dollarAverage(),
+            new ForkJoinPool(1)).run(200, 42);
+    SimulationResult parallel = new MonteCarloSimulation(bootstrap, dollarAverage(),
+            new ForkJoinPool(4)).run(200, 42);
+    SimulationResult other = new MonteCarloSimulation(bootstrap, dollarAverage(),
+            new ForkJoinPool(4)).run(200, 43);
+    assertEquals(200, single.getPathCount());
+    assertArrayEquals(single.getProfits(), parallel.getProfits(), 0);
+    assertTrue(!Arrays.equals(single.getProfits(), other.getProfits()));
+  }
+
+  /**
+   * Tests the percentiles, the mean and the probability of a loss of given profits.
+   */
+  @Test
+  public void testPercentiles() {
+    SimulationResult result = new SimulationResult(new double[]{30, -10, 10, 0, 20});
+    assertEquals(-10, result.percentile(0), 1e-9);
+    assertEquals(10, result.percentile(50), 1e-9);
+    assertEquals(30, result.percentile(100), 1e-9);
+    assertEquals(-5, result.percentile(12.5), 1e-9);
+    assertEquals(10, result.getMean(), 1e-9);
+    assertEquals(0.2, result.getLossProbability(), 1e-9);
+    assertArrayEquals(new double[]{-10, 0, 10, 20, 30}, result.getProfits(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPercentile() {
+    new SimulationResult(new double[]{1}).percentile(101);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBlockLength() {
+    new BlockBootstrap(prices(), 0);
+  }
+}
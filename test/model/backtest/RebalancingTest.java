@@ -0,0 +1,112 @@
+package model.backtest;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import utils.AlignedPanel;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for model.backtest.Rebalancing class.
+ */
+public class RebalancingTest {
+
+  /**
+   * Return the prices of "A", 10 before the trading day of the given index and 20 from it on,
+   * and of "B", always 20, on the first 20 trading days of 2017.
+   */
+  private static AlignedPanel prices(int jump) {
+    return BacktestPrices.of(20170101, 20, day -> day < jump ? 10 : 20, day -> 20);
+  }
+
+  /**
+   * Return the targets of half "A" and half "B".
+   */
+  private static Map<String, Double> halves() {
+    Map<String, Double> targets = new TreeMap<>();
+    targets.put("a", 1.0);
+    targets.put("B", 1.0);
+    return targets;
+  }
+
+  /**
+   * Tests whether every deposit is spent in the target proportions when no rebalancing is due,
+   * postponing the deposits due on January 1 and 16, 2017 to the next trading days.
+   */
+  @Test
+  public void testDeposits() {
+    BacktestResult result = Backtester.run(prices(20), 20170101, 20170128,
+            TransactionCosts.NONE, new Rebalancing(halves(), 1000, 7, 0, 0));
+    assertEquals(200, (int) result.getHoldings().get("A"));
+    assertEquals(100, (int) result.getHoldings().get("B"));
+    assertEquals(0, result.getCash(), 1e-9);
+    assertEquals(4000, result.getTotalInvested(), 0);
+    TradeLedger trades = result.getTrades();
+    assertEquals(8, trades.size());
+    assertEquals(20170103, trades.getDate(0));
+    assertEquals(20170117, trades.getDate(4));
+  }
+
+  /**
+   * Tests whether a scheduled rebalancing sells the stock above its target and buys the one
+   * below it, on the first trading day on or after it is due.
+   */
+  @Test
+  public void testScheduledRebalancing() {
+    BacktestResult result = Backtester.run(prices(6), 20170101, 20170120,
+            TransactionCosts.NONE, new Rebalancing(halves(), 1000, 365, 14, 0));
+    // 50 A and 25 B are worth 1500 after A doubles, so each should be worth 750
+    assertEquals(37, (int) result.getHoldings().get("A"));
+    assertEquals(37, (int) result.getHoldings().get("B"));
+    assertEquals(20, result.getCash(), 1e-9);
+    TradeLedger trades = result.getTrades();
+    assertEquals(4, trades.size());
+    // due Sunday, January 15, and Monday is Martin Luther King Jr. Day
+    assertEquals(20170117, trades.getDate(2));
+    assertEquals(-13, trades.getShares(2));
+    assertEquals(12, trades.getShares(3));
+  }
+
+  /**
+   * Tests whether a drift beyond the threshold rebalances on the day it happens.
+   */
+  @Test
+  public void testDriftRebalancing() {
+    BacktestResult result = Backtester.run(prices(6), 20170101, 20170120,
+            TransactionCosts.NONE, new Rebalancing(halves(), 1000, 365, 0, 0.1));
+    assertEquals(37, (int) result.getHoldings().get("A"));
+    assertEquals(37, (int) result.getHoldings().get("B"));
+    assertEquals(20170111, result.getTrades().getDate(2));
+  }
+
+  /**
+   * Tests whether buying pays half the spread, the slippage and the commissions, and never
+   * spends more than the cash held.
+   */
+  @Test
+  public void testCosts() {
+    Map<String, Double> targets = new TreeMap<>();
+    targets.put("A", 1.0);
+    BacktestResult result = Backtester.run(prices(20), 20170103, 20170103,
+            new TransactionCosts(1, 0.01, 0.02, 0), new Rebalancing(targets, 1000, 7, 0, 0));
+    // (1000 - 1) / (10.1 + 0.01) buys 98 shares
+    assertEquals(98, (int) result.getHoldings().get("A"));
+    assertEquals(1000 - 98 * 10.1 - 1.98, result.getCash(), 1e-9);
+    assertEquals(10.1, result.getTrades().getPrice(0), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeThreshold() {
+    new Rebalancing(halves(), 1000, 7, 30, -0.1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoTargets() {
+    Map<String, Double> targets = new TreeMap<>();
+    targets.put("A", 0.0);
+    new Rebalancing(targets, 1000, 7, 30, 0);
+  }
+}
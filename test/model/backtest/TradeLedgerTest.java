@@ -0,0 +1,55 @@
+package model.backtest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for model.backtest.TradeLedger class.
+ */
+public class TradeLedgerTest {
+
+  /**
+   * Tests whether trades are kept in order with ids given to symbols as they first trade, beyond
+   * the initial size of the columns.
+   */
+  @Test
+  public void testRecord() {
+    TradeLedger ledger = new TradeLedger();
+    for (int i = 0; i < 40; i++) {
+      ledger.record(20170601 + i, i % 3 == 0 ? "GOOG" : "AAPL", i + 1, 100 + i * 0.5);
+    }
+    assertEquals(40, ledger.size());
+    assertEquals(2, ledger.getSymbols().size());
+    assertEquals("GOOG", ledger.getSymbols().get(0));
+    assertEquals(0, ledger.getSymbolId(39));
+    assertEquals("AAPL", ledger.getSymbol(38));
+    assertEquals(20170630, ledger.getDate(29));
+    assertEquals(30, ledger.getShares(29));
+    assertEquals(114.5, ledger.getPrice(29), 0);
+  }
+
+  /**
+   * Tests whether a copy is not changed by trades recorded after it.
+   */
+  @Test
+  public void testCopy() {
+    TradeLedger ledger = new TradeLedger();
+    ledger.record(20170601, "AAPL", 10, 153.5);
+    TradeLedger copy = ledger.copy();
+    ledger.record(20170602, "GOOG", -2, 975.6);
+    assertEquals(1, copy.size());
+    assertEquals(1, copy.getSymbols().size());
+    assertEquals(2, ledger.size());
+  }
+
+  /**
+   * Tests whether a trade that has not been recorded cannot be read.
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testOutOfRange() {
+    TradeLedger ledger = new TradeLedger();
+    ledger.record(20170601, "AAPL", 10, 153.5);
+    ledger.getDate(1);
+  }
+}
@@ -0,0 +1,29 @@
+package model.backtest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for model.backtest.TransactionCosts class.
+ */
+public class TransactionCostsTest {
+
+  /**
+   * Tests whether buying pays half the spread and the slippage, selling loses them, and the
+   * commission is paid on the number of shares either way.
+   */
+  @Test
+  public void testCosts() {
+    TransactionCosts costs = new TransactionCosts(1, 0.01, 0.02, 0);
+    assertEquals(10.1, costs.buyPrice(10), 1e-9);
+    assertEquals(9.9, costs.sellPrice(10), 1e-9);
+    assertEquals(2, costs.commission(-100), 1e-9);
+    assertEquals(0, costs.commission(0), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCost() {
+    new TransactionCosts(1, -0.01, 0, 0);
+  }
+}
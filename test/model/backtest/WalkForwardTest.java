@@ -0,0 +1,148 @@
+package model.backtest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import utils.AlignedPanel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for model.backtest.WalkForward and WalkForwardResult classes.
+ */
+public class WalkForwardTest {
+
+  /**
+   * Return the prices of "A", rising for 75 trading days from the start of 2017 and falling
+   * after them, and of "B", doing the opposite, on 150 trading days.
+   */
+  private static AlignedPanel prices() {
+    return BacktestPrices.of(20170101, 150, day -> 100 - Math.abs(day - 75) * 0.5,
+            day -> 50 + Math.abs(day - 75) * 0.25);
+  }
+
+  private static List<DollarAverageParameters> candidates() {
+    List<DollarAverageParameters> candidates = new ArrayList<>();
+    Map<String, Double> onlyA = new TreeMap<>();
+    onlyA.put("A", 1.0);
+    Map<String, Double> onlyB = new TreeMap<>();
+    onlyB.put("B", 1.0);
+    candidates.add(new DollarAverageParameters(onlyA, 1000, 7));
+    candidates.add(new DollarAverageParameters(onlyB, 1000, 7));
+    return candidates;
+  }
+
+  /**
+   * Tests whether the windows roll by the test days, and each of them chooses the stock that
+   * rose on its training days.
+   */
+  @Test
+  public void testWindows() {
+    AlignedPanel panel = prices();
+    WalkForwardResult<DollarAverageParameters> result = new WalkForward<>(panel,
+            candidates(), DollarAverageParameters::newStrategy, new ForkJoinPool(4))
+            .run(30, 20);
+    List<WalkForwardWindow<DollarAverageParameters>> windows = result.getWindows();
+    // (150 - 30) / 20 whole test windows
+    assertEquals(6, windows.size());
+    assertEquals(20170103, windows.get(0).getTrainStart());
+    for (int i = 0; i < windows.size(); i++) {
+      WalkForwardWindow<DollarAverageParameters> window = windows.get(i);
+      assertEquals(panel.getDate(i * 20), window.getTrainStart());
+      assertEquals(panel.getDate(i * 20 + 29), window.getTrainEnd());
+      assertEquals(panel.getDate(i * 20 + 30), window.getTestStart());
+      assertEquals(panel.getDate(i * 20 + 49), window.getTestEnd());
+    }
+    assertTrue(windows.get(0).getParameters().getProportions().containsKey("A"));
+    assertTrue(windows.get(5).getParameters().getProportions().containsKey("B"));
+
+    double profit = 0;
+    double invested = 0;
+    for (WalkForwardWindow<DollarAverageParameters> window : windows) {
+      profit += window.getTest().getProfit();
+      invested += window.getTest().getTotalInvested();
+    }
+    assertEquals(profit, result.getTotalProfit(), 1e-9);
+    assertEquals(invested, result.getTotalInvested(), 1e-9);
+    assertEquals(profit / invested, result.getTotalReturn(), 1e-12);
+  }
+
+  /**
+   * Tests whether a window runs the same backtests whatever the number of threads.
+   */
+  @Test
+  public void testDeterministic() {
+    AlignedPanel panel = prices();
+    WalkForwardResult<DollarAverageParameters> single = new WalkForward<>(panel, candidates(),
+            DollarAverageParameters::newStrategy, new ForkJoinPool(1)).run(40, 10);
+    WalkForwardResult<DollarAverageParameters> parallel = new WalkForward<>(panel, candidates(),
+            DollarAverageParameters::newStrategy, new ForkJoinPool(4)).run(40, 10);
+    assertEquals(single.getWindows().size(), parallel.getWindows().size());
+    assertEquals(single.getTotalProfit(), parallel.getTotalProfit(), 0);
+    assertEquals(single.getMeanTestReturn(), parallel.getMeanTestReturn(), 0);
+  }
+
+  /**
+   * Tests whether no window is run when the prices are shorter than a training and a test.
+   */
+  @Test
+  public void testTooShort() {
+    WalkForwardResult<DollarAverageParameters> result = new WalkForward<>(prices(),
+            candidates(), DollarAverageParameters::newStrategy, new ForkJoinPool(2))
+            .run(140, 20);
+    assertTrue(result.getWindows().isEmpty());
+    assertEquals(0, result.getTotalReturn(), 0);
+  }
+
+  /**
+   * Tests whether the first candidate is chosen when no training return is a number.
+   */
+  @Test
+  public void testNoComparableReturn() {
+    WalkForwardResult<String> result = new WalkForward<>(prices(), Arrays.asList("x", "y"),
+            candidate -> context -> context.deposit(Double.NaN), new ForkJoinPool(2))
+            .run(30, 20);
+    assertEquals(6, result.getWindows().size());
+    for (WalkForwardWindow<String> window : result.getWindows()) {
+      assertEquals("x", window.getParameters());
+      assertTrue(Double.isNaN(window.getTrainReturn()));
+    }
+  }
+
+  /**
+   * Tests whether the proportions of the parameters are scaled to add up to 1, with symbols in
+   * upper case.
+   */
+  @Test
+  public void testParametersNormalized() {
+    Map<String, Double> proportions = new TreeMap<>();
+    proportions.put("a", 3.0);
+    proportions.put("B", 1.0);
+    DollarAverageParameters parameters = new DollarAverageParameters(proportions, 1000, 7);
+    assertEquals(0.75, parameters.getProportions().get("A"), 0);
+    assertEquals(0.25, parameters.getProportions().get("B"), 0);
+  }
+
+  /**
+   * Tests whether proportions that are all 0 are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testParametersAllZero() {
+    Map<String, Double> proportions = new TreeMap<>();
+    proportions.put("A", 0.0);
+    new DollarAverageParameters(proportions, 1000, 7);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoCandidate() {
+    new WalkForward<>(prices(), new ArrayList<DollarAverageParameters>(),
+            DollarAverageParameters::newStrategy, new ForkJoinPool(1));
+  }
+}
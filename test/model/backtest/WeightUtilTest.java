@@ -0,0 +1,43 @@
+package model.backtest;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for model.backtest.WeightUtil class.
+ */
+public class WeightUtilTest {
+
+  /**
+   * Tests whether the weights are scaled to add up to 1, by symbol in upper case.
+   */
+  @Test
+  public void testNormalizeWeights() {
+    Map<String, Double> weights = new TreeMap<>();
+    weights.put("a", 3.0);
+    weights.put("B", 1.0);
+    weights.put("C", 0.0);
+    Map<String, Double> normalized = WeightUtil.normalizeWeights(weights);
+    assertEquals(3, normalized.size());
+    assertEquals(0.75, normalized.get("A"), 0);
+    assertEquals(0.25, normalized.get("B"), 0);
+    assertEquals(0, normalized.get("C"), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeWeight() {
+    Map<String, Double> weights = new TreeMap<>();
+    weights.put("A", 1.0);
+    weights.put("B", -0.5);
+    WeightUtil.normalizeWeights(weights);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoWeight() {
+    WeightUtil.normalizeWeights(new TreeMap<>());
+  }
+}
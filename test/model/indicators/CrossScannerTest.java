@@ -0,0 +1,145 @@
+package model.indicators;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import utils.PriceRecord;
+import utils.StockDataRetriever;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for model.indicators.CrossScanner class.
+ */
+public class CrossScannerTest {
+  private StockDataRetriever source;
+
+  /**
+   * Return the closing price of the given stock on the given day of 2017, falling and rising in
+   * waves whose length depends on the stock. "BAD" has no price.
+   */
+  private static double price(String symbol, int dayOfYear) {
+    int period = 10 + symbol.charAt(0) % 7;
+    return 100 + 10 * Math.sin(2 * Math.PI * dayOfYear / period) + dayOfYear / 50.0;
+  }
+
+  @Before
+  public void setUp() {
+    source = new StockDataRetriever() {
+      @Override
+      public double getCurrentPrice(String stockSymbol) {
+        return 0;
+      }
+
+      @Override
+      public String getName(String stockSymbol) {
+        return stockSymbol;
+      }
+
+      @Override
+      public Map<Integer, PriceRecord> getHistoricalPrices(String stockSymbol, int fromDate,
+                                                           int fromMonth, int fromYear,
+                                                           int toDate, int toMonth, int toYear)
+              throws Exception {
+        if (stockSymbol.equals("BAD")) {
+          throw new Exception("no such stock");
+        }
+        Map<Integer, PriceRecord> prices = new TreeMap<>();
+        Calendar date = new GregorianCalendar(Math.max(fromYear, 2017),
+                fromYear < 2017 ? 0 : fromMonth - 1, fromYear < 2017 ? 1 : fromDate);
+        Calendar end = new GregorianCalendar(toYear, toMonth - 1, toDate);
+        while (!date.after(end) && date.get(Calendar.YEAR) == 2017) {
+          double close = Math.round(price(stockSymbol, date.get(Calendar.DAY_OF_YEAR)) * 100)
+                  / 100.0;
+          prices.put(date.get(Calendar.YEAR) * 10000 + (date.get(Calendar.MONTH) + 1) * 100
+                  + date.get(Calendar.DAY_OF_MONTH), new PriceRecord(close, close, close, close));
+          date.add(Calendar.DAY_OF_YEAR, 1);
+        }
+        return prices;
+      }
+    };
+  }
+
+  /**
+   * Return the crosses of the given stock found day by day, the way isBuyingOpportunity compares
+   * the averages of each day.
+   */
+  private static List<CrossEvent> expectedCrosses(String symbol, int fromDayOfYear,
+                                                  int toDayOfYear, int shortDays, int longDays) {
+    List<CrossEvent> crosses = new ArrayList<>();
+    Boolean above = null;
+    for (int day = Math.max(fromDayOfYear - 1, longDays); day <= toDayOfYear; day++) {
+      double shortAverage = average(symbol, day, shortDays);
+      double longAverage = average(symbol, day, longDays);
+      boolean nowAbove = shortAverage > longAverage;
+      if (above != null && nowAbove != above) {
+        Calendar date = new GregorianCalendar(2017, 0, 1);
+        date.add(Calendar.DAY_OF_YEAR, day - 1);
+        crosses.add(new CrossEvent(symbol, 20170000 + (date.get(Calendar.MONTH) + 1) * 100
+                + date.get(Calendar.DAY_OF_MONTH),
+                nowAbove ? CrossEvent.Type.GOLDEN : CrossEvent.Type.DEATH,
+                shortAverage, longAverage));
+      }
+      above = nowAbove;
+    }
+    return crosses;
+  }
+
+  private static double average(String symbol, int dayOfYear, int days) {
+    double sum = 0;
+    for (int day = dayOfYear; day > dayOfYear - days; day--) {
+      sum += Math.round(price(symbol, day) * 100) / 100.0;
+    }
+    return Math.round(sum * 100 / days) / 100.0;
+  }
+
+  /**
+   * Tests whether every stock gets the crosses found day by day, however the stocks are split.
+   */
+  @Test
+  public void testScan() {
+    List<String> symbols = Arrays.asList("aapl", "MSFT", "GOOG", "IBM", "AMZN", "FB", "T",
+            "ORCL", "INTC", "CSCO");
+    CrossScanner scanner = new CrossScanner(source, 3, 8, new ForkJoinPool(3));
+    // from March 1st, the 60th day, to June 30th, the 181st
+    Map<String, List<CrossEvent>> crosses = scanner.scan(symbols, 20170301, 20170630);
+    assertEquals(symbols.size(), crosses.size());
+    for (String symbol : symbols) {
+      List<CrossEvent> expected = expectedCrosses(symbol.toUpperCase(), 60, 181, 3, 8);
+      assertTrue(expected.size() > 5);
+      assertEquals(expected, crosses.get(symbol.toUpperCase()));
+    }
+  }
+
+  /**
+   * Tests whether a range without enough history before it starts where the long average does,
+   * and a stock without prices has no cross.
+   */
+  @Test
+  public void testNotEnoughHistory() {
+    CrossScanner scanner = new CrossScanner(source, 3, 8, ForkJoinPool.commonPool());
+    Map<String, List<CrossEvent>> crosses = scanner.scan(Arrays.asList("IBM", "BAD"),
+            20170101, 20170331);
+    assertEquals(expectedCrosses("IBM", 1, 90, 3, 8), crosses.get("IBM"));
+    assertEquals(Collections.emptyList(), crosses.get("BAD"));
+  }
+
+  /**
+   * Tests whether a short average that is not shorter than the long one is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWindows() {
+    new CrossScanner(source, 200, 50, ForkJoinPool.commonPool());
+  }
+}
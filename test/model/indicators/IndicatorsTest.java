@@ -0,0 +1,168 @@
+package model.indicators;
+
+import org.junit.Test;
+
+import utils.PriceRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for model.indicators.Indicators class.
+ */
+public class IndicatorsTest {
+  private static final double[] CLOSE = {44.34, 44.09, 44.15, 43.61, 44.33, 44.83, 45.10, 45.42,
+      45.84, 46.08, 45.89, 46.03, 45.61, 46.28, 46.28, 46.00, 46.03, 46.41, 46.22, 45.64};
+
+  /**
+   * Tests whether the relative strength index is 100 without losses, 0 without gains, and matches
+   * the average gain and loss otherwise.
+   */
+  @Test
+  public void testRsi() {
+    double[] out = new double[5];
+    Indicators.rsi(new double[]{1, 2, 3, 4, 5}, 2, out);
+    assertTrue(Double.isNaN(out[1]));
+    assertEquals(100, out[2], 0);
+    assertEquals(100, out[4], 0);
+
+    Indicators.rsi(new double[]{5, 4, 3, 2, 1}, 2, out);
+    assertEquals(0, out[4], 0);
+
+    // gains 1, 0 and losses 0, 2: averages 0.5 and 1, then (0.5 + 1) / 2 and (1 + 0) / 2
+    Indicators.rsi(new double[]{1, 2, 0, 1}, 2, out);
+    assertEquals(100 - 100 / (1 + 0.5 / 1), out[2], 1e-12);
+    assertEquals(100 - 100 / (1 + 0.75 / 0.5), out[3], 1e-12);
+  }
+
+  /**
+   * Tests whether the convergence divergence is the difference of the fast and slow exponential
+   * averages, as the rolling exponential averages compute them.
+   */
+  @Test
+  public void testMacd() {
+    int n = CLOSE.length;
+    double[] macd = new double[n];
+    double[] signal = new double[n];
+    double[] histogram = new double[n];
+    Indicators.macd(CLOSE, 3, 6, 4, macd, signal, histogram);
+
+    ExponentialAverage fast = new ExponentialAverage(3);
+    ExponentialAverage slow = new ExponentialAverage(6);
+    ExponentialAverage signalAverage = new ExponentialAverage(4);
+    for (int i = 0; i < n; i++) {
+      fast.advance(i + 1, CLOSE[i]);
+      slow.advance(i + 1, CLOSE[i]);
+      if (!slow.isReady()) {
+        assertTrue(Double.isNaN(macd[i]));
+        continue;
+      }
+      double difference = fast.getValue() - slow.getValue();
+      signalAverage.advance(i + 1, difference);
+      assertEquals(difference, macd[i], 1e-9);
+      if (signalAverage.isReady()) {
+        assertEquals(signalAverage.getValue(), signal[i], 1e-9);
+        assertEquals(difference - signalAverage.getValue(), histogram[i], 1e-9);
+      } else {
+        assertTrue(Double.isNaN(signal[i]));
+      }
+    }
+    assertTrue(Double.isNaN(signal[7]));
+    assertFalse(Double.isNaN(signal[8]));
+  }
+
+  /**
+   * Tests whether the bands are the average plus and minus k standard deviations of each window.
+   */
+  @Test
+  public void testBollinger() {
+    int n = CLOSE.length;
+    double[] middle = new double[n];
+    double[] upper = new double[n];
+    double[] lower = new double[n];
+    Indicators.bollinger(CLOSE, 5, 2, middle, upper, lower);
+    assertTrue(Double.isNaN(middle[3]));
+    for (int i = 4; i < n; i++) {
+      double mean = 0;
+      for (int j = i - 4; j <= i; j++) {
+        mean += CLOSE[j] / 5;
+      }
+      double variance = 0;
+      for (int j = i - 4; j <= i; j++) {
+        variance += (CLOSE[j] - mean) * (CLOSE[j] - mean) / 5;
+      }
+      assertEquals(mean, middle[i], 1e-9);
+      assertEquals(mean + 2 * Math.sqrt(variance), upper[i], 1e-9);
+      assertEquals(mean - 2 * Math.sqrt(variance), lower[i], 1e-9);
+    }
+  }
+
+  /**
+   * Tests whether the average true range accounts for gaps from the previous close, and whether
+   * price records give the same ranges as arrays.
+   */
+  @Test
+  public void testAtr() {
+    double[] high = {10, 11, 15, 12};
+    double[] low = {9, 10, 13, 11};
+    double[] close = {9.5, 10.5, 14, 11.5};
+    double[] out = new double[4];
+    Indicators.atr(high, low, close, 2, out);
+    // ranges 1, 1.5 (11 - 9.5), 4.5 (15 - 10.5), 3 (14 - 11)
+    assertTrue(Double.isNaN(out[0]));
+    assertEquals(1.25, out[1], 1e-12);
+    assertEquals((1.25 + 4.5) / 2, out[2], 1e-12);
+    assertEquals((2.875 + 3) / 2, out[3], 1e-12);
+
+    PriceRecord[] records = new PriceRecord[4];
+    for (int i = 0; i < 4; i++) {
+      records[i] = new PriceRecord(0, close[i], low[i], high[i]);
+    }
+    double[] fromRecords = new double[4];
+    Indicators.atr(records, 2, fromRecords);
+    for (int i = 1; i < 4; i++) {
+      assertEquals(out[i], fromRecords[i], 0);
+    }
+  }
+
+  /**
+   * Tests whether %K places the close within the range of the window and %D averages it.
+   */
+  @Test
+  public void testStochastic() {
+    double[] high = {10, 12, 11, 13};
+    double[] low = {8, 9, 9, 10};
+    double[] close = {9, 11, 10, 13};
+    double[] k = new double[4];
+    double[] d = new double[4];
+    Indicators.stochastic(high, low, close, 2, 2, k, d);
+    assertTrue(Double.isNaN(k[0]));
+    assertEquals(100 * (11 - 8) / 4.0, k[1], 1e-12);
+    assertEquals(100 * (10 - 9) / 3.0, k[2], 1e-12);
+    assertEquals(100, k[3], 1e-12);
+    assertTrue(Double.isNaN(d[1]));
+    assertEquals((k[1] + k[2]) / 2, d[2], 1e-12);
+    assertEquals((k[2] + k[3]) / 2, d[3], 1e-12);
+  }
+
+  /**
+   * Tests whether the rate of change is the percent change since n days before.
+   */
+  @Test
+  public void testRateOfChange() {
+    double[] out = new double[4];
+    Indicators.rateOfChange(new double[]{50, 40, 55, 60}, 2, out);
+    assertTrue(Double.isNaN(out[1]));
+    assertEquals(10, out[2], 1e-12);
+    assertEquals(50, out[3], 1e-12);
+  }
+
+  /**
+   * Tests whether an output array shorter than the prices is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testShortOutput() {
+    Indicators.rateOfChange(CLOSE, 2, new double[CLOSE.length - 1]);
+  }
+}
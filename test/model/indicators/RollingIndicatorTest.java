@@ -0,0 +1,109 @@
+package model.indicators;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import utils.PriceRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for the rolling indicators of the model.indicators package.
+ */
+public class RollingIndicatorTest {
+
+  private static double[] randomPrices(int n) {
+    Random random = new Random(7);
+    double[] prices = new double[n];
+    double price = 100;
+    for (int i = 0; i < n; i++) {
+      price = Math.max(1, price + random.nextGaussian());
+      prices[i] = Math.round(price * 100) / 100.0;
+    }
+    return prices;
+  }
+
+  /**
+   * Tests whether every rolling indicator agrees, day after day, with the value computed from the
+   * whole window.
+   */
+  @Test
+  public void testSameAsWholeWindow() {
+    double[] prices = randomPrices(1000);
+    int n = 20;
+    RollingAverage average = new RollingAverage(n);
+    RollingMaximum maximum = new RollingMaximum(n);
+    RollingMinimum minimum = new RollingMinimum(n);
+    RollingSlope slope = new RollingSlope(n);
+
+    for (int i = 0; i < prices.length; i++) {
+      average.advance(i + 1, prices[i]);
+      maximum.advance(i + 1, prices[i]);
+      minimum.advance(i + 1, prices[i]);
+      slope.advance(i + 1, prices[i]);
+      if (i + 1 < n) {
+        assertFalse(average.isReady());
+        assertTrue(Double.isNaN(slope.getValue()));
+        continue;
+      }
+
+      double sum = 0;
+      double max = Double.NEGATIVE_INFINITY;
+      double min = Double.POSITIVE_INFINITY;
+      double sumXY = 0;
+      for (int j = 0; j < n; j++) {
+        double p = prices[i - n + 1 + j];
+        sum += p;
+        max = Math.max(max, p);
+        min = Math.min(min, p);
+        sumXY += j * p;
+      }
+      double meanX = (n - 1) / 2.0;
+      double sumXX = 0;
+      for (int j = 0; j < n; j++) {
+        sumXX += (j - meanX) * (j - meanX);
+      }
+      double expectedSlope = (sumXY - meanX * sum) / sumXX;
+
+      assertEquals(sum / n, average.getValue(), 1e-9);
+      assertEquals(max, maximum.getValue(), 0);
+      assertEquals(min, minimum.getValue(), 0);
+      assertEquals(expectedSlope, slope.getValue(), 1e-9);
+      assertEquals(i + 1, average.getDate());
+    }
+  }
+
+  /**
+   * Tests whether the exponential average starts from the simple average of the first n days.
+   */
+  @Test
+  public void testExponentialAverage() {
+    ExponentialAverage average = new ExponentialAverage(3);
+    average.advance(20170605, new PriceRecord(0, 1, 0, 0));
+    average.advance(20170606, new PriceRecord(0, 2, 0, 0));
+    assertFalse(average.isReady());
+    average.advance(20170607, new PriceRecord(0, 3, 0, 0));
+    assertEquals(2, average.getValue(), 1e-12);
+    average.advance(20170608, new PriceRecord(0, 4, 0, 0));
+    assertEquals(3, average.getValue(), 1e-12);
+
+    IndicatorSnapshot snapshot = average.snapshot();
+    average.advance(20170609, 5);
+    assertEquals(20170608, snapshot.getDate());
+    assertEquals(3, snapshot.getValue(), 1e-12);
+    assertEquals(4, average.getValue(), 1e-12);
+  }
+
+  /**
+   * Tests whether a day that is not after the last one is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDaysOutOfOrder() {
+    RollingAverage average = new RollingAverage(5);
+    average.advance(20170606, 1);
+    average.advance(20170606, 2);
+  }
+}
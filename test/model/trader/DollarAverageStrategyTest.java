@@ -1,9 +1,19 @@
 package model.trader;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import utils.FakeStockDataRetriever;
+import utils.PriceRecord;
+import utils.StockDataRetriever;
+import utils.StockDataRetrievers;
 
 import static org.junit.Assert.assertEquals;
 
@@ -11,6 +21,78 @@ import static org.junit.Assert.assertEquals;
  * This class represents a junit test for DollarAverageStrategy class.
  */
 public class DollarAverageStrategyTest {
+  private StockDataRetriever original;
+
+  @Before
+  public void setUp() {
+    original = StockDataRetrievers.getDefault();
+  }
+
+  @After
+  public void tearDown() {
+    StockDataRetrievers.setDefault(original);
+  }
+
+  /**
+   * Test the investments against a fake retriever: the one due on July 4, 2017, a holiday, is
+   * made on July 5, the one due on the end date is made and counted, and only the money spent on
+   * shares is counted as invested.
+   */
+  @Test
+  public void testFakeRetriever() throws Exception {
+    StockDataRetrievers.setDefault(new FakeStockDataRetriever());
+    IBasket plain = new Basket(new GregorianCalendar(2017, 6 - 1, 1));
+    plain.put("DCAONE", 20);
+    plain.put("DCATWO", 5);
+
+    double one = 20 * FakeStockDataRetriever.closeOf("DCAONE", 20170601);
+    double two = 5 * FakeStockDataRetriever.closeOf("DCATWO", 20170601);
+    double money = 1000;
+    int shareOne = 0;
+    int shareTwo = 0;
+    double invested = 0;
+    for (int date : new int[]{20170627, 20170705, 20170711, 20170718}) {
+      double closeOne = FakeStockDataRetriever.closeOf("DCAONE", date);
+      double closeTwo = FakeStockDataRetriever.closeOf("DCATWO", date);
+      int boughtOne = (int) Math.round(one / (one + two) * money / closeOne);
+      int boughtTwo = (int) Math.round(two / (one + two) * money / closeTwo);
+      shareOne += boughtOne;
+      shareTwo += boughtTwo;
+      invested += boughtOne * closeOne + boughtTwo * closeTwo;
+    }
+
+    InvestmentResult result = new DollarAverageStrategy().invest(plain,
+            new GregorianCalendar(2017, 6 - 1, 27), new GregorianCalendar(2017, 7 - 1, 18),
+            money, 7, new GregorianCalendar(2017, 7 - 1, 22));
+    assertEquals(shareOne, (int) result.getHoldings().get("DCAONE"));
+    assertEquals(shareTwo, (int) result.getHoldings().get("DCATWO"));
+    assertEquals(invested, result.getInvested(), 1e-6);
+    assertEquals(8, result.getTrades().size());
+    assertEquals(20170705, result.getTrades().getDate(2));
+    // valued at the closing prices of Friday, July 21
+    assertEquals(20170722, result.getValuationDate());
+    assertEquals(shareOne * FakeStockDataRetriever.closeOf("DCAONE", 20170721)
+            + shareTwo * FakeStockDataRetriever.closeOf("DCATWO", 20170721),
+            result.getValue(), 1e-6);
+  }
+
+  /**
+   * Test a stock whose prices the retriever leaves out is reported as missing data.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingSeries() throws Exception {
+    StockDataRetrievers.setDefault(new FakeStockDataRetriever() {
+      @Override
+      public Map<String, Map<Integer, PriceRecord>> getHistoricalPrices(
+              Set<String> stockSymbols, int fromDate, int fromMonth, int fromYear, int toDate,
+              int toMonth, int toYear) {
+        return new TreeMap<>();
+      }
+    });
+    IBasket plain = new Basket(new GregorianCalendar(2017, 6 - 1, 1));
+    plain.put("DCATHREE", 20);
+    new DollarAverageStrategy().getProportions(plain);
+  }
 
   /**
    * Test the last investment is on non-business day, but next business day is available.
@@ -35,8 +117,9 @@ public class DollarAverageStrategyTest {
 
     IBasket resultBasket;
     double resultMoney;
-    resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    resultBasket = result.getBasket();
+    resultMoney = result.getInvested();
 
     assertEquals(expected.toString(), resultBasket.toString());
     assertEquals(49252.57, resultMoney, 0.001);
@@ -63,15 +146,17 @@ public class DollarAverageStrategyTest {
     expected.put("aapl", 132);
     expected.put("goog", 31);
 
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
 
     assertEquals(expected.toString(), resultBasket.toString());
     assertEquals(49252.57, resultMoney, 0.001);
   }
 
   /**
-   * Test the last investment is on business day, and on the endDate.
+   * Test the last investment is on business day, and on the endDate, where it is counted as
+   * invested like the others, so that it matches ending a day later.
    */
   @Test
   public void test3() throws Exception {
@@ -90,12 +175,13 @@ public class DollarAverageStrategyTest {
     expected.put("goog", 18);
 
     Strategy dollarAvg = new DollarAverageStrategy();
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
 
 
     assertEquals(expected.toString(), resultBasket.toString());
-    assertEquals(19714.58, resultMoney, 0.001);
+    assertEquals(29408.56, resultMoney, 0.001);
   }
 
 
@@ -120,8 +206,9 @@ public class DollarAverageStrategyTest {
     expected.put("aapl", 80);
     expected.put("goog", 18);
 
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
 
     assertEquals(expected.toString(), resultBasket.toString());
     assertEquals(29408.56, resultMoney, 0.001);
@@ -149,8 +236,9 @@ public class DollarAverageStrategyTest {
     expected.put("aapl", 245);
     expected.put("goog", 59);
 
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
 
 
     assertEquals(expected.toString(), resultBasket.toString());
@@ -174,8 +262,9 @@ public class DollarAverageStrategyTest {
 
     Strategy dollarAvg = new DollarAverageStrategy();
 
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
   }
 
   /**
@@ -195,8 +284,9 @@ public class DollarAverageStrategyTest {
 
     Strategy dollarAvg = new DollarAverageStrategy();
 
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
   }
 
   /**
@@ -216,8 +306,9 @@ public class DollarAverageStrategyTest {
 
     Strategy dollarAvg = new DollarAverageStrategy();
 
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
   }
 
   /**
@@ -237,8 +328,9 @@ public class DollarAverageStrategyTest {
 
     Strategy dollarAvg = new DollarAverageStrategy();
 
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
   }
 
   /**
@@ -258,7 +350,8 @@ public class DollarAverageStrategyTest {
 
     Strategy dollarAvg = new DollarAverageStrategy();
 
-    IBasket resultBasket = (IBasket)dollarAvg.invest(plain, start, end, money, period).get(0);
-    double resultMoney = (Double)dollarAvg.invest(plain, start, end, money, period).get(1);
+    InvestmentResult result = dollarAvg.invest(plain, start, end, money, period);
+    IBasket resultBasket = result.getBasket();
+    double resultMoney = result.getInvested();
   }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package model.trader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import utils.FakeStockDataRetriever;
+import utils.MovingAverages;
+import utils.PriceSeries;
+import utils.StockDataRetriever;
+import utils.StockDataRetrievers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for the moving average sets of model.trader.Model class, against a fake
+ * retriever set as the shared one.
+ */
+public class MovingAverageSetTest {
+  private StockDataRetriever original;
+
+  @Before
+  public void setUp() {
+    original = StockDataRetrievers.getDefault();
+    StockDataRetrievers.setDefault(new FakeStockDataRetriever());
+  }
+
+  @After
+  public void tearDown() {
+    StockDataRetrievers.setDefault(original);
+  }
+
+  private static void assertSeries(PriceSeries expected, PriceSeries actual) {
+    assertArrayEquals(expected.getDates(), actual.getDates());
+    assertArrayEquals(expected.getValues(), actual.getValues(), 0);
+  }
+
+  /**
+   * Tests whether the averages of a stock are the ones of MovingAverages.simple over prices
+   * retrieved as far back as needed.
+   */
+  @Test
+  public void testStock() throws Exception {
+    Calendar start = new GregorianCalendar(2017, 6 - 1, 1);
+    Calendar end = new GregorianCalendar(2017, 8 - 1, 31);
+    MovingAverageSet set = new Model().stockPricesAndMovingAverages("MASTOCK", start, end,
+            5, 50);
+
+    IStock stock = StockRegistry.get("MASTOCK");
+    PriceSeries history = stock.getClosingPriceSeries(new GregorianCalendar(2017, 1 - 1, 1),
+            end);
+    assertSeries(history.slice(20170601, 20170831), set.getPrices());
+    assertSeries(MovingAverages.simple(history, 20170601, 5), set.getAverages(5));
+    assertSeries(MovingAverages.simple(history, 20170601, 50), set.getAverages(50));
+    assertEquals(2, set.getWindows().size());
+  }
+
+  /**
+   * Tests whether the averages of a basket are the ones of MovingAverages.simple over its
+   * values.
+   */
+  @Test
+  public void testBasket() throws Exception {
+    Calendar created = new GregorianCalendar(2017, 5 - 1, 1);
+    Model model = new Model();
+    model.createEmptyBasket("averaged", created);
+    model.addStockInto("MAONE", 10, "averaged");
+    model.addStockInto("MATWO", 3, "averaged");
+    Calendar start = new GregorianCalendar(2017, 6 - 1, 1);
+    Calendar end = new GregorianCalendar(2017, 7 - 1, 31);
+    MovingAverageSet set = model.basketValuesAndMovingAverages("averaged", start, end, 10, 20);
+
+    Basket basket = new Basket(created);
+    basket.put("MAONE", 10);
+    basket.put("MATWO", 3);
+    PriceSeries history = basket.getClosingPriceSeries(new GregorianCalendar(2017, 1 - 1, 1),
+            end);
+    assertSeries(history.slice(20170601, 20170731), set.getPrices());
+    assertSeries(MovingAverages.simple(history, 20170601, 10), set.getAverages(10));
+    assertSeries(MovingAverages.simple(history, 20170601, 20), set.getAverages(20));
+  }
+}
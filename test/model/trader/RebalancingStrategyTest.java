@@ -0,0 +1,106 @@
+package model.trader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import model.backtest.BacktestResult;
+import model.backtest.Backtester;
+import model.backtest.Rebalancing;
+import model.backtest.TransactionCosts;
+import utils.AlignedPanel;
+import utils.FakeStockDataRetriever;
+import utils.StockDataRetriever;
+import utils.StockDataRetrievers;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for model.trader.RebalancingStrategy class. The rebalancing itself is tested
+ * by model.backtest.RebalancingTest.
+ */
+public class RebalancingStrategyTest {
+  private StockDataRetriever original;
+
+  @Before
+  public void setUp() {
+    original = StockDataRetrievers.getDefault();
+  }
+
+  @After
+  public void tearDown() {
+    StockDataRetrievers.setDefault(original);
+  }
+
+  /**
+   * Tests whether invest reports the backtest of the basket, counting the cash left in the value
+   * and every deposit as invested.
+   */
+  @Test
+  public void testInvest() throws Exception {
+    FakeStockDataRetriever source = new FakeStockDataRetriever();
+    StockDataRetrievers.setDefault(source);
+    IBasket plain = new Basket(new GregorianCalendar(2017, 6 - 1, 1));
+    plain.put("RBONE", 20);
+    plain.put("RBTWO", 5);
+    Map<String, Double> targets = new TreeMap<>();
+    targets.put("RBONE", 0.6);
+    targets.put("RBTWO", 0.4);
+    TransactionCosts costs = new TransactionCosts(1, 0.01, 0.02, 0);
+
+    InvestmentResult result = new RebalancingStrategy(targets, 14, 0.05, costs).invest(plain,
+            new GregorianCalendar(2017, 6 - 1, 27), new GregorianCalendar(2017, 7 - 1, 18),
+            1000, 7, new GregorianCalendar(2017, 7 - 1, 18));
+
+    AlignedPanel panel = new Backtester(source).retrieve(
+            new TreeSet<>(Arrays.asList("RBONE", "RBTWO")), 20170627, 20170718);
+    BacktestResult expected = Backtester.run(panel, 20170627, 20170718, costs,
+            new Rebalancing(targets, 1000, 7, 14, 0.05));
+    assertEquals(expected.getHoldings().get("RBONE"), result.getHoldings().get("RBONE"));
+    assertEquals(expected.getHoldings().get("RBTWO"), result.getHoldings().get("RBTWO"));
+    assertEquals(4000, result.getInvested(), 0);
+    assertEquals(expected.getFinalValue(), result.getValue(), 1e-6);
+    assertEquals(expected.getTradeCount(), result.getTrades().size());
+  }
+
+  /**
+   * Tests whether a target outside the basket is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTargetNotInBasket() throws Exception {
+    StockDataRetrievers.setDefault(new FakeStockDataRetriever());
+    IBasket plain = new Basket(new GregorianCalendar(2017, 6 - 1, 1));
+    plain.put("RBTHREE", 20);
+    Map<String, Double> targets = new TreeMap<>();
+    targets.put("RBFOUR", 1.0);
+    new RebalancingStrategy(targets, 14, 0, TransactionCosts.NONE).invest(plain,
+            new GregorianCalendar(2017, 6 - 1, 27), new GregorianCalendar(2017, 7 - 1, 18),
+            1000, 7, new GregorianCalendar(2017, 7 - 1, 18));
+  }
+
+  /**
+   * Tests whether a negative threshold is rejected when the strategy is imposed on a basket.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeThreshold() throws Exception {
+    StockDataRetrievers.setDefault(new FakeStockDataRetriever());
+    IBasket plain = new Basket(new GregorianCalendar(2017, 6 - 1, 1));
+    plain.put("RBFIVE", 20);
+    Map<String, Double> targets = new TreeMap<>();
+    targets.put("rbfive", 1.0);
+    new RebalancingStrategy(targets, 30, -0.1, TransactionCosts.NONE).invest(plain,
+            new GregorianCalendar(2017, 6 - 1, 27), new GregorianCalendar(2017, 7 - 1, 18),
+            1000, 7, new GregorianCalendar(2017, 7 - 1, 18));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCosts() {
+    new RebalancingStrategy(30, 0.1, null);
+  }
+}
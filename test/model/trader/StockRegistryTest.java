@@ -0,0 +1,80 @@
+package model.trader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utils.FakeStockDataRetriever;
+import utils.StockDataRetriever;
+import utils.StockDataRetrievers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for model.trader.StockRegistry class, against a fake retriever set as the
+ * shared one. The registry is shared by the whole program, so every test uses symbols of its
+ * own.
+ */
+public class StockRegistryTest {
+  private StockDataRetriever original;
+  private FakeStockDataRetriever fake;
+
+  @Before
+  public void setUp() {
+    original = StockDataRetrievers.getDefault();
+    fake = new FakeStockDataRetriever();
+    StockDataRetrievers.setDefault(fake);
+  }
+
+  @After
+  public void tearDown() {
+    StockDataRetrievers.setDefault(original);
+  }
+
+  /**
+   * Tests whether every lookup of a symbol, whatever its case, gives the same stock, and the
+   * data source is asked only once.
+   */
+  @Test
+  public void testShared() throws Exception {
+    IStock stock = StockRegistry.get("regshared");
+    assertSame(stock, StockRegistry.get("REGSHARED"));
+    assertSame(stock, StockRegistry.get("RegShared"));
+    assertEquals("REGSHARED", stock.getSymbol());
+    assertTrue(StockRegistry.isValid("regShared"));
+    assertEquals(1, fake.getNameCalls());
+  }
+
+  /**
+   * Tests whether an invalid symbol is remembered as invalid.
+   */
+  @Test
+  public void testInvalid() throws Exception {
+    assertFalse(StockRegistry.isValid("BADREGISTRY"));
+    assertFalse(StockRegistry.isValid("badregistry"));
+    assertEquals(1, fake.getNameCalls());
+    try {
+      StockRegistry.get("BADREGISTRY");
+      throw new AssertionError("an exception should have been thrown");
+    } catch (IllegalArgumentException e) {
+      assertEquals(1, fake.getNameCalls());
+    }
+  }
+
+  /**
+   * Tests whether blank symbols are rejected without asking the data source.
+   */
+  @Test
+  public void testBlank() throws Exception {
+    assertFalse(StockRegistry.isValid("   "));
+    assertEquals(0, fake.getNameCalls());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNull() throws Exception {
+    StockRegistry.get(null);
+  }
+}
@@ -0,0 +1,96 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for utils.BasketValuation class.
+ */
+public class BasketValuationTest {
+
+  /**
+   * Tests whether every day is valued as the sum of the closing prices times the shares.
+   */
+  @Test
+  public void testDailyValues() {
+    // two stocks over three days, the days of the first stock first
+    double[] closes = {10, 11, 12, 100, 90, 80};
+    double[] shares = {3, 2};
+    double[] values = new double[3];
+    BasketValuation.dailyValues(closes, 3, shares, values);
+    assertEquals(230, values[0], 0);
+    assertEquals(213, values[1], 0);
+    assertEquals(196, values[2], 0);
+  }
+
+  /**
+   * Tests whether the values are exactly those of adding up the stocks of each day in order.
+   */
+  @Test
+  public void testSameAsDayByDay() {
+    Random random = new Random(7);
+    int days = 1000;
+    int stocks = 300;
+    double[] closes = new double[days * stocks];
+    double[] shares = new double[stocks];
+    for (int i = 0; i < closes.length; i++) {
+      closes[i] = Math.round((5 + random.nextDouble() * 500) * 100) / 100.0;
+    }
+    for (int i = 0; i < stocks; i++) {
+      shares[i] = 1 + random.nextInt(1000);
+    }
+    double[] values = new double[days];
+    BasketValuation.dailyValues(closes, days, shares, values);
+    for (int day = 0; day < days; day++) {
+      double sum = 0;
+      for (int stock = 0; stock < stocks; stock++) {
+        sum += closes[stock * days + day] * shares[stock];
+      }
+      assertEquals(sum, values[day], 0);
+    }
+  }
+
+  /**
+   * Tests whether the summary has the range, mean, returns and drawdown of the values.
+   */
+  @Test
+  public void testSummarize() {
+    ValueSummary summary = BasketValuation.summarize(new double[]{100, 110, 99, 121}, 0, 4);
+    assertEquals(4, summary.getCount());
+    assertEquals(100, summary.getFirst(), 0);
+    assertEquals(121, summary.getLast(), 0);
+    assertEquals(99, summary.getMinimum(), 0);
+    assertEquals(121, summary.getMaximum(), 0);
+    assertEquals(107.5, summary.getMean(), 1e-12);
+    assertEquals(0.21, summary.getTotalReturn(), 1e-12);
+    assertEquals(0.1, summary.getMaxDrawdown(), 1e-12);
+    // daily returns 0.1, -0.1 and 2 / 9, whose mean is 2 / 27
+    double mean = 2.0 / 27;
+    double variance = (Math.pow(0.1 - mean, 2) + Math.pow(-0.1 - mean, 2)
+            + Math.pow(2.0 / 9 - mean, 2)) / 2;
+    assertEquals(Math.sqrt(variance), summary.getVolatility(), 1e-12);
+
+    summary = BasketValuation.summarize(new double[]{5}, 0, 1);
+    assertEquals(0, summary.getVolatility(), 0);
+    assertEquals(0, summary.getMaxDrawdown(), 0);
+  }
+
+  /**
+   * Tests whether arrays that do not match the number of days and stocks are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedArrays() {
+    BasketValuation.dailyValues(new double[5], 3, new double[2], new double[3]);
+  }
+
+  /**
+   * Tests whether an empty range cannot be summarized.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSummarizeEmpty() {
+    BasketValuation.summarize(new double[3], 1, 1);
+  }
+}
@@ -0,0 +1,82 @@
+package utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for utils.CachingStockDataRetriever class. The cache is set as the shared
+ * retriever, in front of a fake retriever.
+ */
+public class CachingStockDataRetrieverTest {
+  private StockDataRetriever original;
+  private FakeStockDataRetriever fake;
+  private CachingStockDataRetriever cache;
+
+  @Before
+  public void setUp() {
+    original = StockDataRetrievers.getDefault();
+    fake = new FakeStockDataRetriever();
+    cache = new CachingStockDataRetriever(fake, 2);
+    StockDataRetrievers.setDefault(cache);
+  }
+
+  @After
+  public void tearDown() {
+    StockDataRetrievers.setDefault(original);
+  }
+
+  private static Map<Integer, PriceRecord> get(String symbol, int from, int to)
+          throws Exception {
+    return StockDataRetrievers.getHistoricalPrices(StockDataRetrievers.getDefault(), symbol,
+            from, to);
+  }
+
+  /**
+   * Tests whether a range already retrieved is answered from the cache with the same prices.
+   */
+  @Test
+  public void testRoundTrip() throws Exception {
+    Map<Integer, PriceRecord> first = get("AAPL", 20170601, 20170630);
+    Map<Integer, PriceRecord> second = get("aapl", 20170605, 20170616);
+    assertEquals(1, fake.getCalls().size());
+    assertEquals(22, first.size());
+    assertEquals(10, second.size());
+    assertEquals(first.get(20170609).getClosePrice(), second.get(20170609).getClosePrice(), 0);
+    assertEquals(FakeStockDataRetriever.closeOf("AAPL", 20170609),
+            second.get(20170609).getClosePrice(), 0);
+  }
+
+  /**
+   * Tests whether only the gaps around the cached range are retrieved.
+   */
+  @Test
+  public void testGaps() throws Exception {
+    get("AAPL", 20170610, 20170620);
+    Map<Integer, PriceRecord> prices = get("AAPL", 20170601, 20170630);
+    assertEquals(Arrays.asList("AAPL:20170610-20170620", "AAPL:20170601-20170609",
+            "AAPL:20170621-20170630"), fake.getCalls());
+    assertEquals(22, prices.size());
+  }
+
+  /**
+   * Tests whether the symbol used least recently is dropped once the cache is full.
+   */
+  @Test
+  public void testBound() throws Exception {
+    get("AAPL", 20170601, 20170630);
+    get("GOOG", 20170601, 20170630);
+    get("AAPL", 20170601, 20170630);
+    get("MSFT", 20170601, 20170630);
+    assertEquals(2, cache.size());
+    get("AAPL", 20170601, 20170630);
+    assertEquals(3, fake.getCalls().size());
+    get("GOOG", 20170601, 20170630);
+    assertEquals(4, fake.getCalls().size());
+  }
+}
@@ -222,4 +222,20 @@ public class CalendarUtilTest {
     assertFalse(CalendarUtil.isFutureDay(pastNonBizDay));
   }
 
-}
\ No newline at end of file
+
+  /**
+   * Tests whether business days are counted without weekends and holidays, both ends included.
+   */
+  @Test
+  public void testCountBusinessDays() throws Exception {
+    // Independence Day
+    assertEquals(4, CalendarUtil.countBusinessDays(new GregorianCalendar(2017, 7 - 1, 3),
+            new GregorianCalendar(2017, 7 - 1, 7)));
+    // Good Friday and the weekend after it
+    assertEquals(5, CalendarUtil.countBusinessDays(new GregorianCalendar(2017, 4 - 1, 10),
+            new GregorianCalendar(2017, 4 - 1, 17)));
+    // Christmas Day and New Year's Day
+    assertEquals(6, CalendarUtil.countBusinessDays(new GregorianCalendar(2017, 12 - 1, 22),
+            new GregorianCalendar(2018, 1 - 1, 2)));
+  }
+}
@@ -0,0 +1,91 @@
+package utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for utils.CoalescingStockDataRetriever class, and its place in the shared
+ * retriever.
+ */
+public class CoalescingStockDataRetrieverTest {
+  private StockDataRetriever original;
+  private File directory;
+  private ExecutorService threads;
+
+  @Before
+  public void setUp() throws Exception {
+    original = StockDataRetrievers.getDefault();
+    directory = Files.createTempDirectory("prices").toFile();
+    threads = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    StockDataRetrievers.setDefault(original);
+    threads.shutdownNow();
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  private Future<Map<Integer, PriceRecord>> request(StockDataRetriever retriever, String symbol,
+                                                    int from, int to) {
+    return threads.submit(() -> StockDataRetrievers.getHistoricalPrices(retriever, symbol,
+            from, to));
+  }
+
+  /**
+   * Tests whether two threads asking the shared retriever for the same prices at the same time
+   * make one upstream request.
+   */
+  @Test
+  public void testSharedRetriever() throws Exception {
+    FakeStockDataRetriever fake = new FakeStockDataRetriever(300);
+    StockDataRetrievers.setDefault(StockDataRetrievers.layered(fake, directory));
+    StockDataRetriever shared = StockDataRetrievers.getDefault();
+
+    Future<Map<Integer, PriceRecord>> first = request(shared, "AAPL", 20170601, 20170630);
+    Thread.sleep(50);
+    Future<Map<Integer, PriceRecord>> second = request(shared, "AAPL", 20170601, 20170630);
+    assertEquals(22, first.get().size());
+    assertEquals(first.get().keySet(), second.get().keySet());
+    assertEquals(1, fake.getCalls().size());
+  }
+
+  /**
+   * Tests whether a request overlapping one in flight only sends the part not in flight, and
+   * nothing is left in flight once both complete.
+   */
+  @Test
+  public void testOverlapping() throws Exception {
+    FakeStockDataRetriever fake = new FakeStockDataRetriever(300);
+    CoalescingStockDataRetriever coalescing = new CoalescingStockDataRetriever(fake);
+
+    Future<Map<Integer, PriceRecord>> first = request(coalescing, "AAPL", 20170601, 20170630);
+    Thread.sleep(50);
+    Future<Map<Integer, PriceRecord>> second = request(coalescing, "aapl", 20170615, 20170710);
+    assertEquals(22, first.get().size());
+    // 12 trading days from June 15 to 30, and 5 from July 1 to 10 without Independence Day
+    assertEquals(12 + 5, second.get().size());
+    assertEquals(first.get().get(20170620).getClosePrice(),
+            second.get().get(20170620).getClosePrice(), 0);
+    assertEquals(Arrays.asList("AAPL:20170601-20170630", "AAPL:20170701-20170710"),
+            fake.getCalls());
+    assertEquals(0, coalescing.symbolsInFlight());
+  }
+}
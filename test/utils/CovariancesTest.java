@@ -0,0 +1,109 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for utils.Covariances class.
+ */
+public class CovariancesTest {
+
+  /**
+   * Tests whether returns are taken from the aligned values of each series.
+   */
+  @Test
+  public void testDailyReturns() {
+    Map<String, PriceSeries> series = new LinkedHashMap<>();
+    series.put("A", new PriceSeries(new int[]{20170605, 20170606, 20170607},
+            new double[]{100, 110, 99}));
+    series.put("B", new PriceSeries(new int[]{20170605, 20170606, 20170607},
+            new double[]{50, 50, 75}));
+    double[] returns = Covariances.dailyReturns(
+            SeriesAligner.align(series, SeriesAligner.Policy.INNER));
+    assertEquals(4, returns.length);
+    assertEquals(0.1, returns[0], 1e-12);
+    assertEquals(-0.1, returns[1], 1e-12);
+    assertEquals(0, returns[2], 0);
+    assertEquals(0.5, returns[3], 1e-12);
+  }
+
+  /**
+   * Tests whether the tiled covariances and correlations are those of each pair computed apart,
+   * with more series than fit in one tile.
+   */
+  @Test
+  public void testSameAsPairwise() {
+    Random random = new Random(11);
+    int n = 75;
+    int days = 600;
+    double[] returns = new double[n * days];
+    List<String> symbols = new ArrayList<>();
+    for (int k = 0; k < n; k++) {
+      symbols.add("S" + k);
+      for (int day = 0; day < days; day++) {
+        // every series follows the first one in part
+        double common = k == 0 ? 0 : returns[day];
+        returns[k * days + day] = 0.5 * common + random.nextGaussian() * 0.01;
+      }
+    }
+    SymmetricMatrix covariance = Covariances.covariance(returns, days, symbols);
+    SymmetricMatrix correlation = Covariances.correlation(covariance);
+    assertEquals(n, covariance.size());
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        double expected = pairwise(returns, days, i, j);
+        assertEquals(expected, covariance.get(i, j), 1e-15);
+        assertEquals(covariance.get(i, j), covariance.get(j, i), 0);
+        double deviations = Math.sqrt(pairwise(returns, days, i, i)
+                * pairwise(returns, days, j, j));
+        assertEquals(expected / deviations, correlation.get(i, j), 1e-9);
+      }
+      assertEquals(1, correlation.get(i, i), 0);
+    }
+    assertEquals(covariance.get(3, 70), covariance.get("S70", "S3"), 0);
+    assertTrue(correlation.get(0, 1) > 0.3);
+  }
+
+  private static double pairwise(double[] returns, int days, int i, int j) {
+    double meanI = 0;
+    double meanJ = 0;
+    for (int day = 0; day < days; day++) {
+      meanI += returns[i * days + day] / days;
+      meanJ += returns[j * days + day] / days;
+    }
+    double sum = 0;
+    for (int day = 0; day < days; day++) {
+      sum += (returns[i * days + day] - meanI) * (returns[j * days + day] - meanJ);
+    }
+    return sum / (days - 1);
+  }
+
+  /**
+   * Tests whether a series that does not vary has no correlation.
+   */
+  @Test
+  public void testConstantSeries() {
+    SymmetricMatrix correlation = Covariances.correlation(Covariances.covariance(
+            new double[]{0.1, -0.1, 0.2, 0, 0, 0}, 3, Arrays.asList("A", "B")));
+    assertEquals(1, correlation.get(0, 0), 0);
+    assertTrue(Double.isNaN(correlation.get(0, 1)));
+    assertTrue(Double.isNaN(correlation.get(1, 1)));
+  }
+
+  /**
+   * Tests whether a single day of returns is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotEnoughDays() {
+    Covariances.covariance(new double[]{0.1, 0.2}, 1, Arrays.asList("A", "B"));
+  }
+}
@@ -0,0 +1,77 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for utils.DateRangeSet class.
+ */
+public class DateRangeSetTest {
+
+  /**
+   * Tests whether overlapping and adjacent ranges are merged, across the end of a month and of a
+   * year.
+   */
+  @Test
+  public void testAdd() {
+    DateRangeSet set = new DateRangeSet();
+    set.add(20170601, 20170610);
+    set.add(20170605, 20170615);
+    set.add(20170616, 20170630);
+    set.add(20170701, 20170705);
+    set.add(20171220, 20171231);
+    set.add(20180101, 20180105);
+    set.add(20170801, 20170802);
+    List<int[]> ranges = set.getRanges();
+    assertEquals(3, ranges.size());
+    assertArrayEquals(new int[]{20170601, 20170705}, ranges.get(0));
+    assertArrayEquals(new int[]{20170801, 20170802}, ranges.get(1));
+    assertArrayEquals(new int[]{20171220, 20180105}, ranges.get(2));
+
+    // a range that covers several ranges swallows them
+    set.add(20170701, 20171225);
+    assertEquals(1, set.getRanges().size());
+    assertTrue(set.covers(20170601, 20180105));
+    assertFalse(set.covers(20170531, 20170601));
+  }
+
+  /**
+   * Tests whether the missing sub-ranges of a range are the gaps between the ranges of the set.
+   */
+  @Test
+  public void testMissing() {
+    DateRangeSet set = new DateRangeSet();
+    assertTrue(set.isEmpty());
+    assertArrayEquals(new int[]{20170601, 20170630}, set.missing(20170601, 20170630).get(0));
+
+    set.add(20170605, 20170609);
+    set.add(20170620, 20170625);
+    List<int[]> gaps = set.missing(20170601, 20170630);
+    assertEquals(3, gaps.size());
+    assertArrayEquals(new int[]{20170601, 20170604}, gaps.get(0));
+    assertArrayEquals(new int[]{20170610, 20170619}, gaps.get(1));
+    assertArrayEquals(new int[]{20170626, 20170630}, gaps.get(2));
+
+    assertTrue(set.missing(20170606, 20170608).isEmpty());
+    assertTrue(set.missing(20170610, 20170601).isEmpty());
+    assertArrayEquals(new int[]{20170610, 20170619}, set.missing(20170607, 20170622).get(0));
+  }
+
+  @Test
+  public void testDays() {
+    assertEquals(20170301, DateRangeSet.nextDay(20170228));
+    assertEquals(20160229, DateRangeSet.previousDay(20160301));
+    assertEquals(20180101, DateRangeSet.nextDay(20171231));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRange() {
+    new DateRangeSet().add(20170610, 20170601);
+  }
+}
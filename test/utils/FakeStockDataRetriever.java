@@ -0,0 +1,107 @@
+package utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stock data retriever for tests that reads no data source. It gives every symbol a made-up,
+ * deterministic closing price on every trading day of the New York Stock Exchange, and records
+ * the historical price requests it receives. Symbols starting with "BAD" have no stock. A request
+ * can be made to take a while, so that tests can make requests overlap.
+ */
+public class FakeStockDataRetriever implements StockDataRetriever {
+  private final List<String> calls;
+  private final AtomicInteger nameCalls;
+  private final long delayMillis;
+
+  /**
+   * Constructs a fake retriever that answers at once.
+   */
+  public FakeStockDataRetriever() {
+    this(0);
+  }
+
+  /**
+   * Constructs a fake retriever that takes the given time to answer a historical price request.
+   *
+   * @param delayMillis the time of each historical price request, in milliseconds
+   */
+  public FakeStockDataRetriever(long delayMillis) {
+    this.calls = Collections.synchronizedList(new ArrayList<>());
+    this.nameCalls = new AtomicInteger();
+    this.delayMillis = delayMillis;
+  }
+
+  /**
+   * Return the closing price of the given stock on the given date.
+   *
+   * @param stockSymbol the symbol of the stock
+   * @param date        the date, as an 8-digit integer
+   * @return the closing price
+   */
+  public static double closeOf(String stockSymbol, int date) {
+    long day = DateRangeSet.toLocalDate(date).toEpochDay();
+    long hash = (stockSymbol.toUpperCase().hashCode() * 31L + day * 2654435761L) & 0xffff;
+    return Math.round((50 + stockSymbol.length() * 10 + day % 97 + hash / 1000.0) * 100) / 100.0;
+  }
+
+  /**
+   * Return the historical price requests received so far, in order, each as
+   * "SYMBOL:from-to".
+   *
+   * @return the requests received
+   */
+  public List<String> getCalls() {
+    synchronized (calls) {
+      return new ArrayList<>(calls);
+    }
+  }
+
+  /**
+   * Return the number of name requests received so far.
+   *
+   * @return the number of name requests
+   */
+  public int getNameCalls() {
+    return nameCalls.get();
+  }
+
+  @Override
+  public double getCurrentPrice(String stockSymbol) throws Exception {
+    return closeOf(stockSymbol, DateRangeSet.toDateInt(LocalDate.now()));
+  }
+
+  @Override
+  public String getName(String stockSymbol) throws Exception {
+    nameCalls.incrementAndGet();
+    return stockSymbol.toUpperCase().startsWith("BAD")
+            ? "N/A" : "\"" + stockSymbol.toUpperCase() + " Inc.\"";
+  }
+
+  @Override
+  public Map<Integer, PriceRecord> getHistoricalPrices(String stockSymbol, int fromDate,
+                                                       int fromMonth, int fromYear, int toDate,
+                                                       int toMonth, int toYear)
+          throws Exception {
+    int from = (fromYear * 100 + fromMonth) * 100 + fromDate;
+    int to = (toYear * 100 + toMonth) * 100 + toDate;
+    calls.add(stockSymbol.toUpperCase() + ":" + from + "-" + to);
+    if (delayMillis > 0) {
+      Thread.sleep(delayMillis);
+    }
+    Map<Integer, PriceRecord> prices = new TreeMap<>();
+    TradingCalendar calendar = TradingCalendar.getInstance();
+    for (int date = from; date <= to; date = DateRangeSet.nextDay(date)) {
+      if (calendar.isTradingDay(date)) {
+        double close = closeOf(stockSymbol, date);
+        prices.put(date, new PriceRecord(close, close, close - 1, close + 1));
+      }
+    }
+    return prices;
+  }
+}
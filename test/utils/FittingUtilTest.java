@@ -3,7 +3,9 @@ package utils;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import utils.FittingUtil;
 
@@ -46,4 +48,71 @@ public class FittingUtilTest {
     assertEquals(-0.58625, FittingUtil.twoEndFittingTrend(list), 0.0001);
   }
 
-}
\ No newline at end of file
+  /**
+   * Test if leastSquaresFit() finds the line through points that are on a line, and the expected
+   * line and R squared otherwise.
+   */
+  @Test
+  public void testLeastSquaresFit() {
+    LinearFit fit = FittingUtil.leastSquaresFit(new double[]{1, 3, 5, 7});
+    assertEquals(4, fit.getCount());
+    assertEquals(2, fit.getSlope(), 1e-12);
+    assertEquals(1, fit.getIntercept(), 1e-12);
+    assertEquals(1, fit.getRSquared(), 1e-12);
+    assertEquals(9, fit.valueAt(4), 1e-12);
+
+    // y = 1, 2, 2, 3 at x = 0..3: slope 0.6, intercept 1.1, R squared 0.9
+    fit = FittingUtil.leastSquaresFit(new double[]{1, 2, 2, 3});
+    assertEquals(0.6, fit.getSlope(), 1e-12);
+    assertEquals(1.1, fit.getIntercept(), 1e-12);
+    assertEquals(0.9, fit.getRSquared(), 1e-12);
+
+    // a single point, and a flat line
+    assertEquals(0, FittingUtil.leastSquaresFit(new double[]{153.67}).getSlope(), 0);
+    assertEquals(1, FittingUtil.leastSquaresFit(new double[]{5, 5, 5}).getRSquared(), 0);
+
+    // part of an array, a series and an iterator give the same line as the whole array
+    double[] values = {9, 9, 1, 2, 2, 3, 9};
+    assertEquals(0.6, FittingUtil.leastSquaresFit(values, 2, 6).getSlope(), 1e-12);
+    PriceSeries series = new PriceSeries(new int[]{20170605, 20170606, 20170607, 20170608},
+            new double[]{1, 2, 2, 3});
+    assertEquals(0.6, FittingUtil.leastSquaresFit(series).getSlope(), 1e-12);
+    assertEquals(1.1, FittingUtil.leastSquaresFit(
+            Arrays.stream(new double[]{1, 2, 2, 3}).iterator()).getIntercept(), 1e-12);
+  }
+
+  /**
+   * Test if fitting a long series in parallel, or combining accumulators of its parts, gives the
+   * same line as fitting it in one pass.
+   */
+  @Test
+  public void testParallelLeastSquaresFit() {
+    Random random = new Random(1);
+    double[] values = new double[100000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 100 + i * 0.01 + random.nextGaussian();
+    }
+    LinearFit sequential = FittingUtil.leastSquaresFit(values);
+    LinearFit parallel = FittingUtil.parallelLeastSquaresFit(values);
+    assertEquals(sequential.getSlope(), parallel.getSlope(), 1e-12);
+    assertEquals(sequential.getIntercept(), parallel.getIntercept(), 1e-8);
+    assertEquals(sequential.getRSquared(), parallel.getRSquared(), 1e-10);
+
+    TrendAccumulator first = new TrendAccumulator();
+    TrendAccumulator second = new TrendAccumulator();
+    for (int i = 0; i < values.length; i++) {
+      (i < 30000 ? first : second).add(i, values[i]);
+    }
+    first.combine(second);
+    assertEquals(values.length, first.getCount());
+    assertEquals(sequential.getSlope(), first.fit().getSlope(), 1e-12);
+  }
+
+  /**
+   * Test if leastSquaresFit() throws an IllegalArgumentException if there is no data.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testLeastSquaresFitException() {
+    FittingUtil.leastSquaresFit(new double[0]);
+  }
+}
@@ -0,0 +1,113 @@
+package utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for utils.LocalStockDataRetriever and ColumnarPriceFile classes. Files are
+ * kept in a temporary directory, in front of a fake retriever.
+ */
+public class LocalStockDataRetrieverTest {
+  private File directory;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("prices").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  /**
+   * Tests whether prices written to disk are read back by a new store without retrieving them
+   * again.
+   */
+  @Test
+  public void testRoundTrip() throws Exception {
+    FakeStockDataRetriever fake = new FakeStockDataRetriever();
+    Map<Integer, PriceRecord> written = StockDataRetrievers.getHistoricalPrices(
+            new LocalStockDataRetriever(fake, directory), "AAPL", 20170601, 20170630);
+
+    FakeStockDataRetriever restarted = new FakeStockDataRetriever();
+    Map<Integer, PriceRecord> read = StockDataRetrievers.getHistoricalPrices(
+            new LocalStockDataRetriever(restarted, directory), "AAPL", 20170601, 20170630);
+    assertTrue(restarted.getCalls().isEmpty());
+    assertEquals(written.keySet(), read.keySet());
+    for (Map.Entry<Integer, PriceRecord> entry : written.entrySet()) {
+      PriceRecord record = read.get(entry.getKey());
+      assertEquals(entry.getValue().getOpenPrice(), record.getOpenPrice(), 0);
+      assertEquals(entry.getValue().getHighestDayPrice(), record.getHighestDayPrice(), 0);
+      assertEquals(entry.getValue().getLowestDayPrice(), record.getLowestDayPrice(), 0);
+      assertEquals(entry.getValue().getClosePrice(), record.getClosePrice(), 0);
+    }
+  }
+
+  /**
+   * Tests whether only the dates never retrieved are requested, and each update is written to a
+   * new file while older ones are deleted.
+   */
+  @Test
+  public void testGaps() throws Exception {
+    FakeStockDataRetriever fake = new FakeStockDataRetriever();
+    LocalStockDataRetriever store = new LocalStockDataRetriever(fake, directory);
+    StockDataRetrievers.getHistoricalPrices(store, "AAPL", 20170610, 20170620);
+    Map<Integer, PriceRecord> prices =
+            StockDataRetrievers.getHistoricalPrices(store, "AAPL", 20170601, 20170630);
+    assertEquals(Arrays.asList("AAPL:20170610-20170620", "AAPL:20170601-20170609",
+            "AAPL:20170621-20170630"), fake.getCalls());
+    assertEquals(22, prices.size());
+
+    // weekends and holidays are covered too, so they are not requested again
+    StockDataRetrievers.getHistoricalPrices(store, "AAPL", 20170603, 20170604);
+    assertEquals(3, fake.getCalls().size());
+
+    String[] names = directory.list();
+    assertEquals(1, names.length);
+    ColumnarPriceFile file = new ColumnarPriceFile(new File(directory, names[0]));
+    assertEquals(22, file.size());
+    assertEquals(20170601, file.getDate(0));
+    assertEquals(5, file.lowerBound(20170608));
+    assertEquals(6, file.upperBound(20170608));
+    assertEquals(1, file.getCoveredRanges().getRanges().size());
+  }
+
+  /**
+   * Tests whether imported prices are stored and answered without retrieving them.
+   */
+  @Test
+  public void testImport() throws Exception {
+    FakeStockDataRetriever fake = new FakeStockDataRetriever();
+    LocalStockDataRetriever store = new LocalStockDataRetriever(fake, directory);
+    String csv = "Date,Open,High,Low,Close,Volume,Adj Close\n"
+            + "2017-06-02,153.0,155.45,152.89,155.45,27770715,155.45\n"
+            + "2017-06-01,153.17,153.33,152.22,153.18,16404088,153.18\n";
+    int imported = store.importPrices("AAPL",
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII)),
+            20170601, 20170602);
+    assertEquals(2, imported);
+    Map<Integer, PriceRecord> prices =
+            StockDataRetrievers.getHistoricalPrices(store, "AAPL", 20170601, 20170602);
+    assertTrue(fake.getCalls().isEmpty());
+    assertEquals(155.45, prices.get(20170602).getClosePrice(), 0);
+    assertEquals(152.22, prices.get(20170601).getLowestDayPrice(), 0);
+  }
+}
@@ -0,0 +1,131 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for utils.MovingAverages class.
+ */
+public class MovingAveragesTest {
+
+  private static PriceSeries seriesOf(double... values) {
+    int[] dates = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      dates[i] = 20170601 + i;
+    }
+    return new PriceSeries(dates, values);
+  }
+
+  /**
+   * Return the average of the window of the i-th value, added up from the latest value backwards
+   * and rounded as moving averages always have been.
+   */
+  private static double expectedSimple(double[] values, int i, int days) {
+    double sum = 0;
+    for (int j = i; j > i - days; j--) {
+      sum += values[j];
+    }
+    return Math.round(sum * 100 / days) / 100.0;
+  }
+
+  /**
+   * Tests whether simple averages start at the given date and average each date with the dates
+   * before it.
+   */
+  @Test
+  public void testSimple() {
+    PriceSeries averages = MovingAverages.simple(seriesOf(1, 2, 3, 4, 5), 20170603, 3);
+    assertEquals(3, averages.size());
+    assertEquals(20170603, averages.getDate(0));
+    assertEquals(2, averages.getValue(0), 0);
+    assertEquals(3, averages.getValue(1), 0);
+    assertEquals(4, averages.getValue(2), 0);
+
+    // halfway between two cents rounds up, as Math.round does
+    averages = MovingAverages.simple(seriesOf(0.01, 0.02), 20170602, 2);
+    assertEquals(0.02, averages.getValue(0), 0);
+    averages = MovingAverages.simple(seriesOf(-0.01, -0.02), 20170602, 2);
+    assertEquals(-0.01, averages.getValue(0), 0);
+
+    // no date from the given date on
+    assertTrue(MovingAverages.simple(seriesOf(1, 2, 3), 20170610, 5).isEmpty());
+  }
+
+  /**
+   * Tests whether the running sum rounds every average exactly as adding up each window does, for
+   * both quoted prices and prices of more decimal places.
+   */
+  @Test
+  public void testSimpleSameAsWindowSums() {
+    Random random = new Random(42);
+    for (int places : new int[]{2, 4, 9}) {
+      double[] values = new double[1500];
+      for (int i = 0; i < values.length; i++) {
+        double scale = Math.pow(10, places);
+        values[i] = Math.round((20 + random.nextDouble() * 300) * scale) / scale;
+      }
+      for (int days : new int[]{1, 2, 3, 8, 50, 200}) {
+        PriceSeries averages = MovingAverages.simple(seriesOf(values), 20170600 + days, days);
+        assertEquals(values.length - days + 1, averages.size());
+        for (int i = 0; i < averages.size(); i++) {
+          assertEquals(expectedSimple(values, i + days - 1, days), averages.getValue(i), 0);
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests whether weighted averages weigh later prices more.
+   */
+  @Test
+  public void testWeighted() {
+    PriceSeries averages = MovingAverages.weighted(seriesOf(1, 2, 3, 4, 5), 20170603, 3);
+    assertEquals(3, averages.size());
+    // (1 + 2 * 2 + 3 * 3) / 6
+    assertEquals(2.33, averages.getValue(0), 0);
+    assertEquals(3.33, averages.getValue(1), 0);
+    assertEquals(4.33, averages.getValue(2), 0);
+
+    double[] values = {10.125, 11.5, 9.875, 12.25, 13.0};
+    averages = MovingAverages.weighted(seriesOf(values), 20170602, 2);
+    assertEquals(Math.round((10.125 + 11.5 * 2) / 3 * 100) / 100.0, averages.getValue(0), 0);
+    assertEquals(Math.round((12.25 + 13.0 * 2) / 3 * 100) / 100.0, averages.getValue(3), 0);
+  }
+
+  /**
+   * Tests whether exponential averages start from the simple average of the first n prices.
+   */
+  @Test
+  public void testExponential() {
+    PriceSeries averages = MovingAverages.exponential(seriesOf(1, 2, 3, 4, 5), 20170603, 3);
+    assertEquals(3, averages.size());
+    assertEquals(2, averages.getValue(0), 0);
+    // 2 + 0.5 * (4 - 2), then 3 + 0.5 * (5 - 3)
+    assertEquals(3, averages.getValue(1), 0);
+    assertEquals(4, averages.getValue(2), 0);
+
+    averages = MovingAverages.exponential(seriesOf(1, 2, 3, 4, 5), 20170605, 3);
+    assertEquals(1, averages.size());
+    assertEquals(4, averages.getValue(0), 0);
+  }
+
+  /**
+   * Tests whether a date without enough dates before it is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotEnoughDays() {
+    MovingAverages.simple(seriesOf(1, 2, 3, 4, 5), 20170602, 3);
+  }
+
+  /**
+   * Tests whether a number of days less than 1 is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveDays() {
+    MovingAverages.weighted(seriesOf(1, 2, 3), 20170601, 0);
+  }
+}
@@ -0,0 +1,54 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for utils.ParallelUtil class.
+ */
+public class ParallelUtilTest {
+
+  /**
+   * Tests whether the action runs exactly once for every index, in the given pool.
+   */
+  @Test
+  public void testForEach() {
+    ForkJoinPool pool = new ForkJoinPool(3);
+    AtomicIntegerArray runs = new AtomicIntegerArray(1000);
+    boolean[] inPool = new boolean[1000];
+    ParallelUtil.forEach(pool, runs.length(), i -> {
+      runs.incrementAndGet(i);
+      inPool[i] = ForkJoinTask.getPool() == pool;
+    });
+    pool.shutdown();
+    for (int i = 0; i < runs.length(); i++) {
+      assertEquals(1, runs.get(i));
+      assertEquals(true, inPool[i]);
+    }
+  }
+
+  /**
+   * Tests whether an exception thrown by the action reaches the caller as it is.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testForEachRethrows() {
+    ParallelUtil.forEach(ForkJoinPool.commonPool(), 10, i -> {
+      if (i == 7) {
+        throw new IllegalArgumentException("seven");
+      }
+    });
+  }
+
+  /**
+   * Tests whether a negative count is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCount() {
+    ParallelUtil.forEach(ForkJoinPool.commonPool(), -1, i -> { });
+  }
+}
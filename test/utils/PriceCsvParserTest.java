@@ -0,0 +1,102 @@
+package utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A JUnit test class for utils.PriceCsvParser class.
+ */
+public class PriceCsvParserTest {
+
+  private static InputStream streamOf(String csv) {
+    return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Tests whether a response in the format of the web service is parsed into the same prices as
+   * Double.parseDouble would give.
+   */
+  @Test
+  public void testParse() throws Exception {
+    String csv = "\uFEFFDate,Open,High,Low,Close,Volume\n"
+            + "9-Jun-17,155.19,155.19,146.02,148.98,64882657\n"
+            + "8-Jun-17,155.25,155.54,154.40,154.99,21250798\n"
+            + "1-Dec-99,0.1,0.7,0.3,102.875,100\n";
+    PriceColumns columns = new PriceColumns();
+    assertEquals(3, new PriceCsvParser().parse(streamOf(csv), columns));
+
+    assertEquals(20170609, columns.getDate(0));
+    assertEquals(Double.parseDouble("155.19"), columns.getOpenPrice(0), 0);
+    assertEquals(Double.parseDouble("155.19"), columns.getHighestDayPrice(0), 0);
+    assertEquals(Double.parseDouble("146.02"), columns.getLowestDayPrice(0), 0);
+    assertEquals(Double.parseDouble("148.98"), columns.getClosePrice(0), 0);
+
+    assertEquals(20170608, columns.getDate(1));
+    assertEquals(Double.parseDouble("154.40"), columns.getLowestDayPrice(1), 0);
+
+    assertEquals(19991201, columns.getDate(2));
+    assertEquals(Double.parseDouble("0.1"), columns.getOpenPrice(2), 0);
+    assertEquals(Double.parseDouble("0.7"), columns.getHighestDayPrice(2), 0);
+    assertEquals(Double.parseDouble("102.875"), columns.getClosePrice(2), 0);
+
+    // descending days are sorted into ascending order
+    columns.sortByDate();
+    assertEquals(19991201, columns.getDate(0));
+    assertEquals(20170608, columns.getDate(1));
+    assertEquals(20170609, columns.getDate(2));
+    assertEquals(Double.parseDouble("148.98"), columns.getClosePrice(2), 0);
+  }
+
+  /**
+   * Tests whether ISO dates, Windows line breaks and blank lines are accepted.
+   */
+  @Test
+  public void testParseIsoDates() throws Exception {
+    String csv = "Date,Open,High,Low,Close\r\n"
+            + "2017-06-08,1,2,0.5,1.5\r\n"
+            + "\r\n"
+            + "2017-06-09,1.25,2.5,1e-1,-3\r\n";
+    Map<Integer, PriceRecord> prices = WebStockDataRetriever.parseHistoricalPrices(
+            streamOf(csv));
+    assertEquals(2, prices.size());
+    assertEquals(1.5, prices.get(20170608).getClosePrice(), 0);
+    assertEquals(0.1, prices.get(20170609).getLowestDayPrice(), 0);
+    assertEquals(-3, prices.get(20170609).getClosePrice(), 0);
+  }
+
+  /**
+   * Tests whether an empty response, or a response with labels only, gives no prices.
+   */
+  @Test
+  public void testParseEmpty() throws Exception {
+    assertEquals(0, new PriceCsvParser().parse(streamOf(""), new PriceColumns()));
+    assertEquals(0, new PriceCsvParser().parse(streamOf("Date,Open,High,Low,Close,Volume\n"),
+            new PriceColumns()));
+  }
+
+  /**
+   * Tests whether a missing price is rejected, as Double.parseDouble would.
+   */
+  @Test(expected = NumberFormatException.class)
+  public void testParseMissingPrice() throws Exception {
+    String csv = "Date,Open,High,Low,Close,Volume\n"
+            + "9-Jun-17,-,155.19,146.02,148.98,64882657\n";
+    new PriceCsvParser().parse(streamOf(csv), new PriceColumns());
+  }
+
+  /**
+   * Tests whether a malformed month is rejected.
+   */
+  @Test(expected = NumberFormatException.class)
+  public void testParseMalformedDate() throws Exception {
+    String csv = "Date,Open,High,Low,Close,Volume\n"
+            + "9-Jux-17,155.19,155.19,146.02,148.98,64882657\n";
+    new PriceCsvParser().parse(streamOf(csv), new PriceColumns());
+  }
+}
@@ -0,0 +1,109 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for utils.PriceSeries class.
+ */
+public class PriceSeriesTest {
+
+  private static PriceSeries june() {
+    return new PriceSeries(new int[]{20170605, 20170606, 20170607, 20170608, 20170609},
+            new double[]{153.93, 154.45, 155.37, 154.99, 148.98});
+  }
+
+  /**
+   * Tests whether dates are found by binary search, and absent dates give the insertion point.
+   */
+  @Test
+  public void testIndexOf() {
+    PriceSeries series = june();
+    assertEquals(5, series.size());
+    assertEquals(0, series.indexOf(20170605));
+    assertEquals(4, series.indexOf(20170609));
+    assertEquals(-1, series.indexOf(20170604));
+    assertEquals(-6, series.indexOf(20170610));
+    assertTrue(series.contains(20170607));
+    assertFalse(series.contains(20170610));
+    assertEquals(155.37, series.valueOn(20170607), 0);
+  }
+
+  /**
+   * Tests whether a slice holds exactly the dates in its range, and is itself searchable.
+   */
+  @Test
+  public void testSlice() {
+    PriceSeries slice = june().slice(20170606, 20170608);
+    assertEquals(3, slice.size());
+    assertEquals(20170606, slice.getDate(0));
+    assertEquals(154.99, slice.getValue(2), 0);
+    assertEquals(1, slice.indexOf(20170607));
+    assertEquals(-1, slice.indexOf(20170605));
+    assertEquals(-4, slice.indexOf(20170609));
+
+    // weekends and ranges outside the series
+    assertEquals(5, june().slice(20170603, 20170611).size());
+    assertEquals(2, june().slice(20170608, 20170611).size());
+    assertTrue(june().slice(20170610, 20170612).isEmpty());
+    assertTrue(june().slice(20170608, 20170606).isEmpty());
+
+    assertEquals(slice, slice.subSeries(0, 3));
+    assertEquals(2, slice.subSeries(1, 3).slice(20170601, 20170630).size());
+  }
+
+  /**
+   * Tests whether a series converts to and from a map without change.
+   */
+  @Test
+  public void testToMap() {
+    Map<Integer, Double> map = june().toMap();
+    assertEquals(5, map.size());
+    assertEquals(148.98, map.get(20170609), 0);
+    assertEquals(june(), PriceSeries.of(map));
+
+    Map<Integer, PriceRecord> records = new TreeMap<>();
+    records.put(20170609, new PriceRecord(155.19, 148.98, 146.02, 155.19));
+    PriceSeries closing = PriceSeries.ofClosingPrices(records);
+    assertEquals(1, closing.size());
+    assertEquals(148.98, closing.valueOn(20170609), 0);
+  }
+
+  /**
+   * Tests whether the given arrays are copied, so that the series cannot be changed through them.
+   */
+  @Test
+  public void testImmutable() {
+    int[] dates = {20170605, 20170606};
+    double[] values = {1, 2};
+    PriceSeries series = new PriceSeries(dates, values);
+    dates[0] = 20170601;
+    values[0] = 5;
+    series.getValues()[1] = 7;
+    assertEquals(20170605, series.getDate(0));
+    assertEquals(1, series.getValue(0), 0);
+    assertEquals(2, series.getValue(1), 0);
+  }
+
+  /**
+   * Tests whether dates out of order are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsortedDates() {
+    new PriceSeries(new int[]{20170606, 20170605}, new double[]{1, 2});
+  }
+
+  /**
+   * Tests whether a missing date has no value.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueOnMissingDate() {
+    june().valueOn(20170610);
+  }
+}
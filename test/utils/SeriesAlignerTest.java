@@ -0,0 +1,95 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for utils.SeriesAligner class.
+ */
+public class SeriesAlignerTest {
+
+  /**
+   * Return three series: "A" on the 5th to 9th, "B" missing the 7th, and "C" from the 6th to the
+   * 10th.
+   */
+  private static Map<String, PriceSeries> mismatched() {
+    Map<String, PriceSeries> series = new LinkedHashMap<>();
+    series.put("A", new PriceSeries(new int[]{20170605, 20170606, 20170607, 20170608, 20170609},
+            new double[]{1, 2, 3, 4, 5}));
+    series.put("B", new PriceSeries(new int[]{20170605, 20170606, 20170608, 20170609},
+            new double[]{10, 20, 40, 50}));
+    series.put("C", new PriceSeries(new int[]{20170606, 20170607, 20170608, 20170609, 20170610},
+            new double[]{200, 300, 400, 500, 600}));
+    return series;
+  }
+
+  /**
+   * Tests whether an inner join keeps only the dates of every series.
+   */
+  @Test
+  public void testInner() {
+    AlignedPanel panel = SeriesAligner.align(mismatched(), SeriesAligner.Policy.INNER);
+    assertEquals(3, panel.symbolCount());
+    assertEquals(3, panel.dateCount());
+    assertEquals(20170606, panel.getDate(0));
+    assertEquals(20170608, panel.getDate(1));
+    assertEquals(20170609, panel.getDate(2));
+    assertEquals(new PriceSeries(new int[]{20170606, 20170608, 20170609},
+            new double[]{20, 40, 50}), panel.getSeries("B"));
+    // symbol-major values
+    assertEquals(4, panel.getValues()[1], 0);
+    assertEquals(400, panel.getValues()[7], 0);
+  }
+
+  /**
+   * Tests whether forward filling starts when every series has begun and carries values over.
+   */
+  @Test
+  public void testForwardFill() {
+    AlignedPanel panel = SeriesAligner.align(mismatched(), SeriesAligner.Policy.FORWARD_FILL);
+    assertEquals(5, panel.dateCount());
+    assertEquals(20170606, panel.getDate(0));
+    assertEquals(20170610, panel.getDate(4));
+    assertEquals(20, panel.getValue(1, 1), 0);
+    assertEquals(5, panel.getValue(0, 4), 0);
+    assertEquals(50, panel.getValue(1, 4), 0);
+    assertEquals(600, panel.getValue(2, 4), 0);
+  }
+
+  /**
+   * Tests whether an outer join keeps every date and leaves missing values as NaN.
+   */
+  @Test
+  public void testOuter() {
+    AlignedPanel panel = SeriesAligner.align(mismatched(), SeriesAligner.Policy.OUTER);
+    assertEquals(6, panel.dateCount());
+    assertTrue(Double.isNaN(panel.getValue(2, 0)));
+    assertTrue(Double.isNaN(panel.getValue(1, 2)));
+    assertTrue(Double.isNaN(panel.getValue(0, 5)));
+    assertEquals(3, panel.getValue(0, 2), 0);
+  }
+
+  /**
+   * Tests whether series of the same dates are aligned as they are, and an empty series empties
+   * inner joins and forward fills but not outer joins.
+   */
+  @Test
+  public void testSameDatesAndEmpty() {
+    Map<String, PriceSeries> series = new LinkedHashMap<>();
+    series.put("A", mismatched().get("A"));
+    series.put("B", mismatched().get("A"));
+    for (SeriesAligner.Policy policy : SeriesAligner.Policy.values()) {
+      AlignedPanel panel = SeriesAligner.align(series, policy);
+      assertEquals(mismatched().get("A"), panel.getSeries("B"));
+    }
+    series.put("C", PriceSeries.empty());
+    assertTrue(SeriesAligner.align(series, SeriesAligner.Policy.INNER).isEmpty());
+    assertTrue(SeriesAligner.align(series, SeriesAligner.Policy.FORWARD_FILL).isEmpty());
+    assertEquals(5, SeriesAligner.align(series, SeriesAligner.Policy.OUTER).dateCount());
+  }
+}
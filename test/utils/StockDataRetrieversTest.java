@@ -0,0 +1,81 @@
+package utils;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for the batch retrievals of utils.StockDataRetrievers class.
+ */
+public class StockDataRetrieversTest {
+
+  /**
+   * Tests whether a batch retrieval gives every stock the prices of its own retrieval, and sends
+   * one request per stock.
+   */
+  @Test
+  public void testBatch() throws Exception {
+    FakeStockDataRetriever fake = new FakeStockDataRetriever(20);
+    Set<String> symbols = new TreeSet<>();
+    for (int i = 0; i < 20; i++) {
+      symbols.add("S" + i);
+    }
+    long start = System.nanoTime();
+    Map<String, Map<Integer, PriceRecord>> prices =
+            StockDataRetrievers.getHistoricalPrices(fake, symbols, 20170601, 20170630);
+    long elapsed = (System.nanoTime() - start) / 1000000;
+
+    assertEquals(symbols, prices.keySet());
+    assertEquals(20, fake.getCalls().size());
+    for (String symbol : symbols) {
+      assertEquals(22, prices.get(symbol).size());
+      assertEquals(FakeStockDataRetriever.closeOf(symbol, 20170615),
+              prices.get(symbol).get(20170615).getClosePrice(), 0);
+    }
+    // 20 requests of 20 ms, at most 8 at a time, take far less than one after another
+    assertTrue(elapsed < 20 * 20);
+  }
+
+  /**
+   * Tests whether a single stock is retrieved on the calling thread.
+   */
+  @Test
+  public void testSingle() throws Exception {
+    FakeStockDataRetriever fake = new FakeStockDataRetriever();
+    Set<String> symbols = new TreeSet<>();
+    symbols.add("AAPL");
+    Map<String, Map<Integer, PriceRecord>> prices =
+            StockDataRetrievers.getHistoricalPrices(fake, symbols, 20170601, 20170602);
+    assertEquals(2, prices.get("AAPL").size());
+  }
+
+  /**
+   * Tests whether the failure of one stock fails the whole batch.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testFailure() throws Exception {
+    StockDataRetriever failing = new FakeStockDataRetriever() {
+      @Override
+      public Map<Integer, PriceRecord> getHistoricalPrices(String stockSymbol, int fromDate,
+                                                           int fromMonth, int fromYear,
+                                                           int toDate, int toMonth, int toYear)
+              throws Exception {
+        if (stockSymbol.equals("FAIL")) {
+          throw new IllegalStateException("no connection");
+        }
+        return super.getHistoricalPrices(stockSymbol, fromDate, fromMonth, fromYear, toDate,
+                toMonth, toYear);
+      }
+    };
+    Set<String> symbols = new TreeSet<>();
+    symbols.add("AAPL");
+    symbols.add("FAIL");
+    symbols.add("GOOG");
+    StockDataRetrievers.getHistoricalPrices(failing, symbols, 20170601, 20170630);
+  }
+}
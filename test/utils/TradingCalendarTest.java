@@ -0,0 +1,78 @@
+package utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for utils.TradingCalendar class.
+ */
+public class TradingCalendarTest {
+  private final TradingCalendar calendar = TradingCalendar.getInstance();
+
+  /**
+   * Tests whether Good Friday, two days before Easter Sunday, is closed.
+   */
+  @Test
+  public void testGoodFriday() {
+    assertFalse(calendar.isTradingDay(20170414));
+    assertFalse(calendar.isTradingDay(20160325));
+    assertFalse(calendar.isTradingDay(20000421));
+    assertTrue(calendar.isTradingDay(20170413));
+    assertTrue(calendar.isTradingDay(20170417));
+  }
+
+  /**
+   * Tests whether Independence Day is observed on the Friday before a Saturday and the Monday
+   * after a Sunday.
+   */
+  @Test
+  public void testObservedIndependenceDay() {
+    assertFalse(calendar.isTradingDay(20150703));
+    assertTrue(calendar.isTradingDay(20150702));
+    assertFalse(calendar.isTradingDay(20210705));
+    assertTrue(calendar.isTradingDay(20210706));
+    assertFalse(calendar.isTradingDay(20170704));
+  }
+
+  /**
+   * Tests whether the exchange is closed from September 11 to 14, 2001, and reopens on the 17th.
+   */
+  @Test
+  public void testSeptember11() {
+    assertTrue(calendar.isTradingDay(20010910));
+    for (int date = 20010911; date <= 20010914; date++) {
+      assertFalse(calendar.isTradingDay(date));
+    }
+    assertEquals(20010917, calendar.nextTradingDay(20010911));
+  }
+
+  /**
+   * Tests whether Juneteenth is a holiday from 2022 on only, observed as other holidays are.
+   */
+  @Test
+  public void testJuneteenth() {
+    assertTrue(calendar.isTradingDay(20210618));
+    assertFalse(calendar.isTradingDay(20220620));
+    assertFalse(calendar.isTradingDay(20230619));
+    assertTrue(calendar.isTradingDay(20230620));
+  }
+
+  /**
+   * Tests whether trading days are counted without weekends and holidays.
+   */
+  @Test
+  public void testCountTradingDays() {
+    assertEquals(4, calendar.countTradingDays(20170703, 20170707));
+    assertEquals(6, calendar.countTradingDays(20171222, 20180102));
+    assertEquals(0, calendar.countTradingDays(20170701, 20170702));
+    assertEquals(1, calendar.countTradingDays(20170703, 20170703));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotCovered() {
+    calendar.isTradingDay(19701231);
+  }
+}